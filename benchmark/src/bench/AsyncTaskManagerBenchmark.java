@@ -0,0 +1,53 @@
+package bench;
+
+import manager.ConcurrentTaskManager;
+import manager.EventLoopTaskManager;
+import model.Task;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AsyncTaskManagerBenchmark {
+    @Param({"1000"})
+    private int outstanding;
+
+    private EventLoopTaskManager async;
+    private ConcurrentTaskManager sync;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        async = new EventLoopTaskManager();
+        sync = new ConcurrentTaskManager();
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() {
+        async.close();
+    }
+
+    @Benchmark
+    public int createPipelined() {
+        CompletableFuture<?>[] futures = new CompletableFuture<?>[outstanding];
+        for (int i = 0; i < outstanding; i++) {
+            futures[i] = async.createTask(new Task("Task " + i, "Description"));
+        }
+        CompletableFuture.allOf(futures).join();
+        return futures.length;
+    }
+
+    @Benchmark
+    public int createBlocking() {
+        int last = 0;
+        for (int i = 0; i < outstanding; i++) {
+            last = sync.createTask(new Task("Task " + i, "Description"));
+        }
+        return last;
+    }
+}
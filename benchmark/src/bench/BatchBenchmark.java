@@ -0,0 +1,64 @@
+package bench;
+
+import manager.Batch;
+import manager.BatchResult;
+import manager.ConcurrentTaskManager;
+import manager.InMemoryTaskManager;
+import manager.TaskManager;
+import model.Epic;
+import model.Subtask;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BatchBenchmark {
+    private static final LocalDateTime START = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    @Param({"100", "10000"})
+    private int datasetSize;
+
+    @Param({"in-memory", "concurrent"})
+    private String managerType;
+
+    private TaskManager manager;
+    private List<Subtask> subtasks;
+
+    @Setup(Level.Invocation)
+    public void setUp() {
+        manager = managerType.equals("concurrent") ? new ConcurrentTaskManager() : new InMemoryTaskManager();
+        int epicId = manager.createEpic(new Epic("Sprint", "Description"));
+        subtasks = new ArrayList<>(datasetSize);
+        for (int i = 0; i < datasetSize; i++) {
+            subtasks.add(new Subtask("Subtask " + i, "Description " + i, epicId,
+                    START.plusMinutes(30L * i), Duration.ofMinutes(15)));
+        }
+    }
+
+    @Benchmark
+    public int createPerCall() {
+        int last = 0;
+        for (Subtask subtask : subtasks) {
+            last = manager.createSubtask(subtask);
+        }
+        return last;
+    }
+
+    @Benchmark
+    public BatchResult createAsBatch() {
+        Batch.Builder builder = Batch.builder();
+        for (Subtask subtask : subtasks) {
+            builder.createSubtask(subtask);
+        }
+        return manager.applyBatch(builder.build());
+    }
+}
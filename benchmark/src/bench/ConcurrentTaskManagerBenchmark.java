@@ -0,0 +1,99 @@
+package bench;
+
+import manager.ConcurrentTaskManager;
+import manager.ShardedTaskManager;
+import manager.TaskManager;
+import model.Epic;
+import model.Subtask;
+import model.TaskStatus;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConcurrentTaskManagerBenchmark {
+
+    @Param({"10", "1000", "100000"})
+    private int epicSize;
+
+    @Param({"64"})
+    private int epicCount;
+
+    @Param({"concurrent", "sharded"})
+    private String managerType;
+
+    private TaskManager manager;
+    private int[] epicIds;
+    private final AtomicInteger threadCounter = new AtomicInteger();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        manager = managerType.equals("sharded") ? new ShardedTaskManager() : new ConcurrentTaskManager();
+        epicIds = new int[epicCount];
+        for (int e = 0; e < epicCount; e++) {
+            epicIds[e] = manager.createEpic(new Epic("Epic " + e, "Description"));
+            for (int i = 0; i < epicSize; i++) {
+                manager.createSubtask(new Subtask("Subtask " + i, "Description", epicIds[e]));
+            }
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class ThreadState {
+        private int epicId;
+        private Subtask[] subtasks;
+        private int cursor;
+
+        @Setup(Level.Trial)
+        public void setUp(ConcurrentTaskManagerBenchmark benchmark) {
+            int index = benchmark.threadCounter.getAndIncrement() % benchmark.epicCount;
+            epicId = benchmark.epicIds[index];
+            subtasks = benchmark.manager.getEpicSubtasks(epicId).toArray(new Subtask[0]);
+        }
+
+        private Subtask next() {
+            Subtask subtask = subtasks[cursor++ % subtasks.length];
+            if (cursor == Integer.MAX_VALUE) {
+                cursor = 0;
+            }
+            return subtask;
+        }
+    }
+
+    @Benchmark
+    public int createAndDeleteSubtask(ThreadState state) {
+        int id = manager.createSubtask(new Subtask("Subtask", "Description", state.epicId));
+        manager.deleteSubtaskById(id);
+        return id;
+    }
+
+    @Benchmark
+    public TaskStatus updateSubtaskStatus(ThreadState state) {
+        Subtask subtask = state.next();
+        subtask.setStatus(subtask.getStatus() == TaskStatus.DONE ? TaskStatus.NEW : TaskStatus.DONE);
+        manager.updateSubtask(subtask);
+        return manager.getEpicById(state.epicId).getStatus();
+    }
+
+    @Benchmark
+    public Subtask getSubtaskById(ThreadState state) {
+        return manager.getSubtaskById(state.next().getId());
+    }
+
+    @Benchmark
+    public List<Subtask> getEpicSubtasks(ThreadState state) {
+        return manager.getEpicSubtasks(state.epicId);
+    }
+
+    @Benchmark
+    public int getAllSubtasks() {
+        return manager.getSubtasks().size();
+    }
+}
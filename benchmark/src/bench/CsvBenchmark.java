@@ -0,0 +1,70 @@
+package bench;
+
+import csv.TaskCsvReader;
+import csv.TaskCsvWriter;
+import manager.InMemoryTaskManager;
+import manager.TaskManager;
+import model.Epic;
+import model.Subtask;
+import model.Task;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class CsvBenchmark {
+    private static final LocalDateTime START = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    @Param({"1000000"})
+    private int datasetSize;
+
+    private TaskManager source;
+    private Path file;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        source = new InMemoryTaskManager();
+        int epicId = 0;
+        for (int i = 0; i < datasetSize; i++) {
+            if (i % 100 == 0) {
+                epicId = source.createEpic(new Epic("Epic " + i, "Description"));
+            }
+            source.createSubtask(new Subtask("Subtask " + i, "Description, " + i % 10, epicId,
+                    START.plusMinutes(i), Duration.ofMinutes(1)));
+        }
+        file = Files.createTempFile("board", ".csv");
+        TaskCsvWriter.export(source, file);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public int export() throws IOException {
+        return TaskCsvWriter.export(source, file);
+    }
+
+    @Benchmark
+    public List<Task> parse() throws IOException {
+        return new TaskCsvReader().read(file);
+    }
+
+    @Benchmark
+    public Map<Integer, Integer> importBoard() throws IOException {
+        return new TaskCsvReader().importInto(new InMemoryTaskManager(), file);
+    }
+}
@@ -0,0 +1,60 @@
+package bench;
+
+import event.Subscription;
+import event.TaskEvent;
+import event.TaskEventBus;
+import manager.InMemoryTaskManager;
+import manager.TaskManager;
+import model.Task;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EventBusBenchmark {
+
+    @Param({"0", "1", "4"})
+    private int subscribers;
+
+    private TaskEventBus bus;
+    private TaskManager manager;
+    private Task task;
+    private final List<Subscription> subscriptions = new ArrayList<>();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        bus = new TaskEventBus();
+        manager = new InMemoryTaskManager();
+        task = new Task("Task", "Description");
+        manager.createTask(task);
+        for (int i = 0; i < subscribers; i++) {
+            subscriptions.add(bus.subscribe(events -> Blackhole.consumeCPU(events.size())));
+            subscriptions.add(manager.getEventBus().subscribe(events -> Blackhole.consumeCPU(events.size())));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        subscriptions.forEach(Subscription::close);
+        subscriptions.clear();
+    }
+
+    @Benchmark
+    public long publish() {
+        return bus.publish(TaskEvent.Type.TASK_UPDATED, 1, task);
+    }
+
+    @Benchmark
+    public Task updateTask() {
+        manager.updateTask(task);
+        return task;
+    }
+}
@@ -0,0 +1,76 @@
+package bench;
+
+import manager.FileBackedTaskManager;
+import model.Task;
+import model.TaskStatus;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FileBackedTaskManagerBenchmark {
+
+    @Param({"1000", "100000"})
+    private int datasetSize;
+
+    @Param({"5"})
+    private long flushIntervalMillis;
+
+    private Path directory;
+    private FileBackedTaskManager manager;
+    private int[] taskIds;
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("kanban-bench");
+        manager = new FileBackedTaskManager(directory, 1_000_000, flushIntervalMillis);
+        taskIds = new int[datasetSize];
+        for (int i = 0; i < datasetSize; i++) {
+            taskIds[i] = manager.createTask(new Task("Task " + i, "Description " + i));
+        }
+        manager.compact();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        manager.close();
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path path : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    @Benchmark
+    public void updateTask() {
+        Task task = manager.getTaskById(taskIds[cursor++ % datasetSize]);
+        if (cursor == Integer.MAX_VALUE) {
+            cursor = 0;
+        }
+        task.setStatus(task.getStatus() == TaskStatus.NEW ? TaskStatus.IN_PROGRESS : TaskStatus.NEW);
+        manager.updateTask(task);
+    }
+
+    @Benchmark
+    public int createAndDeleteTask() {
+        int id = manager.createTask(new Task("Task", "Description"));
+        manager.deleteTaskById(id);
+        return id;
+    }
+
+    @Benchmark
+    public void compact() {
+        manager.compact();
+    }
+}
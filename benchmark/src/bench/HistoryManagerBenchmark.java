@@ -0,0 +1,67 @@
+package bench;
+
+import manager.HistoryManager;
+import manager.Managers;
+import model.Task;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HistoryManagerBenchmark {
+
+    @Param({"10", "1000", "100000"})
+    private int historySize;
+
+    private HistoryManager history;
+    private Task[] tasks;
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        history = Managers.getDefaultHistory();
+        tasks = new Task[historySize];
+        for (int i = 0; i < historySize; i++) {
+            tasks[i] = new Task("Task " + i, "Description " + i);
+            tasks[i].setId(i + 1);
+            history.add(tasks[i]);
+        }
+    }
+
+    @Benchmark
+    public void addViewedAgain() {
+        history.add(tasks[next()]);
+    }
+
+    @Benchmark
+    public void removeAndAdd() {
+        Task task = tasks[next()];
+        history.remove(task.getId());
+        history.add(task);
+    }
+
+    @Benchmark
+    public List<Task> getHistoryUnchanged() {
+        return history.getHistory();
+    }
+
+    @Benchmark
+    public List<Task> getHistoryAfterView() {
+        history.add(tasks[next()]);
+        return history.getHistory();
+    }
+
+    private int next() {
+        int index = cursor++ % historySize;
+        if (cursor == Integer.MAX_VALUE) {
+            cursor = 0;
+        }
+        return index;
+    }
+}
@@ -0,0 +1,48 @@
+package bench;
+
+import manager.ConcurrentTaskManager;
+import manager.Managers;
+import manager.TaskManager;
+import model.Task;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InstrumentationBenchmark {
+
+    @Param({"false", "true"})
+    private boolean instrumented;
+
+    private TaskManager manager;
+    private Task task;
+    private int taskId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        manager = instrumented ? Managers.getInstrumented() : new ConcurrentTaskManager();
+        task = new Task("Task", "Description");
+        taskId = manager.createTask(task);
+    }
+
+    @Benchmark
+    public Task getTaskById() {
+        return manager.getTaskById(taskId);
+    }
+
+    @Benchmark
+    public Task getTask() {
+        return manager.getTask(taskId);
+    }
+
+    @Benchmark
+    public Task updateTask() {
+        manager.updateTask(task);
+        return task;
+    }
+}
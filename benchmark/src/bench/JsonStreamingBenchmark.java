@@ -0,0 +1,63 @@
+package bench;
+
+import json.JsonReader;
+import json.JsonWriter;
+import json.TaskJson;
+import manager.InMemoryTaskManager;
+import manager.TaskManager;
+import model.Task;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 3, time = 1)
+@Fork(1)
+public class JsonStreamingBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    private int datasetSize;
+
+    private TaskManager manager;
+    private byte[] payload;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        manager = new InMemoryTaskManager();
+        for (int i = 0; i < datasetSize; i++) {
+            manager.createTask(new Task("Task " + i, "Description " + i));
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (JsonWriter writer = new JsonWriter(out)) {
+            writeBoard(writer);
+        }
+        payload = out.toByteArray();
+    }
+
+    @Benchmark
+    public void writeBoard() {
+        try (JsonWriter writer = new JsonWriter(OutputStream.nullOutputStream())) {
+            writeBoard(writer);
+        }
+    }
+
+    @Benchmark
+    public void readBoard(Blackhole blackhole) {
+        try (JsonReader reader = new JsonReader(new ByteArrayInputStream(payload))) {
+            TaskJson.readAll(reader, blackhole::consume);
+        }
+    }
+
+    private void writeBoard(JsonWriter writer) {
+        writer.beginArray();
+        manager.forEachTask(task -> TaskJson.write(writer, task));
+        writer.endArray();
+    }
+}
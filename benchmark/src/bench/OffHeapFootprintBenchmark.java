@@ -0,0 +1,49 @@
+package bench;
+
+import manager.InMemoryTaskManager;
+import manager.OffHeapTaskManager;
+import manager.TaskManager;
+import model.Task;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx8g", "-XX:MaxDirectMemorySize=8g"})
+public class OffHeapFootprintBenchmark {
+    private static final LocalDateTime START = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    @Param({"1000000", "10000000"})
+    private int datasetSize;
+
+    @Param({"in-memory", "off-heap"})
+    private String managerType;
+
+    private TaskManager manager;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        manager = managerType.equals("off-heap") ? new OffHeapTaskManager() : new InMemoryTaskManager();
+        for (int i = 0; i < datasetSize; i++) {
+            Task task = new Task("Task " + i, "Description " + i % 100, START.plusMinutes(i), Duration.ofMinutes(1));
+            manager.createTask(task);
+        }
+        System.gc();
+        long heap = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+        long offHeap = manager instanceof OffHeapTaskManager offHeapManager ? offHeapManager.getOffHeapBytes() : 0;
+        System.out.printf("%n%s %d tasks: heap used %d MB, off-heap %d MB%n", managerType, datasetSize,
+                heap >> 20, offHeap >> 20);
+    }
+
+    @Benchmark
+    public void fullGc() {
+        System.gc();
+    }
+}
@@ -0,0 +1,69 @@
+package bench;
+
+import manager.InMemoryTaskManager;
+import manager.TaskManager;
+import model.Epic;
+import model.Subtask;
+import model.Task;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ReadViewBenchmark {
+
+    @Param({"10", "1000", "100000"})
+    private int datasetSize;
+
+    private TaskManager manager;
+    private Epic epic;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        manager = new InMemoryTaskManager();
+        for (int i = 0; i < datasetSize; i++) {
+            manager.createTask(new Task("Task " + i, "Description " + i));
+        }
+        int epicId = manager.createEpic(new Epic("Epic", "Description"));
+        for (int i = 0; i < datasetSize; i++) {
+            manager.createSubtask(new Subtask("Subtask " + i, "Description " + i, epicId));
+        }
+        epic = manager.getEpicById(epicId);
+    }
+
+    @Benchmark
+    public List<Task> getTasksCopy() {
+        return manager.getTasks();
+    }
+
+    @Benchmark
+    public List<Task> getTasksView() {
+        return manager.getTasksView();
+    }
+
+    @Benchmark
+    public List<Subtask> getSubtasksCopy() {
+        return manager.getSubtasks();
+    }
+
+    @Benchmark
+    public List<Subtask> getSubtasksView() {
+        return manager.getSubtasksView();
+    }
+
+    @Benchmark
+    public List<Integer> getSubtaskIdsCopy() {
+        return epic.getSubtaskIds();
+    }
+
+    @Benchmark
+    public List<Integer> getSubtaskIdsView() {
+        return epic.getSubtaskIdsView();
+    }
+}
@@ -0,0 +1,84 @@
+package bench;
+
+import manager.InMemoryTaskManager;
+import manager.TaskManager;
+import model.Task;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = "-Xmx3g")
+public class SearchBenchmark {
+    private static final int VOCABULARY = 20_000;
+
+    @Param({"10000", "1000000"})
+    private int datasetSize;
+
+    @Param({"rare", "common rare", "prefix"})
+    private String queryKind;
+
+    private TaskManager manager;
+    private String query;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        manager = new InMemoryTaskManager();
+        for (int i = 0; i < datasetSize; i++) {
+            manager.createTask(new Task(words(random, 3), words(random, 6)));
+        }
+        query = switch (queryKind) {
+            case "rare" -> word(VOCABULARY / 2);
+            case "common rare" -> word(1) + " " + word(VOCABULARY / 2);
+            default -> word(1234).substring(0, 4) + "*";
+        };
+    }
+
+    @Benchmark
+    public List<Task> index() {
+        return manager.search(query);
+    }
+
+    @Benchmark
+    public List<Task> linearScan() {
+        String[] terms = query.toLowerCase(Locale.ROOT).split(" ");
+        List<Task> found = new ArrayList<>();
+        manager.forEachTask(task -> {
+            String text = " " + task.getName().toLowerCase(Locale.ROOT) + " "
+                    + task.getDescription().toLowerCase(Locale.ROOT) + " ";
+            for (String term : terms) {
+                String needle = term.endsWith("*") ? " " + term.substring(0, term.length() - 1) : " " + term + " ";
+                if (!text.contains(needle)) {
+                    return;
+                }
+            }
+            found.add(task);
+        });
+        return found;
+    }
+
+    private static String words(Random random, int count) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                text.append(' ');
+            }
+            double zipf = Math.pow(VOCABULARY, random.nextDouble());
+            text.append(word((int) zipf - 1));
+        }
+        return text.toString();
+    }
+
+    private static String word(int rank) {
+        return "w" + Integer.toString(rank * 7919 % 1_000_003, 36) + "x" + rank;
+    }
+}
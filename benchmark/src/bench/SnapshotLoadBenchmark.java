@@ -0,0 +1,105 @@
+package bench;
+
+import manager.FileBackedTaskManager;
+import manager.MappedSnapshot;
+import model.Epic;
+import model.Subtask;
+import model.Task;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class SnapshotLoadBenchmark {
+    private static final int SUBTASKS_PER_EPIC = 10;
+    private static final int LOOKUPS = 1_000;
+
+    @Param({"100000", "1000000"})
+    private int taskCount;
+
+    private Path directory;
+    private int[] lookupIds;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("kanban-snapshot-bench");
+        List<Epic> epics = new ArrayList<>();
+        List<Subtask> subtasks = new ArrayList<>();
+        List<Task> tasks = new ArrayList<>();
+        int id = 1;
+        while (epics.size() + subtasks.size() + tasks.size() < taskCount) {
+            if (id % 20 == 1) {
+                int epicId = id++;
+                epics.add(new Epic(epicId, "Epic " + epicId, "Epic description " + epicId, null));
+                for (int i = 0; i < SUBTASKS_PER_EPIC; i++, id++) {
+                    subtasks.add(new Subtask(id, "Subtask " + id, "Subtask description " + id, null, epicId));
+                }
+            } else {
+                tasks.add(new Task(id, "Task " + id, "Task description " + id, null));
+                id++;
+            }
+        }
+        MappedSnapshot.write(directory.resolve("snapshot.bin"), 1, id, epics, subtasks, tasks);
+        Files.write(directory.resolve("wal.bin"), new byte[0]);
+
+        lookupIds = new int[LOOKUPS];
+        for (int i = 0; i < LOOKUPS; i++) {
+            lookupIds[i] = 1 + (int) ((long) i * (id - 1) / LOOKUPS);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path path : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    @Benchmark
+    public void openMappedAndLookup(Blackhole blackhole) throws IOException {
+        try (MappedSnapshot snapshot = MappedSnapshot.open(directory.resolve("snapshot.bin"))) {
+            for (int id : lookupIds) {
+                blackhole.consume(snapshot.getTask(id));
+            }
+        }
+    }
+
+    @Benchmark
+    public void openMappedAndMaterializeAll(Blackhole blackhole) throws IOException {
+        try (MappedSnapshot snapshot = MappedSnapshot.open(directory.resolve("snapshot.bin"))) {
+            snapshot.forEach(blackhole::consume);
+        }
+    }
+
+    @Benchmark
+    public void restoreFileBackedTaskManagerAndLookup(Blackhole blackhole) {
+        try (FileBackedTaskManager manager = new FileBackedTaskManager(directory)) {
+            for (int id : lookupIds) {
+                blackhole.consume(manager.getTaskById(id));
+                blackhole.consume(manager.getSubtaskById(id));
+            }
+        }
+    }
+
+    @Benchmark
+    public int restoreFileBackedTaskManagerAndListAll() {
+        try (FileBackedTaskManager manager = new FileBackedTaskManager(directory)) {
+            return manager.getTasks().size() + manager.getSubtasks().size();
+        }
+    }
+}
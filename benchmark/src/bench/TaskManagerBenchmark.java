@@ -0,0 +1,106 @@
+package bench;
+
+import manager.InMemoryTaskManager;
+import manager.TaskManager;
+import model.Epic;
+import model.Subtask;
+import model.Task;
+import model.TaskStatus;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TaskManagerBenchmark {
+
+    @Param({"10", "1000", "100000"})
+    private int datasetSize;
+
+    private TaskManager manager;
+    private int[] taskIds;
+    private Subtask[] subtasks;
+    private int epicId;
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        manager = new InMemoryTaskManager();
+        taskIds = new int[datasetSize];
+        for (int i = 0; i < datasetSize; i++) {
+            taskIds[i] = manager.createTask(new Task("Task " + i, "Description " + i));
+        }
+        epicId = manager.createEpic(new Epic("Epic", "Description"));
+        subtasks = new Subtask[datasetSize];
+        for (int i = 0; i < datasetSize; i++) {
+            subtasks[i] = new Subtask("Subtask " + i, "Description " + i, epicId);
+            manager.createSubtask(subtasks[i]);
+        }
+    }
+
+    @Benchmark
+    public int createAndDeleteTask() {
+        int id = manager.createTask(new Task("Task", "Description"));
+        manager.deleteTaskById(id);
+        return id;
+    }
+
+    @Benchmark
+    public void updateTask() {
+        Task task = manager.getTaskById(taskIds[next()]);
+        task.setStatus(task.getStatus() == TaskStatus.NEW ? TaskStatus.IN_PROGRESS : TaskStatus.NEW);
+        manager.updateTask(task);
+    }
+
+    @Benchmark
+    public int createAndDeleteEpic() {
+        int id = manager.createEpic(new Epic("Epic", "Description"));
+        manager.deleteEpicById(id);
+        return id;
+    }
+
+    @Benchmark
+    public void updateEpic() {
+        Epic epic = new Epic(epicId, "Epic", "Description " + next(), null);
+        manager.updateEpic(epic);
+    }
+
+    @Benchmark
+    public int createAndDeleteSubtask() {
+        int id = manager.createSubtask(new Subtask("Subtask", "Description", epicId));
+        manager.deleteSubtaskById(id);
+        return id;
+    }
+
+    @Benchmark
+    public TaskStatus updateSubtaskStatus() {
+        Subtask subtask = subtasks[next()];
+        subtask.setStatus(subtask.getStatus() == TaskStatus.DONE ? TaskStatus.NEW : TaskStatus.DONE);
+        manager.updateSubtask(subtask);
+        return manager.getEpicById(epicId).getStatus();
+    }
+
+    @Benchmark
+    public List<Subtask> getEpicSubtasks() {
+        return manager.getEpicSubtasks(epicId);
+    }
+
+    @Benchmark
+    public List<Task> getHistory() {
+        manager.getTask(taskIds[next()]);
+        return manager.getHistory();
+    }
+
+    private int next() {
+        int index = cursor++ % datasetSize;
+        if (cursor == Integer.MAX_VALUE) {
+            cursor = 0;
+        }
+        return index;
+    }
+}
@@ -0,0 +1,70 @@
+package bench;
+
+import manager.InMemoryTaskManager;
+import manager.TaskManager;
+import manager.TaskManagerSnapshot;
+import manager.VersionedTaskManager;
+import model.Epic;
+import model.Subtask;
+import model.Task;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class VersionedTaskManagerBenchmark {
+
+    @Param({"1000", "100000"})
+    private int datasetSize;
+
+    @Param({"in-memory", "versioned"})
+    private String managerType;
+
+    private TaskManager manager;
+    private Task task;
+    private int epicId;
+    private int counter;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        manager = managerType.equals("versioned") ? new VersionedTaskManager() : new InMemoryTaskManager();
+        for (int i = 0; i < datasetSize; i++) {
+            manager.createTask(new Task("Task " + i, "Description " + i));
+        }
+        epicId = manager.createEpic(new Epic("Epic", "Description"));
+        for (int i = 0; i < 10; i++) {
+            manager.createSubtask(new Subtask("Subtask " + i, "Description " + i, epicId));
+        }
+        task = manager.getTasks().getFirst();
+    }
+
+    @Benchmark
+    public Task updateTask() {
+        task.setDescription("Description " + counter++);
+        manager.updateTask(task);
+        return task;
+    }
+
+    @Benchmark
+    public Task getTaskById() {
+        return manager.getTaskById(task.getId());
+    }
+
+    @Benchmark
+    public List<Subtask> readEpicConsistently() {
+        if (manager instanceof VersionedTaskManager versioned) {
+            try (TaskManagerSnapshot snapshot = versioned.snapshot()) {
+                snapshot.getEpicById(epicId);
+                return snapshot.getEpicSubtasks(epicId);
+            }
+        }
+        manager.getEpicById(epicId);
+        return manager.getEpicSubtasks(epicId);
+    }
+}
@@ -67,7 +67,7 @@ public class Main {
         manager.getEpic(epicId1);
         manager.getEpic(epicId2);
         
-        System.out.println("\nИстория после дополнительных просмотров (макс 10 элементов):");
+        System.out.println("\nИстория после повторных просмотров (без дубликатов):");
         printHistory(manager);
 
         System.out.println("\n=== Удаление задачи ===");
@@ -0,0 +1,145 @@
+package csv;
+
+import model.Epic;
+import model.Subtask;
+import model.Task;
+import model.TaskStatus;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+
+public final class TaskCsv {
+    public static final String HEADER = "id,type,name,status,description,epic,startTime,duration";
+
+    private static final int FIELD_COUNT = 8;
+
+    private TaskCsv() {
+    }
+
+    public static void write(StringBuilder out, Task task) {
+        out.append(task.getId()).append(',');
+        if (task instanceof Subtask) {
+            out.append("SUBTASK");
+        } else if (task instanceof Epic) {
+            out.append("EPIC");
+        } else {
+            out.append("TASK");
+        }
+        out.append(',');
+        quote(out, task.getName());
+        out.append(',').append(task.getStatus() == null ? "" : task.getStatus().name()).append(',');
+        quote(out, task.getDescription());
+        out.append(',');
+        if (task instanceof Subtask subtask) {
+            out.append(subtask.getEpicId());
+        }
+        out.append(',');
+        if (task.getStartTime() != null && !(task instanceof Epic)) {
+            out.append(task.getStartTime());
+        }
+        out.append(',');
+        if (task.getDuration() != null && !(task instanceof Epic)) {
+            out.append(task.getDuration());
+        }
+        out.append('\n');
+    }
+
+    public static List<Task> parse(CharSequence text) {
+        List<Task> tasks = new ArrayList<>();
+        List<String> fields = new ArrayList<>(FIELD_COUNT);
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        boolean touched = false;
+        int length = text.length();
+        for (int i = 0; i < length; i++) {
+            char c = text.charAt(i);
+            if (quoted) {
+                if (c != '"') {
+                    field.append(c);
+                } else if (i + 1 < length && text.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else {
+                    quoted = false;
+                }
+            } else if (c == '"') {
+                quoted = true;
+                touched = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+                touched = true;
+            } else if (c == '\n') {
+                if (touched || !field.isEmpty()) {
+                    fields.add(field.toString());
+                    tasks.add(toTask(fields));
+                }
+                fields.clear();
+                field.setLength(0);
+                touched = false;
+            } else if (c != '\r') {
+                field.append(c);
+                touched = true;
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Unterminated quoted field in CSV");
+        }
+        if (touched || !field.isEmpty()) {
+            fields.add(field.toString());
+            tasks.add(toTask(fields));
+        }
+        return tasks;
+    }
+
+    private static Task toTask(List<String> fields) {
+        if (fields.size() != FIELD_COUNT) {
+            throw new IllegalArgumentException("Expected " + FIELD_COUNT + " CSV fields but got " + fields.size()
+                    + ": " + fields);
+        }
+        try {
+            int id = Integer.parseInt(fields.get(0));
+            String name = fields.get(2);
+            TaskStatus status = fields.get(3).isEmpty() ? null : TaskStatus.valueOf(fields.get(3));
+            String description = fields.get(4);
+            Task task = switch (fields.get(1)) {
+                case "TASK" -> new Task(id, name, description, status);
+                case "EPIC" -> new Epic(id, name, description, status);
+                case "SUBTASK" -> new Subtask(id, name, description, status, Integer.parseInt(fields.get(5)));
+                default -> throw new IllegalArgumentException("Unknown task type: " + fields.get(1));
+            };
+            if (!(task instanceof Epic)) {
+                if (!fields.get(6).isEmpty()) {
+                    task.setStartTime(LocalDateTime.parse(fields.get(6)));
+                }
+                if (!fields.get(7).isEmpty()) {
+                    task.setDuration(Duration.parse(fields.get(7)));
+                }
+            }
+            return task;
+        } catch (NumberFormatException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid CSV record: " + fields, e);
+        }
+    }
+
+    private static void quote(StringBuilder out, String value) {
+        boolean needsQuotes = value.isEmpty() || value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+                || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0;
+        if (!needsQuotes) {
+            out.append(value);
+            return;
+        }
+        out.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                out.append('"');
+            }
+            out.append(c);
+        }
+        out.append('"');
+    }
+}
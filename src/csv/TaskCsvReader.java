@@ -0,0 +1,231 @@
+package csv;
+
+import manager.Batch;
+import manager.BatchResult;
+import manager.TaskManager;
+import model.Epic;
+import model.Subtask;
+import model.Task;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+public final class TaskCsvReader {
+    private static final int DEFAULT_CHUNK_SIZE = 1 << 20;
+    private static final int SCAN_BUFFER_SIZE = 1 << 16;
+
+    private final ForkJoinPool pool;
+    private final int chunkSize;
+
+    public TaskCsvReader() {
+        this(ForkJoinPool.commonPool(), DEFAULT_CHUNK_SIZE);
+    }
+
+    public TaskCsvReader(ForkJoinPool pool, int chunkSize) {
+        if (pool == null) {
+            throw new IllegalArgumentException("Pool cannot be null");
+        }
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("Chunk size must be positive");
+        }
+        this.pool = pool;
+        this.chunkSize = chunkSize;
+    }
+
+    public List<Task> read(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long[] bounds = split(channel);
+            validateHeader(channel, bounds.length > 0 ? bounds[0] : channel.size());
+            if (bounds.length < 2) {
+                return new ArrayList<>();
+            }
+            try {
+                return pool.invoke(new ParseChunks(channel, bounds, 0, bounds.length - 1));
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        }
+    }
+
+    public Map<Integer, Integer> importInto(TaskManager manager, Path file) throws IOException {
+        if (manager == null) {
+            throw new IllegalArgumentException("Task manager cannot be null");
+        }
+        List<Task> items = read(file);
+        validateReferences(items);
+        Map<Integer, Integer> ids = new HashMap<>(items.size() * 2);
+        List<Integer> epicIds = new ArrayList<>();
+        Batch.Builder epics = Batch.builder();
+        for (Task item : items) {
+            if (item instanceof Epic epic) {
+                epicIds.add(epic.getId());
+                epic.setId(0);
+                epics.createEpic(epic);
+            }
+        }
+        mapCreated(ids, epicIds, epicIds.isEmpty() ? null : manager.applyBatch(epics.build()));
+
+        List<Integer> otherIds = new ArrayList<>();
+        Batch.Builder others = Batch.builder();
+        for (Task item : items) {
+            if (item instanceof Epic) {
+                continue;
+            }
+            otherIds.add(item.getId());
+            item.setId(0);
+            if (item instanceof Subtask subtask) {
+                subtask.setEpicId(ids.get(subtask.getEpicId()));
+                others.createSubtask(subtask);
+            } else {
+                others.createTask(item);
+            }
+        }
+        List<Integer> createdEpics = new ArrayList<>(ids.values());
+        try {
+            mapCreated(ids, otherIds, otherIds.isEmpty() ? null : manager.applyBatch(others.build()));
+        } catch (RuntimeException e) {
+            deleteEpics(manager, createdEpics, e);
+            throw e;
+        }
+        return ids;
+    }
+
+    private static void deleteEpics(TaskManager manager, List<Integer> epicIds, RuntimeException failure) {
+        if (epicIds.isEmpty()) {
+            return;
+        }
+        Batch.Builder rollback = Batch.builder();
+        epicIds.forEach(rollback::deleteEpic);
+        try {
+            manager.applyBatch(rollback.build());
+        } catch (RuntimeException e) {
+            failure.addSuppressed(e);
+        }
+    }
+
+    private static void mapCreated(Map<Integer, Integer> ids, List<Integer> fileIds, BatchResult result) {
+        if (result == null) {
+            return;
+        }
+        List<Integer> created = result.getCreatedIds();
+        for (int i = 0; i < fileIds.size(); i++) {
+            ids.put(fileIds.get(i), created.get(i));
+        }
+    }
+
+    private static void validateReferences(List<Task> items) {
+        Set<Integer> fileIds = new HashSet<>(items.size() * 2);
+        Set<Integer> epicIds = new HashSet<>();
+        for (Task item : items) {
+            if (!fileIds.add(item.getId())) {
+                throw new IllegalArgumentException("Duplicate id in CSV: " + item.getId());
+            }
+            if (item instanceof Epic) {
+                epicIds.add(item.getId());
+            }
+        }
+        for (Task item : items) {
+            if (item instanceof Subtask subtask && !epicIds.contains(subtask.getEpicId())) {
+                throw new IllegalArgumentException("Epic with id " + subtask.getEpicId() + " not found in CSV");
+            }
+        }
+    }
+
+    private static void validateHeader(FileChannel channel, long end) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate((int) Math.min(end, TaskCsv.HEADER.length() + 2L));
+        channel.read(buffer, 0);
+        String header = StandardCharsets.UTF_8.decode(buffer.flip()).toString().strip();
+        if (!header.equals(TaskCsv.HEADER)) {
+            throw new IllegalArgumentException("Unexpected CSV header: " + header);
+        }
+    }
+
+    private long[] split(FileChannel channel) throws IOException {
+        List<Long> bounds = new ArrayList<>();
+        ByteBuffer buffer = ByteBuffer.allocate(SCAN_BUFFER_SIZE);
+        long position = 0;
+        long lastBound = -1;
+        boolean quoted = false;
+        while (channel.read(buffer, position) > 0) {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                byte b = buffer.get();
+                position++;
+                if (b == '"') {
+                    quoted = !quoted;
+                } else if (b == '\n' && !quoted && (lastBound < 0 || position - lastBound >= chunkSize)) {
+                    lastBound = position;
+                    bounds.add(position);
+                }
+            }
+            buffer.clear();
+        }
+        if (lastBound >= 0 && lastBound < position) {
+            bounds.add(position);
+        }
+        long[] result = new long[bounds.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = bounds.get(i);
+        }
+        return result;
+    }
+
+    private static final class ParseChunks extends RecursiveTask<List<Task>> {
+        private static final long serialVersionUID = 1L;
+
+        private final transient FileChannel channel;
+        private final long[] bounds;
+        private final int from;
+        private final int to;
+
+        ParseChunks(FileChannel channel, long[] bounds, int from, int to) {
+            this.channel = channel;
+            this.bounds = bounds;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected List<Task> compute() {
+            if (to - from == 1) {
+                return TaskCsv.parse(StandardCharsets.UTF_8.decode(readChunk()));
+            }
+            int middle = (from + to) >>> 1;
+            ParseChunks right = new ParseChunks(channel, bounds, middle, to);
+            right.fork();
+            List<Task> result = new ParseChunks(channel, bounds, from, middle).compute();
+            result.addAll(right.join());
+            return result;
+        }
+
+        private ByteBuffer readChunk() {
+            ByteBuffer buffer = ByteBuffer.allocate((int) (bounds[to] - bounds[from]));
+            try {
+                long position = bounds[from];
+                while (buffer.hasRemaining()) {
+                    int read = channel.read(buffer, position);
+                    if (read < 0) {
+                        throw new IOException("CSV file was truncated while reading");
+                    }
+                    position += read;
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return buffer.flip();
+        }
+    }
+}
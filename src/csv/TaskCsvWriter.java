@@ -0,0 +1,88 @@
+package csv;
+
+import manager.TaskManager;
+import model.Task;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+public final class TaskCsvWriter {
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final int FLUSH_THRESHOLD = BUFFER_SIZE / 2;
+
+    private final FileChannel channel;
+    private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder();
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+    private final StringBuilder pending = new StringBuilder(FLUSH_THRESHOLD * 2);
+    private int count;
+
+    private TaskCsvWriter(FileChannel channel) {
+        this.channel = channel;
+    }
+
+    public static int export(TaskManager manager, Path file) throws IOException {
+        if (manager == null) {
+            throw new IllegalArgumentException("Task manager cannot be null");
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            TaskCsvWriter writer = new TaskCsvWriter(channel);
+            writer.pending.append(TaskCsv.HEADER).append('\n');
+            try {
+                manager.forEachEpic(writer::write);
+                manager.forEachTask(writer::write);
+                manager.forEachSubtask(writer::write);
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            writer.flush();
+            return writer.count;
+        }
+    }
+
+    private void write(Task task) {
+        TaskCsv.write(pending, task);
+        count++;
+        if (pending.length() >= FLUSH_THRESHOLD) {
+            try {
+                flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    private void flush() throws IOException {
+        CharBuffer chars = CharBuffer.wrap(pending);
+        while (true) {
+            CoderResult result = encoder.encode(chars, buffer, true);
+            if (result.isError()) {
+                result.throwException();
+            }
+            drain();
+            if (result.isUnderflow()) {
+                break;
+            }
+        }
+        encoder.flush(buffer);
+        drain();
+        encoder.reset();
+        pending.setLength(0);
+    }
+
+    private void drain() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+}
@@ -0,0 +1,118 @@
+package event;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.LockSupport;
+
+public final class Subscription implements AutoCloseable {
+    private static final long IDLE_PARK_NANOS = 100_000_000L;
+
+    private final TaskEventBus bus;
+    private final TaskEventListener listener;
+    private final int maxBatchSize;
+    private final List<TaskEvent> batch;
+    private final Thread thread;
+    private volatile long nextSequence;
+    private volatile long lostCount;
+    private volatile boolean waiting;
+    private volatile boolean closed;
+    private volatile RuntimeException failure;
+
+    Subscription(TaskEventBus bus, TaskEventListener listener, long fromSequence, int maxBatchSize) {
+        this.bus = bus;
+        this.listener = listener;
+        this.maxBatchSize = maxBatchSize;
+        this.batch = new ArrayList<>(maxBatchSize);
+        this.nextSequence = fromSequence;
+        this.thread = Thread.ofVirtual().name("task-events-" + fromSequence).unstarted(this::run);
+    }
+
+    public long getNextSequence() {
+        return nextSequence;
+    }
+
+    public long getLostCount() {
+        return lostCount;
+    }
+
+    public boolean isClosed() {
+        return closed;
+    }
+
+    public RuntimeException getFailure() {
+        return failure;
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        LockSupport.unpark(thread);
+        if (Thread.currentThread() == thread) {
+            return;
+        }
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    void start() {
+        thread.start();
+    }
+
+    void wakeUp() {
+        if (waiting) {
+            waiting = false;
+            LockSupport.unpark(thread);
+        }
+    }
+
+    private void run() {
+        long next = nextSequence;
+        try {
+            while (!closed) {
+                long available = bus.getLastSequence();
+                if (next > available) {
+                    idle(next);
+                    continue;
+                }
+                long oldest = available - bus.getCapacity() + 1;
+                if (next < oldest) {
+                    lostCount += oldest - next;
+                    listener.onEventsLost(next, oldest - 1);
+                    next = oldest;
+                    nextSequence = next;
+                }
+                while (batch.size() < maxBatchSize && next <= available) {
+                    TaskEvent event = bus.eventAt(next);
+                    if (event == null || event.sequence() != next) {
+                        break;
+                    }
+                    batch.add(event);
+                    next++;
+                }
+                if (batch.isEmpty()) {
+                    Thread.yield();
+                    continue;
+                }
+                listener.onEvents(List.copyOf(batch));
+                batch.clear();
+                nextSequence = next;
+            }
+        } catch (RuntimeException e) {
+            failure = e;
+        } finally {
+            closed = true;
+            bus.unsubscribe(this);
+        }
+    }
+
+    private void idle(long next) {
+        waiting = true;
+        if (next > bus.getLastSequence() && !closed) {
+            LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+        }
+        waiting = false;
+    }
+}
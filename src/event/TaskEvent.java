@@ -0,0 +1,12 @@
+package event;
+
+import model.Task;
+
+public record TaskEvent(long sequence, Type type, int id, Task task) {
+
+    public enum Type {
+        TASK_CREATED, TASK_UPDATED, TASK_DELETED, ALL_TASKS_DELETED,
+        EPIC_CREATED, EPIC_UPDATED, EPIC_DELETED, ALL_EPICS_DELETED, EPIC_STATUS_CHANGED,
+        SUBTASK_CREATED, SUBTASK_UPDATED, SUBTASK_DELETED, ALL_SUBTASKS_DELETED
+    }
+}
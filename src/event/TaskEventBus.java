@@ -0,0 +1,89 @@
+package event;
+
+import model.Task;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+public final class TaskEventBus implements AutoCloseable {
+    public static final int DEFAULT_CAPACITY = 16_384;
+    public static final int DEFAULT_MAX_BATCH_SIZE = 256;
+
+    private final AtomicReferenceArray<TaskEvent> ring;
+    private final int mask;
+    private final int maxBatchSize;
+    private final AtomicLong cursor = new AtomicLong();
+    private final List<Subscription> subscriptions = new CopyOnWriteArrayList<>();
+
+    public TaskEventBus() {
+        this(DEFAULT_CAPACITY, DEFAULT_MAX_BATCH_SIZE);
+    }
+
+    public TaskEventBus(int capacity, int maxBatchSize) {
+        if (capacity <= 0 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Capacity must be a positive power of two");
+        }
+        if (maxBatchSize <= 0) {
+            throw new IllegalArgumentException("Batch size must be positive");
+        }
+        this.ring = new AtomicReferenceArray<>(capacity);
+        this.mask = capacity - 1;
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    public long publish(TaskEvent.Type type, int id, Task task) {
+        long sequence = cursor.incrementAndGet();
+        TaskEvent event = new TaskEvent(sequence, type, id, task);
+        int index = (int) sequence & mask;
+        TaskEvent current = ring.get(index);
+        while ((current == null || current.sequence() < sequence) && !ring.compareAndSet(index, current, event)) {
+            current = ring.get(index);
+        }
+        for (Subscription subscription : subscriptions) {
+            subscription.wakeUp();
+        }
+        return sequence;
+    }
+
+    public long getLastSequence() {
+        return cursor.get();
+    }
+
+    public int getCapacity() {
+        return mask + 1;
+    }
+
+    public Subscription subscribe(TaskEventListener listener) {
+        return subscribe(cursor.get() + 1, listener);
+    }
+
+    public Subscription subscribe(long fromSequence, TaskEventListener listener) {
+        if (listener == null) {
+            throw new IllegalArgumentException("Listener cannot be null");
+        }
+        if (fromSequence <= 0) {
+            throw new IllegalArgumentException("Sequence must be positive");
+        }
+        Subscription subscription = new Subscription(this, listener, fromSequence, maxBatchSize);
+        subscriptions.add(subscription);
+        subscription.start();
+        return subscription;
+    }
+
+    @Override
+    public void close() {
+        for (Subscription subscription : subscriptions) {
+            subscription.close();
+        }
+    }
+
+    TaskEvent eventAt(long sequence) {
+        return ring.get((int) sequence & mask);
+    }
+
+    void unsubscribe(Subscription subscription) {
+        subscriptions.remove(subscription);
+    }
+}
@@ -0,0 +1,11 @@
+package event;
+
+import java.util.List;
+
+@FunctionalInterface
+public interface TaskEventListener {
+    void onEvents(List<TaskEvent> events);
+
+    default void onEventsLost(long fromSequence, long toSequence) {
+    }
+}
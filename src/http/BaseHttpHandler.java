@@ -0,0 +1,101 @@
+package http;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import json.JsonReader;
+import json.JsonWriter;
+import json.TaskJson;
+import manager.TaskManager;
+import manager.TaskOverlapException;
+
+import java.io.IOException;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+abstract class BaseHttpHandler implements HttpHandler {
+    private static final String JSON_CONTENT_TYPE = "application/json;charset=utf-8";
+
+    protected final TaskManager manager;
+
+    protected BaseHttpHandler(TaskManager manager) {
+        this.manager = manager;
+    }
+
+    @Override
+    public void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            try {
+                String[] path = exchange.getRequestURI().getPath().split("/");
+                if (path.length < 2 || !exchange.getHttpContext().getPath().equals("/" + path[1])) {
+                    throw new NotFoundException("Unknown path " + exchange.getRequestURI().getPath());
+                }
+                handle(exchange, exchange.getRequestMethod(), path);
+            } catch (RuntimeException e) {
+                if (exchange.getResponseCode() != -1) {
+                    throw e;
+                }
+                sendError(exchange, e);
+            }
+        }
+    }
+
+    protected abstract void handle(HttpExchange exchange, String method, String[] path) throws IOException;
+
+    protected <T> T readJson(HttpExchange exchange, Function<JsonReader, T> parser) {
+        try (JsonReader reader = new JsonReader(exchange.getRequestBody())) {
+            T value = parser.apply(reader);
+            if (reader.peek() != JsonReader.Token.END_DOCUMENT) {
+                throw new IllegalArgumentException("Expected a single JSON value");
+            }
+            return value;
+        }
+    }
+
+    protected int parseId(String value) {
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid id: " + value);
+        }
+    }
+
+    protected <T> T requireFound(T value, String typeName, int id) {
+        if (value == null) {
+            throw new NotFoundException(typeName + " with id " + id + " not found");
+        }
+        return value;
+    }
+
+    protected void sendJson(HttpExchange exchange, int code, Consumer<JsonWriter> body) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", JSON_CONTENT_TYPE);
+        exchange.sendResponseHeaders(code, 0);
+        try (JsonWriter writer = new JsonWriter(exchange.getResponseBody())) {
+            body.accept(writer);
+        }
+    }
+
+    protected void sendOk(HttpExchange exchange) throws IOException {
+        exchange.sendResponseHeaders(200, -1);
+    }
+
+    protected void sendMethodNotAllowed(HttpExchange exchange) throws IOException {
+        exchange.sendResponseHeaders(405, -1);
+    }
+
+    private void sendError(HttpExchange exchange, RuntimeException e) throws IOException {
+        int code;
+        String message = e.getMessage();
+        if (e instanceof NotFoundException) {
+            code = 404;
+        } else if (e instanceof TaskOverlapException) {
+            code = 406;
+        } else if (e instanceof IllegalArgumentException) {
+            code = 400;
+        } else {
+            code = 500;
+            message = "Internal server error";
+        }
+        String error = message;
+        sendJson(exchange, code, writer -> TaskJson.writeError(writer, error));
+    }
+}
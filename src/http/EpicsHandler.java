@@ -0,0 +1,63 @@
+package http;
+
+import com.sun.net.httpserver.HttpExchange;
+import json.TaskJson;
+import manager.TaskManager;
+import model.Epic;
+
+import java.io.IOException;
+
+class EpicsHandler extends BaseHttpHandler {
+
+    EpicsHandler(TaskManager manager) {
+        super(manager);
+    }
+
+    @Override
+    protected void handle(HttpExchange exchange, String method, String[] path) throws IOException {
+        switch (method) {
+            case "GET" -> {
+                if (path.length == 2) {
+                    sendJson(exchange, 200, writer -> {
+                        writer.beginArray();
+                        manager.forEachEpic(epic -> TaskJson.write(writer, epic));
+                        writer.endArray();
+                    });
+                } else if (path.length == 3) {
+                    int id = parseId(path[2]);
+                    Epic found = requireFound(manager.getEpic(id), "Epic", id);
+                    sendJson(exchange, 200, writer -> TaskJson.write(writer, found));
+                } else if (path.length == 4 && path[3].equals("subtasks")) {
+                    int id = parseId(path[2]);
+                    requireFound(manager.getEpicById(id), "Epic", id);
+                    sendJson(exchange, 200, writer -> TaskJson.writeAll(writer, manager.getEpicSubtasks(id)));
+                } else {
+                    throw new NotFoundException("Unknown path " + exchange.getRequestURI().getPath());
+                }
+            }
+            case "POST" -> {
+                Epic epic = readJson(exchange, TaskJson::readEpic);
+                if (epic.getId() == 0) {
+                    manager.createEpic(epic);
+                    sendJson(exchange, 201, writer -> TaskJson.write(writer, epic));
+                } else {
+                    requireFound(manager.getEpicById(epic.getId()), "Epic", epic.getId());
+                    manager.updateEpic(epic);
+                    Epic updated = manager.getEpicById(epic.getId());
+                    sendJson(exchange, 200, writer -> TaskJson.write(writer, updated));
+                }
+            }
+            case "DELETE" -> {
+                if (path.length == 2) {
+                    manager.deleteAllEpics();
+                } else {
+                    int id = parseId(path[2]);
+                    requireFound(manager.getEpicById(id), "Epic", id);
+                    manager.deleteEpicById(id);
+                }
+                sendOk(exchange);
+            }
+            default -> sendMethodNotAllowed(exchange);
+        }
+    }
+}
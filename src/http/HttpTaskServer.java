@@ -0,0 +1,72 @@
+package http;
+
+import com.sun.net.httpserver.HttpServer;
+import manager.Managers;
+import manager.TaskManager;
+import metrics.InstrumentedTaskManager;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+public class HttpTaskServer implements AutoCloseable {
+    public static final int DEFAULT_PORT = 8080;
+    private static final int BACKLOG = 1024;
+    private static final String NO_DELAY_PROPERTY = "sun.net.httpserver.nodelay";
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+
+    public HttpTaskServer(TaskManager manager) throws IOException {
+        this(manager, DEFAULT_PORT);
+    }
+
+    public HttpTaskServer(TaskManager manager, int port) throws IOException {
+        if (manager == null) {
+            throw new IllegalArgumentException("Task manager cannot be null");
+        }
+        this.server = HttpServer.create(new InetSocketAddress(port), BACKLOG);
+        this.executor = Executors.newVirtualThreadPerTaskExecutor();
+        server.setExecutor(executor);
+        server.createContext("/tasks", new TasksHandler(manager));
+        server.createContext("/epics", new EpicsHandler(manager));
+        server.createContext("/subtasks", new SubtasksHandler(manager));
+        server.createContext("/history", new HistoryHandler(manager));
+        server.createContext("/prioritized", new PrioritizedHandler(manager));
+        if (manager instanceof InstrumentedTaskManager instrumented) {
+            server.createContext("/metrics", new MetricsHandler(instrumented));
+        }
+    }
+
+    public void start() {
+        server.start();
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    public void stop() {
+        server.stop(0);
+        executor.close();
+    }
+
+    @Override
+    public void close() {
+        stop();
+    }
+
+    public static void enableTcpNoDelay() {
+        if (System.getProperty(NO_DELAY_PROPERTY) == null) {
+            System.setProperty(NO_DELAY_PROPERTY, "true");
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        enableTcpNoDelay();
+        HttpTaskServer server = new HttpTaskServer(Managers.getInstrumented());
+        server.start();
+        System.out.println("HTTP-сервер запущен на порту " + server.getPort());
+    }
+}
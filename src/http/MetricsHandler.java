@@ -0,0 +1,35 @@
+package http;
+
+import com.sun.net.httpserver.HttpExchange;
+import metrics.InstrumentedTaskManager;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+class MetricsHandler extends BaseHttpHandler {
+    private static final String TEXT_CONTENT_TYPE = "text/plain;charset=utf-8";
+
+    private final InstrumentedTaskManager instrumented;
+
+    MetricsHandler(InstrumentedTaskManager manager) {
+        super(manager);
+        this.instrumented = manager;
+    }
+
+    @Override
+    protected void handle(HttpExchange exchange, String method, String[] path) throws IOException {
+        if (!method.equals("GET")) {
+            sendMethodNotAllowed(exchange);
+        } else if (path.length != 2) {
+            throw new NotFoundException("Unknown path " + exchange.getRequestURI().getPath());
+        } else {
+            byte[] body = instrumented.getMetrics().dump().getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", TEXT_CONTENT_TYPE);
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        }
+    }
+}
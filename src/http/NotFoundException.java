@@ -0,0 +1,9 @@
+package http;
+
+class NotFoundException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    NotFoundException(String message) {
+        super(message);
+    }
+}
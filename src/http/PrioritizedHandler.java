@@ -0,0 +1,25 @@
+package http;
+
+import com.sun.net.httpserver.HttpExchange;
+import json.TaskJson;
+import manager.TaskManager;
+
+import java.io.IOException;
+
+class PrioritizedHandler extends BaseHttpHandler {
+
+    PrioritizedHandler(TaskManager manager) {
+        super(manager);
+    }
+
+    @Override
+    protected void handle(HttpExchange exchange, String method, String[] path) throws IOException {
+        if (!method.equals("GET")) {
+            sendMethodNotAllowed(exchange);
+        } else if (path.length != 2) {
+            throw new NotFoundException("Unknown path " + exchange.getRequestURI().getPath());
+        } else {
+            sendJson(exchange, 200, writer -> TaskJson.writeAll(writer, manager.getPrioritizedTasks()));
+        }
+    }
+}
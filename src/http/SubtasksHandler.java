@@ -0,0 +1,58 @@
+package http;
+
+import com.sun.net.httpserver.HttpExchange;
+import json.TaskJson;
+import manager.TaskManager;
+import model.Subtask;
+
+import java.io.IOException;
+
+class SubtasksHandler extends BaseHttpHandler {
+
+    SubtasksHandler(TaskManager manager) {
+        super(manager);
+    }
+
+    @Override
+    protected void handle(HttpExchange exchange, String method, String[] path) throws IOException {
+        switch (method) {
+            case "GET" -> {
+                if (path.length == 2) {
+                    sendJson(exchange, 200, writer -> {
+                        writer.beginArray();
+                        manager.forEachSubtask(subtask -> TaskJson.write(writer, subtask));
+                        writer.endArray();
+                    });
+                } else if (path.length == 3) {
+                    int id = parseId(path[2]);
+                    Subtask found = requireFound(manager.getSubtask(id), "Subtask", id);
+                    sendJson(exchange, 200, writer -> TaskJson.write(writer, found));
+                } else {
+                    throw new NotFoundException("Unknown path " + exchange.getRequestURI().getPath());
+                }
+            }
+            case "POST" -> {
+                Subtask subtask = readJson(exchange, TaskJson::readSubtask);
+                if (subtask.getId() == 0) {
+                    manager.createSubtask(subtask);
+                    sendJson(exchange, 201, writer -> TaskJson.write(writer, subtask));
+                } else {
+                    requireFound(manager.getSubtaskById(subtask.getId()), "Subtask", subtask.getId());
+                    manager.updateSubtask(subtask);
+                    sendJson(exchange, 200, writer -> TaskJson.write(writer, subtask));
+                }
+            }
+            case "DELETE" -> {
+                if (path.length == 2) {
+                    manager.deleteAllSubtasks();
+                } else {
+                    int id = parseId(path[2]);
+                    requireFound(manager.getSubtaskById(id), "Subtask", id);
+                    manager.deleteSubtaskById(id);
+                }
+                sendOk(exchange);
+            }
+            default -> sendMethodNotAllowed(exchange);
+        }
+    }
+}
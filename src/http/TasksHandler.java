@@ -0,0 +1,58 @@
+package http;
+
+import com.sun.net.httpserver.HttpExchange;
+import json.TaskJson;
+import manager.TaskManager;
+import model.Task;
+
+import java.io.IOException;
+
+class TasksHandler extends BaseHttpHandler {
+
+    TasksHandler(TaskManager manager) {
+        super(manager);
+    }
+
+    @Override
+    protected void handle(HttpExchange exchange, String method, String[] path) throws IOException {
+        switch (method) {
+            case "GET" -> {
+                if (path.length == 2) {
+                    sendJson(exchange, 200, writer -> {
+                        writer.beginArray();
+                        manager.forEachTask(task -> TaskJson.write(writer, task));
+                        writer.endArray();
+                    });
+                } else if (path.length == 3) {
+                    int id = parseId(path[2]);
+                    Task found = requireFound(manager.getTask(id), "Task", id);
+                    sendJson(exchange, 200, writer -> TaskJson.write(writer, found));
+                } else {
+                    throw new NotFoundException("Unknown path " + exchange.getRequestURI().getPath());
+                }
+            }
+            case "POST" -> {
+                Task task = readJson(exchange, TaskJson::readTask);
+                if (task.getId() == 0) {
+                    manager.createTask(task);
+                    sendJson(exchange, 201, writer -> TaskJson.write(writer, task));
+                } else {
+                    requireFound(manager.getTaskById(task.getId()), "Task", task.getId());
+                    manager.updateTask(task);
+                    sendJson(exchange, 200, writer -> TaskJson.write(writer, task));
+                }
+            }
+            case "DELETE" -> {
+                if (path.length == 2) {
+                    manager.deleteAllTasks();
+                } else {
+                    int id = parseId(path[2]);
+                    requireFound(manager.getTaskById(id), "Task", id);
+                    manager.deleteTaskById(id);
+                }
+                sendOk(exchange);
+            }
+            default -> sendMethodNotAllowed(exchange);
+        }
+    }
+}
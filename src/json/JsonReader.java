@@ -0,0 +1,401 @@
+package json;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+
+public final class JsonReader implements Closeable {
+    private static final int BUFFER_SIZE = 8192;
+
+    private static final int EMPTY_DOCUMENT = 0;
+    private static final int NONEMPTY_DOCUMENT = 1;
+    private static final int EMPTY_ARRAY = 2;
+    private static final int NONEMPTY_ARRAY = 3;
+    private static final int EMPTY_OBJECT = 4;
+    private static final int NONEMPTY_OBJECT = 5;
+    private static final int DANGLING_NAME = 6;
+
+    public enum Token {
+        BEGIN_OBJECT, END_OBJECT, BEGIN_ARRAY, END_ARRAY, NAME, STRING, NUMBER, BOOLEAN, NULL, END_DOCUMENT
+    }
+
+    private final InputStream in;
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+    private final StringBuilder text = new StringBuilder();
+    private int position;
+    private int limit;
+    private long consumed;
+    private int[] stack = new int[16];
+    private int depth = 1;
+    private Token peeked;
+
+    public JsonReader(InputStream in) {
+        this.in = in;
+        stack[0] = EMPTY_DOCUMENT;
+    }
+
+    public Token peek() {
+        if (peeked == null) {
+            peeked = nextToken();
+        }
+        return peeked;
+    }
+
+    public boolean hasNext() {
+        Token token = peek();
+        return token != Token.END_OBJECT && token != Token.END_ARRAY && token != Token.END_DOCUMENT;
+    }
+
+    public void beginObject() {
+        expect(Token.BEGIN_OBJECT);
+        position++;
+        push(EMPTY_OBJECT);
+    }
+
+    public void endObject() {
+        expect(Token.END_OBJECT);
+        position++;
+        depth--;
+    }
+
+    public void beginArray() {
+        expect(Token.BEGIN_ARRAY);
+        position++;
+        push(EMPTY_ARRAY);
+    }
+
+    public void endArray() {
+        expect(Token.END_ARRAY);
+        position++;
+        depth--;
+    }
+
+    public String nextName() {
+        expect(Token.NAME);
+        position++;
+        return readString();
+    }
+
+    public String nextString() {
+        expect(Token.STRING);
+        position++;
+        return readString();
+    }
+
+    public String nextStringOrNull() {
+        if (peek() == Token.NULL) {
+            nextNull();
+            return null;
+        }
+        return nextString();
+    }
+
+    public long nextLong() {
+        expect(Token.NUMBER);
+        boolean negative = false;
+        if (buffer[position] == '-') {
+            negative = true;
+            position++;
+        }
+        long value = 0;
+        int digits = 0;
+        while (fill(1) && buffer[position] >= '0' && buffer[position] <= '9') {
+            int digit = buffer[position++] - '0';
+            if (value < (Long.MIN_VALUE + digit) / 10) {
+                throw syntaxError("Number is out of range");
+            }
+            value = value * 10 - digit;
+            digits++;
+        }
+        if (digits == 0) {
+            throw syntaxError("Expected a number");
+        }
+        if (fill(1) && (buffer[position] == '.' || buffer[position] == 'e' || buffer[position] == 'E')) {
+            throw syntaxError("Only integer numbers are supported");
+        }
+        if (!negative && value == Long.MIN_VALUE) {
+            throw syntaxError("Number is out of range");
+        }
+        return negative ? value : -value;
+    }
+
+    public int nextInt() {
+        long value = nextLong();
+        if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) {
+            throw syntaxError("Number is out of int range");
+        }
+        return (int) value;
+    }
+
+    public boolean nextBoolean() {
+        expect(Token.BOOLEAN);
+        if (buffer[position] == 't') {
+            readLiteral("true");
+            return true;
+        }
+        readLiteral("false");
+        return false;
+    }
+
+    public void nextNull() {
+        expect(Token.NULL);
+        readLiteral("null");
+    }
+
+    public void skipValue() {
+        int level = 0;
+        do {
+            switch (peek()) {
+                case BEGIN_OBJECT -> {
+                    beginObject();
+                    level++;
+                }
+                case BEGIN_ARRAY -> {
+                    beginArray();
+                    level++;
+                }
+                case END_OBJECT -> {
+                    endObject();
+                    level--;
+                }
+                case END_ARRAY -> {
+                    endArray();
+                    level--;
+                }
+                case NAME -> nextName();
+                case STRING -> nextString();
+                case NUMBER -> nextLong();
+                case BOOLEAN -> nextBoolean();
+                case NULL -> nextNull();
+                case END_DOCUMENT -> throw syntaxError("Unexpected end of document");
+            }
+        } while (level > 0);
+    }
+
+    @Override
+    public void close() {
+        try {
+            in.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Token nextToken() {
+        int context = stack[depth - 1];
+        switch (context) {
+            case EMPTY_ARRAY -> stack[depth - 1] = NONEMPTY_ARRAY;
+            case NONEMPTY_ARRAY -> {
+                int c = peekNonWhitespace();
+                if (c == ']') {
+                    return Token.END_ARRAY;
+                }
+                consumeSeparator(c, ',');
+            }
+            case EMPTY_OBJECT, NONEMPTY_OBJECT -> {
+                stack[depth - 1] = DANGLING_NAME;
+                int c = peekNonWhitespace();
+                if (c == '}') {
+                    return Token.END_OBJECT;
+                }
+                if (context == NONEMPTY_OBJECT) {
+                    consumeSeparator(c, ',');
+                    c = peekNonWhitespace();
+                }
+                if (c != '"') {
+                    throw syntaxError("Expected field name");
+                }
+                return Token.NAME;
+            }
+            case DANGLING_NAME -> {
+                stack[depth - 1] = NONEMPTY_OBJECT;
+                consumeSeparator(peekNonWhitespace(), ':');
+            }
+            case EMPTY_DOCUMENT -> stack[depth - 1] = NONEMPTY_DOCUMENT;
+            default -> {
+                if (peekNonWhitespace() != -1) {
+                    throw syntaxError("Expected end of document");
+                }
+                return Token.END_DOCUMENT;
+            }
+        }
+
+        int c = peekNonWhitespace();
+        return switch (c) {
+            case '{' -> Token.BEGIN_OBJECT;
+            case '[' -> Token.BEGIN_ARRAY;
+            case ']' -> {
+                if (context != EMPTY_ARRAY) {
+                    throw syntaxError("Unexpected ']'");
+                }
+                yield Token.END_ARRAY;
+            }
+            case '"' -> Token.STRING;
+            case 't', 'f' -> Token.BOOLEAN;
+            case 'n' -> Token.NULL;
+            case -1 -> throw syntaxError("Unexpected end of document");
+            default -> {
+                if (c == '-' || (c >= '0' && c <= '9')) {
+                    yield Token.NUMBER;
+                }
+                throw syntaxError("Unexpected character '" + (char) c + "'");
+            }
+        };
+    }
+
+    private String readString() {
+        text.setLength(0);
+        while (true) {
+            if (!fill(1)) {
+                throw syntaxError("Unterminated string");
+            }
+            int b = buffer[position++] & 0xFF;
+            if (b == '"') {
+                return text.toString();
+            }
+            if (b == '\\') {
+                readEscape();
+            } else if (b < 0x80) {
+                if (b < 0x20) {
+                    throw syntaxError("Unescaped control character in string");
+                }
+                text.append((char) b);
+            } else {
+                readMultiByte(b);
+            }
+        }
+    }
+
+    private void readEscape() {
+        if (!fill(1)) {
+            throw syntaxError("Unterminated escape");
+        }
+        int c = buffer[position++];
+        switch (c) {
+            case '"', '\\', '/' -> text.append((char) c);
+            case 'b' -> text.append('\b');
+            case 'f' -> text.append('\f');
+            case 'n' -> text.append('\n');
+            case 'r' -> text.append('\r');
+            case 't' -> text.append('\t');
+            case 'u' -> {
+                if (!fill(4)) {
+                    throw syntaxError("Unterminated unicode escape");
+                }
+                int value = 0;
+                for (int i = 0; i < 4; i++) {
+                    int digit = Character.digit(buffer[position++], 16);
+                    if (digit < 0) {
+                        throw syntaxError("Invalid unicode escape");
+                    }
+                    value = value << 4 | digit;
+                }
+                text.append((char) value);
+            }
+            default -> throw syntaxError("Invalid escape character");
+        }
+    }
+
+    private void readMultiByte(int first) {
+        int extra;
+        int codePoint;
+        if ((first & 0xE0) == 0xC0) {
+            extra = 1;
+            codePoint = first & 0x1F;
+        } else if ((first & 0xF0) == 0xE0) {
+            extra = 2;
+            codePoint = first & 0x0F;
+        } else if ((first & 0xF8) == 0xF0) {
+            extra = 3;
+            codePoint = first & 0x07;
+        } else {
+            throw syntaxError("Invalid UTF-8 sequence");
+        }
+        if (!fill(extra)) {
+            throw syntaxError("Truncated UTF-8 sequence");
+        }
+        for (int i = 0; i < extra; i++) {
+            int b = buffer[position++] & 0xFF;
+            if ((b & 0xC0) != 0x80) {
+                throw syntaxError("Invalid UTF-8 sequence");
+            }
+            codePoint = codePoint << 6 | (b & 0x3F);
+        }
+        if (!Character.isValidCodePoint(codePoint)) {
+            throw syntaxError("Invalid UTF-8 sequence");
+        }
+        text.appendCodePoint(codePoint);
+    }
+
+    private void readLiteral(String literal) {
+        if (!fill(literal.length())) {
+            throw syntaxError("Unexpected end of document");
+        }
+        for (int i = 0; i < literal.length(); i++) {
+            if (buffer[position + i] != literal.charAt(i)) {
+                throw syntaxError("Unexpected token");
+            }
+        }
+        position += literal.length();
+    }
+
+    private void expect(Token token) {
+        if (peek() != token) {
+            throw syntaxError("Expected " + token + " but was " + peeked);
+        }
+        peeked = null;
+    }
+
+    private void consumeSeparator(int c, char separator) {
+        if (c != separator) {
+            throw syntaxError("Expected '" + separator + "'");
+        }
+        position++;
+    }
+
+    private void push(int context) {
+        if (depth == stack.length) {
+            stack = Arrays.copyOf(stack, depth * 2);
+        }
+        stack[depth++] = context;
+    }
+
+    private int peekNonWhitespace() {
+        while (fill(1)) {
+            int c = buffer[position] & 0xFF;
+            if (c != ' ' && c != '\n' && c != '\r' && c != '\t') {
+                return c;
+            }
+            position++;
+        }
+        return -1;
+    }
+
+    private boolean fill(int required) {
+        if (limit - position >= required) {
+            return true;
+        }
+        consumed += position;
+        limit -= position;
+        System.arraycopy(buffer, position, buffer, 0, limit);
+        position = 0;
+        try {
+            while (limit < required) {
+                int read = in.read(buffer, limit, buffer.length - limit);
+                if (read < 0) {
+                    return false;
+                }
+                limit += read;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return true;
+    }
+
+    private IllegalArgumentException syntaxError(String message) {
+        return new IllegalArgumentException("Invalid JSON at byte " + (consumed + position) + ": " + message);
+    }
+}
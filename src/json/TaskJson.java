@@ -0,0 +1,156 @@
+package json;
+
+import model.Epic;
+import model.Subtask;
+import model.Task;
+import model.TaskStatus;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+public final class TaskJson {
+
+    private TaskJson() {
+    }
+
+    public static void write(JsonWriter writer, Task task) {
+        writer.beginObject();
+        writer.name("id").value(task.getId());
+        if (task instanceof Subtask subtask) {
+            writer.name("type").value("SUBTASK");
+            writer.name("epicId").value(subtask.getEpicId());
+        } else if (task instanceof Epic) {
+            writer.name("type").value("EPIC");
+        } else {
+            writer.name("type").value("TASK");
+        }
+        writer.name("name").value(task.getName());
+        writer.name("description").value(task.getDescription());
+        writer.name("status").value(task.getStatus());
+        writer.name("startTime").value(task.getStartTime());
+        writer.name("duration").value(task.getDuration());
+        if (task instanceof Epic epic) {
+            writer.name("endTime").value(epic.getEndTime());
+            writer.name("subtaskIds").beginArray();
+            epic.forEachSubtaskId(writer::value);
+            writer.endArray();
+        }
+        writer.endObject();
+    }
+
+    public static void writeAll(JsonWriter writer, Iterable<? extends Task> tasks) {
+        writer.beginArray();
+        for (Task task : tasks) {
+            write(writer, task);
+        }
+        writer.endArray();
+    }
+
+    public static void writeError(JsonWriter writer, String message) {
+        writer.beginObject().name("error").value(message).endObject();
+    }
+
+    public static Task read(JsonReader reader) {
+        Fields fields = Fields.read(reader);
+        if ("EPIC".equals(fields.type)) {
+            return fields.toEpic();
+        }
+        if ("SUBTASK".equals(fields.type) || fields.epicId != null) {
+            return fields.toSubtask();
+        }
+        return fields.toTask();
+    }
+
+    public static Task readTask(JsonReader reader) {
+        return Fields.read(reader).toTask();
+    }
+
+    public static Epic readEpic(JsonReader reader) {
+        return Fields.read(reader).toEpic();
+    }
+
+    public static Subtask readSubtask(JsonReader reader) {
+        return Fields.read(reader).toSubtask();
+    }
+
+    public static void readAll(JsonReader reader, Consumer<? super Task> action) {
+        reader.beginArray();
+        while (reader.hasNext()) {
+            action.accept(read(reader));
+        }
+        reader.endArray();
+    }
+
+    private static final class Fields {
+        private int id;
+        private String type;
+        private Integer epicId;
+        private String name;
+        private String description;
+        private TaskStatus status;
+        private LocalDateTime startTime;
+        private Duration duration;
+
+        private static Fields read(JsonReader reader) {
+            Fields fields = new Fields();
+            reader.beginObject();
+            while (reader.hasNext()) {
+                String field = reader.nextName();
+                if (reader.peek() == JsonReader.Token.NULL) {
+                    reader.nextNull();
+                    continue;
+                }
+                switch (field) {
+                    case "id" -> fields.id = reader.nextInt();
+                    case "type" -> fields.type = reader.nextString();
+                    case "epicId" -> fields.epicId = reader.nextInt();
+                    case "name" -> fields.name = reader.nextString();
+                    case "description" -> fields.description = reader.nextString();
+                    case "status" -> fields.status = TaskStatus.valueOf(reader.nextString());
+                    case "startTime" -> fields.startTime = parse(reader.nextString(), LocalDateTime::parse);
+                    case "duration" -> fields.duration = parse(reader.nextString(), Duration::parse);
+                    default -> reader.skipValue();
+                }
+            }
+            reader.endObject();
+            return fields;
+        }
+
+        private Task toTask() {
+            return withTime(new Task(id, required(name, "name"), required(description, "description"), status));
+        }
+
+        private Epic toEpic() {
+            return new Epic(id, required(name, "name"), required(description, "description"), status);
+        }
+
+        private Subtask toSubtask() {
+            return withTime(new Subtask(id, required(name, "name"), required(description, "description"), status,
+                    required(epicId, "epicId")));
+        }
+
+        private <T extends Task> T withTime(T task) {
+            task.setStartTime(startTime);
+            task.setDuration(duration);
+            return task;
+        }
+
+        private static <T> T required(T value, String field) {
+            if (value == null) {
+                throw new IllegalArgumentException("Field '" + field + "' is required");
+            }
+            return value;
+        }
+
+        private static <T> T parse(String value, Function<String, T> parser) {
+            try {
+                return parser.apply(value);
+            } catch (DateTimeParseException e) {
+                throw new IllegalArgumentException("Invalid date or duration: " + value, e);
+            }
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package manager;
+
+import event.TaskEventBus;
+import model.Epic;
+import model.Subtask;
+import model.Task;
+import model.TaskStatus;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+public interface AsyncTaskManager {
+    CompletableFuture<List<Task>> getTasks();
+    CompletableFuture<Void> deleteAllTasks();
+    CompletableFuture<Task> getTaskById(int id);
+    CompletableFuture<Integer> createTask(Task task);
+    CompletableFuture<Void> updateTask(Task task);
+    CompletableFuture<Boolean> compareAndUpdateTask(Task task, long expectedVersion);
+    CompletableFuture<Void> deleteTaskById(int id);
+
+    CompletableFuture<List<Epic>> getEpics();
+    CompletableFuture<Void> deleteAllEpics();
+    CompletableFuture<Epic> getEpicById(int id);
+    CompletableFuture<Integer> createEpic(Epic epic);
+    CompletableFuture<Void> updateEpic(Epic epic);
+    CompletableFuture<Boolean> compareAndUpdateEpic(Epic epic, long expectedVersion);
+    CompletableFuture<Void> deleteEpicById(int id);
+
+    CompletableFuture<List<Subtask>> getSubtasks();
+    CompletableFuture<Void> deleteAllSubtasks();
+    CompletableFuture<Subtask> getSubtaskById(int id);
+    CompletableFuture<Integer> createSubtask(Subtask subtask);
+    CompletableFuture<Void> updateSubtask(Subtask subtask);
+    CompletableFuture<Boolean> compareAndUpdateSubtask(Subtask subtask, long expectedVersion);
+    CompletableFuture<Void> deleteSubtaskById(int id);
+
+    CompletableFuture<List<Subtask>> getEpicSubtasks(int epicId);
+
+    CompletableFuture<List<Task>> getTasksByStatus(TaskStatus status);
+    CompletableFuture<List<Epic>> getEpicsByStatus(TaskStatus status);
+    CompletableFuture<List<Subtask>> getSubtasksByStatus(TaskStatus status);
+
+    CompletableFuture<List<Task>> getPrioritizedTasks();
+
+    CompletableFuture<List<Task>> search(String query);
+
+    CompletableFuture<BatchResult> applyBatch(Batch batch);
+
+    TaskEventBus getEventBus();
+
+    CompletableFuture<List<Task>> getHistory();
+
+    CompletableFuture<Task> getTask(int id);
+    CompletableFuture<Epic> getEpic(int id);
+    CompletableFuture<Subtask> getSubtask(int id);
+}
@@ -0,0 +1,106 @@
+package manager;
+
+import model.Epic;
+import model.Subtask;
+import model.Task;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public final class Batch {
+
+    public enum Kind {
+        CREATE_TASK, UPDATE_TASK, DELETE_TASK,
+        CREATE_EPIC, UPDATE_EPIC, DELETE_EPIC,
+        CREATE_SUBTASK, UPDATE_SUBTASK, DELETE_SUBTASK
+    }
+
+    public record Operation(Kind kind, Task task, int id) {
+    }
+
+    private final List<Operation> operations;
+
+    private Batch(List<Operation> operations) {
+        this.operations = List.copyOf(operations);
+    }
+
+    static Batch of(List<Operation> operations) {
+        return new Batch(operations);
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public List<Operation> getOperations() {
+        return operations;
+    }
+
+    public int size() {
+        return operations.size();
+    }
+
+    public boolean isEmpty() {
+        return operations.isEmpty();
+    }
+
+    public static final class Builder {
+        private final List<Operation> operations = new ArrayList<>();
+
+        private Builder() {
+        }
+
+        public Builder createTask(Task task) {
+            return add(Kind.CREATE_TASK, task);
+        }
+
+        public Builder updateTask(Task task) {
+            return add(Kind.UPDATE_TASK, task);
+        }
+
+        public Builder deleteTask(int id) {
+            return add(Kind.DELETE_TASK, id);
+        }
+
+        public Builder createEpic(Epic epic) {
+            return add(Kind.CREATE_EPIC, epic);
+        }
+
+        public Builder updateEpic(Epic epic) {
+            return add(Kind.UPDATE_EPIC, epic);
+        }
+
+        public Builder deleteEpic(int id) {
+            return add(Kind.DELETE_EPIC, id);
+        }
+
+        public Builder createSubtask(Subtask subtask) {
+            return add(Kind.CREATE_SUBTASK, subtask);
+        }
+
+        public Builder updateSubtask(Subtask subtask) {
+            return add(Kind.UPDATE_SUBTASK, subtask);
+        }
+
+        public Builder deleteSubtask(int id) {
+            return add(Kind.DELETE_SUBTASK, id);
+        }
+
+        public Batch build() {
+            return new Batch(operations);
+        }
+
+        private Builder add(Kind kind, Task task) {
+            if (task == null) {
+                throw new IllegalArgumentException("Batch operation " + kind + " requires a task");
+            }
+            operations.add(new Operation(kind, task, 0));
+            return this;
+        }
+
+        private Builder add(Kind kind, int id) {
+            operations.add(new Operation(kind, null, id));
+            return this;
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package manager;
+
+import java.util.List;
+
+public final class BatchResult {
+    private final List<Integer> createdIds;
+    private final int operationCount;
+    private final int affectedEpicCount;
+    private final long elapsedNanos;
+
+    BatchResult(List<Integer> createdIds, int operationCount, int affectedEpicCount, long elapsedNanos) {
+        this.createdIds = List.copyOf(createdIds);
+        this.operationCount = operationCount;
+        this.affectedEpicCount = affectedEpicCount;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public List<Integer> getCreatedIds() {
+        return createdIds;
+    }
+
+    public int getOperationCount() {
+        return operationCount;
+    }
+
+    public int getAffectedEpicCount() {
+        return affectedEpicCount;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+        return "BatchResult{" +
+                "operations=" + operationCount +
+                ", created=" + createdIds.size() +
+                ", affectedEpics=" + affectedEpicCount +
+                ", elapsedMicros=" + elapsedNanos / 1_000 +
+                '}';
+    }
+}
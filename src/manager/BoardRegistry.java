@@ -0,0 +1,298 @@
+package manager;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+public class BoardRegistry implements AutoCloseable {
+    private static final long DEFAULT_MEMORY_BUDGET = 256L << 20;
+    private static final long BOARD_OVERHEAD_BYTES = 16 << 10;
+    private static final long ITEM_BYTES = 512;
+    private static final Pattern BOARD_ID = Pattern.compile("[A-Za-z0-9_-]{1,64}");
+
+    private final Path root;
+    private final long memoryBudget;
+    private final Function<Path, ? extends TaskManager> loader;
+    private final Map<String, Board> boards = new HashMap<>();
+    private final Map<String, CompletableFuture<Void>> closing = new HashMap<>();
+    private long estimatedBytes;
+    private long loadCount;
+    private long evictionCount;
+    private boolean closed;
+
+    public BoardRegistry(Path root) {
+        this(root, DEFAULT_MEMORY_BUDGET, FileBackedTaskManager::new);
+    }
+
+    public BoardRegistry(Path root, long memoryBudgetBytes, Function<Path, ? extends TaskManager> loader) {
+        if (root == null || loader == null) {
+            throw new IllegalArgumentException("Root directory and loader cannot be null");
+        }
+        if (memoryBudgetBytes <= 0) {
+            throw new IllegalArgumentException("Memory budget must be positive");
+        }
+        this.root = root;
+        this.memoryBudget = memoryBudgetBytes;
+        this.loader = loader;
+    }
+
+    public Lease acquire(String boardId) {
+        if (boardId == null || !BOARD_ID.matcher(boardId).matches()) {
+            throw new IllegalArgumentException("Invalid board id: " + boardId);
+        }
+        Board board;
+        boolean load = false;
+        CompletableFuture<Void> previous = null;
+        synchronized (this) {
+            if (closed) {
+                throw new IllegalStateException("Board registry is closed");
+            }
+            board = boards.get(boardId);
+            if (board == null) {
+                board = new Board(boardId);
+                boards.put(boardId, board);
+                load = true;
+                previous = closing.get(boardId);
+            }
+            board.leases++;
+            board.lastAccessNanos = System.nanoTime();
+        }
+        if (load) {
+            if (previous != null) {
+                previous.join();
+            }
+            load(board);
+        }
+        try {
+            return new Lease(board, board.manager.join());
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+    }
+
+    public <T> T withBoard(String boardId, Function<TaskManager, T> action) {
+        try (Lease lease = acquire(boardId)) {
+            return action.apply(lease.getManager());
+        }
+    }
+
+    public int evictIdle(Duration idleFor) {
+        long cutoff = System.nanoTime() - idleFor.toNanos();
+        List<Board> idle = new ArrayList<>();
+        synchronized (this) {
+            for (Board board : boards.values()) {
+                if (isEvictable(board) && board.lastAccessNanos - cutoff <= 0) {
+                    idle.add(board);
+                }
+            }
+            idle.forEach(this::evict);
+        }
+        closeAll(idle);
+        return idle.size();
+    }
+
+    public synchronized Set<String> getLoadedBoards() {
+        return new TreeSet<>(boards.keySet());
+    }
+
+    public synchronized long getEstimatedBytes() {
+        return estimatedBytes;
+    }
+
+    public synchronized long getLoadCount() {
+        return loadCount;
+    }
+
+    public synchronized long getEvictionCount() {
+        return evictionCount;
+    }
+
+    @Override
+    public void close() {
+        List<Board> loaded = new ArrayList<>();
+        List<CompletableFuture<Void>> pending = new ArrayList<>();
+        synchronized (this) {
+            closed = true;
+            for (Board board : boards.values()) {
+                if (!board.manager.isDone()) {
+                    pending.add(board.closed);
+                } else if (!board.manager.isCompletedExceptionally()) {
+                    loaded.add(board);
+                }
+            }
+            loaded.forEach(this::evict);
+            boards.clear();
+            pending.addAll(closing.values());
+        }
+        try {
+            closeAll(loaded);
+        } finally {
+            pending.forEach(CompletableFuture::join);
+        }
+    }
+
+    private void load(Board board) {
+        TaskManager manager;
+        try {
+            manager = loader.apply(root.resolve(board.id));
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                boards.remove(board.id, board);
+            }
+            board.manager.completeExceptionally(e);
+            board.closed.complete(null);
+            throw e;
+        }
+        boolean registryClosed;
+        synchronized (this) {
+            registryClosed = closed;
+            if (!registryClosed) {
+                loadCount++;
+                board.estimatedBytes = estimate(manager);
+                estimatedBytes += board.estimatedBytes;
+            }
+        }
+        if (registryClosed) {
+            throw discardLoaded(board, manager);
+        }
+        board.manager.complete(manager);
+    }
+
+    private static IllegalStateException discardLoaded(Board board, TaskManager manager) {
+        IllegalStateException failure = new IllegalStateException("Board registry is closed");
+        try {
+            if (manager instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        } catch (Exception e) {
+            failure.addSuppressed(e);
+        } finally {
+            board.closed.complete(null);
+        }
+        board.manager.completeExceptionally(failure);
+        return failure;
+    }
+
+    private void release(Board board, TaskManager manager) {
+        List<Board> evicted = new ArrayList<>();
+        synchronized (this) {
+            board.leases--;
+            board.lastAccessNanos = System.nanoTime();
+            if (boards.get(board.id) != board) {
+                return;
+            }
+            long estimate = estimate(manager);
+            estimatedBytes += estimate - board.estimatedBytes;
+            board.estimatedBytes = estimate;
+            if (estimatedBytes > memoryBudget) {
+                List<Board> candidates = new ArrayList<>();
+                for (Board candidate : boards.values()) {
+                    if (isEvictable(candidate)) {
+                        candidates.add(candidate);
+                    }
+                }
+                candidates.sort(Comparator.comparingLong(candidate -> candidate.lastAccessNanos));
+                for (Board candidate : candidates) {
+                    if (estimatedBytes <= memoryBudget) {
+                        break;
+                    }
+                    evict(candidate);
+                    evicted.add(candidate);
+                }
+            }
+        }
+        closeAll(evicted);
+    }
+
+    private boolean isEvictable(Board board) {
+        return board.leases == 0 && board.manager.isDone() && !board.manager.isCompletedExceptionally();
+    }
+
+    private void evict(Board board) {
+        boards.remove(board.id);
+        estimatedBytes -= board.estimatedBytes;
+        evictionCount++;
+        closing.put(board.id, board.closed);
+    }
+
+    private void closeAll(List<Board> evicted) {
+        RuntimeException failure = null;
+        for (Board board : evicted) {
+            try {
+                if (board.manager.join() instanceof AutoCloseable closeable) {
+                    closeable.close();
+                }
+            } catch (RuntimeException e) {
+                failure = failure == null ? e : failure;
+            } catch (Exception e) {
+                failure = failure == null ? new ManagerSaveException("Unable to close board " + board.id, e) : failure;
+            } finally {
+                synchronized (this) {
+                    closing.remove(board.id, board.closed);
+                }
+                board.closed.complete(null);
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    private static long estimate(TaskManager manager) {
+        long items = (long) manager.getTaskCount() + manager.getEpicCount() + manager.getSubtaskCount();
+        return BOARD_OVERHEAD_BYTES + items * ITEM_BYTES;
+    }
+
+    public final class Lease implements AutoCloseable {
+        private final Board board;
+        private final TaskManager manager;
+        private boolean released;
+
+        private Lease(Board board, TaskManager manager) {
+            this.board = board;
+            this.manager = manager;
+        }
+
+        public String getBoardId() {
+            return board.id;
+        }
+
+        public TaskManager getManager() {
+            if (released) {
+                throw new IllegalStateException("Lease on board " + board.id + " is released");
+            }
+            return manager;
+        }
+
+        @Override
+        public void close() {
+            if (!released) {
+                released = true;
+                release(board, manager);
+            }
+        }
+    }
+
+    private static final class Board {
+        private final String id;
+        private final CompletableFuture<TaskManager> manager = new CompletableFuture<>();
+        private final CompletableFuture<Void> closed = new CompletableFuture<>();
+        private int leases;
+        private long lastAccessNanos;
+        private long estimatedBytes;
+
+        private Board(String id) {
+            this.id = id;
+        }
+    }
+}
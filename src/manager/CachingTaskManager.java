@@ -0,0 +1,380 @@
+package manager;
+
+import event.TaskEventBus;
+import model.Epic;
+import model.Subtask;
+import model.Task;
+import model.TaskStatus;
+
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.IntFunction;
+import java.util.function.Predicate;
+
+public class CachingTaskManager implements TaskManager {
+    private static final long DEFAULT_MAX_WEIGHT = 64L << 20;
+
+    private final TaskManager delegate;
+    private final TaskCache cache;
+    private final HistoryManager history = new SynchronizedHistoryManager(Managers.getDefaultHistory());
+
+    public CachingTaskManager(TaskManager delegate) {
+        this(delegate, DEFAULT_MAX_WEIGHT);
+    }
+
+    public CachingTaskManager(TaskManager delegate, long maxWeightBytes) {
+        if (delegate == null) {
+            throw new IllegalArgumentException("Task manager cannot be null");
+        }
+        if (maxWeightBytes <= 0) {
+            throw new IllegalArgumentException("Cache size must be positive");
+        }
+        this.delegate = delegate;
+        this.cache = new TaskCache(maxWeightBytes);
+    }
+
+    public Stats getStats() {
+        return cache.stats();
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    @Override
+    public List<Task> getTasks() {
+        return delegate.getTasks();
+    }
+
+    @Override
+    public void deleteAllTasks() {
+        delegate.deleteAllTasks();
+        cache.invalidateAll();
+        forgetAll(task -> !(task instanceof Epic) && !(task instanceof Subtask));
+    }
+
+    @Override
+    public Task getTaskById(int id) {
+        return cached(id, Task.class, delegate::getTaskById);
+    }
+
+    @Override
+    public int createTask(Task task) {
+        return delegate.createTask(task);
+    }
+
+    @Override
+    public void updateTask(Task task) {
+        if (task == null) {
+            delegate.updateTask(null);
+            return;
+        }
+        try {
+            delegate.updateTask(task);
+        } finally {
+            cache.invalidate(task.getId());
+        }
+    }
+
+    @Override
+    public boolean compareAndUpdateTask(Task task, long expectedVersion) {
+        if (task == null) {
+            return delegate.compareAndUpdateTask(null, expectedVersion);
+        }
+        try {
+            return delegate.compareAndUpdateTask(task, expectedVersion);
+        } finally {
+            cache.invalidate(task.getId());
+        }
+    }
+
+    @Override
+    public void deleteTaskById(int id) {
+        delegate.deleteTaskById(id);
+        cache.invalidate(id);
+        history.remove(id);
+    }
+
+    @Override
+    public List<Epic> getEpics() {
+        return delegate.getEpics();
+    }
+
+    @Override
+    public void deleteAllEpics() {
+        delegate.deleteAllEpics();
+        cache.invalidateAll();
+        forgetAll(task -> task instanceof Epic || task instanceof Subtask);
+    }
+
+    @Override
+    public Epic getEpicById(int id) {
+        return cached(id, Epic.class, delegate::getEpicById);
+    }
+
+    @Override
+    public int createEpic(Epic epic) {
+        return delegate.createEpic(epic);
+    }
+
+    @Override
+    public void updateEpic(Epic epic) {
+        if (epic == null) {
+            delegate.updateEpic(null);
+            return;
+        }
+        try {
+            delegate.updateEpic(epic);
+        } finally {
+            cache.invalidate(epic.getId());
+        }
+    }
+
+    @Override
+    public boolean compareAndUpdateEpic(Epic epic, long expectedVersion) {
+        if (epic == null) {
+            return delegate.compareAndUpdateEpic(null, expectedVersion);
+        }
+        try {
+            return delegate.compareAndUpdateEpic(epic, expectedVersion);
+        } finally {
+            cache.invalidate(epic.getId());
+        }
+    }
+
+    @Override
+    public void deleteEpicById(int id) {
+        Epic epic = delegate.getEpicById(id);
+        delegate.deleteEpicById(id);
+        cache.invalidate(id);
+        cache.invalidateSubtasksOf(id);
+        history.remove(id);
+        if (epic != null) {
+            epic.forEachSubtaskId(history::remove);
+        }
+    }
+
+    @Override
+    public List<Subtask> getSubtasks() {
+        return delegate.getSubtasks();
+    }
+
+    @Override
+    public List<Task> getTasksView() {
+        return delegate.getTasksView();
+    }
+
+    @Override
+    public List<Epic> getEpicsView() {
+        return delegate.getEpicsView();
+    }
+
+    @Override
+    public List<Subtask> getSubtasksView() {
+        return delegate.getSubtasksView();
+    }
+
+    @Override
+    public int getTaskCount() {
+        return delegate.getTaskCount();
+    }
+
+    @Override
+    public int getEpicCount() {
+        return delegate.getEpicCount();
+    }
+
+    @Override
+    public int getSubtaskCount() {
+        return delegate.getSubtaskCount();
+    }
+
+    @Override
+    public void forEachTask(Consumer<? super Task> action) {
+        delegate.forEachTask(action);
+    }
+
+    @Override
+    public void forEachEpic(Consumer<? super Epic> action) {
+        delegate.forEachEpic(action);
+    }
+
+    @Override
+    public void forEachSubtask(Consumer<? super Subtask> action) {
+        delegate.forEachSubtask(action);
+    }
+
+    @Override
+    public void deleteAllSubtasks() {
+        delegate.deleteAllSubtasks();
+        cache.invalidateAll();
+        forgetAll(task -> task instanceof Subtask);
+    }
+
+    @Override
+    public Subtask getSubtaskById(int id) {
+        return cached(id, Subtask.class, delegate::getSubtaskById);
+    }
+
+    @Override
+    public int createSubtask(Subtask subtask) {
+        if (subtask == null) {
+            return delegate.createSubtask(null);
+        }
+        try {
+            return delegate.createSubtask(subtask);
+        } finally {
+            cache.invalidate(subtask.getEpicId());
+        }
+    }
+
+    @Override
+    public void updateSubtask(Subtask subtask) {
+        if (subtask == null) {
+            delegate.updateSubtask(null);
+            return;
+        }
+        int previousEpicId = currentEpicId(subtask.getId());
+        try {
+            delegate.updateSubtask(subtask);
+        } finally {
+            cache.invalidate(subtask.getId());
+            cache.invalidate(subtask.getEpicId());
+            if (previousEpicId != subtask.getEpicId()) {
+                cache.invalidate(previousEpicId);
+            }
+        }
+    }
+
+    @Override
+    public boolean compareAndUpdateSubtask(Subtask subtask, long expectedVersion) {
+        if (subtask == null) {
+            return delegate.compareAndUpdateSubtask(null, expectedVersion);
+        }
+        int previousEpicId = currentEpicId(subtask.getId());
+        try {
+            return delegate.compareAndUpdateSubtask(subtask, expectedVersion);
+        } finally {
+            cache.invalidate(subtask.getId());
+            cache.invalidate(subtask.getEpicId());
+            if (previousEpicId != subtask.getEpicId()) {
+                cache.invalidate(previousEpicId);
+            }
+        }
+    }
+
+    @Override
+    public void deleteSubtaskById(int id) {
+        int epicId = currentEpicId(id);
+        delegate.deleteSubtaskById(id);
+        cache.invalidate(id);
+        cache.invalidate(epicId);
+        history.remove(id);
+    }
+
+    @Override
+    public List<Subtask> getEpicSubtasks(int epicId) {
+        return delegate.getEpicSubtasks(epicId);
+    }
+
+    @Override
+    public List<Task> getTasksByStatus(TaskStatus status) {
+        return delegate.getTasksByStatus(status);
+    }
+
+    @Override
+    public List<Epic> getEpicsByStatus(TaskStatus status) {
+        return delegate.getEpicsByStatus(status);
+    }
+
+    @Override
+    public List<Subtask> getSubtasksByStatus(TaskStatus status) {
+        return delegate.getSubtasksByStatus(status);
+    }
+
+    @Override
+    public List<Task> getPrioritizedTasks() {
+        return delegate.getPrioritizedTasks();
+    }
+
+    @Override
+    public List<Task> search(String query) {
+        return delegate.search(query);
+    }
+
+    @Override
+    public BatchResult applyBatch(Batch batch) {
+        try {
+            return delegate.applyBatch(batch);
+        } finally {
+            cache.invalidateAll();
+            forgetAll(task -> find(task) == null);
+        }
+    }
+
+    @Override
+    public TaskEventBus getEventBus() {
+        return delegate.getEventBus();
+    }
+
+    @Override
+    public List<Task> getHistory() {
+        return history.getHistory();
+    }
+
+    @Override
+    public Task getTask(int id) {
+        return recordView(getTaskById(id));
+    }
+
+    @Override
+    public Epic getEpic(int id) {
+        return recordView(getEpicById(id));
+    }
+
+    @Override
+    public Subtask getSubtask(int id) {
+        return recordView(getSubtaskById(id));
+    }
+
+    private <T extends Task> T recordView(T task) {
+        if (task != null) {
+            history.add(task);
+        }
+        return task;
+    }
+
+    private void forgetAll(Predicate<Task> stale) {
+        for (Task task : history.getHistory()) {
+            if (stale.test(task)) {
+                history.remove(task.getId());
+            }
+        }
+    }
+
+    private Task find(Task task) {
+        if (task instanceof Subtask) {
+            return getSubtaskById(task.getId());
+        }
+        return task instanceof Epic ? getEpicById(task.getId()) : getTaskById(task.getId());
+    }
+
+    private <T extends Task> T cached(int id, Class<T> type, IntFunction<T> loader) {
+        T task = cache.get(id, type);
+        if (task != null) {
+            return task;
+        }
+        long generation = cache.generation();
+        task = loader.apply(id);
+        cache.put(generation, task);
+        return task;
+    }
+
+    private int currentEpicId(int subtaskId) {
+        Subtask subtask = cache.peek(subtaskId) instanceof Subtask cached ? cached : delegate.getSubtaskById(subtaskId);
+        return subtask == null ? 0 : subtask.getEpicId();
+    }
+
+    public record Stats(long hits, long misses, long evictions, long invalidations, int size, long weight) {
+    }
+}
@@ -0,0 +1,260 @@
+package manager;
+
+import model.Epic;
+import model.Subtask;
+import model.Task;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+
+public class ConcurrentTaskManager extends InMemoryTaskManager {
+    private static final int DEFAULT_STRIPES = 64;
+
+    private final AtomicInteger nextId = new AtomicInteger(1);
+    private final ReentrantReadWriteLock[] stripes;
+    private final Set<Integer> claimed = ConcurrentHashMap.newKeySet();
+
+    public ConcurrentTaskManager() {
+        this(DEFAULT_STRIPES);
+    }
+
+    public ConcurrentTaskManager(int stripeCount) {
+        this(stripeCount, Managers.getDefaultHistory());
+    }
+
+    public ConcurrentTaskManager(HistoryManager historyManager) {
+        this(DEFAULT_STRIPES, historyManager);
+    }
+
+    public ConcurrentTaskManager(int stripeCount, HistoryManager historyManager) {
+        this(stripeCount, historyManager, new Schedule());
+    }
+
+    ConcurrentTaskManager(int stripeCount, HistoryManager historyManager, Schedule schedule) {
+        super(new ConcurrentHashMap<>(), new ConcurrentHashMap<>(), new ConcurrentHashMap<>(),
+                new SynchronizedHistoryManager(historyManager), schedule);
+        if (stripeCount <= 0 || Integer.bitCount(stripeCount) != 1) {
+            throw new IllegalArgumentException("Stripe count must be a positive power of two");
+        }
+        this.stripes = new ReentrantReadWriteLock[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new ReentrantReadWriteLock();
+        }
+    }
+
+    @Override
+    public void deleteAllTasks() {
+        withAllStripes(super::deleteAllTasks);
+    }
+
+    @Override
+    public void deleteAllEpics() {
+        withAllStripes(super::deleteAllEpics);
+    }
+
+    @Override
+    public void deleteAllSubtasks() {
+        withAllStripes(super::deleteAllSubtasks);
+    }
+
+    @Override
+    public BatchResult applyBatch(Batch batch) {
+        return withAllStripes(() -> super.applyBatch(batch));
+    }
+
+    @Override
+    void validate(Batch batch) {
+        withAllStripes(() -> super.validate(batch));
+    }
+
+    @Override
+    public int createSubtask(Subtask subtask) {
+        if (subtask == null) {
+            return super.createSubtask(null);
+        }
+        return withWriteLock(subtask.getEpicId(), () -> super.createSubtask(subtask));
+    }
+
+    @Override
+    public void updateTask(Task task) {
+        if (task == null) {
+            super.updateTask(null);
+            return;
+        }
+        withWriteLock(task.getId(), () -> super.updateTask(task));
+    }
+
+    @Override
+    public boolean compareAndUpdateTask(Task task, long expectedVersion) {
+        if (task == null) {
+            return super.compareAndUpdateTask(null, expectedVersion);
+        }
+        if (isStale(getTaskById(task.getId()), expectedVersion)) {
+            return false;
+        }
+        return withReadLock(task.getId(), () -> withClaim(task.getId(),
+                () -> isStale(getTaskById(task.getId()), expectedVersion),
+                () -> super.compareAndUpdateTask(task, expectedVersion)));
+    }
+
+    @Override
+    public void updateEpic(Epic epic) {
+        if (epic == null) {
+            super.updateEpic(null);
+            return;
+        }
+        withWriteLock(epic.getId(), () -> super.updateEpic(epic));
+    }
+
+    @Override
+    public boolean compareAndUpdateEpic(Epic epic, long expectedVersion) {
+        if (epic == null) {
+            return super.compareAndUpdateEpic(null, expectedVersion);
+        }
+        if (isStale(getEpicById(epic.getId()), expectedVersion)) {
+            return false;
+        }
+        return withReadLock(epic.getId(), () -> withClaim(epic.getId(),
+                () -> isStale(getEpicById(epic.getId()), expectedVersion),
+                () -> super.compareAndUpdateEpic(epic, expectedVersion)));
+    }
+
+    @Override
+    public void updateSubtask(Subtask subtask) {
+        if (subtask == null) {
+            super.updateSubtask(null);
+            return;
+        }
+        Subtask stored = getSubtaskById(subtask.getId());
+        withWriteLock(stored != null ? stored.getEpicId() : subtask.getEpicId(), () -> super.updateSubtask(subtask));
+    }
+
+    @Override
+    public boolean compareAndUpdateSubtask(Subtask subtask, long expectedVersion) {
+        if (subtask == null) {
+            return super.compareAndUpdateSubtask(null, expectedVersion);
+        }
+        Subtask stored = getSubtaskById(subtask.getId());
+        if (isStale(stored, expectedVersion)) {
+            return false;
+        }
+        return withWriteLock(stored.getEpicId(), () -> super.compareAndUpdateSubtask(subtask, expectedVersion));
+    }
+
+    @Override
+    public void deleteTaskById(int id) {
+        withWriteLock(id, () -> super.deleteTaskById(id));
+    }
+
+    @Override
+    public void deleteEpicById(int id) {
+        withWriteLock(id, () -> super.deleteEpicById(id));
+    }
+
+    @Override
+    public void deleteSubtaskById(int id) {
+        Subtask subtask = getSubtaskById(id);
+        if (subtask != null) {
+            withWriteLock(subtask.getEpicId(), () -> super.deleteSubtaskById(id));
+        }
+    }
+
+    @Override
+    public List<Subtask> getEpicSubtasks(int epicId) {
+        Lock lock = stripeFor(epicId).readLock();
+        lock.lock();
+        try {
+            return super.getEpicSubtasks(epicId);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    protected int generateId() {
+        return nextId.getAndIncrement();
+    }
+
+    @Override
+    protected void reserveId(int id) {
+        nextId.accumulateAndGet(id + 1, Math::max);
+    }
+
+    private static boolean isStale(Task stored, long expectedVersion) {
+        return stored == null || stored.getVersion() != expectedVersion;
+    }
+
+    private ReentrantReadWriteLock stripeFor(int id) {
+        int h = id * 0x9E3779B9;
+        return stripes[(h ^ (h >>> 16)) & (stripes.length - 1)];
+    }
+
+    private void withWriteLock(int id, Runnable action) {
+        withWriteLock(id, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    private boolean withClaim(int id, BooleanSupplier stale, Supplier<Boolean> action) {
+        while (!claimed.add(id)) {
+            if (stale.getAsBoolean()) {
+                return false;
+            }
+            Thread.yield();
+        }
+        try {
+            return action.get();
+        } finally {
+            claimed.remove(id);
+        }
+    }
+
+    private <T> T withReadLock(int id, Supplier<T> action) {
+        Lock lock = stripeFor(id).readLock();
+        lock.lock();
+        try {
+            return action.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private <T> T withWriteLock(int id, Supplier<T> action) {
+        Lock lock = stripeFor(id).writeLock();
+        lock.lock();
+        try {
+            return action.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void withAllStripes(Runnable action) {
+        withAllStripes(() -> {
+            action.run();
+            return null;
+        });
+    }
+
+    private <T> T withAllStripes(Supplier<T> action) {
+        int locked = 0;
+        try {
+            for (ReentrantReadWriteLock stripe : stripes) {
+                stripe.writeLock().lock();
+                locked++;
+            }
+            return action.get();
+        } finally {
+            for (int i = locked - 1; i >= 0; i--) {
+                stripes[i].writeLock().unlock();
+            }
+        }
+    }
+}
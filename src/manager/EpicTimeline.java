@@ -0,0 +1,54 @@
+package manager;
+
+import model.Epic;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+final class EpicTimeline {
+    private final Map<Integer, Schedule.Slot> slots = new HashMap<>();
+    private final TreeMap<LocalDateTime, Integer> starts = new TreeMap<>();
+    private final TreeMap<LocalDateTime, Integer> ends = new TreeMap<>();
+    private Duration total = Duration.ZERO;
+
+    void add(Schedule.Slot slot) {
+        if (slot != null) {
+            remove(slots.get(slot.id()));
+            slots.put(slot.id(), slot);
+            starts.merge(slot.start(), 1, Integer::sum);
+            ends.merge(slot.end(), 1, Integer::sum);
+            total = total.plus(slot.duration());
+        }
+    }
+
+    void remove(Schedule.Slot slot) {
+        if (slot != null && slots.remove(slot.id(), slot)) {
+            decrement(starts, slot.start());
+            decrement(ends, slot.end());
+            total = total.minus(slot.duration());
+        }
+    }
+
+    boolean isEmpty() {
+        return slots.isEmpty();
+    }
+
+    void applyTo(Epic epic) {
+        if (starts.isEmpty()) {
+            epic.setStartTime(null);
+            epic.setDuration(null);
+            epic.setEndTime(null);
+        } else {
+            epic.setStartTime(starts.firstKey());
+            epic.setDuration(total);
+            epic.setEndTime(ends.lastKey());
+        }
+    }
+
+    private static void decrement(TreeMap<LocalDateTime, Integer> counts, LocalDateTime key) {
+        counts.computeIfPresent(key, (time, count) -> count == 1 ? null : count - 1);
+    }
+}
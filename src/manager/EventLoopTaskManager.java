@@ -0,0 +1,375 @@
+package manager;
+
+import event.TaskEventBus;
+import model.Epic;
+import model.Subtask;
+import model.Task;
+import model.TaskStatus;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Phaser;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+public final class EventLoopTaskManager implements AsyncTaskManager, AutoCloseable {
+    private static final int DEFAULT_MAX_BATCH_SIZE = 256;
+    private static final long IDLE_PARK_NANOS = 100_000_000L;
+    private static final Executor COMPLETER = command -> Thread.ofVirtual().name("task-manager-completion").start(command);
+    private static final ThreadLocal<EventLoopTaskManager> COMPLETING = new ThreadLocal<>();
+
+    private final VersionedTaskManager state = new VersionedTaskManager();
+    private final ConcurrentLinkedQueue<Mutation<?>> queue = new ConcurrentLinkedQueue<>();
+    private final Phaser completions = new Phaser(1);
+    private final int maxBatchSize;
+    private final Thread worker;
+    private volatile boolean waiting;
+    private volatile boolean closed;
+    private volatile long batchCount;
+
+    public EventLoopTaskManager() {
+        this(DEFAULT_MAX_BATCH_SIZE);
+    }
+
+    public EventLoopTaskManager(int maxBatchSize) {
+        if (maxBatchSize <= 0) {
+            throw new IllegalArgumentException("Max batch size must be positive");
+        }
+        this.maxBatchSize = maxBatchSize;
+        this.worker = Thread.ofPlatform().name("task-manager-loop").daemon().start(this::run);
+    }
+
+    public long getBatchCount() {
+        return batchCount;
+    }
+
+    public boolean isClosed() {
+        return closed;
+    }
+
+    @Override
+    public CompletableFuture<List<Task>> getTasks() {
+        return read(state::getTasks);
+    }
+
+    @Override
+    public CompletableFuture<Void> deleteAllTasks() {
+        return submit(state::deleteAllTasks);
+    }
+
+    @Override
+    public CompletableFuture<Task> getTaskById(int id) {
+        return read(() -> state.getTaskById(id));
+    }
+
+    @Override
+    public CompletableFuture<Integer> createTask(Task task) {
+        return submit(() -> state.createTask(task));
+    }
+
+    @Override
+    public CompletableFuture<Void> updateTask(Task task) {
+        return submit(() -> state.updateTask(task));
+    }
+
+    @Override
+    public CompletableFuture<Boolean> compareAndUpdateTask(Task task, long expectedVersion) {
+        return submit(() -> state.compareAndUpdateTask(task, expectedVersion));
+    }
+
+    @Override
+    public CompletableFuture<Void> deleteTaskById(int id) {
+        return submit(() -> state.deleteTaskById(id));
+    }
+
+    @Override
+    public CompletableFuture<List<Epic>> getEpics() {
+        return read(state::getEpics);
+    }
+
+    @Override
+    public CompletableFuture<Void> deleteAllEpics() {
+        return submit(state::deleteAllEpics);
+    }
+
+    @Override
+    public CompletableFuture<Epic> getEpicById(int id) {
+        return read(() -> state.getEpicById(id));
+    }
+
+    @Override
+    public CompletableFuture<Integer> createEpic(Epic epic) {
+        return submit(() -> state.createEpic(epic));
+    }
+
+    @Override
+    public CompletableFuture<Void> updateEpic(Epic epic) {
+        return submit(() -> state.updateEpic(epic));
+    }
+
+    @Override
+    public CompletableFuture<Boolean> compareAndUpdateEpic(Epic epic, long expectedVersion) {
+        return submit(() -> state.compareAndUpdateEpic(epic, expectedVersion));
+    }
+
+    @Override
+    public CompletableFuture<Void> deleteEpicById(int id) {
+        return submit(() -> state.deleteEpicById(id));
+    }
+
+    @Override
+    public CompletableFuture<List<Subtask>> getSubtasks() {
+        return read(state::getSubtasks);
+    }
+
+    @Override
+    public CompletableFuture<Void> deleteAllSubtasks() {
+        return submit(state::deleteAllSubtasks);
+    }
+
+    @Override
+    public CompletableFuture<Subtask> getSubtaskById(int id) {
+        return read(() -> state.getSubtaskById(id));
+    }
+
+    @Override
+    public CompletableFuture<Integer> createSubtask(Subtask subtask) {
+        return submit(() -> state.createSubtask(subtask));
+    }
+
+    @Override
+    public CompletableFuture<Void> updateSubtask(Subtask subtask) {
+        return submit(() -> state.updateSubtask(subtask));
+    }
+
+    @Override
+    public CompletableFuture<Boolean> compareAndUpdateSubtask(Subtask subtask, long expectedVersion) {
+        return submit(() -> state.compareAndUpdateSubtask(subtask, expectedVersion));
+    }
+
+    @Override
+    public CompletableFuture<Void> deleteSubtaskById(int id) {
+        return submit(() -> state.deleteSubtaskById(id));
+    }
+
+    @Override
+    public CompletableFuture<List<Subtask>> getEpicSubtasks(int epicId) {
+        return read(() -> state.getEpicSubtasks(epicId));
+    }
+
+    @Override
+    public CompletableFuture<List<Task>> getTasksByStatus(TaskStatus status) {
+        return read(() -> state.committed().getTasksByStatus(status));
+    }
+
+    @Override
+    public CompletableFuture<List<Epic>> getEpicsByStatus(TaskStatus status) {
+        return read(() -> state.committed().getEpicsByStatus(status));
+    }
+
+    @Override
+    public CompletableFuture<List<Subtask>> getSubtasksByStatus(TaskStatus status) {
+        return read(() -> state.committed().getSubtasksByStatus(status));
+    }
+
+    @Override
+    public CompletableFuture<List<Task>> getPrioritizedTasks() {
+        return read(() -> state.committed().getPrioritizedTasks());
+    }
+
+    @Override
+    public CompletableFuture<List<Task>> search(String query) {
+        return read(() -> state.committed().search(SearchIndex.parseQuery(query)));
+    }
+
+    @Override
+    public CompletableFuture<BatchResult> applyBatch(Batch batch) {
+        return submit(() -> state.applyBatch(batch));
+    }
+
+    @Override
+    public TaskEventBus getEventBus() {
+        return state.getEventBus();
+    }
+
+    @Override
+    public CompletableFuture<List<Task>> getHistory() {
+        return read(state::getHistory);
+    }
+
+    @Override
+    public CompletableFuture<Task> getTask(int id) {
+        return read(() -> state.getTask(id));
+    }
+
+    @Override
+    public CompletableFuture<Epic> getEpic(int id) {
+        return read(() -> state.getEpic(id));
+    }
+
+    @Override
+    public CompletableFuture<Subtask> getSubtask(int id) {
+        return read(() -> state.getSubtask(id));
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        LockSupport.unpark(worker);
+        if (Thread.currentThread() == worker) {
+            return;
+        }
+        try {
+            worker.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        if (COMPLETING.get() != this) {
+            completions.arriveAndAwaitAdvance();
+        }
+    }
+
+    private <T> CompletableFuture<T> read(Supplier<T> query) {
+        try {
+            return CompletableFuture.completedFuture(query.get());
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private CompletableFuture<Void> submit(Runnable action) {
+        return submit(() -> {
+            action.run();
+            return null;
+        });
+    }
+
+    private <T> CompletableFuture<T> submit(Supplier<T> action) {
+        if (closed) {
+            return CompletableFuture.failedFuture(closedException());
+        }
+        Mutation<T> mutation = new Mutation<>(action);
+        queue.offer(mutation);
+        if (closed) {
+            failPending();
+        } else if (waiting) {
+            waiting = false;
+            LockSupport.unpark(worker);
+        }
+        return mutation.result;
+    }
+
+    private void run() {
+        List<Mutation<?>> batch = new ArrayList<>(maxBatchSize);
+        while (true) {
+            Mutation<?> mutation;
+            while (batch.size() < maxBatchSize && (mutation = queue.poll()) != null) {
+                batch.add(mutation);
+            }
+            if (batch.isEmpty()) {
+                if (closed) {
+                    break;
+                }
+                idle();
+                continue;
+            }
+            apply(batch);
+            batch.clear();
+        }
+        failPending();
+    }
+
+    private void apply(List<Mutation<?>> batch) {
+        try {
+            state.writeAll(() -> {
+                for (Mutation<?> mutation : batch) {
+                    mutation.run();
+                }
+            });
+        } catch (RuntimeException e) {
+            for (Mutation<?> mutation : batch) {
+                mutation.fail(e);
+            }
+        }
+        batchCount++;
+        completeLater(List.copyOf(batch));
+    }
+
+    private void completeLater(List<Mutation<?>> mutations) {
+        completions.register();
+        COMPLETER.execute(() -> {
+            COMPLETING.set(this);
+            try {
+                for (Mutation<?> mutation : mutations) {
+                    mutation.complete();
+                }
+            } finally {
+                completions.arriveAndDeregister();
+            }
+        });
+    }
+
+    private void idle() {
+        waiting = true;
+        if (queue.isEmpty() && !closed) {
+            LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+        }
+        waiting = false;
+    }
+
+    private void failPending() {
+        List<Mutation<?>> rejected = new ArrayList<>();
+        Mutation<?> mutation;
+        while ((mutation = queue.poll()) != null) {
+            mutation.fail(closedException());
+            rejected.add(mutation);
+        }
+        if (!rejected.isEmpty()) {
+            completeLater(rejected);
+        }
+    }
+
+    private static IllegalStateException closedException() {
+        return new IllegalStateException("Task manager is closed");
+    }
+
+    private static final class Mutation<T> {
+        private final Supplier<T> action;
+        private final CompletableFuture<T> result = new CompletableFuture<>();
+        private boolean done;
+        private T value;
+        private RuntimeException failure;
+
+        Mutation(Supplier<T> action) {
+            this.action = action;
+        }
+
+        void run() {
+            try {
+                value = action.get();
+            } catch (RuntimeException e) {
+                failure = e;
+            }
+            done = true;
+        }
+
+        void fail(RuntimeException e) {
+            if (!done) {
+                failure = e;
+                done = true;
+            }
+        }
+
+        void complete() {
+            if (failure != null) {
+                result.completeExceptionally(failure);
+            } else {
+                result.complete(value);
+            }
+        }
+    }
+}
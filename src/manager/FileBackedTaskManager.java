@@ -0,0 +1,232 @@
+package manager;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+public final class FileBackedTaskManager extends LoggedTaskManager implements AutoCloseable {
+    private static final String SNAPSHOT_FILE = "snapshot.bin";
+    private static final String LOG_FILE = "wal.bin";
+    private static final String SEALED_LOG_PREFIX = "wal-";
+    private static final String SEALED_LOG_SUFFIX = ".bin";
+    private static final int DEFAULT_COMPACTION_THRESHOLD = 100_000;
+    private static final long DEFAULT_FLUSH_INTERVAL_MILLIS = 5;
+    private static final Executor COMPACTOR = command -> Thread.ofVirtual().name("kanban-compactor").start(command);
+
+    private final Path directory;
+    private final int compactionThreshold;
+    private final long flushIntervalMillis;
+    private volatile WriteAheadLog log;
+    private long generation;
+    private int recordsSinceCompaction;
+    private CompletableFuture<Void> compaction = CompletableFuture.completedFuture(null);
+
+    public FileBackedTaskManager(Path directory) {
+        this(directory, DEFAULT_COMPACTION_THRESHOLD, DEFAULT_FLUSH_INTERVAL_MILLIS);
+    }
+
+    public FileBackedTaskManager(Path directory, int compactionThreshold, long flushIntervalMillis) {
+        this(directory, requirePositive(compactionThreshold), flushIntervalMillis, openSnapshot(directory));
+    }
+
+    private FileBackedTaskManager(Path directory, int compactionThreshold, long flushIntervalMillis,
+                                  MappedSnapshot snapshot) {
+        super(snapshot == null ? new HashMap<>() : SnapshotTaskMap.tasks(snapshot), new HashMap<>(),
+                snapshot == null ? new HashMap<>() : SnapshotTaskMap.subtasks(snapshot),
+                Managers.getDefaultHistory());
+        this.directory = directory;
+        this.compactionThreshold = compactionThreshold;
+        this.flushIntervalMillis = flushIntervalMillis;
+        long lastSealed;
+        try {
+            if (snapshot != null) {
+                generation = snapshot.getGeneration();
+                setMaxIssuedId(snapshot.getMaxIssuedId());
+                restoreIndexes(snapshot);
+                snapshot.close();
+            }
+            lastSealed = replaySealedLogs(this, directory, generation, Long.MAX_VALUE);
+            if (lastSealed >= generation) {
+                generation = lastSealed + 1;
+            }
+            this.log = WriteAheadLog.open(directory.resolve(LOG_FILE), generation, flushIntervalMillis,
+                    this::replay);
+        } catch (IOException e) {
+            throw new ManagerSaveException("Unable to load task manager from " + directory, e);
+        }
+        reserveId(getMaxIssuedId());
+        if (lastSealed >= 0) {
+            scheduleCompaction(lastSealed);
+        }
+    }
+
+    public void sync() {
+        log.sync();
+    }
+
+    public void compact() {
+        synchronized (this) {
+            rotate();
+        }
+        awaitCompaction();
+    }
+
+    public void awaitCompaction() {
+        CompletableFuture<Void> pending;
+        synchronized (this) {
+            pending = compaction;
+        }
+        try {
+            pending.join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+    }
+
+    @Override
+    public void close() {
+        CompletableFuture<Void> pending;
+        synchronized (this) {
+            pending = compaction;
+        }
+        try {
+            pending.exceptionally(e -> null).join();
+            log.close();
+        } catch (IOException e) {
+            throw new ManagerSaveException("Unable to close write-ahead log", e);
+        }
+    }
+
+    @Override
+    protected void append(byte[] payload, int length) {
+        log.append(payload, length);
+        if (++recordsSinceCompaction >= compactionThreshold) {
+            rotate();
+        }
+    }
+
+    private void rotate() {
+        long sealed = generation;
+        try {
+            log.close();
+            Files.move(directory.resolve(LOG_FILE), sealedLog(directory, sealed), StandardCopyOption.ATOMIC_MOVE);
+            log = WriteAheadLog.open(directory.resolve(LOG_FILE), sealed + 1, flushIntervalMillis, this::replay);
+        } catch (IOException e) {
+            throw new ManagerSaveException("Unable to rotate write-ahead log in " + directory, e);
+        }
+        generation = sealed + 1;
+        recordsSinceCompaction = 0;
+        scheduleCompaction(sealed);
+    }
+
+    private void scheduleCompaction(long sealed) {
+        compaction = compaction.exceptionally(e -> null)
+                .thenRunAsync(() -> compactSealedLogs(directory, sealed), COMPACTOR);
+    }
+
+    private static void compactSealedLogs(Path directory, long sealed) {
+        Path snapshot = directory.resolve(SNAPSHOT_FILE);
+        Path temporary = directory.resolve(SNAPSHOT_FILE + ".tmp");
+        Compactor state = new Compactor();
+        try {
+            long base = loadSnapshot(state, directory);
+            if (base > sealed) {
+                return;
+            }
+            replaySealedLogs(state, directory, base, sealed);
+            MappedSnapshot.write(temporary, sealed + 1, state.getMaxIssuedId(), state.getEpics(),
+                    state.getSubtasks(), state.getTasks());
+            Files.move(temporary, snapshot, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            for (long sealedGeneration : sealedGenerations(directory)) {
+                if (sealedGeneration <= sealed) {
+                    Files.deleteIfExists(sealedLog(directory, sealedGeneration));
+                }
+            }
+        } catch (IOException e) {
+            throw new ManagerSaveException("Unable to write snapshot " + snapshot, e);
+        }
+    }
+
+    private static int requirePositive(int compactionThreshold) {
+        if (compactionThreshold <= 0) {
+            throw new IllegalArgumentException("Compaction threshold must be positive");
+        }
+        return compactionThreshold;
+    }
+
+    private static MappedSnapshot openSnapshot(Path directory) {
+        Path snapshot = directory.resolve(SNAPSHOT_FILE);
+        try {
+            Files.createDirectories(directory);
+            return Files.exists(snapshot) ? MappedSnapshot.open(snapshot) : null;
+        } catch (IOException e) {
+            throw new ManagerSaveException("Unable to open snapshot " + snapshot, e);
+        }
+    }
+
+    private static long loadSnapshot(LoggedTaskManager target, Path directory) throws IOException {
+        Path snapshot = directory.resolve(SNAPSHOT_FILE);
+        if (!Files.exists(snapshot)) {
+            return 0;
+        }
+        try (MappedSnapshot mapped = MappedSnapshot.open(snapshot)) {
+            target.setMaxIssuedId(mapped.getMaxIssuedId());
+            mapped.forEach(target::restore);
+            for (int record = 0; record < mapped.size(); record++) {
+                if (mapped.typeOf(record) == MappedSnapshot.TYPE_EPIC) {
+                    target.restore(mapped.materialize(record));
+                }
+            }
+            return mapped.getGeneration();
+        }
+    }
+
+    private static long replaySealedLogs(LoggedTaskManager target, Path directory, long from, long to)
+            throws IOException {
+        long last = -1;
+        for (long sealedGeneration : sealedGenerations(directory)) {
+            if (sealedGeneration < from) {
+                Files.deleteIfExists(sealedLog(directory, sealedGeneration));
+            } else if (sealedGeneration <= to) {
+                WriteAheadLog.replaySealed(sealedLog(directory, sealedGeneration), sealedGeneration, target::replay);
+                last = sealedGeneration;
+            }
+        }
+        return last;
+    }
+
+    private static List<Long> sealedGenerations(Path directory) throws IOException {
+        List<Long> generations = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory,
+                SEALED_LOG_PREFIX + "*" + SEALED_LOG_SUFFIX)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                try {
+                    generations.add(Long.parseLong(name.substring(SEALED_LOG_PREFIX.length(),
+                            name.length() - SEALED_LOG_SUFFIX.length())));
+                } catch (NumberFormatException ignored) {
+                }
+            }
+        }
+        generations.sort(null);
+        return generations;
+    }
+
+    private static Path sealedLog(Path directory, long generation) {
+        return directory.resolve(SEALED_LOG_PREFIX + generation + SEALED_LOG_SUFFIX);
+    }
+
+    private static final class Compactor extends LoggedTaskManager {
+        @Override
+        protected void append(byte[] payload, int length) {
+        }
+    }
+}
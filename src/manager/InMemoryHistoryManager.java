@@ -2,29 +2,104 @@ package manager;
 
 import model.Task;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 public class InMemoryHistoryManager implements HistoryManager {
-    private final List<Task> history;
-    private static final int HISTORY_LIMIT = 10;
-    
+    private final Map<Integer, Node> nodes;
+    private Node head;
+    private Node tail;
+    private List<Task> snapshot;
+
     public InMemoryHistoryManager() {
-        this.history = new ArrayList<>();
+        this.nodes = new HashMap<>();
+        this.snapshot = Collections.emptyList();
     }
-    
+
     @Override
     public void add(Task task) {
         if (task == null) {
             return;
         }
-        if (history.size() >= HISTORY_LIMIT) {
-            history.removeFirst();
+        Node existing = nodes.get(task.getId());
+        if (existing != null) {
+            if (existing == tail) {
+                if (existing.task != task) {
+                    existing.task = task;
+                    snapshot = null;
+                }
+                return;
+            }
+            removeNode(existing);
         }
-        history.add(task);
+        nodes.put(task.getId(), linkLast(task));
     }
-    
+
+    @Override
+    public void remove(int id) {
+        Node node = nodes.remove(id);
+        if (node != null) {
+            removeNode(node);
+        }
+    }
+
+    @Override
+    public int size() {
+        return nodes.size();
+    }
+
     @Override
     public List<Task> getHistory() {
-        return new ArrayList<>(history);
+        List<Task> history = snapshot;
+        if (history == null) {
+            List<Task> tasks = new ArrayList<>(nodes.size());
+            for (Node node = head; node != null; node = node.next) {
+                tasks.add(node.task);
+            }
+            history = Collections.unmodifiableList(tasks);
+            snapshot = history;
+        }
+        return history;
+    }
+
+    private Node linkLast(Task task) {
+        Node node = new Node(tail, task);
+        if (tail == null) {
+            head = node;
+        } else {
+            tail.next = node;
+        }
+        tail = node;
+        snapshot = null;
+        return node;
+    }
+
+    private void removeNode(Node node) {
+        if (node.prev == null) {
+            head = node.next;
+        } else {
+            node.prev.next = node.next;
+        }
+        if (node.next == null) {
+            tail = node.prev;
+        } else {
+            node.next.prev = node.prev;
+        }
+        node.prev = null;
+        node.next = null;
+        snapshot = null;
+    }
+
+    private static final class Node {
+        private Node prev;
+        private Node next;
+        private Task task;
+
+        private Node(Node prev, Task task) {
+            this.prev = prev;
+            this.task = task;
+        }
     }
-}
\ No newline at end of file
+}
@@ -1,14 +1,24 @@
 package manager;
 
+import event.TaskEvent;
+import event.TaskEventBus;
 import model.Task;
 import model.Epic;
 import model.Subtask;
 import model.TaskStatus;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
 
 public class InMemoryTaskManager implements TaskManager {
     private int nextId = 1;
@@ -17,12 +27,36 @@ public class InMemoryTaskManager implements TaskManager {
     private final Map<Integer, Epic> epics;
     private final Map<Integer, Subtask> subtasks;
     private final HistoryManager historyManager;
+    private final StatusIndex taskStatuses = new StatusIndex();
+    private final StatusIndex epicStatuses = new StatusIndex();
+    private final StatusIndex subtaskStatuses = new StatusIndex();
+    private final SearchIndex taskSearch = new SearchIndex();
+    private final SearchIndex epicSearch = new SearchIndex();
+    private final SearchIndex subtaskSearch = new SearchIndex();
+    private final Schedule schedule;
+    private final Map<Integer, EpicTimeline> timelines = new ConcurrentHashMap<>();
+    private final SnapshotCache<Task> taskView = new SnapshotCache<>();
+    private final SnapshotCache<Epic> epicView = new SnapshotCache<>();
+    private final SnapshotCache<Subtask> subtaskView = new SnapshotCache<>();
+    private final TaskEventBus eventBus = new TaskEventBus();
+    private volatile boolean searchPending;
 
     public InMemoryTaskManager() {
-        this.tasks = new HashMap<>();
-        this.epics = new HashMap<>();
-        this.subtasks = new HashMap<>();
-        this.historyManager = Managers.getDefaultHistory();
+        this(new HashMap<>(), new HashMap<>(), new HashMap<>(), Managers.getDefaultHistory());
+    }
+
+    protected InMemoryTaskManager(Map<Integer, Task> tasks, Map<Integer, Epic> epics,
+                                  Map<Integer, Subtask> subtasks, HistoryManager historyManager) {
+        this(tasks, epics, subtasks, historyManager, new Schedule());
+    }
+
+    InMemoryTaskManager(Map<Integer, Task> tasks, Map<Integer, Epic> epics, Map<Integer, Subtask> subtasks,
+                        HistoryManager historyManager, Schedule schedule) {
+        this.tasks = tasks;
+        this.epics = epics;
+        this.subtasks = subtasks;
+        this.historyManager = historyManager;
+        this.schedule = schedule;
     }
 
     @Override
@@ -40,22 +74,98 @@ public class InMemoryTaskManager implements TaskManager {
         return new ArrayList<>(subtasks.values());
     }
 
+    @Override
+    public List<Task> getTasksView() {
+        return taskView.get(tasks.values());
+    }
+
+    @Override
+    public List<Epic> getEpicsView() {
+        return epicView.get(epics.values());
+    }
+
+    @Override
+    public List<Subtask> getSubtasksView() {
+        return subtaskView.get(subtasks.values());
+    }
+
+    @Override
+    public int getTaskCount() {
+        return tasks.size();
+    }
+
+    @Override
+    public int getEpicCount() {
+        return epics.size();
+    }
+
+    @Override
+    public int getSubtaskCount() {
+        return subtasks.size();
+    }
+
+    @Override
+    public void forEachTask(Consumer<? super Task> action) {
+        tasks.values().forEach(action);
+    }
+
+    @Override
+    public void forEachEpic(Consumer<? super Epic> action) {
+        epics.values().forEach(action);
+    }
+
+    @Override
+    public void forEachSubtask(Consumer<? super Subtask> action) {
+        subtasks.values().forEach(action);
+    }
+
+    @Override
+    public TaskEventBus getEventBus() {
+        return eventBus;
+    }
+
     @Override
     public void deleteAllTasks() {
+        removeFromHistory(tasks.keySet());
+        schedule.removeAll(tasks.keySet());
         tasks.clear();
+        taskStatuses.clear();
+        taskSearch.clear();
+        taskView.invalidate();
+        publish(TaskEvent.Type.ALL_TASKS_DELETED, 0, null);
     }
 
     @Override
     public void deleteAllEpics() {
+        removeFromHistory(epics.keySet());
+        removeFromHistory(subtasks.keySet());
+        schedule.removeAll(subtasks.keySet());
+        timelines.clear();
         epics.clear();
         subtasks.clear();
+        epicView.invalidate();
+        subtaskView.invalidate();
+        epicStatuses.clear();
+        subtaskStatuses.clear();
+        epicSearch.clear();
+        subtaskSearch.clear();
+        publish(TaskEvent.Type.ALL_EPICS_DELETED, 0, null);
     }
 
     @Override
     public void deleteAllSubtasks() {
+        removeFromHistory(subtasks.keySet());
+        schedule.removeAll(subtasks.keySet());
+        timelines.clear();
         subtasks.clear();
+        subtaskStatuses.clear();
+        subtaskSearch.clear();
+        subtaskView.invalidate();
+        publish(TaskEvent.Type.ALL_SUBTASKS_DELETED, 0, null);
         for (Epic epic : epics.values()) {
-            epic.setSubtaskIds(new ArrayList<>());
+            epic.clearSubtaskIds();
+            epic.setVersion(epic.getVersion() + 1);
+            clearEpicTime(epic);
             updateEpicStatus(epic);
         }
     }
@@ -79,7 +189,8 @@ public class InMemoryTaskManager implements TaskManager {
     public int createTask(Task task) {
         validateNotNull(task, "Task");
         int id = assignIdAndStore(task);
-        tasks.put(id, task);
+        scheduleNew(task);
+        storeTask(task, TaskEvent.Type.TASK_CREATED);
         return id;
     }
 
@@ -87,26 +198,17 @@ public class InMemoryTaskManager implements TaskManager {
     public int createEpic(Epic epic) {
         validateNotNull(epic, "Epic");
         int id = assignIdAndStore(epic);
-        epic.setStatus(TaskStatus.NEW);
-        epics.put(id, epic);
+        storeNewEpic(epic);
         return id;
     }
 
     @Override
     public int createSubtask(Subtask subtask) {
         validateNotNull(subtask, "Subtask");
-        if (subtask.getId() != 0 && subtask.getId() == subtask.getEpicId()) {
-            throw new IllegalArgumentException("Epic cannot add itself as subtask");
-        }
-        Epic epic = epics.get(subtask.getEpicId());
-        if (epic == null) {
-            throw new IllegalArgumentException("Epic with id " + subtask.getEpicId() + " not found");
-        }
-        
+        Epic epic = requireEpicFor(subtask);
         int id = assignIdAndStore(subtask);
-        subtasks.put(id, subtask);
-        epic.addSubtaskId(id);
-        updateEpicStatus(epic);
+        scheduleNew(subtask);
+        storeNewSubtask(subtask, epic, null);
         return id;
     }
 
@@ -114,59 +216,121 @@ public class InMemoryTaskManager implements TaskManager {
     public void updateTask(Task task) {
         validateNotNull(task, "Task");
         validateExists(task.getId(), tasks, "Task");
-        tasks.put(task.getId(), task);
+        schedule.put(task.getId(), task.getStartTime(), task.getDuration());
+        storeTask(task, TaskEvent.Type.TASK_UPDATED);
     }
 
     @Override
     public void updateEpic(Epic epic) {
         validateNotNull(epic, "Epic");
         validateExists(epic.getId(), epics, "Epic");
-        Epic existingEpic = epics.get(epic.getId());
-        existingEpic.setName(epic.getName());
-        existingEpic.setDescription(epic.getDescription());
+        renameEpic(epic);
     }
 
     @Override
     public void updateSubtask(Subtask subtask) {
         validateNotNull(subtask, "Subtask");
         validateExists(subtask.getId(), subtasks, "Subtask");
-        
-        if (subtask.getId() == subtask.getEpicId()) {
-            throw new IllegalArgumentException("Subtask cannot be its own epic");
+        validateNotOwnEpic(subtask);
+        validateSameEpic(subtask);
+        Schedule.Slot previousSlot = schedule.put(subtask.getId(), subtask.getStartTime(), subtask.getDuration());
+        storeSubtask(subtask, previousSlot, schedule.get(subtask.getId()), null);
+    }
+
+    @Override
+    public boolean compareAndUpdateTask(Task task, long expectedVersion) {
+        validateNotNull(task, "Task");
+        if (!hasVersion(tasks.get(task.getId()), expectedVersion)) {
+            return false;
         }
-        
-        subtasks.put(subtask.getId(), subtask);
-        Epic epic = epics.get(subtask.getEpicId());
-        if (epic != null) {
-            updateEpicStatus(epic);
+        schedule.put(task.getId(), task.getStartTime(), task.getDuration());
+        storeTask(task, TaskEvent.Type.TASK_UPDATED);
+        return true;
+    }
+
+    @Override
+    public boolean compareAndUpdateEpic(Epic epic, long expectedVersion) {
+        validateNotNull(epic, "Epic");
+        if (!hasVersion(epics.get(epic.getId()), expectedVersion)) {
+            return false;
         }
+        renameEpic(epic);
+        return true;
+    }
+
+    @Override
+    public boolean compareAndUpdateSubtask(Subtask subtask, long expectedVersion) {
+        validateNotNull(subtask, "Subtask");
+        if (!hasVersion(subtasks.get(subtask.getId()), expectedVersion)) {
+            return false;
+        }
+        validateNotOwnEpic(subtask);
+        validateSameEpic(subtask);
+        Schedule.Slot previousSlot = schedule.put(subtask.getId(), subtask.getStartTime(), subtask.getDuration());
+        storeSubtask(subtask, previousSlot, schedule.get(subtask.getId()), null);
+        return true;
     }
 
     @Override
     public void deleteTaskById(int id) {
-        tasks.remove(id);
+        if (removeTask(id)) {
+            schedule.remove(id);
+        }
     }
 
     @Override
     public void deleteEpicById(int id) {
-        Epic epic = epics.remove(id);
-        if (epic != null) {
-            for (Integer subtaskId : epic.getSubtaskIds()) {
-                subtasks.remove(subtaskId);
-            }
-        }
+        removeEpic(id);
     }
 
     @Override
     public void deleteSubtaskById(int id) {
-        Subtask subtask = subtasks.remove(id);
+        Subtask subtask = subtasks.get(id);
         if (subtask != null) {
-            Epic epic = epics.get(subtask.getEpicId());
-            if (epic != null) {
-                epic.removeSubtaskId(id);
-                updateEpicStatus(epic);
+            removeSubtask(subtask, schedule.remove(id), null);
+        }
+    }
+
+    @Override
+    public BatchResult applyBatch(Batch batch) {
+        validateNotNull(batch, "Batch");
+        long started = System.nanoTime();
+        List<Batch.Operation> operations = batch.getOperations();
+        validateBatch(operations);
+        List<Integer> createdIds = new ArrayList<>();
+        for (Batch.Operation operation : operations) {
+            if (isCreate(operation)) {
+                createdIds.add(assignIdAndStore(operation.task()));
+            }
+        }
+        ScheduleChange[] scheduled;
+        try {
+            scheduled = scheduleBatch(operations);
+        } catch (RuntimeException e) {
+            for (Batch.Operation operation : operations) {
+                if (isCreate(operation)) {
+                    operation.task().setId(0);
+                }
             }
+            throw e;
         }
+        Set<Epic> pending = new LinkedHashSet<>();
+        for (int i = 0; i < operations.size(); i++) {
+            applyOperation(operations.get(i), scheduled[i], pending);
+        }
+        int affectedEpics = 0;
+        for (Epic epic : pending) {
+            if (epics.get(epic.getId()) == epic) {
+                refreshEpic(epic);
+                affectedEpics++;
+            }
+        }
+        return new BatchResult(createdIds, operations.size(), affectedEpics, System.nanoTime() - started);
+    }
+
+    void validate(Batch batch) {
+        validateNotNull(batch, "Batch");
+        validateBatch(batch.getOperations());
     }
 
     @Override
@@ -176,16 +340,64 @@ public class InMemoryTaskManager implements TaskManager {
             return new ArrayList<>();
         }
         
-        List<Subtask> epicSubtasks = new ArrayList<>();
-        for (Integer subtaskId : epic.getSubtaskIds()) {
+        List<Subtask> epicSubtasks = new ArrayList<>(epic.getSubtaskCount());
+        epic.forEachSubtaskId(subtaskId -> {
             Subtask subtask = subtasks.get(subtaskId);
             if (subtask != null) {
                 epicSubtasks.add(subtask);
             }
-        }
+        });
         return epicSubtasks;
     }
 
+    @Override
+    public List<Task> getTasksByStatus(TaskStatus status) {
+        validateNotNull(status, "Status");
+        return collect(taskStatuses.ids(status), tasks);
+    }
+
+    @Override
+    public List<Epic> getEpicsByStatus(TaskStatus status) {
+        validateNotNull(status, "Status");
+        return collect(epicStatuses.ids(status), epics);
+    }
+
+    @Override
+    public List<Subtask> getSubtasksByStatus(TaskStatus status) {
+        validateNotNull(status, "Status");
+        return collect(subtaskStatuses.ids(status), subtasks);
+    }
+
+    @Override
+    public List<Task> search(String query) {
+        List<String> terms = SearchIndex.parseQuery(query);
+        if (searchPending) {
+            indexPendingSearch();
+        }
+        List<Task> found = new ArrayList<>();
+        collectInto(taskSearch.search(terms), tasks, found);
+        collectInto(epicSearch.search(terms), epics, found);
+        collectInto(subtaskSearch.search(terms), subtasks, found);
+        found.sort(Comparator.comparingInt(Task::getId));
+        return found;
+    }
+
+    @Override
+    public List<Task> getPrioritizedTasks() {
+        List<Integer> ids = schedule.orderedIds();
+        List<Task> prioritized = new ArrayList<>(ids.size());
+        for (Integer id : ids) {
+            Task task = tasks.get(id);
+            if (task == null) {
+                task = subtasks.get(id);
+            }
+            if (task != null) {
+                prioritized.add(task);
+            }
+        }
+        return prioritized;
+    }
+
     @Override
     public List<Task> getHistory() {
         return historyManager.getHistory();
@@ -219,16 +431,376 @@ public class InMemoryTaskManager implements TaskManager {
     }
 
 
-    private int generateId() {
+    protected int generateId() {
         return nextId++;
     }
 
+    protected void reserveId(int id) {
+        if (id >= nextId) {
+            nextId = id + 1;
+        }
+    }
+
+    protected void restore(Task task) {
+        validateNotNull(task, "Task");
+        int id = task.getId();
+        reserveId(id);
+        if (task instanceof Epic epic) {
+            Epic existingEpic = epics.get(id);
+            if (existingEpic != null) {
+                existingEpic.setName(epic.getName());
+                existingEpic.setDescription(epic.getDescription());
+                existingEpic.setVersion(epic.getVersion());
+                epicSearch.put(id, epic.getName(), epic.getDescription());
+                return;
+            }
+            epic.clearSubtaskIds();
+            clearEpicTime(epic);
+            updateEpicStatus(epic);
+            epics.put(id, epic);
+            epicSearch.put(id, epic.getName(), epic.getDescription());
+            epicView.invalidate();
+        } else if (task instanceof Subtask subtask) {
+            Epic epic = epics.get(subtask.getEpicId());
+            if (epic == null) {
+                throw new IllegalArgumentException("Epic with id " + subtask.getEpicId() + " not found");
+            }
+            validateSameEpic(subtask);
+            Schedule.Slot previousSlot = schedule.put(id, subtask.getStartTime(), subtask.getDuration());
+            subtasks.put(id, subtask);
+            subtaskStatuses.put(id, subtask.getStatus());
+            subtaskSearch.put(id, subtask.getName(), subtask.getDescription());
+            subtaskView.invalidate();
+            epic.addSubtaskId(id, subtask.getStatus());
+            adjustEpicTime(epic, previousSlot, schedule.get(id));
+            refreshEpic(epic);
+        } else {
+            schedule.put(id, task.getStartTime(), task.getDuration());
+            tasks.put(id, task);
+            taskStatuses.put(id, task.getStatus());
+            taskSearch.put(id, task.getName(), task.getDescription());
+            taskView.invalidate();
+        }
+    }
+
+    void restoreIndexes(MappedSnapshot snapshot) {
+        for (int record = 0; record < snapshot.size(); record++) {
+            int id = snapshot.idOf(record);
+            switch (snapshot.typeOf(record)) {
+                case MappedSnapshot.TYPE_EPIC -> restore(snapshot.materialize(record));
+                case MappedSnapshot.TYPE_SUBTASK -> {
+                    Epic epic = epics.get(snapshot.epicIdOf(record));
+                    if (epic == null) {
+                        throw new IllegalArgumentException("Epic with id " + snapshot.epicIdOf(record) + " not found");
+                    }
+                    reserveId(id);
+                    schedule.put(id, snapshot.startTimeOf(record), snapshot.durationOf(record));
+                    subtaskStatuses.put(id, snapshot.statusOf(record));
+                    epic.addSubtaskId(id, snapshot.statusOf(record));
+                    adjustEpicTime(epic, null, schedule.get(id));
+                }
+                default -> {
+                    reserveId(id);
+                    schedule.put(id, snapshot.startTimeOf(record), snapshot.durationOf(record));
+                    taskStatuses.put(id, snapshot.statusOf(record));
+                }
+            }
+        }
+        for (Epic epic : epics.values()) {
+            long version = epic.getVersion();
+            refreshEpic(epic);
+            epic.setVersion(version);
+        }
+        taskView.invalidate();
+        subtaskView.invalidate();
+        searchPending = true;
+    }
+
+    protected void publish(TaskEvent.Type type, int id, Task task) {
+        eventBus.publish(type, id, task);
+    }
+
+    private void scheduleNew(Task task) {
+        try {
+            schedule.put(task.getId(), task.getStartTime(), task.getDuration());
+        } catch (RuntimeException e) {
+            task.setId(0);
+            throw e;
+        }
+    }
+
+    private void storeTask(Task task, TaskEvent.Type type) {
+        task.setVersion(type == TaskEvent.Type.TASK_CREATED ? 1 : nextVersion(tasks.get(task.getId())));
+        tasks.put(task.getId(), task);
+        taskStatuses.put(task.getId(), task.getStatus());
+        taskSearch.put(task.getId(), task.getName(), task.getDescription());
+        taskView.invalidate();
+        publish(type, task.getId(), new Task(task));
+    }
+
+    private boolean removeTask(int id) {
+        boolean removed = tasks.remove(id) != null;
+        if (removed) {
+            taskStatuses.remove(id);
+            taskSearch.remove(id);
+            taskView.invalidate();
+            publish(TaskEvent.Type.TASK_DELETED, id, null);
+        }
+        historyManager.remove(id);
+        return removed;
+    }
+
+    private void storeNewEpic(Epic epic) {
+        epic.setStatus(TaskStatus.NEW);
+        epic.setVersion(1);
+        clearEpicTime(epic);
+        epics.put(epic.getId(), epic);
+        epicStatuses.put(epic.getId(), TaskStatus.NEW);
+        epicSearch.put(epic.getId(), epic.getName(), epic.getDescription());
+        epicView.invalidate();
+        publish(TaskEvent.Type.EPIC_CREATED, epic.getId(), new Epic(epic));
+    }
+
+    private void renameEpic(Epic epic) {
+        Epic existingEpic = epics.get(epic.getId());
+        existingEpic.setName(epic.getName());
+        existingEpic.setDescription(epic.getDescription());
+        existingEpic.setVersion(existingEpic.getVersion() + 1);
+        epicSearch.put(existingEpic.getId(), existingEpic.getName(), existingEpic.getDescription());
+        publish(TaskEvent.Type.EPIC_UPDATED, existingEpic.getId(), new Epic(existingEpic));
+    }
+
+    private void removeEpic(int id) {
+        Epic epic = epics.remove(id);
+        if (epic != null) {
+            epicStatuses.remove(id);
+            epicSearch.remove(id);
+            timelines.remove(id);
+            historyManager.remove(id);
+            epic.forEachSubtaskId(subtaskId -> {
+                subtasks.remove(subtaskId);
+                schedule.remove(subtaskId);
+                subtaskStatuses.remove(subtaskId);
+                subtaskSearch.remove(subtaskId);
+                historyManager.remove(subtaskId);
+                publish(TaskEvent.Type.SUBTASK_DELETED, subtaskId, null);
+            });
+            epicView.invalidate();
+            subtaskView.invalidate();
+            publish(TaskEvent.Type.EPIC_DELETED, id, null);
+        }
+    }
+
+    private void storeNewSubtask(Subtask subtask, Epic epic, Set<Epic> pending) {
+        int id = subtask.getId();
+        subtask.setVersion(1);
+        subtasks.put(id, subtask);
+        subtaskStatuses.put(id, subtask.getStatus());
+        subtaskSearch.put(id, subtask.getName(), subtask.getDescription());
+        subtaskView.invalidate();
+        publish(TaskEvent.Type.SUBTASK_CREATED, id, new Subtask(subtask));
+        epic.addSubtaskId(id, subtask.getStatus());
+        adjustEpicTime(epic, null, schedule.get(id));
+        refreshEpic(epic, pending);
+    }
+
+    private void storeSubtask(Subtask subtask, Schedule.Slot previousSlot, Schedule.Slot slot, Set<Epic> pending) {
+        int id = subtask.getId();
+        subtask.setVersion(nextVersion(subtasks.get(id)));
+        subtasks.put(id, subtask);
+        subtaskStatuses.put(id, subtask.getStatus());
+        subtaskSearch.put(id, subtask.getName(), subtask.getDescription());
+        subtaskView.invalidate();
+        publish(TaskEvent.Type.SUBTASK_UPDATED, id, new Subtask(subtask));
+        Epic epic = epics.get(subtask.getEpicId());
+        if (epic != null && epic.containsSubtaskId(id)) {
+            epic.updateSubtaskStatus(id, subtask.getStatus());
+            adjustEpicTime(epic, previousSlot, slot);
+            refreshEpic(epic, pending);
+        }
+    }
+
+    private void removeSubtask(Subtask subtask, Schedule.Slot slot, Set<Epic> pending) {
+        int id = subtask.getId();
+        subtasks.remove(id);
+        subtaskStatuses.remove(id);
+        subtaskSearch.remove(id);
+        subtaskView.invalidate();
+        historyManager.remove(id);
+        publish(TaskEvent.Type.SUBTASK_DELETED, id, null);
+        Epic epic = epics.get(subtask.getEpicId());
+        if (epic != null) {
+            epic.removeSubtaskId(id);
+            adjustEpicTime(epic, slot, null);
+            refreshEpic(epic, pending);
+        }
+    }
+
+    private void validateBatch(List<Batch.Operation> operations) {
+        Set<Task> created = Collections.newSetFromMap(new IdentityHashMap<>());
+        Set<Integer> deletedTasks = new HashSet<>();
+        Set<Integer> deletedEpics = new HashSet<>();
+        Set<Integer> deletedSubtasks = new HashSet<>();
+        for (Batch.Operation operation : operations) {
+            Task task = operation.task();
+            if (isCreate(operation) && !created.add(task)) {
+                throw new IllegalArgumentException("Task cannot be created twice in one batch");
+            }
+            switch (operation.kind()) {
+                case CREATE_SUBTASK -> {
+                    Subtask subtask = (Subtask) task;
+                    requireEpicFor(subtask);
+                    validateNotDeleted(subtask.getEpicId(), deletedEpics, "Epic");
+                }
+                case UPDATE_TASK -> {
+                    validateExists(task.getId(), tasks, "Task");
+                    validateNotDeleted(task.getId(), deletedTasks, "Task");
+                }
+                case UPDATE_EPIC -> {
+                    validateExists(task.getId(), epics, "Epic");
+                    validateNotDeleted(task.getId(), deletedEpics, "Epic");
+                }
+                case UPDATE_SUBTASK -> {
+                    validateExists(task.getId(), subtasks, "Subtask");
+                    validateNotDeleted(task.getId(), deletedSubtasks, "Subtask");
+                    validateNotOwnEpic((Subtask) task);
+                    validateSameEpic((Subtask) task);
+                }
+                case DELETE_TASK -> deletedTasks.add(operation.id());
+                case DELETE_EPIC -> {
+                    deletedEpics.add(operation.id());
+                    Epic epic = epics.get(operation.id());
+                    if (epic != null) {
+                        epic.forEachSubtaskId(deletedSubtasks::add);
+                    }
+                }
+                case DELETE_SUBTASK -> deletedSubtasks.add(operation.id());
+                default -> {
+                }
+            }
+        }
+    }
+
+    private ScheduleChange[] scheduleBatch(List<Batch.Operation> operations) {
+        ScheduleChange[] scheduled = new ScheduleChange[operations.size()];
+        List<ScheduleChange> changes = new ArrayList<>();
+        try {
+            for (int i = 0; i < operations.size(); i++) {
+                Batch.Operation operation = operations.get(i);
+                Task task = operation.task();
+                int id = operation.id();
+                switch (operation.kind()) {
+                    case CREATE_TASK, UPDATE_TASK, CREATE_SUBTASK, UPDATE_SUBTASK -> {
+                        Schedule.Slot previous = schedule.put(task.getId(), task.getStartTime(), task.getDuration());
+                        scheduled[i] = new ScheduleChange(task.getId(), previous, schedule.get(task.getId()));
+                        changes.add(scheduled[i]);
+                    }
+                    case DELETE_TASK, DELETE_SUBTASK -> {
+                        Map<Integer, ? extends Task> storage = operation.kind() == Batch.Kind.DELETE_TASK
+                                ? tasks : subtasks;
+                        if (storage.containsKey(id)) {
+                            scheduled[i] = new ScheduleChange(id, schedule.remove(id), null);
+                            changes.add(scheduled[i]);
+                        }
+                    }
+                    case DELETE_EPIC -> {
+                        Epic epic = epics.get(id);
+                        if (epic != null) {
+                            epic.forEachSubtaskId(subtaskId ->
+                                    changes.add(new ScheduleChange(subtaskId, schedule.remove(subtaskId), null)));
+                        }
+                    }
+                    default -> {
+                    }
+                }
+            }
+        } catch (RuntimeException e) {
+            for (int i = changes.size() - 1; i >= 0; i--) {
+                ScheduleChange change = changes.get(i);
+                schedule.restore(change.id(), change.previous());
+            }
+            throw e;
+        }
+        return scheduled;
+    }
+
+    private void applyOperation(Batch.Operation operation, ScheduleChange scheduled, Set<Epic> pending) {
+        switch (operation.kind()) {
+            case CREATE_TASK -> storeTask(operation.task(), TaskEvent.Type.TASK_CREATED);
+            case UPDATE_TASK -> storeTask(operation.task(), TaskEvent.Type.TASK_UPDATED);
+            case DELETE_TASK -> removeTask(operation.id());
+            case CREATE_EPIC -> storeNewEpic((Epic) operation.task());
+            case UPDATE_EPIC -> renameEpic((Epic) operation.task());
+            case DELETE_EPIC -> removeEpic(operation.id());
+            case CREATE_SUBTASK -> {
+                Subtask subtask = (Subtask) operation.task();
+                storeNewSubtask(subtask, epics.get(subtask.getEpicId()), pending);
+            }
+            case UPDATE_SUBTASK -> storeSubtask((Subtask) operation.task(), scheduled.previous(), scheduled.current(),
+                    pending);
+            case DELETE_SUBTASK -> {
+                Subtask subtask = subtasks.get(operation.id());
+                if (subtask != null) {
+                    removeSubtask(subtask, scheduled != null ? scheduled.previous() : null, pending);
+                }
+            }
+        }
+    }
+
+    private static boolean isCreate(Batch.Operation operation) {
+        return switch (operation.kind()) {
+            case CREATE_TASK, CREATE_EPIC, CREATE_SUBTASK -> true;
+            default -> false;
+        };
+    }
+
     private int assignIdAndStore(Task task) {
         int id = generateId();
         task.setId(id);
         return id;
     }
 
+    private <T extends Task> List<T> collect(Set<Integer> ids, Map<Integer, T> storage) {
+        List<T> result = new ArrayList<>(ids.size());
+        for (Integer id : ids) {
+            T task = storage.get(id);
+            if (task != null) {
+                result.add(task);
+            }
+        }
+        return result;
+    }
+
+    private synchronized void indexPendingSearch() {
+        if (!searchPending) {
+            return;
+        }
+        taskSearch.clear();
+        subtaskSearch.clear();
+        for (Task task : tasks.values()) {
+            taskSearch.put(task.getId(), task.getName(), task.getDescription());
+        }
+        for (Subtask subtask : subtasks.values()) {
+            subtaskSearch.put(subtask.getId(), subtask.getName(), subtask.getDescription());
+        }
+        searchPending = false;
+    }
+
+    private void collectInto(int[] ids, Map<Integer, ? extends Task> storage, List<Task> found) {
+        for (int id : ids) {
+            Task task = storage.get(id);
+            if (task != null) {
+                found.add(task);
+            }
+        }
+    }
+
+    private void removeFromHistory(Iterable<Integer> ids) {
+        for (Integer id : ids) {
+            historyManager.remove(id);
+        }
+    }
+
     private void validateNotNull(Object obj, String typeName) {
         if (obj == null) {
             throw new IllegalArgumentException(typeName + " cannot be null");
@@ -240,37 +812,92 @@ public class InMemoryTaskManager implements TaskManager {
             throw new IllegalArgumentException(typeName + " with id " + id + " not found");
         }
     }
+
+    private void validateNotDeleted(int id, Set<Integer> deleted, String typeName) {
+        if (deleted.contains(id)) {
+            throw new IllegalArgumentException(typeName + " with id " + id + " not found");
+        }
+    }
+
+    private void validateSameEpic(Subtask subtask) {
+        Subtask stored = subtasks.get(subtask.getId());
+        if (stored != null && stored.getEpicId() != subtask.getEpicId()) {
+            throw new IllegalArgumentException("Subtask " + subtask.getId() + " cannot be moved to another epic");
+        }
+    }
+
+    private void validateNotOwnEpic(Subtask subtask) {
+        if (subtask.getId() == subtask.getEpicId()) {
+            throw new IllegalArgumentException("Subtask cannot be its own epic");
+        }
+    }
+
+    private Epic requireEpicFor(Subtask subtask) {
+        if (subtask.getId() != 0 && subtask.getId() == subtask.getEpicId()) {
+            throw new IllegalArgumentException("Epic cannot add itself as subtask");
+        }
+        Epic epic = epics.get(subtask.getEpicId());
+        if (epic == null) {
+            throw new IllegalArgumentException("Epic with id " + subtask.getEpicId() + " not found");
+        }
+        return epic;
+    }
     
-    private void updateEpicStatus(Epic epic) {
-        List<Integer> subtaskIds = epic.getSubtaskIds();
-        
-        if (subtaskIds.isEmpty()) {
-            epic.setStatus(TaskStatus.NEW);
+    private void adjustEpicTime(Epic epic, Schedule.Slot removed, Schedule.Slot added) {
+        if (removed == null && added == null) {
             return;
         }
+        EpicTimeline timeline = timelines.computeIfAbsent(epic.getId(), id -> new EpicTimeline());
+        timeline.remove(removed);
+        timeline.add(added);
+        if (timeline.isEmpty()) {
+            timelines.remove(epic.getId());
+        }
+    }
 
-        boolean allNew = true;
-        boolean allDone = true;
-
-        for (Integer subtaskId : subtaskIds) {
-            Subtask subtask = subtasks.get(subtaskId);
-            if (subtask != null) {
-                TaskStatus subtaskStatus = subtask.getStatus();
-                if (subtaskStatus != TaskStatus.NEW) {
-                    allNew = false;
-                }
-                if (subtaskStatus != TaskStatus.DONE) {
-                    allDone = false;
-                }
-            }
+    private void refreshEpic(Epic epic, Set<Epic> pending) {
+        if (pending != null) {
+            pending.add(epic);
+        } else {
+            refreshEpic(epic);
         }
+    }
 
-        if (allNew) {
-            epic.setStatus(TaskStatus.NEW);
-        } else if (allDone) {
-            epic.setStatus(TaskStatus.DONE);
+    private void refreshEpic(Epic epic) {
+        epic.setVersion(epic.getVersion() + 1);
+        updateEpicStatus(epic);
+        EpicTimeline timeline = timelines.get(epic.getId());
+        if (timeline == null) {
+            clearEpicTime(epic);
         } else {
-            epic.setStatus(TaskStatus.IN_PROGRESS);
+            timeline.applyTo(epic);
+        }
+    }
+
+    private static long nextVersion(Task previous) {
+        return previous == null ? 1 : previous.getVersion() + 1;
+    }
+
+    private static boolean hasVersion(Task stored, long version) {
+        return stored != null && stored.getVersion() == version;
+    }
+
+    private void clearEpicTime(Epic epic) {
+        epic.setStartTime(null);
+        epic.setDuration(null);
+        epic.setEndTime(null);
+    }
+
+    private void updateEpicStatus(Epic epic) {
+        TaskStatus previous = epic.getStatus();
+        TaskStatus status = epic.calculateStatus();
+        epic.setStatus(status);
+        epicStatuses.put(epic.getId(), status);
+        if (status != previous) {
+            publish(TaskEvent.Type.EPIC_STATUS_CHANGED, epic.getId(), new Epic(epic));
         }
     }
-}
\ No newline at end of file
+
+    private record ScheduleChange(int id, Schedule.Slot previous, Schedule.Slot current) {
+    }
+}
@@ -0,0 +1,246 @@
+package manager;
+
+import model.Epic;
+import model.Subtask;
+import model.Task;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+public abstract class LoggedTaskManager extends InMemoryTaskManager {
+    private final ByteArrayOutputStream recordBytes = new ByteArrayOutputStream(256);
+    private final DataOutputStream recordOut = new DataOutputStream(recordBytes);
+    private int maxIssuedId;
+
+    protected LoggedTaskManager() {
+    }
+
+    protected LoggedTaskManager(Map<Integer, Task> tasks, Map<Integer, Epic> epics,
+                                Map<Integer, Subtask> subtasks, HistoryManager historyManager) {
+        super(tasks, epics, subtasks, historyManager);
+    }
+
+    @Override
+    public synchronized int createTask(Task task) {
+        int id = super.createTask(task);
+        logUpsert(task);
+        return id;
+    }
+
+    @Override
+    public synchronized void updateTask(Task task) {
+        super.updateTask(task);
+        logUpsert(task);
+    }
+
+    @Override
+    public synchronized boolean compareAndUpdateTask(Task task, long expectedVersion) {
+        if (!super.compareAndUpdateTask(task, expectedVersion)) {
+            return false;
+        }
+        logUpsert(task);
+        return true;
+    }
+
+    @Override
+    public synchronized void deleteTaskById(int id) {
+        super.deleteTaskById(id);
+        logDelete(TaskRecords.DELETE_TASK, id);
+    }
+
+    @Override
+    public synchronized void deleteAllTasks() {
+        super.deleteAllTasks();
+        logDelete(TaskRecords.DELETE_ALL_TASKS, 0);
+    }
+
+    @Override
+    public synchronized int createEpic(Epic epic) {
+        int id = super.createEpic(epic);
+        logUpsert(epic);
+        return id;
+    }
+
+    @Override
+    public synchronized void updateEpic(Epic epic) {
+        super.updateEpic(epic);
+        logUpsert(getEpicById(epic.getId()));
+    }
+
+    @Override
+    public synchronized boolean compareAndUpdateEpic(Epic epic, long expectedVersion) {
+        if (!super.compareAndUpdateEpic(epic, expectedVersion)) {
+            return false;
+        }
+        logUpsert(getEpicById(epic.getId()));
+        return true;
+    }
+
+    @Override
+    public synchronized void deleteEpicById(int id) {
+        super.deleteEpicById(id);
+        logDelete(TaskRecords.DELETE_EPIC, id);
+    }
+
+    @Override
+    public synchronized void deleteAllEpics() {
+        super.deleteAllEpics();
+        logDelete(TaskRecords.DELETE_ALL_EPICS, 0);
+    }
+
+    @Override
+    public synchronized int createSubtask(Subtask subtask) {
+        int id = super.createSubtask(subtask);
+        logUpsert(subtask);
+        return id;
+    }
+
+    @Override
+    public synchronized void updateSubtask(Subtask subtask) {
+        super.updateSubtask(subtask);
+        logUpsert(subtask);
+    }
+
+    @Override
+    public synchronized boolean compareAndUpdateSubtask(Subtask subtask, long expectedVersion) {
+        if (!super.compareAndUpdateSubtask(subtask, expectedVersion)) {
+            return false;
+        }
+        logUpsert(subtask);
+        return true;
+    }
+
+    @Override
+    public synchronized void deleteSubtaskById(int id) {
+        super.deleteSubtaskById(id);
+        logDelete(TaskRecords.DELETE_SUBTASK, id);
+    }
+
+    @Override
+    public synchronized void deleteAllSubtasks() {
+        super.deleteAllSubtasks();
+        logDelete(TaskRecords.DELETE_ALL_SUBTASKS, 0);
+    }
+
+    @Override
+    public synchronized List<Subtask> getEpicSubtasks(int epicId) {
+        return super.getEpicSubtasks(epicId);
+    }
+
+    @Override
+    public synchronized BatchResult applyBatch(Batch batch) {
+        Set<Integer> refreshedEpics = new LinkedHashSet<>();
+        for (Batch.Operation operation : batch.getOperations()) {
+            switch (operation.kind()) {
+                case UPDATE_EPIC -> refreshedEpics.add(operation.task().getId());
+                case CREATE_SUBTASK, UPDATE_SUBTASK -> {
+                    if (operation.task() instanceof Subtask subtask) {
+                        refreshedEpics.add(subtask.getEpicId());
+                    }
+                }
+                case DELETE_SUBTASK -> {
+                    Subtask subtask = getSubtaskById(operation.id());
+                    if (subtask != null) {
+                        refreshedEpics.add(subtask.getEpicId());
+                    }
+                }
+                default -> {
+                }
+            }
+        }
+        BatchResult result = super.applyBatch(batch);
+        refreshedEpics.removeIf(epicId -> getEpicById(epicId) == null);
+        recordBytes.reset();
+        try {
+            TaskRecords.writeBatchHeader(recordOut, batch.size() + refreshedEpics.size());
+            for (Batch.Operation operation : batch.getOperations()) {
+                switch (operation.kind()) {
+                    case DELETE_TASK -> TaskRecords.writeDelete(recordOut, TaskRecords.DELETE_TASK, operation.id());
+                    case DELETE_EPIC -> TaskRecords.writeDelete(recordOut, TaskRecords.DELETE_EPIC, operation.id());
+                    case DELETE_SUBTASK ->
+                            TaskRecords.writeDelete(recordOut, TaskRecords.DELETE_SUBTASK, operation.id());
+                    case UPDATE_EPIC -> TaskRecords.writeUpsert(recordOut, operation.task());
+                    default -> {
+                        maxIssuedId = Math.max(maxIssuedId, operation.task().getId());
+                        TaskRecords.writeUpsert(recordOut, operation.task());
+                    }
+                }
+            }
+            for (int epicId : refreshedEpics) {
+                TaskRecords.writeUpsert(recordOut, getEpicById(epicId));
+            }
+        } catch (IOException e) {
+            throw new ManagerSaveException("Unable to encode batch record", e);
+        }
+        append(recordBytes.toByteArray(), recordBytes.size());
+        return result;
+    }
+
+    protected abstract void append(byte[] payload, int length);
+
+    protected int getMaxIssuedId() {
+        return maxIssuedId;
+    }
+
+    protected void setMaxIssuedId(int maxIssuedId) {
+        this.maxIssuedId = maxIssuedId;
+    }
+
+    protected void replay(byte[] payload, int length) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload, 0, length));
+        byte op = in.readByte();
+        if (op == TaskRecords.BATCH) {
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                replay(in.readByte(), in);
+            }
+        } else {
+            replay(op, in);
+        }
+    }
+
+    private void replay(byte op, DataInputStream in) throws IOException {
+        switch (op) {
+            case TaskRecords.UPSERT_TASK, TaskRecords.UPSERT_EPIC, TaskRecords.UPSERT_SUBTASK -> {
+                Task task = TaskRecords.readTask(op, in);
+                maxIssuedId = Math.max(maxIssuedId, task.getId());
+                restore(task);
+            }
+            case TaskRecords.DELETE_TASK -> super.deleteTaskById(in.readInt());
+            case TaskRecords.DELETE_EPIC -> super.deleteEpicById(in.readInt());
+            case TaskRecords.DELETE_SUBTASK -> super.deleteSubtaskById(in.readInt());
+            case TaskRecords.DELETE_ALL_TASKS -> super.deleteAllTasks();
+            case TaskRecords.DELETE_ALL_EPICS -> super.deleteAllEpics();
+            case TaskRecords.DELETE_ALL_SUBTASKS -> super.deleteAllSubtasks();
+            default -> throw new IOException("Unknown log record type " + op);
+        }
+    }
+
+    private void logUpsert(Task task) {
+        maxIssuedId = Math.max(maxIssuedId, task.getId());
+        recordBytes.reset();
+        try {
+            TaskRecords.writeUpsert(recordOut, task);
+        } catch (IOException e) {
+            throw new ManagerSaveException("Unable to encode task " + task.getId(), e);
+        }
+        append(recordBytes.toByteArray(), recordBytes.size());
+    }
+
+    private void logDelete(byte op, int id) {
+        recordBytes.reset();
+        try {
+            TaskRecords.writeDelete(recordOut, op, id);
+        } catch (IOException e) {
+            throw new ManagerSaveException("Unable to encode delete record", e);
+        }
+        append(recordBytes.toByteArray(), recordBytes.size());
+    }
+}
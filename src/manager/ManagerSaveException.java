@@ -0,0 +1,13 @@
+package manager;
+
+public class ManagerSaveException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    public ManagerSaveException(String message) {
+        super(message);
+    }
+
+    public ManagerSaveException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
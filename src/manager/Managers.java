@@ -1,11 +1,51 @@
 package manager;
 
+import metrics.InstrumentedHistoryManager;
+import metrics.InstrumentedTaskManager;
+import metrics.TaskManagerMetrics;
+
+import java.nio.file.Path;
+
 public class Managers {
     
     public static TaskManager getDefault() {
         return new InMemoryTaskManager();
     }
     
+    public static TaskManager getConcurrent() {
+        return new ConcurrentTaskManager();
+    }
+    
+    public static ShardedTaskManager getSharded() {
+        return new ShardedTaskManager();
+    }
+    
+    public static VersionedTaskManager getVersioned() {
+        return new VersionedTaskManager();
+    }
+    
+    public static OffHeapTaskManager getOffHeap() {
+        return new OffHeapTaskManager();
+    }
+    
+    public static EventLoopTaskManager getAsync() {
+        return new EventLoopTaskManager();
+    }
+    
+    public static InstrumentedTaskManager getInstrumented() {
+        TaskManagerMetrics metrics = new TaskManagerMetrics();
+        HistoryManager history = new InstrumentedHistoryManager(getDefaultHistory(), metrics);
+        return new InstrumentedTaskManager(new ConcurrentTaskManager(history), metrics);
+    }
+    
+    public static FileBackedTaskManager getFileBacked(Path directory) {
+        return new FileBackedTaskManager(directory);
+    }
+    
+    public static BoardRegistry getBoardRegistry(Path root) {
+        return new BoardRegistry(root);
+    }
+    
     public static HistoryManager getDefaultHistory() {
         return new InMemoryHistoryManager();
     }
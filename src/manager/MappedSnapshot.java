@@ -0,0 +1,379 @@
+package manager;
+
+import model.Epic;
+import model.Subtask;
+import model.Task;
+import model.TaskStatus;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Collection;
+import java.util.function.Consumer;
+
+public final class MappedSnapshot implements AutoCloseable {
+    private static final int MAGIC = 0x4B4D5350;
+    private static final int VERSION = 3;
+    private static final int HEADER_SIZE = 32;
+    private static final int RECORD_SIZE = 64;
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    static final byte TYPE_TASK = 1;
+    static final byte TYPE_EPIC = 2;
+    static final byte TYPE_SUBTASK = 3;
+
+    private static final int TYPE = 0;
+    private static final int STATUS = 1;
+    private static final int FLAGS = 2;
+    private static final int ID = 4;
+    private static final int EPIC_ID = 8;
+    private static final int NAME_OFFSET = 12;
+    private static final int NAME_LENGTH = 16;
+    private static final int DESCRIPTION_OFFSET = 20;
+    private static final int DESCRIPTION_LENGTH = 24;
+    private static final int START_NANOS = 28;
+    private static final int START_SECONDS = 32;
+    private static final int DURATION_SECONDS = 40;
+    private static final int DURATION_NANOS = 48;
+    private static final int ITEM_VERSION = 56;
+
+    private static final byte HAS_START_TIME = 1;
+    private static final byte HAS_DURATION = 2;
+
+    private static final TaskStatus[] STATUSES = TaskStatus.values();
+
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final long generation;
+    private final int maxIssuedId;
+    private final int recordCount;
+    private final int heapOffset;
+    private final IntIndex index;
+    private final int[] firstSubtask;
+    private final int[] nextSubtask;
+    private final int[] countsByType = new int[TYPE_SUBTASK + 1];
+
+    private MappedSnapshot(FileChannel channel, MappedByteBuffer buffer) throws IOException {
+        this.channel = channel;
+        this.buffer = buffer;
+        if (buffer.capacity() < HEADER_SIZE || buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+            throw new IOException("Unsupported snapshot format");
+        }
+        this.generation = buffer.getLong(8);
+        this.maxIssuedId = buffer.getInt(16);
+        this.recordCount = buffer.getInt(20);
+        this.heapOffset = HEADER_SIZE + recordCount * RECORD_SIZE;
+        if (recordCount < 0 || (long) HEADER_SIZE + (long) recordCount * RECORD_SIZE > buffer.capacity()) {
+            throw new IOException("Corrupted snapshot record count " + recordCount);
+        }
+
+        this.index = new IntIndex(recordCount);
+        this.firstSubtask = new int[recordCount];
+        this.nextSubtask = new int[recordCount];
+        int[] lastSubtask = new int[recordCount];
+        for (int record = 0; record < recordCount; record++) {
+            int position = HEADER_SIZE + record * RECORD_SIZE;
+            firstSubtask[record] = -1;
+            nextSubtask[record] = -1;
+            index.put(buffer.getInt(position + ID), record);
+            byte type = buffer.get(position + TYPE);
+            if (type < TYPE_TASK || type > TYPE_SUBTASK) {
+                throw new IOException("Corrupted snapshot record type " + type);
+            }
+            countsByType[type]++;
+            if (type == TYPE_SUBTASK) {
+                int epicRecord = index.get(buffer.getInt(position + EPIC_ID));
+                if (epicRecord < 0) {
+                    continue;
+                }
+                if (firstSubtask[epicRecord] < 0) {
+                    firstSubtask[epicRecord] = record;
+                } else {
+                    nextSubtask[lastSubtask[epicRecord]] = record;
+                }
+                lastSubtask[epicRecord] = record;
+            }
+        }
+    }
+
+    public static MappedSnapshot open(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("Snapshot is larger than 2 GB: " + path);
+            }
+            return new MappedSnapshot(channel, channel.map(FileChannel.MapMode.READ_ONLY, 0, size));
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    public static void write(Path path, long generation, int maxIssuedId, Collection<Epic> epics,
+                             Collection<Subtask> subtasks, Collection<Task> tasks) throws IOException {
+        long recordCount = (long) epics.size() + subtasks.size() + tasks.size();
+        long heapStart = HEADER_SIZE + recordCount * RECORD_SIZE;
+        if (heapStart > Integer.MAX_VALUE) {
+            throw new IOException("Too many records for a single snapshot: " + recordCount);
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            Writer writer = new Writer(channel, heapStart);
+            for (Epic epic : epics) {
+                writer.write(TYPE_EPIC, epic, 0);
+            }
+            for (Subtask subtask : subtasks) {
+                writer.write(TYPE_SUBTASK, subtask, subtask.getEpicId());
+            }
+            for (Task task : tasks) {
+                writer.write(TYPE_TASK, task, 0);
+            }
+            if (writer.records != recordCount) {
+                throw new IOException("Collections changed while writing snapshot");
+            }
+            writer.finish();
+
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            header.putInt(MAGIC).putInt(VERSION).putLong(generation).putInt(maxIssuedId)
+                    .putInt((int) recordCount).flip();
+            channel.write(header, 0);
+            channel.force(true);
+        }
+    }
+
+    public long getGeneration() {
+        return generation;
+    }
+
+    public int getMaxIssuedId() {
+        return maxIssuedId;
+    }
+
+    public int size() {
+        return recordCount;
+    }
+
+    public boolean contains(int id) {
+        return index.get(id) >= 0;
+    }
+
+    public Task getTask(int id) {
+        int record = index.get(id);
+        return record < 0 ? null : materialize(record);
+    }
+
+    public void forEach(Consumer<Task> action) {
+        for (int record = 0; record < recordCount; record++) {
+            action.accept(materialize(record));
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    int recordOf(int id) {
+        return index.get(id);
+    }
+
+    int countOf(byte type) {
+        return countsByType[type];
+    }
+
+    byte typeOf(int record) {
+        return buffer.get(HEADER_SIZE + record * RECORD_SIZE + TYPE);
+    }
+
+    int idOf(int record) {
+        return buffer.getInt(HEADER_SIZE + record * RECORD_SIZE + ID);
+    }
+
+    int epicIdOf(int record) {
+        return buffer.getInt(HEADER_SIZE + record * RECORD_SIZE + EPIC_ID);
+    }
+
+    TaskStatus statusOf(int record) {
+        byte status = buffer.get(HEADER_SIZE + record * RECORD_SIZE + STATUS);
+        return status < 0 ? null : STATUSES[status];
+    }
+
+    LocalDateTime startTimeOf(int record) {
+        return readStartTime(HEADER_SIZE + record * RECORD_SIZE);
+    }
+
+    Duration durationOf(int record) {
+        return readDuration(HEADER_SIZE + record * RECORD_SIZE);
+    }
+
+    Task materialize(int record) {
+        int position = HEADER_SIZE + record * RECORD_SIZE;
+        int id = buffer.getInt(position + ID);
+        byte status = buffer.get(position + STATUS);
+        TaskStatus taskStatus = status < 0 ? null : STATUSES[status];
+        String name = readString(buffer.getInt(position + NAME_OFFSET), buffer.getInt(position + NAME_LENGTH));
+        String description = readString(buffer.getInt(position + DESCRIPTION_OFFSET),
+                buffer.getInt(position + DESCRIPTION_LENGTH));
+        Task task = switch (buffer.get(position + TYPE)) {
+            case TYPE_EPIC -> materializeEpic(record, new Epic(id, name, description, taskStatus));
+            case TYPE_SUBTASK -> withTime(position,
+                    new Subtask(id, name, description, taskStatus, buffer.getInt(position + EPIC_ID)));
+            default -> withTime(position, new Task(id, name, description, taskStatus));
+        };
+        task.setVersion(buffer.getLong(position + ITEM_VERSION));
+        return task;
+    }
+
+    private Epic materializeEpic(int record, Epic epic) {
+        LocalDateTime startTime = null;
+        LocalDateTime endTime = null;
+        Duration duration = Duration.ZERO;
+        for (int child = firstSubtask[record]; child >= 0; child = nextSubtask[child]) {
+            int childPosition = HEADER_SIZE + child * RECORD_SIZE;
+            byte childStatus = buffer.get(childPosition + STATUS);
+            epic.addSubtaskId(buffer.getInt(childPosition + ID), childStatus < 0 ? null : STATUSES[childStatus]);
+            LocalDateTime childStart = readStartTime(childPosition);
+            if (childStart == null) {
+                continue;
+            }
+            Duration childDuration = readDuration(childPosition);
+            LocalDateTime childEnd = childDuration == null ? childStart : childStart.plus(childDuration);
+            if (startTime == null || childStart.isBefore(startTime)) {
+                startTime = childStart;
+            }
+            if (endTime == null || childEnd.isAfter(endTime)) {
+                endTime = childEnd;
+            }
+            if (childDuration != null) {
+                duration = duration.plus(childDuration);
+            }
+        }
+        epic.setStatus(epic.calculateStatus());
+        epic.setStartTime(startTime);
+        epic.setDuration(startTime == null ? null : duration);
+        epic.setEndTime(endTime);
+        return epic;
+    }
+
+    private <T extends Task> T withTime(int position, T task) {
+        task.setStartTime(readStartTime(position));
+        task.setDuration(readDuration(position));
+        return task;
+    }
+
+    private LocalDateTime readStartTime(int position) {
+        if ((buffer.get(position + FLAGS) & HAS_START_TIME) == 0) {
+            return null;
+        }
+        return LocalDateTime.ofEpochSecond(buffer.getLong(position + START_SECONDS),
+                buffer.getInt(position + START_NANOS), ZoneOffset.UTC);
+    }
+
+    private Duration readDuration(int position) {
+        if ((buffer.get(position + FLAGS) & HAS_DURATION) == 0) {
+            return null;
+        }
+        return Duration.ofSeconds(buffer.getLong(position + DURATION_SECONDS), buffer.getInt(position + DURATION_NANOS));
+    }
+
+    private String readString(int offset, int length) {
+        byte[] bytes = new byte[length];
+        buffer.get(heapOffset + offset, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static final class Writer {
+        private final FileChannel channel;
+        private final ByteBuffer recordBuffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+        private final ByteBuffer heapBuffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+        private final long heapStart;
+        private long recordPosition = HEADER_SIZE;
+        private long heapSize;
+        private long heapFlushed;
+        private long records;
+
+        private Writer(FileChannel channel, long heapStart) {
+            this.channel = channel;
+            this.heapStart = heapStart;
+        }
+
+        private void write(byte type, Task task, int epicId) throws IOException {
+            byte[] name = task.getName().getBytes(StandardCharsets.UTF_8);
+            byte[] description = task.getDescription().getBytes(StandardCharsets.UTF_8);
+            boolean timed = type != TYPE_EPIC;
+            LocalDateTime startTime = timed ? task.getStartTime() : null;
+            Duration duration = timed ? task.getDuration() : null;
+            if (recordBuffer.remaining() < RECORD_SIZE) {
+                flushRecords();
+            }
+            recordBuffer.put(type)
+                    .put((byte) (task.getStatus() == null ? -1 : task.getStatus().ordinal()))
+                    .put((byte) ((startTime == null ? 0 : HAS_START_TIME) | (duration == null ? 0 : HAS_DURATION)))
+                    .put((byte) 0)
+                    .putInt(task.getId())
+                    .putInt(epicId)
+                    .putInt(appendString(name))
+                    .putInt(name.length)
+                    .putInt(appendString(description))
+                    .putInt(description.length)
+                    .putInt(startTime == null ? 0 : startTime.getNano())
+                    .putLong(startTime == null ? 0 : startTime.toEpochSecond(ZoneOffset.UTC))
+                    .putLong(duration == null ? 0 : duration.getSeconds())
+                    .putInt(duration == null ? 0 : duration.getNano())
+                    .putInt(0)
+                    .putLong(task.getVersion());
+            records++;
+        }
+
+        private int appendString(byte[] bytes) throws IOException {
+            long offset = heapSize;
+            if (heapStart + offset + bytes.length > Integer.MAX_VALUE) {
+                throw new IOException("Snapshot is larger than 2 GB");
+            }
+            if (bytes.length > heapBuffer.remaining()) {
+                flushHeap();
+            }
+            if (bytes.length > heapBuffer.capacity()) {
+                writeFully(ByteBuffer.wrap(bytes), heapStart + heapFlushed);
+                heapFlushed += bytes.length;
+            } else {
+                heapBuffer.put(bytes);
+            }
+            heapSize += bytes.length;
+            return (int) offset;
+        }
+
+        private void finish() throws IOException {
+            flushRecords();
+            flushHeap();
+        }
+
+        private void flushRecords() throws IOException {
+            recordBuffer.flip();
+            recordPosition += writeFully(recordBuffer, recordPosition);
+            recordBuffer.clear();
+        }
+
+        private void flushHeap() throws IOException {
+            heapBuffer.flip();
+            heapFlushed += writeFully(heapBuffer, heapStart + heapFlushed);
+            heapBuffer.clear();
+        }
+
+        private int writeFully(ByteBuffer source, long position) throws IOException {
+            int written = 0;
+            while (source.hasRemaining()) {
+                written += channel.write(source, position + written);
+            }
+            return written;
+        }
+    }
+}
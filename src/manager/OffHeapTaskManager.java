@@ -0,0 +1,59 @@
+package manager;
+
+import model.Subtask;
+import model.Task;
+
+import java.util.HashMap;
+
+public class OffHeapTaskManager extends InMemoryTaskManager {
+    private final StringArena strings;
+    private final OffHeapTaskStore<Task> tasks;
+    private final OffHeapTaskStore<Subtask> subtasks;
+
+    public OffHeapTaskManager() {
+        this(new StringArena());
+    }
+
+    private OffHeapTaskManager(StringArena strings) {
+        this(strings, OffHeapTaskStore.tasks(strings), OffHeapTaskStore.subtasks(strings));
+    }
+
+    private OffHeapTaskManager(StringArena strings, OffHeapTaskStore<Task> tasks, OffHeapTaskStore<Subtask> subtasks) {
+        super(tasks, new HashMap<>(), subtasks, Managers.getDefaultHistory());
+        this.strings = strings;
+        this.tasks = tasks;
+        this.subtasks = subtasks;
+    }
+
+    public long getOffHeapBytes() {
+        return strings.getAllocatedBytes() + tasks.getAllocatedBytes() + subtasks.getAllocatedBytes();
+    }
+
+    public int getDistinctStringCount() {
+        return strings.size();
+    }
+
+    @Override
+    public void deleteAllTasks() {
+        super.deleteAllTasks();
+        releaseStrings();
+    }
+
+    @Override
+    public void deleteAllEpics() {
+        super.deleteAllEpics();
+        releaseStrings();
+    }
+
+    @Override
+    public void deleteAllSubtasks() {
+        super.deleteAllSubtasks();
+        releaseStrings();
+    }
+
+    private void releaseStrings() {
+        if (tasks.isEmpty() && subtasks.isEmpty()) {
+            strings.clear();
+        }
+    }
+}
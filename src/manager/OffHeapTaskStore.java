@@ -0,0 +1,369 @@
+package manager;
+
+import model.Subtask;
+import model.Task;
+import model.TaskStatus;
+
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.AbstractCollection;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.function.IntFunction;
+import java.util.function.IntUnaryOperator;
+
+final class OffHeapTaskStore<T extends Task> extends AbstractMap<Integer, T> {
+    private static final TaskStatus[] STATUSES = TaskStatus.values();
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final int SLOT_SIZE = 8;
+    private static final int NO_VALUE = -1;
+
+    private final StringArena strings;
+    private final RowFactory<T> factory;
+    private int capacity;
+    private int size;
+    private ByteBuffer ids;
+    private ByteBuffer statuses;
+    private ByteBuffer epicIds;
+    private ByteBuffer names;
+    private ByteBuffer descriptions;
+    private ByteBuffer startSeconds;
+    private ByteBuffer startNanos;
+    private ByteBuffer durationSeconds;
+    private ByteBuffer durationNanos;
+    private ByteBuffer versions;
+    private ByteBuffer slots;
+    private int slotMask;
+
+    private OffHeapTaskStore(StringArena strings, RowFactory<T> factory) {
+        this.strings = strings;
+        this.factory = factory;
+        clear();
+        strings.register(this::relocate);
+    }
+
+    static OffHeapTaskStore<Task> tasks(StringArena strings) {
+        return new OffHeapTaskStore<>(strings, (id, name, description, status, epicId) ->
+                new Task(id, name, description, status));
+    }
+
+    static OffHeapTaskStore<Subtask> subtasks(StringArena strings) {
+        return new OffHeapTaskStore<>(strings, Subtask::new);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return key instanceof Integer id && row(id) != NO_VALUE;
+    }
+
+    @Override
+    public T get(Object key) {
+        if (!(key instanceof Integer id)) {
+            return null;
+        }
+        int row = row(id);
+        return row == NO_VALUE ? null : read(row);
+    }
+
+    @Override
+    public T put(Integer key, T value) {
+        int id = key;
+        int name = strings.intern(value.getName());
+        int description = strings.intern(value.getDescription());
+        int slot = find(id);
+        int row = rowAt(slot);
+        T previous = null;
+        int previousName = NO_VALUE;
+        int previousDescription = NO_VALUE;
+        if (row == NO_VALUE) {
+            if (size == capacity) {
+                grow();
+            }
+            row = size++;
+            slots.putInt(slot * SLOT_SIZE, id);
+            slots.putInt(slot * SLOT_SIZE + 4, row + 1);
+            if (size * 2 > slotMask + 1) {
+                rehash((slotMask + 1) * 2);
+            }
+        } else {
+            previous = read(row);
+            previousName = names.getInt(row * 4);
+            previousDescription = descriptions.getInt(row * 4);
+        }
+        write(row, id, name, description, value);
+        if (previous != null) {
+            strings.release(previousName);
+            strings.release(previousDescription);
+            strings.compactIfNeeded();
+        }
+        return previous;
+    }
+
+    @Override
+    public T remove(Object key) {
+        if (!(key instanceof Integer id)) {
+            return null;
+        }
+        int slot = find(id);
+        int row = rowAt(slot);
+        if (row == NO_VALUE) {
+            return null;
+        }
+        T removed = read(row);
+        int name = names.getInt(row * 4);
+        int description = descriptions.getInt(row * 4);
+        deleteSlot(slot);
+        int last = --size;
+        if (row != last) {
+            moveRow(last, row);
+            int moved = ids.getInt(row * 4);
+            slots.putInt(find(moved) * SLOT_SIZE + 4, row + 1);
+        }
+        strings.release(name);
+        strings.release(description);
+        strings.compactIfNeeded();
+        return removed;
+    }
+
+    @Override
+    public void clear() {
+        for (int row = 0; row < size; row++) {
+            strings.release(names.getInt(row * 4));
+            strings.release(descriptions.getInt(row * 4));
+        }
+        capacity = INITIAL_CAPACITY;
+        size = 0;
+        allocateColumns(capacity);
+        slots = ByteBuffer.allocateDirect(capacity * 2 * SLOT_SIZE);
+        slotMask = capacity * 2 - 1;
+        strings.compactIfNeeded();
+    }
+
+    @Override
+    public Set<Integer> keySet() {
+        return new AbstractSet<>() {
+            @Override
+            public Iterator<Integer> iterator() {
+                return new RowIterator<>(row -> ids.getInt(row * 4));
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+
+            @Override
+            public boolean contains(Object key) {
+                return containsKey(key);
+            }
+        };
+    }
+
+    @Override
+    public Collection<T> values() {
+        return new AbstractCollection<>() {
+            @Override
+            public Iterator<T> iterator() {
+                return new RowIterator<>(OffHeapTaskStore.this::read);
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    @Override
+    public Set<Map.Entry<Integer, T>> entrySet() {
+        return new AbstractSet<>() {
+            @Override
+            public Iterator<Map.Entry<Integer, T>> iterator() {
+                return new RowIterator<>(row -> new SimpleImmutableEntry<>(ids.getInt(row * 4), read(row)));
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    long getAllocatedBytes() {
+        return (long) ids.capacity() + statuses.capacity() + epicIds.capacity() + names.capacity()
+                + descriptions.capacity() + startSeconds.capacity() + startNanos.capacity()
+                + durationSeconds.capacity() + durationNanos.capacity() + versions.capacity() + slots.capacity();
+    }
+
+    private void relocate(IntUnaryOperator relocation) {
+        for (int row = 0; row < size; row++) {
+            names.putInt(row * 4, relocation.applyAsInt(names.getInt(row * 4)));
+            descriptions.putInt(row * 4, relocation.applyAsInt(descriptions.getInt(row * 4)));
+        }
+    }
+
+    private T read(int row) {
+        int status = statuses.get(row);
+        T task = factory.create(ids.getInt(row * 4), strings.get(names.getInt(row * 4)),
+                strings.get(descriptions.getInt(row * 4)), status == 0 ? null : STATUSES[status - 1],
+                epicIds.getInt(row * 4));
+        int nanos = startNanos.getInt(row * 4);
+        if (nanos != NO_VALUE) {
+            task.setStartTime(LocalDateTime.ofEpochSecond(startSeconds.getLong(row * 8), nanos, ZoneOffset.UTC));
+        }
+        nanos = durationNanos.getInt(row * 4);
+        if (nanos != NO_VALUE) {
+            task.setDuration(Duration.ofSeconds(durationSeconds.getLong(row * 8), nanos));
+        }
+        task.setVersion(versions.getLong(row * 8));
+        return task;
+    }
+
+    private void write(int row, int id, int name, int description, T task) {
+        ids.putInt(row * 4, id);
+        statuses.put(row, (byte) (task.getStatus() == null ? 0 : task.getStatus().ordinal() + 1));
+        epicIds.putInt(row * 4, task instanceof Subtask subtask ? subtask.getEpicId() : 0);
+        names.putInt(row * 4, name);
+        descriptions.putInt(row * 4, description);
+        LocalDateTime start = task.getStartTime();
+        startSeconds.putLong(row * 8, start == null ? 0 : start.toEpochSecond(ZoneOffset.UTC));
+        startNanos.putInt(row * 4, start == null ? NO_VALUE : start.getNano());
+        Duration duration = task.getDuration();
+        durationSeconds.putLong(row * 8, duration == null ? 0 : duration.getSeconds());
+        durationNanos.putInt(row * 4, duration == null ? NO_VALUE : duration.getNano());
+        versions.putLong(row * 8, task.getVersion());
+    }
+
+    private void moveRow(int from, int to) {
+        ids.putInt(to * 4, ids.getInt(from * 4));
+        statuses.put(to, statuses.get(from));
+        epicIds.putInt(to * 4, epicIds.getInt(from * 4));
+        names.putInt(to * 4, names.getInt(from * 4));
+        descriptions.putInt(to * 4, descriptions.getInt(from * 4));
+        startSeconds.putLong(to * 8, startSeconds.getLong(from * 8));
+        startNanos.putInt(to * 4, startNanos.getInt(from * 4));
+        durationSeconds.putLong(to * 8, durationSeconds.getLong(from * 8));
+        durationNanos.putInt(to * 4, durationNanos.getInt(from * 4));
+        versions.putLong(to * 8, versions.getLong(from * 8));
+    }
+
+    private int row(int id) {
+        return rowAt(find(id));
+    }
+
+    private int rowAt(int slot) {
+        return slots.getInt(slot * SLOT_SIZE + 4) - 1;
+    }
+
+    private int find(int id) {
+        int slot = mix(id) & slotMask;
+        while (slots.getInt(slot * SLOT_SIZE + 4) != 0 && slots.getInt(slot * SLOT_SIZE) != id) {
+            slot = (slot + 1) & slotMask;
+        }
+        return slot;
+    }
+
+    private void deleteSlot(int slot) {
+        int hole = slot;
+        int next = slot;
+        while (true) {
+            next = (next + 1) & slotMask;
+            if (slots.getInt(next * SLOT_SIZE + 4) == 0) {
+                break;
+            }
+            int home = mix(slots.getInt(next * SLOT_SIZE)) & slotMask;
+            boolean movable = hole <= next ? home <= hole || home > next : home <= hole && home > next;
+            if (movable) {
+                slots.putLong(hole * SLOT_SIZE, slots.getLong(next * SLOT_SIZE));
+                hole = next;
+            }
+        }
+        slots.putLong(hole * SLOT_SIZE, 0);
+    }
+
+    private void rehash(int slotCount) {
+        ByteBuffer previous = slots;
+        int previousCount = slotMask + 1;
+        slots = ByteBuffer.allocateDirect(slotCount * SLOT_SIZE);
+        slotMask = slotCount - 1;
+        for (int i = 0; i < previousCount; i++) {
+            int row = previous.getInt(i * SLOT_SIZE + 4);
+            if (row != 0) {
+                int slot = find(previous.getInt(i * SLOT_SIZE));
+                slots.putLong(slot * SLOT_SIZE, previous.getLong(i * SLOT_SIZE));
+            }
+        }
+    }
+
+    private void grow() {
+        if (capacity > Integer.MAX_VALUE / 16) {
+            throw new IllegalStateException("Off-heap store is full");
+        }
+        ByteBuffer[] previous = {ids, statuses, epicIds, names, descriptions, startSeconds, startNanos,
+                durationSeconds, durationNanos, versions};
+        capacity *= 2;
+        allocateColumns(capacity);
+        ByteBuffer[] current = {ids, statuses, epicIds, names, descriptions, startSeconds, startNanos,
+                durationSeconds, durationNanos, versions};
+        for (int i = 0; i < current.length; i++) {
+            current[i].put(0, previous[i], 0, previous[i].capacity());
+        }
+    }
+
+    private void allocateColumns(int rows) {
+        ids = ByteBuffer.allocateDirect(rows * 4);
+        statuses = ByteBuffer.allocateDirect(rows);
+        epicIds = ByteBuffer.allocateDirect(rows * 4);
+        names = ByteBuffer.allocateDirect(rows * 4);
+        descriptions = ByteBuffer.allocateDirect(rows * 4);
+        startSeconds = ByteBuffer.allocateDirect(rows * 8);
+        startNanos = ByteBuffer.allocateDirect(rows * 4);
+        durationSeconds = ByteBuffer.allocateDirect(rows * 8);
+        durationNanos = ByteBuffer.allocateDirect(rows * 4);
+        versions = ByteBuffer.allocateDirect(rows * 8);
+    }
+
+    private static int mix(int id) {
+        int mixed = id * 0x9E3779B9;
+        return mixed ^ (mixed >>> 16);
+    }
+
+    @FunctionalInterface
+    private interface RowFactory<T> {
+        T create(int id, String name, String description, TaskStatus status, int epicId);
+    }
+
+    private final class RowIterator<E> implements Iterator<E> {
+        private final IntFunction<E> reader;
+        private int next;
+
+        RowIterator(IntFunction<E> reader) {
+            this.reader = reader;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next < size;
+        }
+
+        @Override
+        public E next() {
+            if (next >= size) {
+                throw new NoSuchElementException();
+            }
+            return reader.apply(next++);
+        }
+    }
+}
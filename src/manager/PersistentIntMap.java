@@ -0,0 +1,194 @@
+package manager;
+
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+final class PersistentIntMap<V> {
+    private static final int BITS = 5;
+    private static final int MASK = (1 << BITS) - 1;
+    private static final PersistentIntMap<?> EMPTY = new PersistentIntMap<>(null, 0);
+
+    private final Node root;
+    private final int size;
+
+    private PersistentIntMap(Node root, int size) {
+        this.root = root;
+        this.size = size;
+    }
+
+    @SuppressWarnings("unchecked")
+    static <V> PersistentIntMap<V> empty() {
+        return (PersistentIntMap<V>) EMPTY;
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    @SuppressWarnings("unchecked")
+    V get(int key) {
+        Node node = root;
+        int shift = 0;
+        while (node != null) {
+            int bit = 1 << ((key >>> shift) & MASK);
+            if ((node.bitmap & bit) == 0) {
+                return null;
+            }
+            Object entry = node.entries[node.index(bit)];
+            if (entry instanceof Leaf leaf) {
+                return leaf.key == key ? (V) leaf.value : null;
+            }
+            node = (Node) entry;
+            shift += BITS;
+        }
+        return null;
+    }
+
+    PersistentIntMap<V> put(int key, V value) {
+        boolean[] added = new boolean[1];
+        Node updated = put(root, 0, new Leaf(key, value), added);
+        return updated == root ? this : new PersistentIntMap<>(updated, added[0] ? size + 1 : size);
+    }
+
+    PersistentIntMap<V> remove(int key) {
+        if (root == null) {
+            return this;
+        }
+        Object updated = remove(root, 0, key);
+        if (updated == root) {
+            return this;
+        }
+        if (updated instanceof Leaf leaf) {
+            return new PersistentIntMap<>(new Node(1 << (leaf.key & MASK), new Object[]{leaf}), size - 1);
+        }
+        return size == 1 ? empty() : new PersistentIntMap<>((Node) updated, size - 1);
+    }
+
+    @SuppressWarnings("unchecked")
+    void forEach(Consumer<? super V> action) {
+        if (root != null) {
+            forEach(root, leaf -> action.accept((V) leaf.value));
+        }
+    }
+
+    private static Node put(Node node, int shift, Leaf leaf, boolean[] added) {
+        int bit = 1 << ((leaf.key >>> shift) & MASK);
+        if (node == null) {
+            added[0] = true;
+            return new Node(bit, new Object[]{leaf});
+        }
+        int index = node.index(bit);
+        if ((node.bitmap & bit) == 0) {
+            added[0] = true;
+            Object[] entries = new Object[node.entries.length + 1];
+            System.arraycopy(node.entries, 0, entries, 0, index);
+            entries[index] = leaf;
+            System.arraycopy(node.entries, index, entries, index + 1, node.entries.length - index);
+            return new Node(node.bitmap | bit, entries);
+        }
+        Object entry = node.entries[index];
+        Object replacement;
+        if (entry instanceof Leaf existing) {
+            if (existing.key == leaf.key) {
+                if (existing.value == leaf.value) {
+                    return node;
+                }
+                replacement = leaf;
+            } else {
+                added[0] = true;
+                replacement = merge(existing, leaf, shift + BITS);
+            }
+        } else {
+            Node child = (Node) entry;
+            replacement = put(child, shift + BITS, leaf, added);
+            if (replacement == child) {
+                return node;
+            }
+        }
+        Object[] entries = Arrays.copyOf(node.entries, node.entries.length);
+        entries[index] = replacement;
+        return new Node(node.bitmap, entries);
+    }
+
+    private static Node merge(Leaf first, Leaf second, int shift) {
+        int firstBit = 1 << ((first.key >>> shift) & MASK);
+        int secondBit = 1 << ((second.key >>> shift) & MASK);
+        if (firstBit == secondBit) {
+            return new Node(firstBit, new Object[]{merge(first, second, shift + BITS)});
+        }
+        Object[] entries = Integer.compareUnsigned(firstBit, secondBit) < 0
+                ? new Object[]{first, second}
+                : new Object[]{second, first};
+        return new Node(firstBit | secondBit, entries);
+    }
+
+    private static Object remove(Node node, int shift, int key) {
+        int bit = 1 << ((key >>> shift) & MASK);
+        if ((node.bitmap & bit) == 0) {
+            return node;
+        }
+        int index = node.index(bit);
+        Object entry = node.entries[index];
+        Object replacement;
+        if (entry instanceof Leaf leaf) {
+            if (leaf.key != key) {
+                return node;
+            }
+            replacement = null;
+        } else {
+            replacement = remove((Node) entry, shift + BITS, key);
+            if (replacement == entry) {
+                return node;
+            }
+        }
+        if (replacement == null) {
+            if (node.entries.length == 1) {
+                return null;
+            }
+            if (node.entries.length == 2 && node.entries[1 - index] instanceof Leaf remaining) {
+                return remaining;
+            }
+            Object[] entries = new Object[node.entries.length - 1];
+            System.arraycopy(node.entries, 0, entries, 0, index);
+            System.arraycopy(node.entries, index + 1, entries, index, entries.length - index);
+            return new Node(node.bitmap & ~bit, entries);
+        }
+        if (replacement instanceof Leaf && node.entries.length == 1) {
+            return replacement;
+        }
+        Object[] entries = Arrays.copyOf(node.entries, node.entries.length);
+        entries[index] = replacement;
+        return new Node(node.bitmap, entries);
+    }
+
+    private static void forEach(Node node, Consumer<Leaf> action) {
+        for (Object entry : node.entries) {
+            if (entry instanceof Leaf leaf) {
+                action.accept(leaf);
+            } else {
+                forEach((Node) entry, action);
+            }
+        }
+    }
+
+    private record Leaf(int key, Object value) {
+    }
+
+    private static final class Node {
+        private final int bitmap;
+        private final Object[] entries;
+
+        private Node(int bitmap, Object[] entries) {
+            this.bitmap = bitmap;
+            this.entries = entries;
+        }
+
+        private int index(int bit) {
+            return Integer.bitCount(bitmap & (bit - 1));
+        }
+    }
+}
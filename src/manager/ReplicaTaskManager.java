@@ -0,0 +1,441 @@
+package manager;
+
+import event.TaskEvent;
+import event.TaskEventBus;
+import model.Epic;
+import model.Subtask;
+import model.Task;
+import model.TaskStatus;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.channels.Channels;
+import java.nio.channels.SocketChannel;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+public class ReplicaTaskManager implements TaskManager, AutoCloseable {
+    private static final long RECONNECT_DELAY_MILLIS = 100;
+
+    private final InetSocketAddress leader;
+    private final HistoryManager history = new SynchronizedHistoryManager(Managers.getDefaultHistory());
+    private final TaskEventBus eventBus = new TaskEventBus();
+    private final Thread worker;
+    private volatile Board board = new Board(history, eventBus, true);
+    private Board staging;
+    private volatile SocketChannel channel;
+    private volatile boolean closed;
+    private volatile boolean connected;
+    private volatile long appliedSequence;
+    private volatile int snapshotCount;
+    private long leaderId;
+
+    public ReplicaTaskManager(InetSocketAddress leader) {
+        if (leader == null) {
+            throw new IllegalArgumentException("Leader address cannot be null");
+        }
+        this.leader = leader;
+        this.worker = Thread.ofVirtual().name("replica-" + leader).start(this::run);
+    }
+
+    public long getAppliedSequence() {
+        return appliedSequence;
+    }
+
+    public int getSnapshotCount() {
+        return snapshotCount;
+    }
+
+    public boolean isConnected() {
+        return connected;
+    }
+
+    public synchronized boolean awaitSequence(long sequence, Duration timeout) throws InterruptedException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (appliedSequence < sequence) {
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                return false;
+            }
+            wait(Math.max(1, remaining / 1_000_000));
+        }
+        return true;
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        SocketChannel current = channel;
+        if (current != null) {
+            try {
+                current.close();
+            } catch (IOException ignored) {
+            }
+        }
+        worker.interrupt();
+        try {
+            worker.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public List<Task> getTasks() {
+        return board.getTasks();
+    }
+
+    @Override
+    public Task getTaskById(int id) {
+        return board.getTaskById(id);
+    }
+
+    @Override
+    public List<Epic> getEpics() {
+        return board.getEpics();
+    }
+
+    @Override
+    public Epic getEpicById(int id) {
+        return board.getEpicById(id);
+    }
+
+    @Override
+    public List<Subtask> getSubtasks() {
+        return board.getSubtasks();
+    }
+
+    @Override
+    public List<Task> getTasksView() {
+        return board.getTasksView();
+    }
+
+    @Override
+    public List<Epic> getEpicsView() {
+        return board.getEpicsView();
+    }
+
+    @Override
+    public List<Subtask> getSubtasksView() {
+        return board.getSubtasksView();
+    }
+
+    @Override
+    public int getTaskCount() {
+        return board.getTaskCount();
+    }
+
+    @Override
+    public int getEpicCount() {
+        return board.getEpicCount();
+    }
+
+    @Override
+    public int getSubtaskCount() {
+        return board.getSubtaskCount();
+    }
+
+    @Override
+    public void forEachTask(Consumer<? super Task> action) {
+        board.forEachTask(action);
+    }
+
+    @Override
+    public void forEachEpic(Consumer<? super Epic> action) {
+        board.forEachEpic(action);
+    }
+
+    @Override
+    public void forEachSubtask(Consumer<? super Subtask> action) {
+        board.forEachSubtask(action);
+    }
+
+    @Override
+    public Subtask getSubtaskById(int id) {
+        return board.getSubtaskById(id);
+    }
+
+    @Override
+    public List<Subtask> getEpicSubtasks(int epicId) {
+        return board.getEpicSubtasks(epicId);
+    }
+
+    @Override
+    public List<Task> getTasksByStatus(TaskStatus status) {
+        return board.getTasksByStatus(status);
+    }
+
+    @Override
+    public List<Epic> getEpicsByStatus(TaskStatus status) {
+        return board.getEpicsByStatus(status);
+    }
+
+    @Override
+    public List<Subtask> getSubtasksByStatus(TaskStatus status) {
+        return board.getSubtasksByStatus(status);
+    }
+
+    @Override
+    public List<Task> getPrioritizedTasks() {
+        return board.getPrioritizedTasks();
+    }
+
+    @Override
+    public List<Task> search(String query) {
+        return board.search(query);
+    }
+
+    @Override
+    public TaskEventBus getEventBus() {
+        return eventBus;
+    }
+
+    @Override
+    public List<Task> getHistory() {
+        return history.getHistory();
+    }
+
+    @Override
+    public Task getTask(int id) {
+        return board.getTask(id);
+    }
+
+    @Override
+    public Epic getEpic(int id) {
+        return board.getEpic(id);
+    }
+
+    @Override
+    public Subtask getSubtask(int id) {
+        return board.getSubtask(id);
+    }
+
+    @Override
+    public int createTask(Task task) {
+        throw readOnly();
+    }
+
+    @Override
+    public void updateTask(Task task) {
+        throw readOnly();
+    }
+
+    @Override
+    public boolean compareAndUpdateTask(Task task, long expectedVersion) {
+        throw readOnly();
+    }
+
+    @Override
+    public void deleteTaskById(int id) {
+        throw readOnly();
+    }
+
+    @Override
+    public void deleteAllTasks() {
+        throw readOnly();
+    }
+
+    @Override
+    public int createEpic(Epic epic) {
+        throw readOnly();
+    }
+
+    @Override
+    public void updateEpic(Epic epic) {
+        throw readOnly();
+    }
+
+    @Override
+    public boolean compareAndUpdateEpic(Epic epic, long expectedVersion) {
+        throw readOnly();
+    }
+
+    @Override
+    public void deleteEpicById(int id) {
+        throw readOnly();
+    }
+
+    @Override
+    public void deleteAllEpics() {
+        throw readOnly();
+    }
+
+    @Override
+    public int createSubtask(Subtask subtask) {
+        throw readOnly();
+    }
+
+    @Override
+    public void updateSubtask(Subtask subtask) {
+        throw readOnly();
+    }
+
+    @Override
+    public boolean compareAndUpdateSubtask(Subtask subtask, long expectedVersion) {
+        throw readOnly();
+    }
+
+    @Override
+    public void deleteSubtaskById(int id) {
+        throw readOnly();
+    }
+
+    @Override
+    public void deleteAllSubtasks() {
+        throw readOnly();
+    }
+
+    @Override
+    public BatchResult applyBatch(Batch batch) {
+        throw readOnly();
+    }
+
+    private void run() {
+        while (!closed) {
+            try (SocketChannel socket = SocketChannel.open()) {
+                channel = socket;
+                if (closed) {
+                    return;
+                }
+                socket.setOption(StandardSocketOptions.TCP_NODELAY, true);
+                socket.connect(leader);
+                long known;
+                long next;
+                synchronized (this) {
+                    known = leaderId;
+                    next = appliedSequence + 1;
+                }
+                socket.write(ReplicationFrames.handshake(known, next));
+                connected = true;
+                InputStream in = Channels.newInputStream(socket);
+                TaskRecords.readFrames(in, this::apply);
+            } catch (IOException e) {
+                connected = false;
+            } finally {
+                connected = false;
+                channel = null;
+            }
+            if (!closed) {
+                try {
+                    Thread.sleep(RECONNECT_DELAY_MILLIS);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private synchronized void apply(byte[] payload, int length) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload, 0, length));
+        byte type = in.readByte();
+        long value = in.readLong();
+        int count = in.readInt();
+        switch (type) {
+            case ReplicationFrames.SNAPSHOT_BEGIN -> {
+                staging = new Board(history, eventBus, false);
+                leaderId = value;
+            }
+            case ReplicationFrames.STREAM_BEGIN -> leaderId = value;
+            case ReplicationFrames.SNAPSHOT_RECORDS -> {
+                for (int i = 0; i < count; i++) {
+                    snapshotInProgress().replay(readRecord(in));
+                }
+            }
+            case ReplicationFrames.SNAPSHOT_END -> {
+                swap(snapshotInProgress());
+                staging = null;
+                appliedSequence = value;
+                snapshotCount++;
+            }
+            case ReplicationFrames.RECORDS -> {
+                for (int i = 0; i < count; i++) {
+                    long sequence = value + i;
+                    byte[] record = readRecord(in);
+                    if (sequence <= appliedSequence) {
+                        continue;
+                    }
+                    if (sequence != appliedSequence + 1) {
+                        throw new IOException("Replication gap before sequence " + sequence);
+                    }
+                    board.replay(record);
+                    appliedSequence = sequence;
+                }
+            }
+            default -> throw new IOException("Unknown replication frame " + type);
+        }
+        notifyAll();
+    }
+
+    private Board snapshotInProgress() throws IOException {
+        if (staging == null) {
+            throw new IOException("Snapshot frame received outside of a snapshot");
+        }
+        return staging;
+    }
+
+    private void swap(Board next) {
+        Board previous = board;
+        next.live = true;
+        board = next;
+        previous.live = false;
+        Set<Integer> ids = new HashSet<>();
+        next.forEachTask(task -> ids.add(task.getId()));
+        next.forEachEpic(epic -> ids.add(epic.getId()));
+        next.forEachSubtask(subtask -> ids.add(subtask.getId()));
+        for (Task viewed : history.getHistory()) {
+            if (!ids.contains(viewed.getId())) {
+                history.remove(viewed.getId());
+            }
+        }
+        eventBus.publish(TaskEvent.Type.ALL_TASKS_DELETED, 0, null);
+        eventBus.publish(TaskEvent.Type.ALL_EPICS_DELETED, 0, null);
+        next.forEachEpic(epic -> eventBus.publish(TaskEvent.Type.EPIC_CREATED, epic.getId(), new Epic(epic)));
+        next.forEachSubtask(subtask ->
+                eventBus.publish(TaskEvent.Type.SUBTASK_CREATED, subtask.getId(), new Subtask(subtask)));
+        next.forEachTask(task -> eventBus.publish(TaskEvent.Type.TASK_CREATED, task.getId(), new Task(task)));
+    }
+
+    private static byte[] readRecord(DataInputStream in) throws IOException {
+        byte[] record = new byte[in.readInt()];
+        in.readFully(record);
+        return record;
+    }
+
+    private static UnsupportedOperationException readOnly() {
+        return new UnsupportedOperationException("Replica is read-only");
+    }
+
+    private static final class Board extends LoggedTaskManager {
+        private final TaskEventBus eventBus;
+        private volatile boolean live;
+
+        Board(HistoryManager history, TaskEventBus eventBus, boolean live) {
+            super(new ConcurrentHashMap<>(), new ConcurrentHashMap<>(), new ConcurrentHashMap<>(), history);
+            this.eventBus = eventBus;
+            this.live = live;
+        }
+
+        void replay(byte[] record) throws IOException {
+            replay(record, record.length);
+        }
+
+        @Override
+        protected void append(byte[] payload, int length) {
+        }
+
+        @Override
+        protected void publish(TaskEvent.Type type, int id, Task task) {
+            if (live) {
+                eventBus.publish(type, id, task);
+            }
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package manager;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.List;
+
+final class ReplicationFrames {
+    static final byte RECORDS = 1;
+    static final byte SNAPSHOT_BEGIN = 2;
+    static final byte SNAPSHOT_RECORDS = 3;
+    static final byte SNAPSHOT_END = 4;
+    static final byte STREAM_BEGIN = 5;
+    static final int HANDSHAKE_SIZE = 16;
+
+    private ReplicationFrames() {
+    }
+
+    static ByteBuffer records(long firstSequence, List<byte[]> records) {
+        return frame(RECORDS, firstSequence, records);
+    }
+
+    static ByteBuffer snapshotBegin(long leaderId) {
+        return frame(SNAPSHOT_BEGIN, leaderId, List.of());
+    }
+
+    static ByteBuffer snapshotRecords(List<byte[]> records) {
+        return frame(SNAPSHOT_RECORDS, 0, records);
+    }
+
+    static ByteBuffer snapshotEnd(long sequence) {
+        return frame(SNAPSHOT_END, sequence, List.of());
+    }
+
+    static ByteBuffer streamBegin(long leaderId) {
+        return frame(STREAM_BEGIN, leaderId, List.of());
+    }
+
+    static ByteBuffer handshake(long leaderId, long nextSequence) {
+        return ByteBuffer.allocate(HANDSHAKE_SIZE).putLong(leaderId).putLong(nextSequence).flip();
+    }
+
+    private static ByteBuffer frame(byte type, long value, List<byte[]> records) {
+        try {
+            ByteArrayOutputStream payloadBytes = new ByteArrayOutputStream();
+            DataOutputStream payload = new DataOutputStream(payloadBytes);
+            payload.writeByte(type);
+            payload.writeLong(value);
+            payload.writeInt(records.size());
+            for (byte[] record : records) {
+                payload.writeInt(record.length);
+                payload.write(record);
+            }
+            ByteArrayOutputStream frameBytes = new ByteArrayOutputStream(payloadBytes.size() + TaskRecords.FRAME_HEADER_SIZE);
+            TaskRecords.writeFrame(new DataOutputStream(frameBytes), payloadBytes.toByteArray(), payloadBytes.size());
+            return ByteBuffer.wrap(frameBytes.toByteArray());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
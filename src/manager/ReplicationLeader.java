@@ -0,0 +1,297 @@
+package manager;
+
+import model.Task;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+public final class ReplicationLeader extends LoggedTaskManager implements AutoCloseable {
+    private static final int DEFAULT_LOG_CAPACITY = 1 << 16;
+    private static final int MAX_FRAME_RECORDS = 1024;
+    private static final int MAX_FRAME_BYTES = 256 * 1024;
+
+    private final long leaderId = ThreadLocalRandom.current().nextLong(1, Long.MAX_VALUE);
+    private final ReplicationLog log;
+    private final ServerSocketChannel server;
+    private final Selector selector;
+    private final Map<SocketChannel, Peer> peers = new ConcurrentHashMap<>();
+    private final AtomicBoolean idle = new AtomicBoolean();
+    private final Thread worker;
+    private volatile boolean closed;
+
+    public ReplicationLeader(int port) throws IOException {
+        this(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), DEFAULT_LOG_CAPACITY);
+    }
+
+    public ReplicationLeader(InetSocketAddress address, int logCapacity) throws IOException {
+        super(new ConcurrentHashMap<>(), new ConcurrentHashMap<>(), new ConcurrentHashMap<>(),
+                new SynchronizedHistoryManager(Managers.getDefaultHistory()));
+        this.log = new ReplicationLog(logCapacity);
+        this.selector = Selector.open();
+        this.server = ServerSocketChannel.open();
+        try {
+            server.bind(address);
+            server.configureBlocking(false);
+            server.register(selector, SelectionKey.OP_ACCEPT);
+        } catch (IOException e) {
+            server.close();
+            selector.close();
+            throw e;
+        }
+        this.worker = Thread.ofPlatform().name("replication-leader").daemon().start(this::run);
+    }
+
+    public int getPort() {
+        return server.socket().getLocalPort();
+    }
+
+    public long getLastSequence() {
+        return log.getLastSequence();
+    }
+
+    public int getFollowerCount() {
+        return peers.size();
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        selector.wakeup();
+        try {
+            worker.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    protected void append(byte[] payload, int length) {
+        log.append(payload.length == length ? payload : Arrays.copyOf(payload, length));
+        if (idle.compareAndSet(true, false)) {
+            selector.wakeup();
+        }
+    }
+
+    private void run() {
+        try {
+            while (!closed) {
+                for (Peer peer : peers.values()) {
+                    flush(peer);
+                }
+                idle.set(true);
+                if (hasWork()) {
+                    selector.selectNow();
+                } else {
+                    selector.select();
+                }
+                idle.set(false);
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    handle(key);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            for (Peer peer : peers.values()) {
+                disconnect(peer);
+            }
+            try {
+                server.close();
+                selector.close();
+            } catch (IOException ignored) {
+            }
+        }
+    }
+
+    private boolean hasWork() {
+        for (Peer peer : peers.values()) {
+            if (peer.ready && peer.pending.isEmpty() && peer.nextSequence <= log.getLastSequence()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void handle(SelectionKey key) {
+        if (!key.isValid()) {
+            return;
+        }
+        if (key.isAcceptable()) {
+            accept();
+            return;
+        }
+        Peer peer = peers.get((SocketChannel) key.channel());
+        if (peer == null) {
+            return;
+        }
+        try {
+            if (key.isReadable()) {
+                read(peer);
+            }
+            if (key.isValid() && key.isWritable()) {
+                write(peer);
+            }
+        } catch (IOException e) {
+            disconnect(peer);
+        }
+    }
+
+    private void accept() {
+        try {
+            SocketChannel channel = server.accept();
+            if (channel == null) {
+                return;
+            }
+            channel.configureBlocking(false);
+            channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+            Peer peer = new Peer(channel, channel.register(selector, SelectionKey.OP_READ));
+            peers.put(channel, peer);
+        } catch (IOException ignored) {
+        }
+    }
+
+    private void read(Peer peer) throws IOException {
+        ByteBuffer buffer = peer.ready ? ByteBuffer.allocate(64) : peer.handshake;
+        if (peer.channel.read(buffer) < 0) {
+            throw new IOException("Follower disconnected");
+        }
+        if (!peer.ready && !buffer.hasRemaining()) {
+            buffer.flip();
+            long knownLeader = buffer.getLong();
+            long nextSequence = buffer.getLong();
+            peer.ready = true;
+            boolean known = knownLeader == leaderId || knownLeader == 0 && nextSequence == 1;
+            if (known && nextSequence >= log.getFirstSequence()
+                    && nextSequence <= log.getLastSequence() + 1) {
+                peer.nextSequence = nextSequence;
+                peer.pending.add(ReplicationFrames.streamBegin(leaderId));
+            } else {
+                queueSnapshot(peer);
+            }
+        }
+    }
+
+    private void flush(Peer peer) {
+        if (!peer.ready) {
+            return;
+        }
+        try {
+            if (peer.pending.isEmpty() && peer.nextSequence <= log.getLastSequence()) {
+                queueRecords(peer);
+            }
+            write(peer);
+        } catch (IOException e) {
+            disconnect(peer);
+        }
+    }
+
+    private void queueRecords(Peer peer) {
+        List<byte[]> records = new ArrayList<>();
+        long first = peer.nextSequence;
+        int bytes = 0;
+        for (long sequence = first; sequence <= log.getLastSequence() && records.size() < MAX_FRAME_RECORDS
+                && bytes < MAX_FRAME_BYTES; sequence++) {
+            byte[] record = log.get(sequence);
+            if (record == null) {
+                queueSnapshot(peer);
+                return;
+            }
+            records.add(record);
+            bytes += record.length;
+        }
+        peer.pending.add(ReplicationFrames.records(first, records));
+        peer.nextSequence = first + records.size();
+    }
+
+    private void queueSnapshot(Peer peer) {
+        peer.pending.clear();
+        peer.pending.add(ReplicationFrames.snapshotBegin(leaderId));
+        long sequence;
+        synchronized (this) {
+            sequence = log.getLastSequence();
+            List<byte[]> chunk = new ArrayList<>();
+            forEachEpic(epic -> addSnapshotRecord(peer, chunk, epic));
+            forEachSubtask(subtask -> addSnapshotRecord(peer, chunk, subtask));
+            forEachEpic(epic -> addSnapshotRecord(peer, chunk, epic));
+            forEachTask(task -> addSnapshotRecord(peer, chunk, task));
+            if (!chunk.isEmpty()) {
+                peer.pending.add(ReplicationFrames.snapshotRecords(chunk));
+            }
+        }
+        peer.pending.add(ReplicationFrames.snapshotEnd(sequence));
+        peer.nextSequence = sequence + 1;
+    }
+
+    private void addSnapshotRecord(Peer peer, List<byte[]> chunk, Task task) {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+            TaskRecords.writeUpsert(new DataOutputStream(bytes), task);
+            chunk.add(bytes.toByteArray());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        if (chunk.size() == MAX_FRAME_RECORDS) {
+            peer.pending.add(ReplicationFrames.snapshotRecords(chunk));
+            chunk.clear();
+        }
+    }
+
+    private void write(Peer peer) throws IOException {
+        while (!peer.pending.isEmpty()) {
+            ByteBuffer buffer = peer.pending.peek();
+            peer.channel.write(buffer);
+            if (buffer.hasRemaining()) {
+                peer.key.interestOps(SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+                return;
+            }
+            peer.pending.poll();
+        }
+        peer.key.interestOps(SelectionKey.OP_READ);
+    }
+
+    private void disconnect(Peer peer) {
+        peers.remove(peer.channel);
+        peer.key.cancel();
+        try {
+            peer.channel.close();
+        } catch (IOException ignored) {
+        }
+    }
+
+    private static final class Peer {
+        private final SocketChannel channel;
+        private final SelectionKey key;
+        private final ByteBuffer handshake = ByteBuffer.allocate(ReplicationFrames.HANDSHAKE_SIZE);
+        private final Deque<ByteBuffer> pending = new ArrayDeque<>();
+        private boolean ready;
+        private long nextSequence;
+
+        private Peer(SocketChannel channel, SelectionKey key) {
+            this.channel = channel;
+            this.key = key;
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package manager;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+final class ReplicationLog {
+    private final AtomicReferenceArray<Entry> entries;
+    private final int mask;
+    private volatile long lastSequence;
+
+    ReplicationLog(int capacity) {
+        if (capacity <= 0 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Log capacity must be a positive power of two");
+        }
+        this.entries = new AtomicReferenceArray<>(capacity);
+        this.mask = capacity - 1;
+    }
+
+    void append(byte[] record) {
+        long sequence = lastSequence + 1;
+        entries.set((int) (sequence & mask), new Entry(sequence, record));
+        lastSequence = sequence;
+    }
+
+    long getLastSequence() {
+        return lastSequence;
+    }
+
+    long getFirstSequence() {
+        return Math.max(1, lastSequence - mask);
+    }
+
+    byte[] get(long sequence) {
+        if (sequence < getFirstSequence() || sequence > lastSequence) {
+            return null;
+        }
+        Entry entry = entries.get((int) (sequence & mask));
+        return entry != null && entry.sequence() == sequence ? entry.record() : null;
+    }
+
+    private record Entry(long sequence, byte[] record) {
+    }
+}
@@ -0,0 +1,138 @@
+package manager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+final class Schedule {
+    private static final Comparator<Slot> ORDER = Comparator.comparing(Slot::start).thenComparingInt(Slot::id);
+
+    private final TreeSet<Slot> slots = new TreeSet<>(ORDER);
+    private final TreeSet<Slot> spans = new TreeSet<>(ORDER);
+    private final Map<Integer, Slot> slotsById = new ConcurrentHashMap<>();
+
+    Slot get(int id) {
+        return slotsById.get(id);
+    }
+
+    void check(int id, LocalDateTime start, Duration duration) {
+        if (start != null) {
+            checkSlot(id, start, duration);
+        }
+    }
+
+    Slot put(int id, LocalDateTime start, Duration duration) {
+        return start == null && !slotsById.containsKey(id) ? null : putSlot(id, start, duration);
+    }
+
+    Slot remove(int id) {
+        return slotsById.containsKey(id) ? removeSlot(id) : null;
+    }
+
+    synchronized void restore(int id, Slot previous) {
+        removeSlot(id);
+        if (previous != null) {
+            link(previous);
+            slotsById.put(id, previous);
+        }
+    }
+
+    void removeAll(Iterable<Integer> ids) {
+        for (Integer id : ids) {
+            remove(id);
+        }
+    }
+
+    synchronized List<Integer> orderedIds() {
+        List<Integer> ids = new ArrayList<>(slots.size());
+        for (Slot slot : slots) {
+            ids.add(slot.id());
+        }
+        return ids;
+    }
+
+    private synchronized void checkSlot(int id, LocalDateTime start, Duration duration) {
+        Slot previous = slotsById.get(id);
+        if (previous != null) {
+            unlink(previous);
+        }
+        try {
+            Slot conflict = findConflict(new Slot(id, start, endOf(start, duration)));
+            if (conflict != null) {
+                throw new TaskOverlapException(id, conflict.id());
+            }
+        } finally {
+            if (previous != null) {
+                link(previous);
+            }
+        }
+    }
+
+    private synchronized Slot putSlot(int id, LocalDateTime start, Duration duration) {
+        check(id, start, duration);
+        Slot previous = slotsById.remove(id);
+        if (previous != null) {
+            unlink(previous);
+        }
+        if (start != null) {
+            Slot slot = new Slot(id, start, endOf(start, duration));
+            link(slot);
+            slotsById.put(id, slot);
+        }
+        return previous;
+    }
+
+    private synchronized Slot removeSlot(int id) {
+        Slot slot = slotsById.remove(id);
+        if (slot != null) {
+            unlink(slot);
+        }
+        return slot;
+    }
+
+    private void link(Slot slot) {
+        slots.add(slot);
+        if (slot.start().isBefore(slot.end())) {
+            spans.add(slot);
+        }
+    }
+
+    private void unlink(Slot slot) {
+        slots.remove(slot);
+        spans.remove(slot);
+    }
+
+    private Slot findConflict(Slot candidate) {
+        Slot first = new Slot(Integer.MIN_VALUE, candidate.start(), candidate.start());
+        Slot before = spans.lower(first);
+        if (before != null && before.overlaps(candidate)) {
+            return before;
+        }
+        Slot same = spans.ceiling(first);
+        if (same != null && same.start().equals(candidate.start()) && same.overlaps(candidate)) {
+            return same;
+        }
+        Slot after = slots.higher(new Slot(Integer.MAX_VALUE, candidate.start(), candidate.start()));
+        return after != null && after.start().isBefore(candidate.end()) ? after : null;
+    }
+
+    private static LocalDateTime endOf(LocalDateTime start, Duration duration) {
+        return duration == null ? start : start.plus(duration);
+    }
+
+    record Slot(int id, LocalDateTime start, LocalDateTime end) {
+
+        Duration duration() {
+            return Duration.between(start, end);
+        }
+
+        boolean overlaps(Slot other) {
+            return start.isBefore(other.end) && other.start.isBefore(end);
+        }
+    }
+}
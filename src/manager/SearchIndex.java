@@ -0,0 +1,286 @@
+package manager;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+final class SearchIndex {
+    private static final int[] NO_IDS = new int[0];
+    private static final int GALLOP_RATIO = 8;
+
+    private final NavigableMap<String, Postings> postings = new TreeMap<>();
+    private final Map<Integer, String[]> termsById = new HashMap<>();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    void put(int id, String name, String description) {
+        Set<String> terms = new LinkedHashSet<>();
+        tokenize(name, terms);
+        tokenize(description, terms);
+        String[] updated = terms.toArray(new String[0]);
+        lock.writeLock().lock();
+        try {
+            String[] previous = termsById.put(id, updated);
+            if (previous != null) {
+                for (String term : previous) {
+                    if (!terms.contains(term)) {
+                        removePosting(term, id);
+                    }
+                }
+            }
+            for (int i = 0; i < updated.length; i++) {
+                String term = updated[i];
+                Map.Entry<String, Postings> entry = postings.ceilingEntry(term);
+                Postings list;
+                if (entry != null && entry.getKey().equals(term)) {
+                    updated[i] = entry.getKey();
+                    list = entry.getValue();
+                } else {
+                    list = new Postings();
+                    postings.put(term, list);
+                }
+                if (previous == null || !contains(previous, term)) {
+                    list.add(id);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void remove(int id) {
+        lock.writeLock().lock();
+        try {
+            String[] previous = termsById.remove(id);
+            if (previous != null) {
+                for (String term : previous) {
+                    removePosting(term, id);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void clear() {
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            termsById.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    int[] search(List<String> query) {
+        lock.readLock().lock();
+        try {
+            List<Postings> lists = new ArrayList<>(query.size());
+            for (String term : query) {
+                Postings ids = term.endsWith("*") ? prefixIds(term.substring(0, term.length() - 1)) : postings.get(term);
+                if (ids == null || ids.size == 0) {
+                    return NO_IDS;
+                }
+                lists.add(ids);
+            }
+            if (lists.isEmpty()) {
+                return NO_IDS;
+            }
+            lists.sort(Comparator.comparingInt(ids -> ids.size));
+            Postings result = lists.getFirst();
+            for (int i = 1; i < lists.size() && result.size > 0; i++) {
+                result = intersect(result, lists.get(i));
+            }
+            return Arrays.copyOf(result.ids, result.size);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    static List<String> parseQuery(String query) {
+        if (query == null) {
+            throw new IllegalArgumentException("Query cannot be null");
+        }
+        List<String> terms = new ArrayList<>();
+        for (String token : query.trim().split("\\s+")) {
+            boolean prefix = token.endsWith("*");
+            Set<String> parts = new LinkedHashSet<>();
+            tokenize(prefix ? token.substring(0, token.length() - 1) : token, parts);
+            int last = 0;
+            for (String part : parts) {
+                last++;
+                terms.add(prefix && last == parts.size() ? part + "*" : part);
+            }
+        }
+        return terms;
+    }
+
+    static boolean matches(List<String> query, String name, String description) {
+        if (query.isEmpty()) {
+            return false;
+        }
+        Set<String> terms = new LinkedHashSet<>();
+        tokenize(name, terms);
+        tokenize(description, terms);
+        for (String term : query) {
+            boolean prefix = term.endsWith("*");
+            if (prefix ? noneStartsWith(terms, term.substring(0, term.length() - 1)) : !terms.contains(term)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean noneStartsWith(Set<String> terms, String prefix) {
+        for (String term : terms) {
+            if (term.startsWith(prefix)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private Postings prefixIds(String prefix) {
+        NavigableMap<String, Postings> range = postings.subMap(prefix, true, prefix + Character.MAX_VALUE, false);
+        if (range.size() <= 1) {
+            return range.isEmpty() ? null : range.firstEntry().getValue();
+        }
+        int total = 0;
+        for (Postings list : range.values()) {
+            total += list.size;
+        }
+        Postings merged = new Postings(total);
+        for (Postings list : range.values()) {
+            System.arraycopy(list.ids, 0, merged.ids, merged.size, list.size);
+            merged.size += list.size;
+        }
+        Arrays.sort(merged.ids);
+        int unique = 0;
+        for (int i = 0; i < merged.size; i++) {
+            if (unique == 0 || merged.ids[unique - 1] != merged.ids[i]) {
+                merged.ids[unique++] = merged.ids[i];
+            }
+        }
+        merged.size = unique;
+        return merged;
+    }
+
+    private void removePosting(String term, int id) {
+        Postings list = postings.get(term);
+        if (list != null && list.remove(id) && list.size == 0) {
+            postings.remove(term);
+        }
+    }
+
+    private static Postings intersect(Postings smaller, Postings larger) {
+        Postings result = new Postings(smaller.size);
+        int[] small = smaller.ids;
+        int[] large = larger.ids;
+        if (larger.size / GALLOP_RATIO > smaller.size) {
+            int from = 0;
+            for (int i = 0; i < smaller.size && from < larger.size; i++) {
+                int index = Arrays.binarySearch(large, from, larger.size, small[i]);
+                if (index >= 0) {
+                    result.ids[result.size++] = small[i];
+                    from = index + 1;
+                } else {
+                    from = -index - 1;
+                }
+            }
+        } else {
+            int i = 0;
+            int j = 0;
+            while (i < smaller.size && j < larger.size) {
+                if (small[i] < large[j]) {
+                    i++;
+                } else if (small[i] > large[j]) {
+                    j++;
+                } else {
+                    result.ids[result.size++] = small[i];
+                    i++;
+                    j++;
+                }
+            }
+        }
+        return result;
+    }
+
+    private static void tokenize(String text, Set<String> terms) {
+        if (text == null) {
+            return;
+        }
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean wordChar = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                terms.add(text.substring(start, i).toLowerCase(Locale.ROOT));
+                start = -1;
+            }
+        }
+    }
+
+    private static boolean contains(String[] terms, String term) {
+        for (String candidate : terms) {
+            if (candidate.equals(term)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static final class Postings {
+        private int[] ids;
+        private int size;
+
+        Postings() {
+            this(2);
+        }
+
+        Postings(int capacity) {
+            this.ids = new int[Math.max(capacity, 1)];
+        }
+
+        void add(int id) {
+            if (size == 0 || ids[size - 1] < id) {
+                ensureCapacity();
+                ids[size++] = id;
+                return;
+            }
+            int index = Arrays.binarySearch(ids, 0, size, id);
+            if (index >= 0) {
+                return;
+            }
+            int insertAt = -index - 1;
+            ensureCapacity();
+            System.arraycopy(ids, insertAt, ids, insertAt + 1, size - insertAt);
+            ids[insertAt] = id;
+            size++;
+        }
+
+        boolean remove(int id) {
+            int index = Arrays.binarySearch(ids, 0, size, id);
+            if (index < 0) {
+                return false;
+            }
+            System.arraycopy(ids, index + 1, ids, index, size - index - 1);
+            size--;
+            return true;
+        }
+
+        private void ensureCapacity() {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, ids.length * 2);
+            }
+        }
+    }
+}
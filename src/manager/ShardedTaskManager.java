@@ -0,0 +1,393 @@
+package manager;
+
+import event.TaskEvent;
+import event.TaskEventBus;
+import model.Epic;
+import model.Subtask;
+import model.Task;
+import model.TaskStatus;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+
+public class ShardedTaskManager implements TaskManager {
+    private static final int DEFAULT_SHARDS = Math.max(2, Runtime.getRuntime().availableProcessors());
+
+    private final TaskShard[] shards;
+    private final HistoryManager history = new SynchronizedHistoryManager(Managers.getDefaultHistory());
+    private final Schedule schedule = new Schedule();
+    private final TaskEventBus eventBus = new TaskEventBus();
+    private final AtomicInteger nextShard = new AtomicInteger();
+
+    public ShardedTaskManager() {
+        this(DEFAULT_SHARDS);
+    }
+
+    public ShardedTaskManager(int shardCount) {
+        if (shardCount <= 0) {
+            throw new IllegalArgumentException("Shard count must be positive");
+        }
+        this.shards = new TaskShard[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            shards[i] = new TaskShard(i, shardCount, history, schedule, eventBus);
+        }
+    }
+
+    public int getShardCount() {
+        return shards.length;
+    }
+
+    public int shardOf(int id) {
+        return id > 0 ? TaskShard.shardOf(id, shards.length) : -1;
+    }
+
+    @Override
+    public List<Task> getTasks() {
+        return gather(TaskShard::getTasks);
+    }
+
+    @Override
+    public List<Epic> getEpics() {
+        return gather(TaskShard::getEpics);
+    }
+
+    @Override
+    public List<Subtask> getSubtasks() {
+        return gather(TaskShard::getSubtasks);
+    }
+
+    @Override
+    public List<Task> getTasksView() {
+        return Collections.unmodifiableList(gather(TaskShard::getTasksView));
+    }
+
+    @Override
+    public List<Epic> getEpicsView() {
+        return Collections.unmodifiableList(gather(TaskShard::getEpicsView));
+    }
+
+    @Override
+    public List<Subtask> getSubtasksView() {
+        return Collections.unmodifiableList(gather(TaskShard::getSubtasksView));
+    }
+
+    @Override
+    public int getTaskCount() {
+        return count(TaskShard::getTaskCount);
+    }
+
+    @Override
+    public int getEpicCount() {
+        return count(TaskShard::getEpicCount);
+    }
+
+    @Override
+    public int getSubtaskCount() {
+        return count(TaskShard::getSubtaskCount);
+    }
+
+    @Override
+    public void forEachTask(Consumer<? super Task> action) {
+        for (TaskShard shard : shards) {
+            shard.forEachTask(action);
+        }
+    }
+
+    @Override
+    public void forEachEpic(Consumer<? super Epic> action) {
+        for (TaskShard shard : shards) {
+            shard.forEachEpic(action);
+        }
+    }
+
+    @Override
+    public void forEachSubtask(Consumer<? super Subtask> action) {
+        for (TaskShard shard : shards) {
+            shard.forEachSubtask(action);
+        }
+    }
+
+    @Override
+    public void deleteAllTasks() {
+        Arrays.stream(shards).parallel().forEach(TaskShard::deleteAllTasks);
+        eventBus.publish(TaskEvent.Type.ALL_TASKS_DELETED, 0, null);
+    }
+
+    @Override
+    public void deleteAllEpics() {
+        Arrays.stream(shards).parallel().forEach(TaskShard::deleteAllEpics);
+        eventBus.publish(TaskEvent.Type.ALL_EPICS_DELETED, 0, null);
+    }
+
+    @Override
+    public void deleteAllSubtasks() {
+        Arrays.stream(shards).parallel().forEach(TaskShard::deleteAllSubtasks);
+        eventBus.publish(TaskEvent.Type.ALL_SUBTASKS_DELETED, 0, null);
+    }
+
+    @Override
+    public Task getTaskById(int id) {
+        return shardFor(id).getTaskById(id);
+    }
+
+    @Override
+    public Epic getEpicById(int id) {
+        return shardFor(id).getEpicById(id);
+    }
+
+    @Override
+    public Subtask getSubtaskById(int id) {
+        return shardFor(id).getSubtaskById(id);
+    }
+
+    @Override
+    public int createTask(Task task) {
+        return nextShard().createTask(task);
+    }
+
+    @Override
+    public int createEpic(Epic epic) {
+        return nextShard().createEpic(epic);
+    }
+
+    @Override
+    public int createSubtask(Subtask subtask) {
+        return subtask == null ? shards[0].createSubtask(null) : shardFor(subtask.getEpicId()).createSubtask(subtask);
+    }
+
+    @Override
+    public void updateTask(Task task) {
+        if (task == null) {
+            shards[0].updateTask(null);
+        } else {
+            shardFor(task.getId()).updateTask(task);
+        }
+    }
+
+    @Override
+    public boolean compareAndUpdateTask(Task task, long expectedVersion) {
+        return task == null ? shards[0].compareAndUpdateTask(null, expectedVersion)
+                : shardFor(task.getId()).compareAndUpdateTask(task, expectedVersion);
+    }
+
+    @Override
+    public void updateEpic(Epic epic) {
+        if (epic == null) {
+            shards[0].updateEpic(null);
+        } else {
+            shardFor(epic.getId()).updateEpic(epic);
+        }
+    }
+
+    @Override
+    public boolean compareAndUpdateEpic(Epic epic, long expectedVersion) {
+        return epic == null ? shards[0].compareAndUpdateEpic(null, expectedVersion)
+                : shardFor(epic.getId()).compareAndUpdateEpic(epic, expectedVersion);
+    }
+
+    @Override
+    public void updateSubtask(Subtask subtask) {
+        if (subtask == null) {
+            shards[0].updateSubtask(null);
+            return;
+        }
+        validateSameShard(subtask);
+        shardFor(subtask.getId()).updateSubtask(subtask);
+    }
+
+    @Override
+    public boolean compareAndUpdateSubtask(Subtask subtask, long expectedVersion) {
+        if (subtask == null) {
+            return shards[0].compareAndUpdateSubtask(null, expectedVersion);
+        }
+        validateSameShard(subtask);
+        return shardFor(subtask.getId()).compareAndUpdateSubtask(subtask, expectedVersion);
+    }
+
+    @Override
+    public void deleteTaskById(int id) {
+        shardFor(id).deleteTaskById(id);
+    }
+
+    @Override
+    public void deleteEpicById(int id) {
+        shardFor(id).deleteEpicById(id);
+    }
+
+    @Override
+    public void deleteSubtaskById(int id) {
+        shardFor(id).deleteSubtaskById(id);
+    }
+
+    @Override
+    public List<Subtask> getEpicSubtasks(int epicId) {
+        return shardFor(epicId).getEpicSubtasks(epicId);
+    }
+
+    @Override
+    public List<Task> getTasksByStatus(TaskStatus status) {
+        return gather(shard -> shard.getTasksByStatus(status));
+    }
+
+    @Override
+    public List<Epic> getEpicsByStatus(TaskStatus status) {
+        return gather(shard -> shard.getEpicsByStatus(status));
+    }
+
+    @Override
+    public List<Subtask> getSubtasksByStatus(TaskStatus status) {
+        return gather(shard -> shard.getSubtasksByStatus(status));
+    }
+
+    @Override
+    public List<Task> getPrioritizedTasks() {
+        List<Integer> ids = schedule.orderedIds();
+        List<Task> prioritized = new ArrayList<>(ids.size());
+        for (int id : ids) {
+            TaskShard shard = shardFor(id);
+            Task task = shard.getTaskById(id);
+            if (task == null) {
+                task = shard.getSubtaskById(id);
+            }
+            if (task != null) {
+                prioritized.add(task);
+            }
+        }
+        return prioritized;
+    }
+
+    @Override
+    public List<Task> search(String query) {
+        List<Task> found = gather(shard -> shard.search(query));
+        found.sort(Comparator.comparingInt(Task::getId));
+        return found;
+    }
+
+    @Override
+    public BatchResult applyBatch(Batch batch) {
+        if (batch == null) {
+            return shards[0].applyBatch(null);
+        }
+        long started = System.nanoTime();
+        List<Batch.Operation> operations = batch.getOperations();
+        int[] targets = new int[operations.size()];
+        List<List<Batch.Operation>> parts = new ArrayList<>(shards.length);
+        for (int i = 0; i < shards.length; i++) {
+            parts.add(new ArrayList<>());
+        }
+        for (int i = 0; i < operations.size(); i++) {
+            Batch.Operation operation = operations.get(i);
+            targets[i] = switch (operation.kind()) {
+                case CREATE_TASK, CREATE_EPIC -> Math.floorMod(nextShard.getAndIncrement(), shards.length);
+                case CREATE_SUBTASK -> shardIndex(((Subtask) operation.task()).getEpicId());
+                case UPDATE_SUBTASK -> {
+                    validateSameShard((Subtask) operation.task());
+                    yield shardIndex(operation.task().getId());
+                }
+                case UPDATE_TASK, UPDATE_EPIC -> shardIndex(operation.task().getId());
+                case DELETE_TASK, DELETE_EPIC, DELETE_SUBTASK -> shardIndex(operation.id());
+            };
+            parts.get(targets[i]).add(operation);
+        }
+        if (!operations.isEmpty() && parts.get(targets[0]).size() == operations.size()) {
+            return shards[targets[0]].applyBatch(batch);
+        }
+        Batch[] shardBatches = new Batch[shards.length];
+        for (int i = 0; i < shards.length; i++) {
+            if (!parts.get(i).isEmpty()) {
+                shardBatches[i] = Batch.of(parts.get(i));
+                shards[i].validate(shardBatches[i]);
+            }
+        }
+        List<Iterator<Integer>> createdByShard = new ArrayList<>(shards.length);
+        int affectedEpics = 0;
+        for (int i = 0; i < shards.length; i++) {
+            BatchResult result = shardBatches[i] == null ? null : shards[i].applyBatch(shardBatches[i]);
+            createdByShard.add(result == null ? Collections.emptyIterator() : result.getCreatedIds().iterator());
+            affectedEpics += result == null ? 0 : result.getAffectedEpicCount();
+        }
+        List<Integer> createdIds = new ArrayList<>();
+        for (int i = 0; i < operations.size(); i++) {
+            switch (operations.get(i).kind()) {
+                case CREATE_TASK, CREATE_EPIC, CREATE_SUBTASK -> createdIds.add(createdByShard.get(targets[i]).next());
+                default -> {
+                }
+            }
+        }
+        return new BatchResult(createdIds, operations.size(), affectedEpics, System.nanoTime() - started);
+    }
+
+    @Override
+    public TaskEventBus getEventBus() {
+        return eventBus;
+    }
+
+    @Override
+    public List<Task> getHistory() {
+        return history.getHistory();
+    }
+
+    @Override
+    public Task getTask(int id) {
+        return shardFor(id).getTask(id);
+    }
+
+    @Override
+    public Epic getEpic(int id) {
+        return shardFor(id).getEpic(id);
+    }
+
+    @Override
+    public Subtask getSubtask(int id) {
+        return shardFor(id).getSubtask(id);
+    }
+
+    private TaskShard nextShard() {
+        return shards[Math.floorMod(nextShard.getAndIncrement(), shards.length)];
+    }
+
+    private int shardIndex(int id) {
+        return id > 0 ? TaskShard.shardOf(id, shards.length) : 0;
+    }
+
+    private TaskShard shardFor(int id) {
+        return shards[shardIndex(id)];
+    }
+
+    private void validateSameShard(Subtask subtask) {
+        if (shardIndex(subtask.getId()) != shardIndex(subtask.getEpicId())
+                && shardFor(subtask.getEpicId()).getEpicById(subtask.getEpicId()) != null) {
+            throw new IllegalArgumentException("Subtask " + subtask.getId() + " cannot move to epic "
+                    + subtask.getEpicId() + " in another shard");
+        }
+    }
+
+    private int count(ToIntFunction<TaskShard> counter) {
+        int count = 0;
+        for (TaskShard shard : shards) {
+            count += counter.applyAsInt(shard);
+        }
+        return count;
+    }
+
+    private <T> List<T> gather(Function<TaskShard, List<? extends T>> query) {
+        List<List<? extends T>> parts = Arrays.stream(shards).parallel().<List<? extends T>>map(query).toList();
+        int size = 0;
+        for (List<? extends T> part : parts) {
+            size += part.size();
+        }
+        List<T> result = new ArrayList<>(size);
+        for (List<? extends T> part : parts) {
+            result.addAll(part);
+        }
+        return result;
+    }
+}
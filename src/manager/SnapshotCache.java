@@ -0,0 +1,28 @@
+package manager;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+final class SnapshotCache<T> {
+    private final AtomicLong version = new AtomicLong();
+    private volatile Snapshot<T> snapshot;
+
+    void invalidate() {
+        version.incrementAndGet();
+    }
+
+    List<T> get(Collection<? extends T> source) {
+        long current = version.get();
+        Snapshot<T> cached = snapshot;
+        if (cached != null && cached.version() == current) {
+            return cached.values();
+        }
+        List<T> values = List.copyOf(source);
+        snapshot = new Snapshot<>(current, values);
+        return values;
+    }
+
+    private record Snapshot<T>(long version, List<T> values) {
+    }
+}
@@ -0,0 +1,176 @@
+package manager;
+
+import model.Subtask;
+import model.Task;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+final class SnapshotTaskMap<T extends Task> extends AbstractMap<Integer, T> {
+    private final MappedSnapshot snapshot;
+    private final byte type;
+    private final Class<T> kind;
+    private final Map<Integer, T> written = new HashMap<>();
+    private final BitSet replaced = new BitSet();
+    private int snapshotSize;
+
+    private SnapshotTaskMap(MappedSnapshot snapshot, byte type, Class<T> kind) {
+        this.snapshot = snapshot;
+        this.type = type;
+        this.kind = kind;
+        this.snapshotSize = snapshot.countOf(type);
+    }
+
+    static SnapshotTaskMap<Task> tasks(MappedSnapshot snapshot) {
+        return new SnapshotTaskMap<>(snapshot, MappedSnapshot.TYPE_TASK, Task.class);
+    }
+
+    static SnapshotTaskMap<Subtask> subtasks(MappedSnapshot snapshot) {
+        return new SnapshotTaskMap<>(snapshot, MappedSnapshot.TYPE_SUBTASK, Subtask.class);
+    }
+
+    @Override
+    public int size() {
+        return written.size() + snapshotSize;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return key instanceof Integer id && (written.containsKey(id) || liveRecord(id) >= 0);
+    }
+
+    @Override
+    public T get(Object key) {
+        if (!(key instanceof Integer id)) {
+            return null;
+        }
+        T task = written.get(id);
+        if (task != null) {
+            return task;
+        }
+        int record = liveRecord(id);
+        return record < 0 ? null : read(record);
+    }
+
+    @Override
+    public T put(Integer key, T value) {
+        T previous = written.put(key, value);
+        return previous != null ? previous : detach(key);
+    }
+
+    @Override
+    public T remove(Object key) {
+        if (!(key instanceof Integer id)) {
+            return null;
+        }
+        T previous = written.remove(id);
+        return previous != null ? previous : detach(id);
+    }
+
+    @Override
+    public void clear() {
+        written.clear();
+        replaced.set(0, snapshot.size());
+        snapshotSize = 0;
+    }
+
+    @Override
+    public Set<Entry<Integer, T>> entrySet() {
+        return new AbstractSet<>() {
+            @Override
+            public int size() {
+                return SnapshotTaskMap.this.size();
+            }
+
+            @Override
+            public Iterator<Entry<Integer, T>> iterator() {
+                return new EntryIterator();
+            }
+        };
+    }
+
+    private T detach(int id) {
+        int record = liveRecord(id);
+        if (record < 0) {
+            return null;
+        }
+        replaced.set(record);
+        snapshotSize--;
+        return read(record);
+    }
+
+    private int liveRecord(int id) {
+        int record = snapshot.recordOf(id);
+        return record >= 0 && snapshot.typeOf(record) == type && !replaced.get(record) ? record : -1;
+    }
+
+    private T read(int record) {
+        return kind.cast(snapshot.materialize(record));
+    }
+
+    private final class EntryIterator implements Iterator<Entry<Integer, T>> {
+        private final Iterator<Entry<Integer, T>> writtenEntries = written.entrySet().iterator();
+        private int record = -1;
+
+        EntryIterator() {
+            advance();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return writtenEntries.hasNext() || record < snapshot.size();
+        }
+
+        @Override
+        public Entry<Integer, T> next() {
+            if (writtenEntries.hasNext()) {
+                return writtenEntries.next();
+            }
+            if (record >= snapshot.size()) {
+                throw new NoSuchElementException();
+            }
+            Entry<Integer, T> entry = new SnapshotEntry(record);
+            advance();
+            return entry;
+        }
+
+        private void advance() {
+            do {
+                record++;
+            } while (record < snapshot.size() && (snapshot.typeOf(record) != type || replaced.get(record)));
+        }
+    }
+
+    private final class SnapshotEntry implements Entry<Integer, T> {
+        private final int record;
+        private T value;
+
+        SnapshotEntry(int record) {
+            this.record = record;
+        }
+
+        @Override
+        public Integer getKey() {
+            return snapshot.idOf(record);
+        }
+
+        @Override
+        public T getValue() {
+            if (value == null) {
+                value = read(record);
+            }
+            return value;
+        }
+
+        @Override
+        public T setValue(T value) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package manager;
+
+import model.TaskStatus;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+final class StatusIndex {
+    private final Map<TaskStatus, Set<Integer>> idsByStatus = new EnumMap<>(TaskStatus.class);
+
+    StatusIndex() {
+        for (TaskStatus status : TaskStatus.values()) {
+            idsByStatus.put(status, ConcurrentHashMap.newKeySet());
+        }
+    }
+
+    void put(int id, TaskStatus status) {
+        if (status != null && idsByStatus.get(status).contains(id)) {
+            return;
+        }
+        for (Map.Entry<TaskStatus, Set<Integer>> entry : idsByStatus.entrySet()) {
+            if (entry.getKey() != status) {
+                entry.getValue().remove(id);
+            }
+        }
+        if (status != null) {
+            idsByStatus.get(status).add(id);
+        }
+    }
+
+    void remove(int id) {
+        for (Set<Integer> ids : idsByStatus.values()) {
+            ids.remove(id);
+        }
+    }
+
+    void clear() {
+        for (Set<Integer> ids : idsByStatus.values()) {
+            ids.clear();
+        }
+    }
+
+    Set<Integer> ids(TaskStatus status) {
+        return Collections.unmodifiableSet(idsByStatus.get(status));
+    }
+}
@@ -0,0 +1,225 @@
+package manager;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.IntUnaryOperator;
+
+final class StringArena {
+    private static final int CHUNK_BITS = 22;
+    private static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+    private static final int MAX_CHUNKS = 1 << (Integer.SIZE - 1 - CHUNK_BITS);
+    private static final int SLOT_SIZE = 8;
+    private static final int HEADER_SIZE = 12;
+    private static final int END_OF_CHUNK = -1;
+    private static final long COMPACTION_THRESHOLD = CHUNK_SIZE / 4;
+
+    private final List<Consumer<IntUnaryOperator>> owners = new ArrayList<>();
+    private List<ByteBuffer> chunks = new ArrayList<>();
+    private ByteBuffer slots;
+    private int slotMask;
+    private int count;
+    private int position;
+    private long liveBytes;
+    private long deadBytes;
+
+    StringArena() {
+        clear();
+    }
+
+    void register(Consumer<IntUnaryOperator> owner) {
+        owners.add(owner);
+    }
+
+    int intern(String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        int hash = value.hashCode();
+        int slot = mix(hash) & slotMask;
+        for (int ref = slots.getInt(slot * SLOT_SIZE + 4); ref != 0; ref = slots.getInt(slot * SLOT_SIZE + 4)) {
+            if (slots.getInt(slot * SLOT_SIZE) == hash && matches(ref - 1, bytes)) {
+                ByteBuffer chunk = chunks.get((ref - 1) >>> CHUNK_BITS);
+                int offset = (ref - 1) & (CHUNK_SIZE - 1);
+                chunk.putInt(offset + 4, chunk.getInt(offset + 4) + 1);
+                return ref - 1;
+            }
+            slot = (slot + 1) & slotMask;
+        }
+        int ref = append(bytes, hash);
+        slots.putInt(slot * SLOT_SIZE, hash);
+        slots.putInt(slot * SLOT_SIZE + 4, ref + 1);
+        liveBytes += HEADER_SIZE + bytes.length;
+        if (++count * 2 > slotMask + 1) {
+            rehash((slotMask + 1) * 2);
+        }
+        return ref;
+    }
+
+    void release(int ref) {
+        ByteBuffer chunk = chunks.get(ref >>> CHUNK_BITS);
+        int offset = ref & (CHUNK_SIZE - 1);
+        int references = chunk.getInt(offset + 4) - 1;
+        chunk.putInt(offset + 4, references);
+        if (references > 0) {
+            return;
+        }
+        int hash = chunk.getInt(offset + 8);
+        int slot = mix(hash) & slotMask;
+        while (slots.getInt(slot * SLOT_SIZE + 4) != ref + 1) {
+            slot = (slot + 1) & slotMask;
+        }
+        deleteSlot(slot);
+        count--;
+        int length = HEADER_SIZE + chunk.getInt(offset);
+        liveBytes -= length;
+        deadBytes += length;
+    }
+
+    void compactIfNeeded() {
+        if (deadBytes >= COMPACTION_THRESHOLD && deadBytes > liveBytes) {
+            compact();
+        }
+    }
+
+    String get(int ref) {
+        ByteBuffer chunk = chunks.get(ref >>> CHUNK_BITS);
+        int offset = ref & (CHUNK_SIZE - 1);
+        byte[] bytes = new byte[chunk.getInt(offset)];
+        chunk.get(offset + HEADER_SIZE, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    int size() {
+        return count;
+    }
+
+    long getAllocatedBytes() {
+        return (long) chunks.size() * CHUNK_SIZE + slots.capacity();
+    }
+
+    void clear() {
+        chunks.clear();
+        slots = ByteBuffer.allocateDirect(1024 * SLOT_SIZE);
+        slotMask = 1023;
+        count = 0;
+        position = CHUNK_SIZE;
+        liveBytes = 0;
+        deadBytes = 0;
+    }
+
+    private void compact() {
+        List<ByteBuffer> previous = chunks;
+        int previousPosition = position;
+        chunks = new ArrayList<>();
+        position = CHUNK_SIZE;
+        slots = ByteBuffer.allocateDirect((slotMask + 1) * SLOT_SIZE);
+        for (int i = 0; i < previous.size(); i++) {
+            ByteBuffer chunk = previous.get(i);
+            int limit = i == previous.size() - 1 ? previousPosition : CHUNK_SIZE;
+            int offset = 0;
+            while (offset + 4 <= limit && chunk.getInt(offset) != END_OF_CHUNK) {
+                int length = chunk.getInt(offset);
+                if (chunk.getInt(offset + 4) > 0) {
+                    int hash = chunk.getInt(offset + 8);
+                    int ref = append(chunk.slice(offset + HEADER_SIZE, length), hash);
+                    ByteBuffer target = chunks.get(chunks.size() - 1);
+                    target.putInt((ref & (CHUNK_SIZE - 1)) + 4, chunk.getInt(offset + 4));
+                    int slot = mix(hash) & slotMask;
+                    while (slots.getInt(slot * SLOT_SIZE + 4) != 0) {
+                        slot = (slot + 1) & slotMask;
+                    }
+                    slots.putInt(slot * SLOT_SIZE, hash);
+                    slots.putInt(slot * SLOT_SIZE + 4, ref + 1);
+                    chunk.putInt(offset + 8, ref);
+                }
+                offset += HEADER_SIZE + length;
+            }
+        }
+        IntUnaryOperator relocation = ref -> previous.get(ref >>> CHUNK_BITS).getInt((ref & (CHUNK_SIZE - 1)) + 8);
+        for (Consumer<IntUnaryOperator> owner : owners) {
+            owner.accept(relocation);
+        }
+        deadBytes = 0;
+    }
+
+    private boolean matches(int ref, byte[] bytes) {
+        ByteBuffer chunk = chunks.get(ref >>> CHUNK_BITS);
+        int offset = ref & (CHUNK_SIZE - 1);
+        if (chunk.getInt(offset) != bytes.length) {
+            return false;
+        }
+        return chunk.slice(offset + HEADER_SIZE, bytes.length).equals(ByteBuffer.wrap(bytes));
+    }
+
+    private int append(byte[] bytes, int hash) {
+        return append(ByteBuffer.wrap(bytes), hash);
+    }
+
+    private int append(ByteBuffer bytes, int hash) {
+        int length = bytes.remaining() + HEADER_SIZE;
+        if (length > CHUNK_SIZE) {
+            throw new IllegalArgumentException("String is too long for the arena: " + bytes.remaining() + " bytes");
+        }
+        if (position + length > CHUNK_SIZE) {
+            if (chunks.size() == MAX_CHUNKS) {
+                throw new IllegalStateException("String arena is full");
+            }
+            if (!chunks.isEmpty() && position + 4 <= CHUNK_SIZE) {
+                chunks.get(chunks.size() - 1).putInt(position, END_OF_CHUNK);
+            }
+            chunks.add(ByteBuffer.allocateDirect(CHUNK_SIZE));
+            position = 0;
+        }
+        ByteBuffer chunk = chunks.get(chunks.size() - 1);
+        int ref = (chunks.size() - 1) << CHUNK_BITS | position;
+        chunk.putInt(position, bytes.remaining());
+        chunk.putInt(position + 4, 1);
+        chunk.putInt(position + 8, hash);
+        chunk.put(position + HEADER_SIZE, bytes, bytes.position(), bytes.remaining());
+        position += length;
+        return ref;
+    }
+
+    private void deleteSlot(int slot) {
+        int hole = slot;
+        int next = slot;
+        while (true) {
+            next = (next + 1) & slotMask;
+            if (slots.getInt(next * SLOT_SIZE + 4) == 0) {
+                break;
+            }
+            int home = mix(slots.getInt(next * SLOT_SIZE)) & slotMask;
+            boolean movable = hole <= next ? home <= hole || home > next : home <= hole && home > next;
+            if (movable) {
+                slots.putLong(hole * SLOT_SIZE, slots.getLong(next * SLOT_SIZE));
+                hole = next;
+            }
+        }
+        slots.putLong(hole * SLOT_SIZE, 0);
+    }
+
+    private void rehash(int capacity) {
+        ByteBuffer previous = slots;
+        int previousCapacity = slotMask + 1;
+        slots = ByteBuffer.allocateDirect(capacity * SLOT_SIZE);
+        slotMask = capacity - 1;
+        for (int i = 0; i < previousCapacity; i++) {
+            int ref = previous.getInt(i * SLOT_SIZE + 4);
+            if (ref != 0) {
+                int hash = previous.getInt(i * SLOT_SIZE);
+                int slot = mix(hash) & slotMask;
+                while (slots.getInt(slot * SLOT_SIZE + 4) != 0) {
+                    slot = (slot + 1) & slotMask;
+                }
+                slots.putInt(slot * SLOT_SIZE, hash);
+                slots.putInt(slot * SLOT_SIZE + 4, ref);
+            }
+        }
+    }
+
+    private static int mix(int hash) {
+        int mixed = hash * 0x9E3779B9;
+        return mixed ^ (mixed >>> 16);
+    }
+}
@@ -0,0 +1,110 @@
+package manager;
+
+import model.Epic;
+import model.Subtask;
+import model.Task;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+final class TaskCache {
+    private static final long ENTRY_OVERHEAD = 160;
+
+    private final long maxWeight;
+    private final LinkedHashMap<Integer, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long weight;
+    private long generation;
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long invalidations;
+
+    TaskCache(long maxWeight) {
+        this.maxWeight = maxWeight;
+    }
+
+    synchronized <T extends Task> T get(int id, Class<T> type) {
+        Entry entry = entries.get(id);
+        if (entry != null && entry.task().getClass() == type) {
+            hits++;
+            return type.cast(entry.task());
+        }
+        misses++;
+        return null;
+    }
+
+    synchronized Task peek(int id) {
+        Entry entry = entries.get(id);
+        return entry == null ? null : entry.task();
+    }
+
+    synchronized long generation() {
+        return generation;
+    }
+
+    synchronized void put(long expectedGeneration, Task task) {
+        if (task == null || generation != expectedGeneration) {
+            return;
+        }
+        long size = weigh(task);
+        if (size > maxWeight) {
+            return;
+        }
+        Entry previous = entries.put(task.getId(), new Entry(task, size));
+        if (previous != null) {
+            weight -= previous.weight();
+        }
+        weight += size;
+        Iterator<Entry> eldest = entries.values().iterator();
+        while (weight > maxWeight) {
+            weight -= eldest.next().weight();
+            eldest.remove();
+            evictions++;
+        }
+    }
+
+    synchronized void invalidate(int id) {
+        generation++;
+        Entry removed = entries.remove(id);
+        if (removed != null) {
+            weight -= removed.weight();
+            invalidations++;
+        }
+    }
+
+    synchronized void invalidateSubtasksOf(int epicId) {
+        generation++;
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (iterator.hasNext()) {
+            Entry entry = iterator.next();
+            if (entry.task() instanceof Subtask subtask && subtask.getEpicId() == epicId) {
+                weight -= entry.weight();
+                iterator.remove();
+                invalidations++;
+            }
+        }
+    }
+
+    synchronized void invalidateAll() {
+        generation++;
+        invalidations += entries.size();
+        entries.clear();
+        weight = 0;
+    }
+
+    synchronized CachingTaskManager.Stats stats() {
+        return new CachingTaskManager.Stats(hits, misses, evictions, invalidations, entries.size(), weight);
+    }
+
+    static long weigh(Task task) {
+        long size = ENTRY_OVERHEAD + 2L * (task.getName().length() + task.getDescription().length());
+        if (task instanceof Epic epic) {
+            size += 24L * epic.getSubtaskCount();
+        }
+        return size;
+    }
+
+    private record Entry(Task task, long weight) {
+    }
+}
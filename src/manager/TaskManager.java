@@ -1,10 +1,13 @@
 package manager;
 
+import event.TaskEventBus;
 import model.Task;
 import model.Epic;
 import model.Subtask;
+import model.TaskStatus;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface TaskManager {
     List<Task> getTasks();
@@ -12,6 +15,7 @@ public interface TaskManager {
     Task getTaskById(int id);
     int createTask(Task task);
     void updateTask(Task task);
+    boolean compareAndUpdateTask(Task task, long expectedVersion);
     void deleteTaskById(int id);
 
     List<Epic> getEpics();
@@ -19,6 +23,7 @@ public interface TaskManager {
     Epic getEpicById(int id);
     int createEpic(Epic epic);
     void updateEpic(Epic epic);
+    boolean compareAndUpdateEpic(Epic epic, long expectedVersion);
     void deleteEpicById(int id);
 
     List<Subtask> getSubtasks();
@@ -26,9 +31,58 @@ public interface TaskManager {
     Subtask getSubtaskById(int id);
     int createSubtask(Subtask subtask);
     void updateSubtask(Subtask subtask);
+    boolean compareAndUpdateSubtask(Subtask subtask, long expectedVersion);
     void deleteSubtaskById(int id);
 
+    default List<Task> getTasksView() {
+        return List.copyOf(getTasks());
+    }
+
+    default List<Epic> getEpicsView() {
+        return List.copyOf(getEpics());
+    }
+
+    default List<Subtask> getSubtasksView() {
+        return List.copyOf(getSubtasks());
+    }
+
+    default int getTaskCount() {
+        return getTasksView().size();
+    }
+
+    default int getEpicCount() {
+        return getEpicsView().size();
+    }
+
+    default int getSubtaskCount() {
+        return getSubtasksView().size();
+    }
+
+    default void forEachTask(Consumer<? super Task> action) {
+        getTasksView().forEach(action);
+    }
+
+    default void forEachEpic(Consumer<? super Epic> action) {
+        getEpicsView().forEach(action);
+    }
+
+    default void forEachSubtask(Consumer<? super Subtask> action) {
+        getSubtasksView().forEach(action);
+    }
+
     List<Subtask> getEpicSubtasks(int epicId);
+
+    List<Task> getTasksByStatus(TaskStatus status);
+    List<Epic> getEpicsByStatus(TaskStatus status);
+    List<Subtask> getSubtasksByStatus(TaskStatus status);
+
+    List<Task> getPrioritizedTasks();
+
+    List<Task> search(String query);
+
+    BatchResult applyBatch(Batch batch);
+
+    TaskEventBus getEventBus();
     
     List<Task> getHistory();
     
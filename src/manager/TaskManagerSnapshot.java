@@ -0,0 +1,88 @@
+package manager;
+
+import model.Epic;
+import model.Subtask;
+import model.Task;
+import model.TaskStatus;
+
+import java.util.List;
+
+public final class TaskManagerSnapshot implements AutoCloseable {
+    private final VersionedTaskManager owner;
+    private final long version;
+    private volatile VersionedState state;
+
+    TaskManagerSnapshot(VersionedTaskManager owner, VersionedState state) {
+        this.owner = owner;
+        this.version = state.version();
+        this.state = state;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public List<Task> getTasks() {
+        return state().getTasks();
+    }
+
+    public List<Epic> getEpics() {
+        return state().getEpics();
+    }
+
+    public List<Subtask> getSubtasks() {
+        return state().getSubtasks();
+    }
+
+    public Task getTaskById(int id) {
+        return state().getTask(id);
+    }
+
+    public Epic getEpicById(int id) {
+        return state().getEpic(id);
+    }
+
+    public Subtask getSubtaskById(int id) {
+        return state().getSubtask(id);
+    }
+
+    public List<Subtask> getEpicSubtasks(int epicId) {
+        return state().getEpicSubtasks(epicId);
+    }
+
+    public List<Task> getTasksByStatus(TaskStatus status) {
+        return state().getTasksByStatus(status);
+    }
+
+    public List<Epic> getEpicsByStatus(TaskStatus status) {
+        return state().getEpicsByStatus(status);
+    }
+
+    public List<Subtask> getSubtasksByStatus(TaskStatus status) {
+        return state().getSubtasksByStatus(status);
+    }
+
+    public List<Task> getPrioritizedTasks() {
+        return state().getPrioritizedTasks();
+    }
+
+    public boolean isClosed() {
+        return state == null;
+    }
+
+    @Override
+    public synchronized void close() {
+        if (state != null) {
+            state = null;
+            owner.release(version);
+        }
+    }
+
+    private VersionedState state() {
+        VersionedState current = state;
+        if (current == null) {
+            throw new IllegalStateException("Snapshot " + version + " is closed");
+        }
+        return current;
+    }
+}
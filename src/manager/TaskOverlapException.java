@@ -0,0 +1,16 @@
+package manager;
+
+public class TaskOverlapException extends IllegalArgumentException {
+    private static final long serialVersionUID = 1L;
+
+    private final int conflictingTaskId;
+
+    public TaskOverlapException(int taskId, int conflictingTaskId) {
+        super("Task " + taskId + " overlaps with task " + conflictingTaskId);
+        this.conflictingTaskId = conflictingTaskId;
+    }
+
+    public int getConflictingTaskId() {
+        return conflictingTaskId;
+    }
+}
@@ -0,0 +1,174 @@
+package manager;
+
+import model.Epic;
+import model.Subtask;
+import model.Task;
+import model.TaskStatus;
+
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.zip.CRC32;
+
+final class TaskRecords {
+    static final byte UPSERT_TASK = 1;
+    static final byte UPSERT_EPIC = 2;
+    static final byte UPSERT_SUBTASK = 3;
+    static final byte DELETE_TASK = 4;
+    static final byte DELETE_EPIC = 5;
+    static final byte DELETE_SUBTASK = 6;
+    static final byte DELETE_ALL_TASKS = 7;
+    static final byte DELETE_ALL_EPICS = 8;
+    static final byte DELETE_ALL_SUBTASKS = 9;
+    static final byte BATCH = 10;
+
+    static final int FRAME_HEADER_SIZE = 8;
+    private static final int HAS_START_TIME = 1;
+    private static final int HAS_DURATION = 2;
+    private static final int MAX_RECORD_SIZE = 64 * 1024 * 1024;
+    private static final TaskStatus[] STATUSES = TaskStatus.values();
+
+    private TaskRecords() {
+    }
+
+    static void writeUpsert(DataOutput out, Task task) throws IOException {
+        if (task instanceof Epic) {
+            out.writeByte(UPSERT_EPIC);
+        } else if (task instanceof Subtask) {
+            out.writeByte(UPSERT_SUBTASK);
+        } else {
+            out.writeByte(UPSERT_TASK);
+        }
+        out.writeInt(task.getId());
+        out.writeLong(task.getVersion());
+        out.writeByte(task.getStatus() == null ? -1 : task.getStatus().ordinal());
+        writeString(out, task.getName());
+        writeString(out, task.getDescription());
+        writeTime(out, task);
+        if (task instanceof Subtask subtask) {
+            out.writeInt(subtask.getEpicId());
+        }
+    }
+
+    static void writeBatchHeader(DataOutput out, int count) throws IOException {
+        out.writeByte(BATCH);
+        out.writeInt(count);
+    }
+
+    static void writeDelete(DataOutput out, byte op, int id) throws IOException {
+        out.writeByte(op);
+        out.writeInt(id);
+    }
+
+    static Task readTask(byte op, DataInput in) throws IOException {
+        int id = in.readInt();
+        long version = in.readLong();
+        byte status = in.readByte();
+        TaskStatus taskStatus = status < 0 ? null : STATUSES[status];
+        String name = readString(in);
+        String description = readString(in);
+        byte flags = in.readByte();
+        LocalDateTime startTime = null;
+        Duration duration = null;
+        if ((flags & HAS_START_TIME) != 0) {
+            startTime = LocalDateTime.ofEpochSecond(in.readLong(), in.readInt(), ZoneOffset.UTC);
+        }
+        if ((flags & HAS_DURATION) != 0) {
+            duration = Duration.ofSeconds(in.readLong(), in.readInt());
+        }
+        Task task = switch (op) {
+            case UPSERT_TASK -> new Task(id, name, description, taskStatus);
+            case UPSERT_EPIC -> new Epic(id, name, description, taskStatus);
+            case UPSERT_SUBTASK -> new Subtask(id, name, description, taskStatus, in.readInt());
+            default -> throw new IOException("Unknown upsert record type " + op);
+        };
+        task.setStartTime(startTime);
+        task.setDuration(duration);
+        task.setVersion(version);
+        return task;
+    }
+
+    static void writeFrame(DataOutput out, byte[] payload, int length) throws IOException {
+        CRC32 crc = new CRC32();
+        crc.update(payload, 0, length);
+        out.writeInt(length);
+        out.writeInt((int) crc.getValue());
+        out.write(payload, 0, length);
+    }
+
+    static long readFrames(InputStream stream, FrameConsumer consumer) throws IOException {
+        DataInputStream in = new DataInputStream(stream);
+        CRC32 crc = new CRC32();
+        byte[] payload = new byte[256];
+        long consumed = 0;
+        while (true) {
+            int length;
+            int checksum;
+            try {
+                length = in.readInt();
+                checksum = in.readInt();
+            } catch (EOFException e) {
+                return consumed;
+            }
+            if (length <= 0 || length > MAX_RECORD_SIZE) {
+                return consumed;
+            }
+            if (payload.length < length) {
+                payload = new byte[Math.max(length, payload.length * 2)];
+            }
+            try {
+                in.readFully(payload, 0, length);
+            } catch (EOFException e) {
+                return consumed;
+            }
+            crc.reset();
+            crc.update(payload, 0, length);
+            if ((int) crc.getValue() != checksum) {
+                return consumed;
+            }
+            consumer.accept(payload, length);
+            consumed += FRAME_HEADER_SIZE + length;
+        }
+    }
+
+    private static void writeTime(DataOutput out, Task task) throws IOException {
+        LocalDateTime startTime = task.getStartTime();
+        Duration duration = task.getDuration();
+        out.writeByte((startTime == null ? 0 : HAS_START_TIME) | (duration == null ? 0 : HAS_DURATION));
+        if (startTime != null) {
+            out.writeLong(startTime.toEpochSecond(ZoneOffset.UTC));
+            out.writeInt(startTime.getNano());
+        }
+        if (duration != null) {
+            out.writeLong(duration.getSeconds());
+            out.writeInt(duration.getNano());
+        }
+    }
+
+    private static void writeString(DataOutput out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInput in) throws IOException {
+        int length = in.readInt();
+        if (length < 0 || length > MAX_RECORD_SIZE) {
+            throw new IOException("Corrupted string length " + length);
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    interface FrameConsumer {
+        void accept(byte[] payload, int length) throws IOException;
+    }
+}
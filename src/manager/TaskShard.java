@@ -0,0 +1,55 @@
+package manager;
+
+import event.TaskEvent;
+import event.TaskEventBus;
+import model.Task;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+final class TaskShard extends ConcurrentTaskManager {
+    static final int BLOCK_SIZE = 1024;
+    private static final int STRIPES = 16;
+
+    private final int index;
+    private final int shardCount;
+    private final TaskEventBus eventBus;
+    private final AtomicInteger sequence = new AtomicInteger();
+
+    TaskShard(int index, int shardCount, HistoryManager history, Schedule schedule, TaskEventBus eventBus) {
+        super(STRIPES, history, schedule);
+        this.index = index;
+        this.shardCount = shardCount;
+        this.eventBus = eventBus;
+    }
+
+    static int shardOf(int id, int shardCount) {
+        return (id - 1) / BLOCK_SIZE % shardCount;
+    }
+
+    @Override
+    protected int generateId() {
+        int next = sequence.getAndIncrement();
+        long id = ((long) (next / BLOCK_SIZE) * shardCount + index) * BLOCK_SIZE + next % BLOCK_SIZE + 1;
+        if (id > Integer.MAX_VALUE) {
+            throw new IllegalStateException("Shard " + index + " has run out of ids");
+        }
+        return (int) id;
+    }
+
+    @Override
+    protected void reserveId(int id) {
+        if (id > 0 && shardOf(id, shardCount) == index) {
+            int block = (id - 1) / BLOCK_SIZE / shardCount;
+            sequence.accumulateAndGet(block * BLOCK_SIZE + (id - 1) % BLOCK_SIZE + 1, Math::max);
+        }
+    }
+
+    @Override
+    protected void publish(TaskEvent.Type type, int id, Task task) {
+        switch (type) {
+            case ALL_TASKS_DELETED, ALL_EPICS_DELETED, ALL_SUBTASKS_DELETED -> {
+            }
+            default -> eventBus.publish(type, id, task);
+        }
+    }
+}
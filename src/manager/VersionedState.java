@@ -0,0 +1,185 @@
+package manager;
+
+import model.Epic;
+import model.Subtask;
+import model.Task;
+import model.TaskStatus;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Consumer;
+
+record VersionedState(long version, PersistentIntMap<Task> tasks, PersistentIntMap<Epic> epics,
+                      PersistentIntMap<Subtask> subtasks, PersistentIntMap<PersistentIntMap<Subtask>> epicSubtasks) {
+
+    static final VersionedState EMPTY = new VersionedState(0, PersistentIntMap.empty(), PersistentIntMap.empty(),
+            PersistentIntMap.empty(), PersistentIntMap.empty());
+
+    private static final Comparator<Task> BY_START_TIME =
+            Comparator.comparing(Task::getStartTime).thenComparingInt(Task::getId);
+
+    VersionedState withTasks(PersistentIntMap<Task> tasks) {
+        return new VersionedState(version, tasks, epics, subtasks, epicSubtasks);
+    }
+
+    VersionedState withEpics(PersistentIntMap<Epic> epics, PersistentIntMap<PersistentIntMap<Subtask>> epicSubtasks) {
+        return new VersionedState(version, tasks, epics, subtasks, epicSubtasks);
+    }
+
+    VersionedState withSubtasks(PersistentIntMap<Subtask> subtasks,
+                                PersistentIntMap<PersistentIntMap<Subtask>> epicSubtasks) {
+        return new VersionedState(version, tasks, epics, subtasks, epicSubtasks);
+    }
+
+    VersionedState withVersion(long version) {
+        return new VersionedState(version, tasks, epics, subtasks, epicSubtasks);
+    }
+
+    List<Task> getTasks() {
+        List<Task> result = new ArrayList<>(tasks.size());
+        forEachTask(result::add);
+        return result;
+    }
+
+    List<Epic> getEpics() {
+        List<Epic> result = new ArrayList<>(epics.size());
+        forEachEpic(result::add);
+        return result;
+    }
+
+    List<Subtask> getSubtasks() {
+        List<Subtask> result = new ArrayList<>(subtasks.size());
+        forEachSubtask(result::add);
+        return result;
+    }
+
+    void forEachTask(Consumer<? super Task> action) {
+        tasks.forEach(task -> action.accept(copy(task)));
+    }
+
+    void forEachSubtask(Consumer<? super Subtask> action) {
+        subtasks.forEach(subtask -> action.accept(copy(subtask)));
+    }
+
+    void forEachEpic(Consumer<? super Epic> action) {
+        epics.forEach(epic -> action.accept(materialize(epic)));
+    }
+
+    Task getTask(int id) {
+        Task task = tasks.get(id);
+        return task == null ? null : copy(task);
+    }
+
+    Epic getEpic(int id) {
+        Epic epic = epics.get(id);
+        return epic == null ? null : materialize(epic);
+    }
+
+    Subtask getSubtask(int id) {
+        Subtask subtask = subtasks.get(id);
+        return subtask == null ? null : copy(subtask);
+    }
+
+    List<Subtask> getEpicSubtasks(int epicId) {
+        PersistentIntMap<Subtask> children = epicSubtasks.get(epicId);
+        List<Subtask> result = new ArrayList<>(children == null ? 0 : children.size());
+        if (children != null) {
+            children.forEach(subtask -> result.add(copy(subtask)));
+        }
+        return result;
+    }
+
+    List<Task> getTasksByStatus(TaskStatus status) {
+        List<Task> result = new ArrayList<>();
+        tasks.forEach(task -> {
+            if (task.getStatus() == status) {
+                result.add(copy(task));
+            }
+        });
+        return result;
+    }
+
+    List<Epic> getEpicsByStatus(TaskStatus status) {
+        List<Epic> result = new ArrayList<>();
+        epics.forEach(epic -> {
+            if (epic.getStatus() == status) {
+                result.add(materialize(epic));
+            }
+        });
+        return result;
+    }
+
+    List<Subtask> getSubtasksByStatus(TaskStatus status) {
+        List<Subtask> result = new ArrayList<>();
+        subtasks.forEach(subtask -> {
+            if (subtask.getStatus() == status) {
+                result.add(copy(subtask));
+            }
+        });
+        return result;
+    }
+
+    List<Task> getPrioritizedTasks() {
+        List<Task> result = new ArrayList<>();
+        tasks.forEach(task -> {
+            if (task.getStartTime() != null) {
+                result.add(copy(task));
+            }
+        });
+        subtasks.forEach(subtask -> {
+            if (subtask.getStartTime() != null) {
+                result.add(copy(subtask));
+            }
+        });
+        result.sort(BY_START_TIME);
+        return result;
+    }
+
+    List<Task> search(List<String> query) {
+        List<Task> result = new ArrayList<>();
+        tasks.forEach(task -> {
+            if (SearchIndex.matches(query, task.getName(), task.getDescription())) {
+                result.add(copy(task));
+            }
+        });
+        epics.forEach(epic -> {
+            if (SearchIndex.matches(query, epic.getName(), epic.getDescription())) {
+                result.add(materialize(epic));
+            }
+        });
+        subtasks.forEach(subtask -> {
+            if (SearchIndex.matches(query, subtask.getName(), subtask.getDescription())) {
+                result.add(copy(subtask));
+            }
+        });
+        result.sort(Comparator.comparingInt(Task::getId));
+        return result;
+    }
+
+    static Task copy(Task task) {
+        return new Task(task);
+    }
+
+    static Subtask copy(Subtask subtask) {
+        return new Subtask(subtask);
+    }
+
+    static Epic copyHeader(Epic epic) {
+        Epic copy = new Epic(epic.getId(), epic.getName(), epic.getDescription(), epic.getStatus());
+        copy.setStartTime(epic.getStartTime());
+        copy.setDuration(epic.getDuration());
+        copy.setEndTime(epic.getEndTime());
+        copy.setVersion(epic.getVersion());
+        return copy;
+    }
+
+    private Epic materialize(Epic header) {
+        Epic epic = copyHeader(header);
+        PersistentIntMap<Subtask> children = epicSubtasks.get(header.getId());
+        if (children != null) {
+            children.forEach(subtask -> epic.addSubtaskId(subtask.getId(), subtask.getStatus()));
+        }
+        return epic;
+    }
+}
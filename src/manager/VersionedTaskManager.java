@@ -0,0 +1,409 @@
+package manager;
+
+import event.TaskEvent;
+import model.Epic;
+import model.Subtask;
+import model.Task;
+import model.TaskStatus;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+
+public class VersionedTaskManager extends InMemoryTaskManager {
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private final HistoryManager history;
+    private final ConcurrentSkipListMap<Long, Integer> openSnapshots = new ConcurrentSkipListMap<>();
+    private final Set<Integer> touchedEpics = new LinkedHashSet<>();
+    private final List<PendingEvent> pendingEvents = new ArrayList<>();
+    private volatile VersionedState current = VersionedState.EMPTY;
+    private VersionedState working = VersionedState.EMPTY;
+
+    public VersionedTaskManager() {
+        this(new SynchronizedHistoryManager(Managers.getDefaultHistory()));
+    }
+
+    private VersionedTaskManager(HistoryManager history) {
+        super(new HashMap<>(), new HashMap<>(), new HashMap<>(), history);
+        this.history = history;
+    }
+
+    public TaskManagerSnapshot snapshot() {
+        VersionedState state = current;
+        openSnapshots.merge(state.version(), 1, Integer::sum);
+        return new TaskManagerSnapshot(this, state);
+    }
+
+    public long getVersion() {
+        return current.version();
+    }
+
+    VersionedState committed() {
+        return current;
+    }
+
+    public int getOpenSnapshotCount() {
+        int count = 0;
+        for (int open : openSnapshots.values()) {
+            count += open;
+        }
+        return count;
+    }
+
+    public long getOldestRetainedVersion() {
+        Long oldest = openSnapshots.isEmpty() ? null : openSnapshots.firstKey();
+        return oldest == null ? current.version() : Math.min(oldest, current.version());
+    }
+
+    @Override
+    public List<Task> getTasks() {
+        return current.getTasks();
+    }
+
+    @Override
+    public List<Epic> getEpics() {
+        return current.getEpics();
+    }
+
+    @Override
+    public List<Subtask> getSubtasks() {
+        return current.getSubtasks();
+    }
+
+    @Override
+    public List<Task> getTasksView() {
+        return Collections.unmodifiableList(current.getTasks());
+    }
+
+    @Override
+    public List<Epic> getEpicsView() {
+        return Collections.unmodifiableList(current.getEpics());
+    }
+
+    @Override
+    public List<Subtask> getSubtasksView() {
+        return Collections.unmodifiableList(current.getSubtasks());
+    }
+
+    @Override
+    public int getTaskCount() {
+        return current.tasks().size();
+    }
+
+    @Override
+    public int getEpicCount() {
+        return current.epics().size();
+    }
+
+    @Override
+    public int getSubtaskCount() {
+        return current.subtasks().size();
+    }
+
+    @Override
+    public void forEachTask(Consumer<? super Task> action) {
+        current.forEachTask(action);
+    }
+
+    @Override
+    public void forEachEpic(Consumer<? super Epic> action) {
+        current.forEachEpic(action);
+    }
+
+    @Override
+    public void forEachSubtask(Consumer<? super Subtask> action) {
+        current.forEachSubtask(action);
+    }
+
+    @Override
+    public Task getTaskById(int id) {
+        return current.getTask(id);
+    }
+
+    @Override
+    public Epic getEpicById(int id) {
+        return current.getEpic(id);
+    }
+
+    @Override
+    public Subtask getSubtaskById(int id) {
+        return current.getSubtask(id);
+    }
+
+    @Override
+    public List<Subtask> getEpicSubtasks(int epicId) {
+        return current.getEpicSubtasks(epicId);
+    }
+
+    @Override
+    public Task getTask(int id) {
+        return recordView(current.getTask(id));
+    }
+
+    @Override
+    public Epic getEpic(int id) {
+        return recordView(current.getEpic(id));
+    }
+
+    @Override
+    public Subtask getSubtask(int id) {
+        return recordView(current.getSubtask(id));
+    }
+
+    @Override
+    public List<Task> getTasksByStatus(TaskStatus status) {
+        return readIndexed(() -> super.getTasksByStatus(status), current::getTask);
+    }
+
+    @Override
+    public List<Epic> getEpicsByStatus(TaskStatus status) {
+        return readIndexed(() -> super.getEpicsByStatus(status), current::getEpic);
+    }
+
+    @Override
+    public List<Subtask> getSubtasksByStatus(TaskStatus status) {
+        return readIndexed(() -> super.getSubtasksByStatus(status), current::getSubtask);
+    }
+
+    @Override
+    public List<Task> getPrioritizedTasks() {
+        return readIndexed(super::getPrioritizedTasks, id -> {
+            Task task = current.getTask(id);
+            return task != null ? task : current.getSubtask(id);
+        });
+    }
+
+    @Override
+    public List<Task> search(String query) {
+        return readIndexed(() -> super.search(query), id -> {
+            Task task = current.getTask(id);
+            if (task == null) {
+                task = current.getEpic(id);
+            }
+            return task != null ? task : current.getSubtask(id);
+        });
+    }
+
+    @Override
+    public int createTask(Task task) {
+        return write(() -> super.createTask(task));
+    }
+
+    @Override
+    public void updateTask(Task task) {
+        write(() -> super.updateTask(task));
+    }
+
+    @Override
+    public boolean compareAndUpdateTask(Task task, long expectedVersion) {
+        return write(() -> super.compareAndUpdateTask(task, expectedVersion));
+    }
+
+    @Override
+    public void deleteTaskById(int id) {
+        write(() -> super.deleteTaskById(id));
+    }
+
+    @Override
+    public void deleteAllTasks() {
+        write(super::deleteAllTasks);
+    }
+
+    @Override
+    public int createEpic(Epic epic) {
+        return write(() -> super.createEpic(epic));
+    }
+
+    @Override
+    public void updateEpic(Epic epic) {
+        write(() -> super.updateEpic(epic));
+    }
+
+    @Override
+    public boolean compareAndUpdateEpic(Epic epic, long expectedVersion) {
+        return write(() -> super.compareAndUpdateEpic(epic, expectedVersion));
+    }
+
+    @Override
+    public void deleteEpicById(int id) {
+        write(() -> super.deleteEpicById(id));
+    }
+
+    @Override
+    public void deleteAllEpics() {
+        write(super::deleteAllEpics);
+    }
+
+    @Override
+    public int createSubtask(Subtask subtask) {
+        return write(() -> super.createSubtask(subtask));
+    }
+
+    @Override
+    public void updateSubtask(Subtask subtask) {
+        write(() -> super.updateSubtask(subtask));
+    }
+
+    @Override
+    public boolean compareAndUpdateSubtask(Subtask subtask, long expectedVersion) {
+        return write(() -> super.compareAndUpdateSubtask(subtask, expectedVersion));
+    }
+
+    @Override
+    public void deleteSubtaskById(int id) {
+        write(() -> super.deleteSubtaskById(id));
+    }
+
+    @Override
+    public void deleteAllSubtasks() {
+        write(super::deleteAllSubtasks);
+    }
+
+    @Override
+    public BatchResult applyBatch(Batch batch) {
+        return write(() -> super.applyBatch(batch));
+    }
+
+    @Override
+    protected void publish(TaskEvent.Type type, int id, Task task) {
+        switch (type) {
+            case TASK_CREATED, TASK_UPDATED ->
+                    working = working.withTasks(working.tasks().put(id, VersionedState.copy(task)));
+            case TASK_DELETED -> working = working.withTasks(working.tasks().remove(id));
+            case ALL_TASKS_DELETED -> working = working.withTasks(PersistentIntMap.empty());
+            case EPIC_CREATED, EPIC_UPDATED, EPIC_DELETED, EPIC_STATUS_CHANGED -> touchedEpics.add(id);
+            case ALL_EPICS_DELETED -> {
+                touchedEpics.clear();
+                working = working.withEpics(PersistentIntMap.empty(), PersistentIntMap.empty())
+                        .withSubtasks(PersistentIntMap.empty(), PersistentIntMap.empty());
+            }
+            case SUBTASK_CREATED, SUBTASK_UPDATED -> putSubtask(VersionedState.copy((Subtask) task));
+            case SUBTASK_DELETED -> removeSubtask(id);
+            case ALL_SUBTASKS_DELETED -> {
+                working.epics().forEach(epic -> touchedEpics.add(epic.getId()));
+                working = working.withSubtasks(PersistentIntMap.empty(), PersistentIntMap.empty());
+            }
+        }
+        pendingEvents.add(new PendingEvent(type, id, task));
+    }
+
+    void release(long version) {
+        openSnapshots.computeIfPresent(version, (key, count) -> count == 1 ? null : count - 1);
+    }
+
+    void writeAll(Runnable action) {
+        write(action);
+    }
+
+    private void write(Runnable action) {
+        write(() -> {
+            action.run();
+            return null;
+        });
+    }
+
+    private <T> T write(Supplier<T> action) {
+        writeLock.lock();
+        try {
+            return action.get();
+        } finally {
+            try {
+                if (writeLock.getHoldCount() == 1) {
+                    commit();
+                }
+            } finally {
+                writeLock.unlock();
+            }
+        }
+    }
+
+    private <T extends Task> List<T> readIndexed(Supplier<List<? extends Task>> query, IntFunction<T> resolve) {
+        writeLock.lock();
+        try {
+            List<? extends Task> live = query.get();
+            List<T> result = new ArrayList<>(live.size());
+            for (Task task : live) {
+                result.add(resolve.apply(task.getId()));
+            }
+            return result;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private <T extends Task> T recordView(T task) {
+        if (task != null) {
+            history.add(task);
+        }
+        return task;
+    }
+
+    private void putSubtask(Subtask subtask) {
+        int id = subtask.getId();
+        PersistentIntMap<PersistentIntMap<Subtask>> epicSubtasks = working.epicSubtasks();
+        Subtask previous = working.subtasks().get(id);
+        if (previous != null && previous.getEpicId() != subtask.getEpicId()) {
+            epicSubtasks = withoutChild(epicSubtasks, previous.getEpicId(), id);
+            touchedEpics.add(previous.getEpicId());
+        }
+        PersistentIntMap<Subtask> children = epicSubtasks.get(subtask.getEpicId());
+        if (children == null) {
+            children = PersistentIntMap.empty();
+        }
+        epicSubtasks = epicSubtasks.put(subtask.getEpicId(), children.put(id, subtask));
+        touchedEpics.add(subtask.getEpicId());
+        working = working.withSubtasks(working.subtasks().put(id, subtask), epicSubtasks);
+    }
+
+    private void removeSubtask(int id) {
+        Subtask previous = working.subtasks().get(id);
+        if (previous == null) {
+            return;
+        }
+        touchedEpics.add(previous.getEpicId());
+        working = working.withSubtasks(working.subtasks().remove(id),
+                withoutChild(working.epicSubtasks(), previous.getEpicId(), id));
+    }
+
+    private static PersistentIntMap<PersistentIntMap<Subtask>> withoutChild(
+            PersistentIntMap<PersistentIntMap<Subtask>> epicSubtasks, int epicId, int subtaskId) {
+        PersistentIntMap<Subtask> children = epicSubtasks.get(epicId);
+        if (children == null) {
+            return epicSubtasks;
+        }
+        children = children.remove(subtaskId);
+        return children.isEmpty() ? epicSubtasks.remove(epicId) : epicSubtasks.put(epicId, children);
+    }
+
+    private void commit() {
+        for (int epicId : touchedEpics) {
+            Epic live = super.getEpicById(epicId);
+            if (live != null) {
+                working = working.withEpics(working.epics().put(epicId, VersionedState.copyHeader(live)),
+                        working.epicSubtasks());
+            } else {
+                working = working.withEpics(working.epics().remove(epicId), working.epicSubtasks().remove(epicId));
+            }
+        }
+        touchedEpics.clear();
+        if (working != current) {
+            working = working.withVersion(current.version() + 1);
+            current = working;
+        }
+        for (PendingEvent event : pendingEvents) {
+            super.publish(event.type(), event.id(), event.task());
+        }
+        pendingEvents.clear();
+    }
+
+    private record PendingEvent(TaskEvent.Type type, int id, Task task) {
+    }
+}
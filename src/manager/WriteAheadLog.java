@@ -0,0 +1,217 @@
+package manager;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+final class WriteAheadLog implements Closeable {
+    private static final int MAGIC = 0x4B57414C;
+    private static final int VERSION = 3;
+    private static final int HEADER_SIZE = 16;
+    private static final int EARLY_FLUSH_BYTES = 1 << 20;
+
+    private final FileChannel channel;
+    private final OutputStream channelOut;
+    private final long flushIntervalMillis;
+    private final Object lock = new Object();
+    private final Thread flusher;
+
+    private ByteArrayOutputStream pending = new ByteArrayOutputStream(1 << 16);
+    private DataOutputStream pendingOut = new DataOutputStream(pending);
+    private ByteArrayOutputStream spare = new ByteArrayOutputStream(1 << 16);
+    private long appendedBytes;
+    private long durableBytes;
+    private boolean syncRequested;
+    private boolean closed;
+    private IOException failure;
+
+    private WriteAheadLog(FileChannel channel, long flushIntervalMillis) {
+        this.channel = channel;
+        this.channelOut = Channels.newOutputStream(channel);
+        this.flushIntervalMillis = flushIntervalMillis;
+        this.flusher = new Thread(this::runFlusher, "kanban-wal-flusher");
+        this.flusher.setDaemon(true);
+    }
+
+    static WriteAheadLog open(Path path, long generation, long flushIntervalMillis,
+                              TaskRecords.FrameConsumer replay) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        try {
+            long validEnd = -1;
+            if (channel.size() >= HEADER_SIZE) {
+                ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+                channel.read(header, 0);
+                header.flip();
+                if (header.getInt() != MAGIC || header.getInt() != VERSION) {
+                    throw new IOException("Unsupported write-ahead log format: " + path);
+                }
+                if (header.getLong() == generation) {
+                    channel.position(HEADER_SIZE);
+                    validEnd = HEADER_SIZE + TaskRecords.readFrames(
+                            new BufferedInputStream(Channels.newInputStream(channel), 1 << 16), replay);
+                }
+            }
+            if (validEnd < 0) {
+                writeHeader(channel, generation);
+                validEnd = HEADER_SIZE;
+            }
+            channel.truncate(validEnd);
+            channel.position(validEnd);
+            WriteAheadLog log = new WriteAheadLog(channel, flushIntervalMillis);
+            log.flusher.start();
+            return log;
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    static void replaySealed(Path path, long generation, TaskRecords.FrameConsumer replay) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            channel.read(header, 0);
+            header.flip();
+            if (header.remaining() < HEADER_SIZE || header.getInt() != MAGIC || header.getInt() != VERSION
+                    || header.getLong() != generation) {
+                throw new IOException("Unexpected write-ahead log header: " + path);
+            }
+            channel.position(HEADER_SIZE);
+            TaskRecords.readFrames(new BufferedInputStream(Channels.newInputStream(channel), 1 << 16), replay);
+        }
+    }
+
+    void append(byte[] payload, int length) {
+        synchronized (lock) {
+            checkState();
+            boolean wasEmpty = pending.size() == 0;
+            try {
+                TaskRecords.writeFrame(pendingOut, payload, length);
+            } catch (IOException e) {
+                throw new ManagerSaveException("Unable to buffer log record", e);
+            }
+            appendedBytes += TaskRecords.FRAME_HEADER_SIZE + length;
+            if (wasEmpty || pending.size() >= EARLY_FLUSH_BYTES) {
+                lock.notifyAll();
+            }
+        }
+    }
+
+    void sync() {
+        synchronized (lock) {
+            long target = appendedBytes;
+            syncRequested = true;
+            lock.notifyAll();
+            while (durableBytes < target && failure == null && flusher.isAlive()) {
+                try {
+                    lock.wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new ManagerSaveException("Interrupted while syncing write-ahead log", e);
+                }
+            }
+            checkFailure();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        synchronized (lock) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            lock.notifyAll();
+        }
+        try {
+            flusher.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        channel.close();
+        synchronized (lock) {
+            if (failure != null) {
+                throw failure;
+            }
+        }
+    }
+
+    private void runFlusher() {
+        while (true) {
+            ByteArrayOutputStream batch;
+            long target;
+            synchronized (lock) {
+                try {
+                    while (!closed && pending.size() == 0) {
+                        lock.wait();
+                    }
+                    if (!closed && !syncRequested && flushIntervalMillis > 0 && pending.size() < EARLY_FLUSH_BYTES) {
+                        lock.wait(flushIntervalMillis);
+                    }
+                } catch (InterruptedException e) {
+                    closed = true;
+                }
+                if (pending.size() == 0) {
+                    if (closed) {
+                        return;
+                    }
+                    continue;
+                }
+                batch = pending;
+                pending = spare;
+                pendingOut = new DataOutputStream(pending);
+                spare = null;
+                target = appendedBytes;
+                syncRequested = false;
+            }
+
+            IOException error = null;
+            try {
+                batch.writeTo(channelOut);
+                channel.force(false);
+            } catch (IOException e) {
+                error = e;
+            }
+
+            synchronized (lock) {
+                batch.reset();
+                spare = batch;
+                if (error != null) {
+                    failure = error;
+                    lock.notifyAll();
+                    return;
+                }
+                durableBytes = Math.max(durableBytes, target);
+                lock.notifyAll();
+            }
+        }
+    }
+
+    private void checkState() {
+        checkFailure();
+        if (closed) {
+            throw new ManagerSaveException("Write-ahead log is closed");
+        }
+    }
+
+    private void checkFailure() {
+        if (failure != null) {
+            throw new ManagerSaveException("Write-ahead log flush failed", failure);
+        }
+    }
+
+    private static void writeHeader(FileChannel channel, long generation) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        header.putInt(MAGIC).putInt(VERSION).putLong(generation).flip();
+        channel.write(header, 0);
+        channel.force(true);
+    }
+}
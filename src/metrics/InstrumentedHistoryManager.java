@@ -0,0 +1,50 @@
+package metrics;
+
+import manager.HistoryManager;
+import model.Task;
+
+import java.util.List;
+
+public class InstrumentedHistoryManager implements HistoryManager {
+    private final HistoryManager delegate;
+    private final TaskManagerMetrics metrics;
+
+    public InstrumentedHistoryManager(HistoryManager delegate, TaskManagerMetrics metrics) {
+        if (delegate == null || metrics == null) {
+            throw new IllegalArgumentException("History manager and metrics cannot be null");
+        }
+        this.delegate = delegate;
+        this.metrics = metrics;
+        metrics.attach(delegate);
+    }
+
+    @Override
+    public void add(Task task) {
+        if (task == null) {
+            delegate.add(null);
+            return;
+        }
+        int before = delegate.size();
+        delegate.add(task);
+        metrics.historyAdded(delegate.size() == before);
+    }
+
+    @Override
+    public void remove(int id) {
+        int before = delegate.size();
+        delegate.remove(id);
+        if (delegate.size() < before) {
+            metrics.historyRemoved();
+        }
+    }
+
+    @Override
+    public List<Task> getHistory() {
+        return delegate.getHistory();
+    }
+
+    @Override
+    public int size() {
+        return delegate.size();
+    }
+}
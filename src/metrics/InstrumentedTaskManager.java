@@ -0,0 +1,270 @@
+package metrics;
+
+import event.TaskEventBus;
+import manager.Batch;
+import manager.BatchResult;
+import manager.TaskManager;
+import metrics.TaskManagerMetrics.Operation;
+import model.Epic;
+import model.Subtask;
+import model.Task;
+import model.TaskStatus;
+
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+public class InstrumentedTaskManager implements TaskManager {
+    private final TaskManager delegate;
+    private final TaskManagerMetrics metrics;
+
+    public InstrumentedTaskManager(TaskManager delegate) {
+        this(delegate, new TaskManagerMetrics());
+    }
+
+    public InstrumentedTaskManager(TaskManager delegate, TaskManagerMetrics metrics) {
+        if (delegate == null || metrics == null) {
+            throw new IllegalArgumentException("Task manager and metrics cannot be null");
+        }
+        this.delegate = delegate;
+        this.metrics = metrics;
+        metrics.attach(delegate);
+    }
+
+    public TaskManagerMetrics getMetrics() {
+        return metrics;
+    }
+
+    @Override
+    public List<Task> getTasks() {
+        return timed(Operation.LIST_TASKS, delegate::getTasks);
+    }
+
+    @Override
+    public void deleteAllTasks() {
+        timed(Operation.DELETE_ALL_TASKS, delegate::deleteAllTasks);
+    }
+
+    @Override
+    public Task getTaskById(int id) {
+        return timed(Operation.GET_TASK, () -> delegate.getTaskById(id));
+    }
+
+    @Override
+    public int createTask(Task task) {
+        return timed(Operation.CREATE_TASK, () -> delegate.createTask(task));
+    }
+
+    @Override
+    public void updateTask(Task task) {
+        timed(Operation.UPDATE_TASK, () -> delegate.updateTask(task));
+    }
+
+    @Override
+    public boolean compareAndUpdateTask(Task task, long expectedVersion) {
+        return timed(Operation.UPDATE_TASK, () -> delegate.compareAndUpdateTask(task, expectedVersion));
+    }
+
+    @Override
+    public void deleteTaskById(int id) {
+        timed(Operation.DELETE_TASK, () -> delegate.deleteTaskById(id));
+    }
+
+    @Override
+    public List<Epic> getEpics() {
+        return timed(Operation.LIST_EPICS, delegate::getEpics);
+    }
+
+    @Override
+    public void deleteAllEpics() {
+        timed(Operation.DELETE_ALL_EPICS, delegate::deleteAllEpics);
+    }
+
+    @Override
+    public Epic getEpicById(int id) {
+        return timed(Operation.GET_EPIC, () -> delegate.getEpicById(id));
+    }
+
+    @Override
+    public int createEpic(Epic epic) {
+        return timed(Operation.CREATE_EPIC, () -> delegate.createEpic(epic));
+    }
+
+    @Override
+    public void updateEpic(Epic epic) {
+        timed(Operation.UPDATE_EPIC, () -> delegate.updateEpic(epic));
+    }
+
+    @Override
+    public boolean compareAndUpdateEpic(Epic epic, long expectedVersion) {
+        return timed(Operation.UPDATE_EPIC, () -> delegate.compareAndUpdateEpic(epic, expectedVersion));
+    }
+
+    @Override
+    public void deleteEpicById(int id) {
+        timed(Operation.DELETE_EPIC, () -> delegate.deleteEpicById(id));
+    }
+
+    @Override
+    public List<Subtask> getSubtasks() {
+        return timed(Operation.LIST_SUBTASKS, delegate::getSubtasks);
+    }
+
+    @Override
+    public List<Task> getTasksView() {
+        return timed(Operation.LIST_TASKS, delegate::getTasksView);
+    }
+
+    @Override
+    public List<Epic> getEpicsView() {
+        return timed(Operation.LIST_EPICS, delegate::getEpicsView);
+    }
+
+    @Override
+    public List<Subtask> getSubtasksView() {
+        return timed(Operation.LIST_SUBTASKS, delegate::getSubtasksView);
+    }
+
+    @Override
+    public int getTaskCount() {
+        return delegate.getTaskCount();
+    }
+
+    @Override
+    public int getEpicCount() {
+        return delegate.getEpicCount();
+    }
+
+    @Override
+    public int getSubtaskCount() {
+        return delegate.getSubtaskCount();
+    }
+
+    @Override
+    public void forEachTask(Consumer<? super Task> action) {
+        timed(Operation.LIST_TASKS, () -> delegate.forEachTask(action));
+    }
+
+    @Override
+    public void forEachEpic(Consumer<? super Epic> action) {
+        timed(Operation.LIST_EPICS, () -> delegate.forEachEpic(action));
+    }
+
+    @Override
+    public void forEachSubtask(Consumer<? super Subtask> action) {
+        timed(Operation.LIST_SUBTASKS, () -> delegate.forEachSubtask(action));
+    }
+
+    @Override
+    public void deleteAllSubtasks() {
+        timed(Operation.DELETE_ALL_SUBTASKS, delegate::deleteAllSubtasks);
+    }
+
+    @Override
+    public Subtask getSubtaskById(int id) {
+        return timed(Operation.GET_SUBTASK, () -> delegate.getSubtaskById(id));
+    }
+
+    @Override
+    public int createSubtask(Subtask subtask) {
+        return timed(Operation.CREATE_SUBTASK, () -> delegate.createSubtask(subtask));
+    }
+
+    @Override
+    public void updateSubtask(Subtask subtask) {
+        timed(Operation.UPDATE_SUBTASK, () -> delegate.updateSubtask(subtask));
+    }
+
+    @Override
+    public boolean compareAndUpdateSubtask(Subtask subtask, long expectedVersion) {
+        return timed(Operation.UPDATE_SUBTASK, () -> delegate.compareAndUpdateSubtask(subtask, expectedVersion));
+    }
+
+    @Override
+    public void deleteSubtaskById(int id) {
+        timed(Operation.DELETE_SUBTASK, () -> delegate.deleteSubtaskById(id));
+    }
+
+    @Override
+    public List<Subtask> getEpicSubtasks(int epicId) {
+        return timed(Operation.GET_EPIC_SUBTASKS, () -> delegate.getEpicSubtasks(epicId));
+    }
+
+    @Override
+    public List<Task> getTasksByStatus(TaskStatus status) {
+        return timed(Operation.GET_BY_STATUS, () -> delegate.getTasksByStatus(status));
+    }
+
+    @Override
+    public List<Epic> getEpicsByStatus(TaskStatus status) {
+        return timed(Operation.GET_BY_STATUS, () -> delegate.getEpicsByStatus(status));
+    }
+
+    @Override
+    public List<Subtask> getSubtasksByStatus(TaskStatus status) {
+        return timed(Operation.GET_BY_STATUS, () -> delegate.getSubtasksByStatus(status));
+    }
+
+    @Override
+    public List<Task> getPrioritizedTasks() {
+        return timed(Operation.GET_PRIORITIZED, delegate::getPrioritizedTasks);
+    }
+
+    @Override
+    public List<Task> search(String query) {
+        return timed(Operation.SEARCH, () -> delegate.search(query));
+    }
+
+    @Override
+    public BatchResult applyBatch(Batch batch) {
+        return timed(Operation.APPLY_BATCH, () -> delegate.applyBatch(batch));
+    }
+
+    @Override
+    public TaskEventBus getEventBus() {
+        return delegate.getEventBus();
+    }
+
+    @Override
+    public List<Task> getHistory() {
+        return timed(Operation.GET_HISTORY, delegate::getHistory);
+    }
+
+    @Override
+    public Task getTask(int id) {
+        return timed(Operation.GET_TASK, () -> delegate.getTask(id));
+    }
+
+    @Override
+    public Epic getEpic(int id) {
+        return timed(Operation.GET_EPIC, () -> delegate.getEpic(id));
+    }
+
+    @Override
+    public Subtask getSubtask(int id) {
+        return timed(Operation.GET_SUBTASK, () -> delegate.getSubtask(id));
+    }
+
+    private void timed(Operation operation, Runnable action) {
+        long start = metrics.start(operation);
+        boolean failed = true;
+        try {
+            action.run();
+            failed = false;
+        } finally {
+            metrics.stop(operation, start, failed);
+        }
+    }
+
+    private <T> T timed(Operation operation, Supplier<T> action) {
+        long start = metrics.start(operation);
+        boolean failed = true;
+        try {
+            T result = action.get();
+            failed = false;
+            return result;
+        } finally {
+            metrics.stop(operation, start, failed);
+        }
+    }
+}
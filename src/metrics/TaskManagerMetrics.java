@@ -0,0 +1,263 @@
+package metrics;
+
+import manager.HistoryManager;
+import manager.TaskManager;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+public final class TaskManagerMetrics implements TaskManagerMetricsMXBean {
+    private static final String DOMAIN = "kanban";
+    private static final int DEFAULT_SAMPLE_RATE = 16;
+    private static final long NOT_SAMPLED = Long.MIN_VALUE;
+
+    public enum Operation {
+        CREATE_TASK, UPDATE_TASK, DELETE_TASK, DELETE_ALL_TASKS,
+        CREATE_EPIC, UPDATE_EPIC, DELETE_EPIC, DELETE_ALL_EPICS,
+        CREATE_SUBTASK, UPDATE_SUBTASK, DELETE_SUBTASK, DELETE_ALL_SUBTASKS,
+        GET_TASK, GET_EPIC, GET_SUBTASK,
+        LIST_TASKS, LIST_EPICS, LIST_SUBTASKS,
+        GET_EPIC_SUBTASKS, GET_BY_STATUS, GET_PRIORITIZED, SEARCH, GET_HISTORY, APPLY_BATCH;
+
+        private final String label = name().toLowerCase(Locale.ROOT);
+    }
+
+    private final int sampleRate;
+    private final LongAdder[] calls = new LongAdder[Operation.values().length];
+    private final Histogram[] latencies = new Histogram[Operation.values().length];
+    private final LongAdder[] errors = new LongAdder[Operation.values().length];
+    private final LongAdder historyAdds = new LongAdder();
+    private final LongAdder historyDisplacements = new LongAdder();
+    private final LongAdder historyRemovals = new LongAdder();
+    private volatile TaskManager manager;
+    private volatile HistoryManager history;
+    private volatile ObjectName registeredName;
+
+    public TaskManagerMetrics() {
+        this(DEFAULT_SAMPLE_RATE);
+    }
+
+    public TaskManagerMetrics(int sampleRate) {
+        if (sampleRate <= 0) {
+            throw new IllegalArgumentException("Sample rate must be positive");
+        }
+        this.sampleRate = sampleRate;
+        for (int i = 0; i < latencies.length; i++) {
+            calls[i] = new LongAdder();
+            latencies[i] = new Histogram();
+            errors[i] = new LongAdder();
+        }
+    }
+
+    @Override
+    public int getSampleRate() {
+        return sampleRate;
+    }
+
+    long start(Operation operation) {
+        calls[operation.ordinal()].increment();
+        if (sampleRate > 1 && ThreadLocalRandom.current().nextInt(sampleRate) != 0) {
+            return NOT_SAMPLED;
+        }
+        return System.nanoTime();
+    }
+
+    void stop(Operation operation, long start, boolean failed) {
+        if (start != NOT_SAMPLED) {
+            latencies[operation.ordinal()].record(System.nanoTime() - start);
+        }
+        if (failed) {
+            errors[operation.ordinal()].increment();
+        }
+    }
+
+    public long getCallCount(Operation operation) {
+        return calls[operation.ordinal()].sum();
+    }
+
+    public Histogram.Stats getLatency(Operation operation) {
+        return latencies[operation.ordinal()].snapshot();
+    }
+
+    public long getErrorCount(Operation operation) {
+        return errors[operation.ordinal()].sum();
+    }
+
+    void historyAdded(boolean displaced) {
+        historyAdds.increment();
+        if (displaced) {
+            historyDisplacements.increment();
+        }
+    }
+
+    void historyRemoved() {
+        historyRemovals.increment();
+    }
+
+    void attach(TaskManager manager) {
+        this.manager = manager;
+    }
+
+    void attach(HistoryManager history) {
+        this.history = history;
+    }
+
+    @Override
+    public int getTaskCount() {
+        TaskManager source = manager;
+        return source == null ? 0 : source.getTaskCount();
+    }
+
+    @Override
+    public int getEpicCount() {
+        TaskManager source = manager;
+        return source == null ? 0 : source.getEpicCount();
+    }
+
+    @Override
+    public int getSubtaskCount() {
+        TaskManager source = manager;
+        return source == null ? 0 : source.getSubtaskCount();
+    }
+
+    @Override
+    public int getHistorySize() {
+        HistoryManager source = history;
+        if (source != null) {
+            return source.size();
+        }
+        TaskManager fallback = manager;
+        return fallback == null ? 0 : fallback.getHistory().size();
+    }
+
+    @Override
+    public long getHistoryAdds() {
+        return historyAdds.sum();
+    }
+
+    @Override
+    public long getHistoryDisplacements() {
+        return historyDisplacements.sum();
+    }
+
+    @Override
+    public long getHistoryRemovals() {
+        return historyRemovals.sum();
+    }
+
+    @Override
+    public Histogram.Stats getEpicFanOut() {
+        Histogram fanOut = new Histogram();
+        TaskManager source = manager;
+        if (source != null) {
+            source.forEachEpic(epic -> fanOut.record(epic.getSubtaskCount()));
+        }
+        return fanOut.snapshot();
+    }
+
+    @Override
+    public Map<String, Histogram.Stats> getOperationLatencies() {
+        Map<String, Histogram.Stats> result = new TreeMap<>();
+        for (Operation operation : Operation.values()) {
+            result.put(operation.label, getLatency(operation));
+        }
+        return result;
+    }
+
+    @Override
+    public Map<String, Long> getOperationCalls() {
+        Map<String, Long> result = new TreeMap<>();
+        for (Operation operation : Operation.values()) {
+            result.put(operation.label, getCallCount(operation));
+        }
+        return result;
+    }
+
+    @Override
+    public Map<String, Long> getOperationErrors() {
+        Map<String, Long> result = new TreeMap<>();
+        for (Operation operation : Operation.values()) {
+            result.put(operation.label, getErrorCount(operation));
+        }
+        return result;
+    }
+
+    @Override
+    public String dump() {
+        StringBuilder out = new StringBuilder();
+        writeText(out);
+        return out.toString();
+    }
+
+    public void writeText(Appendable out) {
+        try {
+            line(out, "kanban_store_size{type=\"task\"}", getTaskCount());
+            line(out, "kanban_store_size{type=\"epic\"}", getEpicCount());
+            line(out, "kanban_store_size{type=\"subtask\"}", getSubtaskCount());
+            line(out, "kanban_history_size", getHistorySize());
+            line(out, "kanban_latency_sample_rate", sampleRate);
+            line(out, "kanban_history_adds_total", getHistoryAdds());
+            line(out, "kanban_history_displacements_total", getHistoryDisplacements());
+            line(out, "kanban_history_removals_total", getHistoryRemovals());
+            writeStats(out, "kanban_epic_fanout", "", getEpicFanOut());
+            for (Operation operation : Operation.values()) {
+                String labels = "op=\"" + operation.label + "\"";
+                line(out, "kanban_operation_calls_total{" + labels + "}", getCallCount(operation));
+                line(out, "kanban_operation_errors_total{" + labels + "}", getErrorCount(operation));
+                writeStats(out, "kanban_operation_latency_nanos", labels, getLatency(operation));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public synchronized ObjectName registerMBean(String name) {
+        try {
+            ObjectName objectName = new ObjectName(DOMAIN + ":type=TaskManager,name=" + ObjectName.quote(name));
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            server.registerMBean(this, objectName);
+            registeredName = objectName;
+            return objectName;
+        } catch (JMException e) {
+            throw new IllegalStateException("Cannot register metrics MBean " + name, e);
+        }
+    }
+
+    public synchronized void unregisterMBean() {
+        ObjectName objectName = registeredName;
+        if (objectName == null) {
+            return;
+        }
+        try {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(objectName);
+            registeredName = null;
+        } catch (JMException e) {
+            throw new IllegalStateException("Cannot unregister metrics MBean " + objectName, e);
+        }
+    }
+
+    private static void writeStats(Appendable out, String name, String labels, Histogram.Stats stats)
+            throws IOException {
+        String selector = labels.isEmpty() ? "" : "{" + labels + "}";
+        String quantile = labels.isEmpty() ? "{quantile=\"" : "{" + labels + ",quantile=\"";
+        line(out, name + "_count" + selector, stats.count());
+        line(out, name + "_mean" + selector, stats.mean());
+        line(out, name + quantile + "0.5\"}", stats.p50());
+        line(out, name + quantile + "0.9\"}", stats.p90());
+        line(out, name + quantile + "0.99\"}", stats.p99());
+        line(out, name + "_max" + selector, stats.max());
+    }
+
+    private static void line(Appendable out, String name, long value) throws IOException {
+        out.append(name).append(' ').append(Long.toString(value)).append('\n');
+    }
+}
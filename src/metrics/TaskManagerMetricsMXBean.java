@@ -0,0 +1,31 @@
+package metrics;
+
+import java.util.Map;
+
+public interface TaskManagerMetricsMXBean {
+    int getTaskCount();
+
+    int getEpicCount();
+
+    int getSubtaskCount();
+
+    int getHistorySize();
+
+    long getHistoryAdds();
+
+    long getHistoryDisplacements();
+
+    long getHistoryRemovals();
+
+    int getSampleRate();
+
+    Histogram.Stats getEpicFanOut();
+
+    Map<String, Histogram.Stats> getOperationLatencies();
+
+    Map<String, Long> getOperationCalls();
+
+    Map<String, Long> getOperationErrors();
+
+    String dump();
+}
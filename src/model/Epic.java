@@ -1,46 +1,164 @@
 package model;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.function.IntConsumer;
 
 public class Epic extends Task {
-    private List<Integer> subtaskIds;
+    private final SubtaskIdSet subtaskIds;
+    private final int[] statusCounts;
+    private LocalDateTime endTime;
+    private int modCount;
+    private volatile IdsView subtaskIdsView;
 
     public Epic(String name, String description) {
         super(name, description);
-        this.subtaskIds = new ArrayList<>();
+        this.subtaskIds = new SubtaskIdSet();
+        this.statusCounts = new int[TaskStatus.values().length];
     }
 
     public Epic(int id, String name, String description, TaskStatus status) {
         super(id, name, description, status);
-        this.subtaskIds = new ArrayList<>();
+        this.subtaskIds = new SubtaskIdSet();
+        this.statusCounts = new int[TaskStatus.values().length];
+    }
+
+    public Epic(Epic epic) {
+        super(epic);
+        this.subtaskIds = epic.subtaskIds.copy();
+        this.statusCounts = epic.statusCounts.clone();
+        this.endTime = epic.endTime;
     }
 
     public List<Integer> getSubtaskIds() {
-        return subtaskIds.isEmpty() ? Collections.emptyList() : new ArrayList<>(subtaskIds);
+        if (subtaskIds.size() == 0) {
+            return Collections.emptyList();
+        }
+        List<Integer> ids = new ArrayList<>(subtaskIds.size());
+        subtaskIds.forEach(ids::add);
+        return ids;
+    }
+
+    public List<Integer> getSubtaskIdsView() {
+        int expectedModCount = modCount;
+        IdsView view = subtaskIdsView;
+        if (view != null && view.modCount() == expectedModCount) {
+            return view.ids();
+        }
+        int[] raw = subtaskIds.toArray();
+        Integer[] ids = new Integer[raw.length];
+        for (int i = 0; i < raw.length; i++) {
+            ids[i] = raw[i];
+        }
+        List<Integer> result = List.of(ids);
+        subtaskIdsView = new IdsView(expectedModCount, result);
+        return result;
+    }
+
+    public void forEachSubtaskId(IntConsumer action) {
+        subtaskIds.forEach(action);
+    }
+
+    public int getSubtaskCount() {
+        return subtaskIds.size();
+    }
+
+    public boolean containsSubtaskId(int subtaskId) {
+        return subtaskIds.find(subtaskId) >= 0;
     }
 
     public void setSubtaskIds(List<Integer> subtaskIds) {
-        if (subtaskIds == null) {
-            this.subtaskIds = new ArrayList<>();
-        } else {
-            if (subtaskIds.contains(this.getId())) {
-                throw new IllegalArgumentException("Epic cannot contain itself as a subtask");
+        if (subtaskIds != null && subtaskIds.contains(this.getId())) {
+            throw new IllegalArgumentException("Epic cannot contain itself as a subtask");
+        }
+        clearSubtaskIds();
+        if (subtaskIds != null) {
+            for (Integer subtaskId : subtaskIds) {
+                addSubtaskId(subtaskId, TaskStatus.NEW);
             }
-            this.subtaskIds = new ArrayList<>(subtaskIds);
         }
     }
 
     public void addSubtaskId(int subtaskId) {
+        addSubtaskId(subtaskId, TaskStatus.NEW);
+    }
+
+    public void addSubtaskId(int subtaskId, TaskStatus status) {
         if (subtaskId == this.getId()) {
             throw new IllegalArgumentException("Epic cannot add itself as a subtask");
         }
-        subtaskIds.add(subtaskId);
+        int position = subtaskIds.find(subtaskId);
+        if (position >= 0) {
+            changeStatus(position, status);
+            return;
+        }
+        subtaskIds.add(subtaskId, status);
+        adjustCount(status, 1);
+        modCount++;
+    }
+
+    public void updateSubtaskStatus(int subtaskId, TaskStatus status) {
+        int position = subtaskIds.find(subtaskId);
+        if (position >= 0) {
+            changeStatus(position, status);
+        }
+    }
+
+    public void removeSubtaskId(int subtaskId) {
+        int position = subtaskIds.find(subtaskId);
+        if (position >= 0) {
+            adjustCount(subtaskIds.statusAt(position), -1);
+            subtaskIds.removeAt(position);
+            modCount++;
+        }
+    }
+
+    public void clearSubtaskIds() {
+        subtaskIds.clear();
+        Arrays.fill(statusCounts, 0);
+        modCount++;
     }
 
-    public void removeSubtaskId(Integer subtaskId) {
-        subtaskIds.remove(subtaskId);
+    public int getSubtaskCount(TaskStatus status) {
+        return status == null ? 0 : statusCounts[status.ordinal()];
+    }
+
+    public TaskStatus calculateStatus() {
+        int total = subtaskIds.size();
+        if (total == 0 || getSubtaskCount(TaskStatus.NEW) == total) {
+            return TaskStatus.NEW;
+        }
+        if (getSubtaskCount(TaskStatus.DONE) == total) {
+            return TaskStatus.DONE;
+        }
+        return TaskStatus.IN_PROGRESS;
+    }
+
+    @Override
+    public LocalDateTime getEndTime() {
+        return endTime;
+    }
+
+    public void setEndTime(LocalDateTime endTime) {
+        this.endTime = endTime;
+    }
+
+    private void changeStatus(int position, TaskStatus status) {
+        TaskStatus previous = subtaskIds.statusAt(position);
+        if (previous != status) {
+            subtaskIds.setStatus(position, status);
+            adjustCount(previous, -1);
+            adjustCount(status, 1);
+        }
+    }
+
+    private void adjustCount(TaskStatus status, int delta) {
+        if (status != null) {
+            statusCounts[status.ordinal()] += delta;
+        }
     }
 
     @Override
@@ -50,7 +168,13 @@ public class Epic extends Task {
                 ", name='" + getName() + '\'' +
                 ", description='" + getDescription() + '\'' +
                 ", status=" + getStatus() +
-                ", subtaskIds=" + subtaskIds +
+                ", subtaskIds=" + getSubtaskIds() +
+                ", startTime=" + getStartTime() +
+                ", duration=" + getDuration() +
+                ", endTime=" + endTime +
                 '}';
     }
-}
\ No newline at end of file
+
+    private record IdsView(int modCount, List<Integer> ids) {
+    }
+}
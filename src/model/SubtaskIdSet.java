@@ -0,0 +1,164 @@
+package model;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+final class SubtaskIdSet {
+    private static final byte NULL_STATUS = -1;
+    private static final byte REMOVED = -2;
+    private static final int MIN_CAPACITY = 8;
+    private static final TaskStatus[] STATUSES = TaskStatus.values();
+
+    private int[] ids = new int[MIN_CAPACITY];
+    private byte[] statuses = new byte[MIN_CAPACITY];
+    private int[] slots = new int[MIN_CAPACITY * 2];
+    private int length;
+    private int size;
+
+    SubtaskIdSet copy() {
+        SubtaskIdSet copy = new SubtaskIdSet();
+        copy.ids = ids.clone();
+        copy.statuses = statuses.clone();
+        copy.slots = slots.clone();
+        copy.length = length;
+        copy.size = size;
+        return copy;
+    }
+
+    int size() {
+        return size;
+    }
+
+    int find(int id) {
+        int mask = slots.length - 1;
+        for (int slot = mix(id) & mask; slots[slot] != 0; slot = (slot + 1) & mask) {
+            int position = slots[slot] - 1;
+            if (ids[position] == id) {
+                return position;
+            }
+        }
+        return -1;
+    }
+
+    TaskStatus statusAt(int position) {
+        return decode(statuses[position]);
+    }
+
+    void setStatus(int position, TaskStatus status) {
+        statuses[position] = encode(status);
+    }
+
+    void add(int id, TaskStatus status) {
+        if (length == ids.length) {
+            if (size < length / 2) {
+                rebuild(ids.length);
+            } else {
+                rebuild(ids.length * 2);
+            }
+        }
+        ids[length] = id;
+        statuses[length] = encode(status);
+        insertSlot(id, length);
+        length++;
+        size++;
+    }
+
+    void removeAt(int position) {
+        removeSlot(ids[position]);
+        statuses[position] = REMOVED;
+        size--;
+        if (size == 0) {
+            clear();
+        } else if (length > MIN_CAPACITY && size < length / 4) {
+            rebuild(Math.max(MIN_CAPACITY, Integer.highestOneBit(size) << 1));
+        }
+    }
+
+    void clear() {
+        if (ids.length > MIN_CAPACITY) {
+            ids = new int[MIN_CAPACITY];
+            statuses = new byte[MIN_CAPACITY];
+            slots = new int[MIN_CAPACITY * 2];
+        } else {
+            Arrays.fill(slots, 0);
+        }
+        length = 0;
+        size = 0;
+    }
+
+    void forEach(IntConsumer action) {
+        for (int i = 0; i < length; i++) {
+            if (statuses[i] != REMOVED) {
+                action.accept(ids[i]);
+            }
+        }
+    }
+
+    int[] toArray() {
+        int[] result = new int[size];
+        int index = 0;
+        for (int i = 0; i < length; i++) {
+            if (statuses[i] != REMOVED) {
+                result[index++] = ids[i];
+            }
+        }
+        return result;
+    }
+
+    private void rebuild(int capacity) {
+        int[] oldIds = ids;
+        byte[] oldStatuses = statuses;
+        int oldLength = length;
+        ids = new int[capacity];
+        statuses = new byte[capacity];
+        slots = new int[capacity * 2];
+        length = 0;
+        for (int i = 0; i < oldLength; i++) {
+            if (oldStatuses[i] != REMOVED) {
+                ids[length] = oldIds[i];
+                statuses[length] = oldStatuses[i];
+                insertSlot(oldIds[i], length);
+                length++;
+            }
+        }
+    }
+
+    private void insertSlot(int id, int position) {
+        int mask = slots.length - 1;
+        int slot = mix(id) & mask;
+        while (slots[slot] != 0) {
+            slot = (slot + 1) & mask;
+        }
+        slots[slot] = position + 1;
+    }
+
+    private void removeSlot(int id) {
+        int mask = slots.length - 1;
+        int slot = mix(id) & mask;
+        while (ids[slots[slot] - 1] != id) {
+            slot = (slot + 1) & mask;
+        }
+        int hole = slot;
+        for (int next = (hole + 1) & mask; slots[next] != 0; next = (next + 1) & mask) {
+            int home = mix(ids[slots[next] - 1]) & mask;
+            if (((next - home) & mask) >= ((next - hole) & mask)) {
+                slots[hole] = slots[next];
+                hole = next;
+            }
+        }
+        slots[hole] = 0;
+    }
+
+    private static byte encode(TaskStatus status) {
+        return status == null ? NULL_STATUS : (byte) status.ordinal();
+    }
+
+    private static TaskStatus decode(byte status) {
+        return status == NULL_STATUS ? null : STATUSES[status];
+    }
+
+    private static int mix(int id) {
+        int h = id * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
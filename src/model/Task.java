@@ -1,5 +1,7 @@
 package model;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.Objects;
 
 public class Task {
@@ -7,6 +9,9 @@ public class Task {
     private String name;
     private String description;
     private TaskStatus status;
+    private LocalDateTime startTime;
+    private Duration duration;
+    private volatile long version;
 
     public Task(String name, String description) {
         if (name == null || name.trim().isEmpty()) {
@@ -20,6 +25,12 @@ public class Task {
         this.status = TaskStatus.NEW;
     }
 
+    public Task(String name, String description, LocalDateTime startTime, Duration duration) {
+        this(name, description);
+        this.startTime = startTime;
+        this.duration = requireNonNegative(duration);
+    }
+
     public Task(int id, String name, String description, TaskStatus status) {
         this(name, description);
         this.id = id;
@@ -28,6 +39,13 @@ public class Task {
         }
     }
 
+    public Task(Task task) {
+        this(task.id, task.name, task.description, task.status);
+        this.startTime = task.startTime;
+        this.duration = task.duration;
+        this.version = task.version;
+    }
+
     public int getId() {
         return id;
     }
@@ -66,6 +84,37 @@ public class Task {
         this.status = status;
     }
 
+    public LocalDateTime getStartTime() {
+        return startTime;
+    }
+
+    public void setStartTime(LocalDateTime startTime) {
+        this.startTime = startTime;
+    }
+
+    public Duration getDuration() {
+        return duration;
+    }
+
+    public void setDuration(Duration duration) {
+        this.duration = requireNonNegative(duration);
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
+    public LocalDateTime getEndTime() {
+        if (startTime == null) {
+            return null;
+        }
+        return duration == null ? startTime : startTime.plus(duration);
+    }
+
     @Override
     public boolean equals(Object obj) {
         if (this == obj) return true;
@@ -85,6 +134,15 @@ public class Task {
                 ", name='" + name + '\'' +
                 ", description='" + description + '\'' +
                 ", status=" + status +
+                ", startTime=" + startTime +
+                ", duration=" + duration +
                 '}';
     }
-}
\ No newline at end of file
+
+    private static Duration requireNonNegative(Duration duration) {
+        if (duration != null && duration.isNegative()) {
+            throw new IllegalArgumentException("Task duration cannot be negative");
+        }
+        return duration;
+    }
+}
@@ -0,0 +1,127 @@
+package csv;
+
+import manager.Managers;
+import manager.TaskManager;
+import manager.TaskOverlapException;
+import model.*;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+class TaskCsvReaderTest {
+    @TempDir
+    Path directory;
+
+    @Test
+    void shouldExportAndImportBoardInParallelChunks() throws IOException {
+        TaskManager source = Managers.getDefault();
+        LocalDateTime start = LocalDateTime.of(2024, 1, 1, 0, 0);
+        for (int e = 0; e < 20; e++) {
+            int epicId = source.createEpic(new Epic("Эпик " + e, "Описание, с запятой"));
+            for (int s = 0; s < 50; s++) {
+                int index = e * 50 + s;
+                Subtask subtask = new Subtask("Подзадача " + index, "Строка\nвторая", epicId,
+                    start.plusHours(index), Duration.ofMinutes(30));
+                int subtaskId = source.createSubtask(subtask);
+                if (s % 2 == 0) {
+                    source.updateSubtask(new Subtask(subtaskId, "Подзадача " + index, "\"Готово\"", TaskStatus.DONE,
+                        epicId));
+                }
+            }
+            source.createTask(new Task("Задача " + e, "Описание"));
+        }
+        Path file = directory.resolve("board.csv");
+
+        assertEquals(1_040, TaskCsvWriter.export(source, file), "Должны выгружаться все элементы");
+        assertEquals(TaskCsv.HEADER, Files.readAllLines(file).get(0), "Файл должен начинаться с заголовка");
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+        TaskManager target = Managers.getDefault();
+        Map<Integer, Integer> ids;
+        try {
+            ids = new TaskCsvReader(pool, 1_024).importInto(target, file);
+        } finally {
+            pool.shutdown();
+        }
+
+        assertEquals(1_040, ids.size(), "Все идентификаторы из файла должны получить новые");
+        assertEquals(20, target.getEpics().size(), "Должны загружаться все эпики");
+        assertEquals(20, target.getTasks().size(), "Должны загружаться все задачи");
+        assertEquals(1_000, target.getSubtasks().size(), "Должны загружаться все подзадачи");
+        for (Epic epic : source.getEpics()) {
+            Epic imported = target.getEpicById(ids.get(epic.getId()));
+            assertEquals(epic.getName(), imported.getName(), "Эпик должен сохранять имя");
+            assertEquals(TaskStatus.IN_PROGRESS, imported.getStatus(), "Статус эпика должен вычисляться после загрузки");
+            assertEquals(50, imported.getSubtaskIds().size(), "Подзадачи должны ссылаться на новый эпик");
+            assertEquals(epic.getStartTime(), imported.getStartTime(), "Время эпика должно вычисляться");
+        }
+        for (Subtask subtask : source.getSubtasks()) {
+            Subtask imported = target.getSubtaskById(ids.get(subtask.getId()));
+            assertEquals(subtask.getDescription(), imported.getDescription(), "Описание должно сохраняться");
+            assertEquals(subtask.getStatus(), imported.getStatus(), "Статус подзадачи должен сохраняться");
+            assertEquals(subtask.getStartTime(), imported.getStartTime(), "Время подзадачи должно сохраняться");
+        }
+    }
+
+    @Test
+    void shouldRejectUnknownEpicAndHeader() throws IOException {
+        Path file = directory.resolve("broken.csv");
+        Files.writeString(file, TaskCsv.HEADER + "\n5,SUBTASK,Подзадача,NEW,Описание,7,,\n");
+        TaskManager manager = Managers.getDefault();
+        assertThrows(IllegalArgumentException.class, () -> new TaskCsvReader().importInto(manager, file),
+            "Подзадача без эпика в файле должна отклоняться");
+        assertTrue(manager.getSubtasks().isEmpty(), "После ошибки ничего не должно загрузиться");
+
+        Files.writeString(file, TaskCsv.HEADER + "\n1,EPIC,Эпик,NEW,Описание,,,\n5,SUBTASK,Подзадача,NEW,Описание,7,,\n");
+        assertThrows(IllegalArgumentException.class, () -> new TaskCsvReader().importInto(manager, file),
+            "Ссылка на неизвестный эпик должна отклоняться");
+        assertTrue(manager.getEpics().isEmpty(), "Эпики не должны создаваться до проверки ссылок");
+
+        Files.writeString(file, TaskCsv.HEADER + "\n1,EPIC,Эпик,NEW,Описание,,,\n1,TASK,Задача,NEW,Описание,,,\n");
+        assertThrows(IllegalArgumentException.class, () -> new TaskCsvReader().importInto(manager, file),
+            "Повторяющийся идентификатор должен отклоняться");
+        assertTrue(manager.getEpics().isEmpty(), "Эпики не должны создаваться до проверки идентификаторов");
+
+        Files.writeString(file, "id,name\n1,Task\n");
+        assertThrows(IllegalArgumentException.class, () -> new TaskCsvReader().read(file),
+            "Чужой заголовок должен отклоняться");
+
+        Files.writeString(file, TaskCsv.HEADER + "\n");
+        assertEquals(List.of(), new TaskCsvReader().read(file), "Файл без записей должен быть пустым");
+        Files.writeString(file, TaskCsv.HEADER);
+        assertEquals(List.of(), new TaskCsvReader().read(file), "Заголовок без перевода строки должен читаться");
+
+        Files.writeString(file, "id,name");
+        assertThrows(IllegalArgumentException.class, () -> new TaskCsvReader().read(file),
+            "Чужой заголовок без перевода строки должен отклоняться");
+        Files.writeString(file, "");
+        assertThrows(IllegalArgumentException.class, () -> new TaskCsvReader().read(file),
+            "Файл без заголовка должен отклоняться");
+    }
+
+    @Test
+    void shouldDeleteImportedEpicsWhenTheRestFails() throws IOException {
+        Path file = directory.resolve("overlap.csv");
+        Files.writeString(file, TaskCsv.HEADER + "\n1,EPIC,Эпик,NEW,Описание,,,\n"
+            + "2,SUBTASK,Подзадача,NEW,Описание,1,,\n"
+            + "3,TASK,Первая,NEW,Описание,,2024-01-01T10:00,PT1H\n"
+            + "4,TASK,Вторая,NEW,Описание,,2024-01-01T10:30,PT1H\n");
+        TaskManager manager = Managers.getDefault();
+        int existingId = manager.createEpic(new Epic("Существующий", "Описание"));
+
+        assertThrows(TaskOverlapException.class, () -> new TaskCsvReader().importInto(manager, file),
+            "Пересечение по времени должно прерывать загрузку");
+        assertEquals(List.of(existingId), manager.getEpics().stream().map(Task::getId).toList(),
+            "Эпики из файла должны удаляться после ошибки");
+        assertTrue(manager.getTasks().isEmpty(), "Задачи из файла не должны сохраняться");
+        assertTrue(manager.getSubtasks().isEmpty(), "Подзадачи из файла не должны сохраняться");
+    }
+}
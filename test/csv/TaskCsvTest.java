@@ -0,0 +1,49 @@
+package csv;
+
+import model.*;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+class TaskCsvTest {
+
+    @Test
+    void shouldRoundTripQuotedFields() {
+        LocalDateTime start = LocalDateTime.of(2024, 1, 1, 10, 0);
+        Task task = new Task(1, "Задача, \"важная\"", "Первая строка\nвторая строка", TaskStatus.IN_PROGRESS);
+        task.setStartTime(start);
+        task.setDuration(Duration.ofMinutes(90));
+        Epic epic = new Epic(2, "Эпик", "", TaskStatus.NEW);
+        Subtask subtask = new Subtask(3, "Подзадача", "Описание", TaskStatus.DONE, 2);
+
+        StringBuilder out = new StringBuilder();
+        TaskCsv.write(out, task);
+        TaskCsv.write(out, epic);
+        TaskCsv.write(out, subtask);
+        List<Task> parsed = TaskCsv.parse(out);
+
+        assertEquals(3, parsed.size(), "Должны читаться все записи");
+        Task restored = parsed.get(0);
+        assertEquals(task.getName(), restored.getName(), "Кавычки и запятые должны экранироваться");
+        assertEquals(task.getDescription(), restored.getDescription(), "Перевод строки внутри поля должен сохраняться");
+        assertEquals(TaskStatus.IN_PROGRESS, restored.getStatus(), "Статус должен сохраняться");
+        assertEquals(start, restored.getStartTime(), "Время начала должно сохраняться");
+        assertEquals(Duration.ofMinutes(90), restored.getDuration(), "Длительность должна сохраняться");
+        assertInstanceOf(Epic.class, parsed.get(1), "Тип эпика должен сохраняться");
+        assertEquals("", parsed.get(1).getDescription(), "Пустое описание должно сохраняться");
+        assertEquals(2, ((Subtask) parsed.get(2)).getEpicId(), "Подзадача должна помнить эпик");
+    }
+
+    @Test
+    void shouldRejectMalformedRecords() {
+        assertThrows(IllegalArgumentException.class, () -> TaskCsv.parse("1,TASK,Name,NEW\n"),
+            "Запись с недостающими полями должна отклоняться");
+        assertThrows(IllegalArgumentException.class, () -> TaskCsv.parse("1,BUG,Name,NEW,Description,,,\n"),
+            "Неизвестный тип должен отклоняться");
+        assertThrows(IllegalArgumentException.class, () -> TaskCsv.parse("1,TASK,\"Name,NEW,Description,,,\n"),
+            "Незакрытая кавычка должна отклоняться");
+        assertTrue(TaskCsv.parse("\n\r\n").isEmpty(), "Пустые строки должны пропускаться");
+    }
+}
@@ -0,0 +1,129 @@
+package event;
+
+import model.Task;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+class TaskEventBusTest {
+
+    @Test
+    void shouldDeliverEventsInOrderWithSequenceNumbers() throws InterruptedException {
+        BlockingQueue<TaskEvent> received = new LinkedBlockingQueue<>();
+        List<Integer> batchSizes = new ArrayList<>();
+        try (TaskEventBus bus = new TaskEventBus(1024, 16)) {
+            bus.subscribe(events -> {
+                batchSizes.add(events.size());
+                received.addAll(events);
+            });
+            Task task = new Task(1, "Task", "Description", null);
+            for (int i = 0; i < 100; i++) {
+                bus.publish(TaskEvent.Type.TASK_UPDATED, 1, task);
+            }
+
+            for (long sequence = 1; sequence <= 100; sequence++) {
+                TaskEvent event = received.poll(5, TimeUnit.SECONDS);
+                assertNotNull(event, "Событие должно быть доставлено");
+                assertEquals(sequence, event.sequence(), "События должны приходить по порядку номеров");
+                assertSame(task, event.task(), "Событие должно содержать задачу");
+            }
+            assertTrue(batchSizes.stream().allMatch(size -> size <= 16), "Размер пачки не должен превышать лимит");
+            assertEquals(100, bus.getLastSequence(), "Номер последнего события должен расти монотонно");
+        }
+    }
+
+    @Test
+    void shouldResumeFromSequence() throws InterruptedException {
+        BlockingQueue<TaskEvent> received = new LinkedBlockingQueue<>();
+        try (TaskEventBus bus = new TaskEventBus()) {
+            for (int id = 1; id <= 10; id++) {
+                bus.publish(TaskEvent.Type.TASK_DELETED, id, null);
+            }
+            Subscription subscription = bus.subscribe(7, received::addAll);
+
+            for (int id = 7; id <= 10; id++) {
+                TaskEvent event = received.poll(5, TimeUnit.SECONDS);
+                assertNotNull(event, "Пропущенные события должны быть доставлены после подписки");
+                assertEquals(id, event.id(), "Доставка должна продолжиться с указанного номера");
+            }
+            assertNull(received.poll(50, TimeUnit.MILLISECONDS), "Более ранние события не должны доставляться");
+            subscription.close();
+            assertEquals(11, subscription.getNextSequence(), "Подписка должна сообщать номер для продолжения");
+        }
+    }
+
+    @Test
+    void shouldNotBlockPublisherOnSlowSubscriber() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        BlockingQueue<TaskEvent> received = new LinkedBlockingQueue<>();
+        List<long[]> lost = new ArrayList<>();
+        try (TaskEventBus bus = new TaskEventBus(8, 4)) {
+            Subscription subscription = bus.subscribe(new TaskEventListener() {
+                @Override
+                public void onEvents(List<TaskEvent> events) {
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    received.addAll(events);
+                }
+
+                @Override
+                public void onEventsLost(long fromSequence, long toSequence) {
+                    lost.add(new long[]{fromSequence, toSequence});
+                }
+            });
+            bus.publish(TaskEvent.Type.TASK_CREATED, 1, null);
+            Thread.sleep(50);
+            for (int id = 2; id <= 100; id++) {
+                bus.publish(TaskEvent.Type.TASK_CREATED, id, null);
+            }
+            assertEquals(100, bus.getLastSequence(), "Публикация не должна ждать медленного подписчика");
+            release.countDown();
+
+            TaskEvent last = null;
+            while (last == null || last.sequence() < 100) {
+                last = received.poll(5, TimeUnit.SECONDS);
+                assertNotNull(last, "Подписчик должен догнать последние события");
+            }
+            assertTrue(subscription.getLostCount() > 0, "Отставший подписчик должен узнать о потерянных событиях");
+            assertFalse(lost.isEmpty(), "Подписчик должен получить уведомление о пропуске");
+            assertTrue(lost.getFirst()[0] >= 2 && lost.getFirst()[1] < 100, "Диапазон пропуска должен быть корректным");
+        }
+    }
+
+    @Test
+    void shouldStopSubscriptionWhenListenerFails() throws InterruptedException {
+        try (TaskEventBus bus = new TaskEventBus()) {
+            Subscription subscription = bus.subscribe(events -> {
+                throw new IllegalStateException("boom");
+            });
+            bus.publish(TaskEvent.Type.TASK_CREATED, 1, null);
+            for (int i = 0; i < 100 && !subscription.isClosed(); i++) {
+                Thread.sleep(10);
+            }
+            assertTrue(subscription.isClosed(), "Подписка должна остановиться после ошибки слушателя");
+            assertInstanceOf(IllegalStateException.class, subscription.getFailure(), "Ошибка должна сохраниться");
+            assertEquals(2, bus.publish(TaskEvent.Type.TASK_CREATED, 2, null),
+                "Публикация должна продолжаться после ошибки подписчика");
+        }
+    }
+
+    @Test
+    void shouldRejectInvalidConfiguration() {
+        assertThrows(IllegalArgumentException.class, () -> new TaskEventBus(100, 16),
+            "Емкость должна быть степенью двойки");
+        assertThrows(IllegalArgumentException.class, () -> new TaskEventBus(16, 0),
+            "Размер пачки должен быть положительным");
+        try (TaskEventBus bus = new TaskEventBus()) {
+            assertThrows(IllegalArgumentException.class, () -> bus.subscribe(null),
+                "Слушатель не может быть null");
+        }
+    }
+}
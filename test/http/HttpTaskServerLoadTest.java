@@ -0,0 +1,89 @@
+package http;
+
+import manager.Managers;
+import manager.TaskManager;
+import model.Task;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+class HttpTaskServerLoadTest {
+
+    private static final int CLIENTS = 200;
+    private static final int REQUESTS_PER_CLIENT = 25;
+    private static final int TASKS = 100;
+
+    @Test
+    void shouldServeConcurrentKeepAliveClients() throws Exception {
+        TaskManager manager = Managers.getConcurrent();
+        int[] ids = new int[TASKS];
+        for (int i = 0; i < TASKS; i++) {
+            ids[i] = manager.createTask(new Task("Task " + i, "Description " + i));
+        }
+
+        try (HttpTaskServer server = new HttpTaskServer(manager, 0);
+             ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor();
+             HttpClient client = HttpClient.newBuilder()
+                 .version(HttpClient.Version.HTTP_1_1)
+                 .executor(clients)
+                 .build()) {
+            server.start();
+            String base = "http://localhost:" + server.getPort();
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<long[]>> results = new ArrayList<>(CLIENTS);
+            for (int c = 0; c < CLIENTS; c++) {
+                int clientId = c;
+                results.add(clients.submit(() -> {
+                    long[] latencies = new long[REQUESTS_PER_CLIENT];
+                    start.await();
+                    for (int r = 0; r < REQUESTS_PER_CLIENT; r++) {
+                        String path = r % 10 == 0 ? "/tasks" : "/tasks/" + ids[(clientId + r) % TASKS];
+                        HttpRequest request = HttpRequest.newBuilder(URI.create(base + path)).GET().build();
+                        long began = System.nanoTime();
+                        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+                        latencies[r] = System.nanoTime() - began;
+                        if (response.statusCode() != 200) {
+                            throw new AssertionError("Unexpected status " + response.statusCode() + " for " + path);
+                        }
+                    }
+                    return latencies;
+                }));
+            }
+
+            long began = System.nanoTime();
+            start.countDown();
+            long[] all = new long[CLIENTS * REQUESTS_PER_CLIENT];
+            int index = 0;
+            for (Future<long[]> result : results) {
+                long[] latencies = result.get(60, TimeUnit.SECONDS);
+                System.arraycopy(latencies, 0, all, index, latencies.length);
+                index += latencies.length;
+            }
+            long elapsed = System.nanoTime() - began;
+
+            Arrays.sort(all);
+            double seconds = elapsed / 1e9;
+            System.out.printf("HTTP load: %d clients, %d requests in %.2f s, %.0f req/s, p50 %.2f ms, p99 %.2f ms%n",
+                CLIENTS, all.length, seconds, all.length / seconds,
+                percentile(all, 0.50) / 1e6, percentile(all, 0.99) / 1e6);
+
+            assertEquals(CLIENTS * REQUESTS_PER_CLIENT, index, "Все запросы должны завершиться успешно");
+            assertTrue(percentile(all, 0.50) <= percentile(all, 0.99), "Перцентили должны быть упорядочены");
+        }
+    }
+
+    private static long percentile(long[] sorted, double percentile) {
+        return sorted[Math.min(sorted.length - 1, (int) Math.ceil(percentile * sorted.length) - 1)];
+    }
+}
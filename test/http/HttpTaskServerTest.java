@@ -0,0 +1,151 @@
+package http;
+
+import manager.Managers;
+import manager.TaskManager;
+import model.*;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+class HttpTaskServerTest {
+
+    private TaskManager manager;
+    private HttpTaskServer server;
+    private HttpClient client;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        manager = Managers.getConcurrent();
+        server = new HttpTaskServer(manager, 0);
+        server.start();
+        client = HttpClient.newHttpClient();
+    }
+
+    @AfterEach
+    void tearDown() {
+        client.close();
+        server.stop();
+    }
+
+    @Test
+    void shouldCreateAndReturnTask() throws Exception {
+        HttpResponse<String> created = send("POST", "/tasks",
+            "{\"name\":\"Задача\",\"description\":\"Описание \\\"в кавычках\\\"\",\"status\":\"IN_PROGRESS\","
+                + "\"startTime\":\"2024-01-01T10:00\",\"duration\":\"PT30M\"}");
+
+        assertEquals(201, created.statusCode(), "Создание задачи должно возвращать 201");
+        Task task = manager.getTasks().getFirst();
+        assertEquals("Описание \"в кавычках\"", task.getDescription(), "Строки должны разбираться с экранированием");
+        assertEquals(TaskStatus.IN_PROGRESS, task.getStatus(), "Статус должен разбираться");
+        assertEquals(Duration.ofMinutes(30), task.getDuration(), "Продолжительность должна разбираться");
+
+        HttpResponse<String> loaded = send("GET", "/tasks/" + task.getId(), null);
+        assertEquals(200, loaded.statusCode(), "Существующая задача должна возвращаться");
+        assertTrue(loaded.body().contains("\"startTime\":\"2024-01-01T10:00\""), "Ответ должен содержать время начала");
+        assertEquals(task.getId(), manager.getHistory().getFirst().getId(), "Просмотр через API должен попадать в историю");
+    }
+
+    @Test
+    void shouldUpdateAndDeleteTask() throws Exception {
+        int id = manager.createTask(new Task("Task", "Description"));
+
+        HttpResponse<String> updated = send("POST", "/tasks",
+            "{\"id\":" + id + ",\"name\":\"Updated\",\"description\":\"Description\",\"status\":\"DONE\"}");
+        assertEquals(200, updated.statusCode(), "Обновление задачи должно возвращать 200");
+        assertEquals("Updated", manager.getTaskById(id).getName(), "Задача должна обновиться");
+
+        assertEquals(200, send("DELETE", "/tasks/" + id, null).statusCode(), "Удаление должно возвращать 200");
+        assertNull(manager.getTaskById(id), "Задача должна быть удалена");
+        assertEquals(404, send("GET", "/tasks/" + id, null).statusCode(), "Удаленная задача не должна находиться");
+    }
+
+    @Test
+    void shouldRejectOverlappingTaskWith406() throws Exception {
+        LocalDateTime start = LocalDateTime.of(2024, 1, 1, 10, 0);
+        manager.createTask(new Task("Task", "Description", start, Duration.ofHours(1)));
+
+        HttpResponse<String> response = send("POST", "/tasks",
+            "{\"name\":\"Overlap\",\"description\":\"\",\"startTime\":\"2024-01-01T10:30\",\"duration\":\"PT1H\"}");
+
+        assertEquals(406, response.statusCode(), "Пересечение по времени должно возвращать 406");
+        assertEquals(1, manager.getTasks().size(), "Пересекающаяся задача не должна сохраниться");
+    }
+
+    @Test
+    void shouldReturnEpicWithSubtasks() throws Exception {
+        int epicId = manager.createEpic(new Epic("Epic", "Description"));
+        HttpResponse<String> created = send("POST", "/subtasks",
+            "{\"name\":\"Subtask\",\"description\":\"Description\",\"epicId\":" + epicId + ",\"status\":\"DONE\"}");
+        assertEquals(201, created.statusCode(), "Создание подзадачи должно возвращать 201");
+
+        HttpResponse<String> epic = send("GET", "/epics/" + epicId, null);
+        assertTrue(epic.body().contains("\"status\":\"DONE\""), "Статус эпика должен пересчитаться");
+        HttpResponse<String> subtasks = send("GET", "/epics/" + epicId + "/subtasks", null);
+        assertEquals(200, subtasks.statusCode(), "Подзадачи эпика должны возвращаться");
+        assertTrue(subtasks.body().contains("\"epicId\":" + epicId), "Ответ должен содержать подзадачу эпика");
+        assertEquals(404, send("GET", "/epics/999/subtasks", null).statusCode(),
+            "Подзадачи несуществующего эпика должны возвращать 404");
+    }
+
+    @Test
+    void shouldReturnHistoryAndPrioritizedTasks() throws Exception {
+        LocalDateTime start = LocalDateTime.of(2024, 1, 1, 10, 0);
+        int late = manager.createTask(new Task("Late", "Description", start.plusHours(2), Duration.ofHours(1)));
+        int early = manager.createTask(new Task("Early", "Description", start, Duration.ofHours(1)));
+        manager.getTask(late);
+
+        HttpResponse<String> history = send("GET", "/history", null);
+        HttpResponse<String> prioritized = send("GET", "/prioritized", null);
+
+        assertEquals(200, history.statusCode(), "История должна возвращаться");
+        assertTrue(history.body().startsWith("[{\"id\":" + late + ","), "История должна содержать просмотренную задачу");
+        assertTrue(prioritized.body().startsWith("[{\"id\":" + early + ","), "Первой должна быть самая ранняя задача");
+        assertEquals(405, send("POST", "/history", "{}").statusCode(), "Изменение истории не поддерживается");
+    }
+
+    @Test
+    void shouldReturnErrorsForInvalidRequests() throws Exception {
+        assertEquals(400, send("POST", "/tasks", "{\"name\":").statusCode(), "Некорректный JSON должен возвращать 400");
+        assertEquals(400, send("POST", "/tasks", "{\"description\":\"\"}").statusCode(),
+            "Задача без имени должна возвращать 400");
+        assertEquals(400, send("GET", "/tasks/abc", null).statusCode(), "Некорректный id должен возвращать 400");
+        assertEquals(404, send("GET", "/tasks/1", null).statusCode(), "Несуществующая задача должна возвращать 404");
+        assertEquals(404, send("GET", "/tasksx", null).statusCode(), "Неизвестный путь должен возвращать 404");
+        assertEquals(400, send("POST", "/subtasks", "{\"name\":\"Subtask\",\"description\":\"\",\"epicId\":42}")
+            .statusCode(), "Подзадача без эпика должна возвращать 400");
+    }
+
+    @Test
+    void shouldServeMetricsForInstrumentedManager() throws Exception {
+        assertEquals(404, send("GET", "/metrics", null).statusCode(), "Без инструментирования метрик нет");
+        server.stop();
+        manager = Managers.getInstrumented();
+        server = new HttpTaskServer(manager, 0);
+        server.start();
+        int id = manager.createTask(new Task("Task", "Description"));
+        send("GET", "/tasks/" + id, null);
+
+        HttpResponse<String> metrics = send("GET", "/metrics", null);
+        assertEquals(200, metrics.statusCode(), "Метрики должны возвращаться");
+        assertTrue(metrics.headers().firstValue("Content-Type").orElse("").startsWith("text/plain"),
+            "Метрики должны отдаваться текстом");
+        assertTrue(metrics.body().contains("kanban_store_size{type=\"task\"} 1\n"), "Метрики должны содержать размер хранилища");
+        assertTrue(metrics.body().contains("kanban_operation_calls_total{op=\"get_task\"} 1\n"),
+            "Метрики должны учитывать просмотр через API");
+    }
+
+    private HttpResponse<String> send(String method, String path, String body) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + server.getPort() + path))
+            .method(method, body == null ? HttpRequest.BodyPublishers.noBody() : HttpRequest.BodyPublishers.ofString(body))
+            .build();
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+}
@@ -0,0 +1,56 @@
+package json;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
+class JsonReaderTest {
+
+    @Test
+    void shouldReadTokensInOrder() {
+        JsonReader reader = reader(" { \"id\" : -17 , \"ok\":false, \"list\":[ [], {\"a\":null} ], \"name\":\"x\" } ");
+
+        reader.beginObject();
+        assertEquals("id", reader.nextName(), "Имя поля должно читаться");
+        assertEquals(-17, reader.nextInt(), "Отрицательное число должно читаться");
+        assertEquals("ok", reader.nextName(), "Имя поля должно читаться");
+        assertFalse(reader.nextBoolean(), "Логическое значение должно читаться");
+        assertEquals("list", reader.nextName(), "Имя поля должно читаться");
+        assertEquals(JsonReader.Token.BEGIN_ARRAY, reader.peek(), "Должен начинаться массив");
+        reader.skipValue();
+        assertEquals("name", reader.nextName(), "После пропуска должно читаться следующее поле");
+        assertEquals("x", reader.nextString(), "Строка должна читаться");
+        reader.endObject();
+        assertEquals(JsonReader.Token.END_DOCUMENT, reader.peek(), "Документ должен завершиться");
+    }
+
+    @Test
+    void shouldDecodeEscapesAndUtf8() {
+        JsonReader reader = reader("\"Привет \\\"мир\\\" \\u0041\\n 😀\"");
+
+        assertEquals("Привет \"мир\" A\n 😀", reader.nextString(), "Экранирование и UTF-8 должны декодироваться");
+    }
+
+    @Test
+    void shouldRejectMalformedInput() {
+        assertThrows(IllegalArgumentException.class, () -> reader("{\"a\":1,}").skipValue(),
+            "Запятая перед закрывающей скобкой должна отклоняться");
+        assertThrows(IllegalArgumentException.class, () -> reader("{\"a\" 1}").skipValue(),
+            "Пропущенное двоеточие должно отклоняться");
+        assertThrows(IllegalArgumentException.class, () -> reader("[1.5]").skipValue(),
+            "Дробные числа не поддерживаются");
+        assertThrows(IllegalArgumentException.class, () -> reader("\"unterminated").nextString(),
+            "Незакрытая строка должна отклоняться");
+        assertThrows(IllegalArgumentException.class, () -> reader("99999999999999999999").nextLong(),
+            "Переполнение числа должно отклоняться");
+        JsonReader trailing = reader("{} {}");
+        trailing.skipValue();
+        assertThrows(IllegalArgumentException.class, trailing::peek,
+            "Лишнее значение после документа должно отклоняться при проверке конца");
+    }
+
+    private static JsonReader reader(String json) {
+        return new JsonReader(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)));
+    }
+}
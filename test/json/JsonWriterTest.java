@@ -0,0 +1,78 @@
+package json;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.channels.FileChannel;
+import org.junit.jupiter.api.io.TempDir;
+
+class JsonWriterTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void shouldWriteNestedStructuresWithSeparators() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (JsonWriter writer = new JsonWriter(out)) {
+            writer.beginObject()
+                .name("id").value(42)
+                .name("negative").value(Long.MIN_VALUE)
+                .name("done").value(true)
+                .name("missing").nullValue()
+                .name("ids").beginArray().value(1).value(-2).beginObject().endObject().endArray()
+                .endObject();
+        }
+
+        assertEquals("{\"id\":42,\"negative\":-9223372036854775808,\"done\":true,\"missing\":null,"
+            + "\"ids\":[1,-2,{}]}", out.toString(StandardCharsets.UTF_8), "JSON должен быть записан без лишних символов");
+    }
+
+    @Test
+    void shouldEscapeAndEncodeStrings() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (JsonWriter writer = new JsonWriter(out)) {
+            writer.value("Кавычки \" и \\ слеш\n\t\u0001 😀");
+        }
+
+        assertEquals("\"Кавычки \\\" и \\\\ слеш\\n\\t\\u0001 😀\"", out.toString(StandardCharsets.UTF_8),
+            "Строки должны экранироваться и кодироваться в UTF-8");
+    }
+
+    @Test
+    void shouldWriteLargeOutputToChannel() throws IOException {
+        Path file = directory.resolve("tasks.json");
+        try (JsonWriter writer = new JsonWriter(FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE))) {
+            writer.beginArray();
+            for (int i = 0; i < 10_000; i++) {
+                writer.value("Строка " + i);
+            }
+            writer.endArray();
+        }
+
+        try (JsonReader reader = new JsonReader(Channels.newInputStream(FileChannel.open(file)))) {
+            reader.beginArray();
+            int count = 0;
+            while (reader.hasNext()) {
+                assertEquals("Строка " + count, reader.nextString(), "Строки должны читаться в порядке записи");
+                count++;
+            }
+            reader.endArray();
+            assertEquals(10_000, count, "Все значения должны быть записаны в канал");
+        }
+        assertTrue(Files.size(file) > 8192, "Вывод должен превышать размер буфера");
+    }
+
+    @Test
+    void shouldRejectNameOutsideObject() {
+        JsonWriter writer = new JsonWriter(new ByteArrayOutputStream());
+
+        assertThrows(IllegalStateException.class, () -> writer.name("id"), "Имя вне объекта должно отклоняться");
+    }
+}
@@ -0,0 +1,96 @@
+package json;
+
+import manager.Managers;
+import manager.TaskManager;
+import model.*;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+class TaskJsonTest {
+
+    @Test
+    void shouldRoundTripAllTaskTypes() {
+        TaskManager manager = Managers.getDefault();
+        LocalDateTime start = LocalDateTime.of(2024, 1, 1, 10, 0);
+        manager.createTask(new Task("Задача", "Описание", start, Duration.ofMinutes(15)));
+        int epicId = manager.createEpic(new Epic("Эпик", "Описание"));
+        manager.createSubtask(new Subtask("Подзадача", "Описание", epicId, start.plusHours(1), Duration.ofHours(1)));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (JsonWriter writer = new JsonWriter(out)) {
+            writer.beginArray();
+            manager.forEachTask(task -> TaskJson.write(writer, task));
+            manager.forEachEpic(epic -> TaskJson.write(writer, epic));
+            manager.forEachSubtask(subtask -> TaskJson.write(writer, subtask));
+            writer.endArray();
+        }
+
+        List<Task> restored = new ArrayList<>();
+        try (JsonReader reader = new JsonReader(new ByteArrayInputStream(out.toByteArray()))) {
+            TaskJson.readAll(reader, restored::add);
+        }
+
+        assertEquals(3, restored.size(), "Должны быть прочитаны все задачи");
+        Task task = restored.get(0);
+        assertEquals("Задача", task.getName(), "Имя задачи должно сохраниться");
+        assertEquals(start, task.getStartTime(), "Время начала должно сохраниться");
+        assertEquals(Duration.ofMinutes(15), task.getDuration(), "Продолжительность должна сохраниться");
+        assertInstanceOf(Epic.class, restored.get(1), "Тип эпика должен определяться по полю type");
+        Subtask subtask = assertInstanceOf(Subtask.class, restored.get(2), "Тип подзадачи должен определяться");
+        assertEquals(epicId, subtask.getEpicId(), "Связь с эпиком должна сохраниться");
+        assertTrue(out.toString(StandardCharsets.UTF_8).contains("\"subtaskIds\":[" + subtask.getId() + "]"),
+            "Эпик должен содержать id подзадач");
+    }
+
+    @Test
+    void shouldReportMissingRequiredFields() {
+        JsonReader reader = new JsonReader(new ByteArrayInputStream(
+            "{\"name\":\"Подзадача\",\"description\":\"\"}".getBytes(StandardCharsets.UTF_8)));
+
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+            () -> TaskJson.readSubtask(reader), "Подзадача без эпика должна отклоняться");
+        assertTrue(exception.getMessage().contains("epicId"), "Сообщение должно называть отсутствующее поле");
+    }
+
+    @Test
+    void shouldStreamLargeBoardWithoutBufferingIt() {
+        TaskManager manager = Managers.getDefault();
+        for (int i = 0; i < 100_000; i++) {
+            manager.createTask(new Task("Task " + i, "Description " + i));
+        }
+        CountingOutputStream out = new CountingOutputStream();
+
+        try (JsonWriter writer = new JsonWriter(out)) {
+            writer.beginArray();
+            manager.forEachTask(task -> TaskJson.write(writer, task));
+            writer.endArray();
+        }
+
+        assertTrue(out.count > 100_000 * 50, "Все задачи должны быть записаны в поток");
+        assertTrue(out.largestWrite <= 8192, "Запись должна идти блоками фиксированного размера");
+    }
+
+    private static final class CountingOutputStream extends OutputStream {
+        private long count;
+        private int largestWrite;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+            largestWrite = Math.max(largestWrite, len);
+        }
+    }
+}
@@ -0,0 +1,192 @@
+package manager;
+
+import metrics.InstrumentedTaskManager;
+import metrics.TaskManagerMetrics;
+import metrics.TaskManagerMetrics.Operation;
+import model.*;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+class BoardRegistryTest {
+    @TempDir
+    Path root;
+
+    @Test
+    void shouldIsolateBoardsAndReloadThemAfterEviction() {
+        try (BoardRegistry registry = Managers.getBoardRegistry(root)) {
+            int first = registry.withBoard("alpha", manager -> manager.createTask(new Task("Alpha", "Description")));
+            int second = registry.withBoard("beta", manager -> manager.createTask(new Task("Beta", "Description")));
+            assertEquals(first, second, "У каждой доски должно быть свое пространство идентификаторов");
+
+            assertEquals(2, registry.evictIdle(Duration.ZERO), "Простаивающие доски должны выгружаться");
+            assertTrue(registry.getLoadedBoards().isEmpty(), "После выгрузки досок в памяти быть не должно");
+            assertEquals(0, registry.getEstimatedBytes(), "Оценка памяти должна обнуляться");
+
+            assertEquals("Alpha", registry.withBoard("alpha", manager -> manager.getTaskById(first).getName()),
+                "Доска должна загружаться с диска заново");
+            assertEquals("Beta", registry.withBoard("beta", manager -> manager.getTaskById(second).getName()),
+                "Доски не должны смешиваться");
+            assertEquals(4, registry.getLoadCount(), "Каждая выгруженная доска должна загружаться при обращении");
+        }
+    }
+
+    @Test
+    void shouldEvictLeastRecentlyUsedBoardsOverBudget() {
+        try (BoardRegistry registry = new BoardRegistry(root, 40 << 10, FileBackedTaskManager::new)) {
+            registry.withBoard("a", TaskManager::getTasks);
+            registry.withBoard("b", TaskManager::getTasks);
+            registry.withBoard("a", TaskManager::getTasks);
+            registry.withBoard("c", TaskManager::getTasks);
+
+            assertEquals(Set.of("a", "c"), registry.getLoadedBoards(), "Должна выгружаться давно не использованная доска");
+            assertEquals(1, registry.getEvictionCount(), "Должна выгружаться одна доска");
+            assertTrue(registry.getEstimatedBytes() <= 40 << 10, "Оценка памяти должна укладываться в бюджет");
+        }
+    }
+
+    @Test
+    void shouldNotEvictLeasedBoards() {
+        try (BoardRegistry registry = new BoardRegistry(root, 1, FileBackedTaskManager::new)) {
+            try (BoardRegistry.Lease lease = registry.acquire("busy")) {
+                registry.withBoard("other", TaskManager::getTasks);
+                assertEquals(0, registry.evictIdle(Duration.ZERO), "Занятая доска не должна выгружаться");
+                assertEquals(Set.of("busy"), registry.getLoadedBoards(), "Занятая доска должна оставаться в памяти");
+                lease.getManager().createTask(new Task("Task", "Description"));
+            }
+            assertTrue(registry.getLoadedBoards().isEmpty(), "Освобожденная доска сверх бюджета должна выгружаться");
+        }
+    }
+
+    @Test
+    void shouldRejectInvalidIdsAndRetryFailedLoads() {
+        AtomicInteger attempts = new AtomicInteger();
+        try (BoardRegistry registry = new BoardRegistry(root, 1 << 20, directory -> {
+            if (attempts.incrementAndGet() == 1) {
+                throw new ManagerSaveException("Disk is unavailable");
+            }
+            return new InMemoryTaskManager();
+        })) {
+            assertThrows(IllegalArgumentException.class, () -> registry.acquire("../etc"),
+                "Идентификатор доски не должен выходить за корневой каталог");
+            assertThrows(ManagerSaveException.class, () -> registry.acquire("board"),
+                "Ошибка загрузки должна передаваться вызывающему");
+            assertNotNull(registry.withBoard("board", TaskManager::getTasks), "Неудачная загрузка не должна кешироваться");
+            assertEquals(2, attempts.get(), "Доска должна загружаться повторно после ошибки");
+        }
+    }
+
+    @Test
+    void shouldEstimateBoardsFromCounters() {
+        TaskManagerMetrics metrics = new TaskManagerMetrics(1);
+        try (BoardRegistry registry = new BoardRegistry(root, 1 << 20,
+                directory -> new InstrumentedTaskManager(new InMemoryTaskManager(), metrics))) {
+            for (int i = 0; i < 10; i++) {
+                registry.withBoard("board", manager -> manager.createTask(new Task("Task", "Description")));
+            }
+
+            assertEquals((16 << 10) + 10 * 512, registry.getEstimatedBytes(), "Оценка должна учитывать все задачи");
+            assertEquals(0, metrics.getCallCount(Operation.LIST_TASKS), "Оценка не должна копировать списки задач");
+        }
+    }
+
+    @Test
+    void shouldCloseEvictedBoardsOutsideTheLock() throws Exception {
+        CountDownLatch closing = new CountDownLatch(1);
+        CountDownLatch proceed = new CountDownLatch(1);
+        AtomicBoolean closed = new AtomicBoolean();
+        AtomicBoolean reloadedAfterClose = new AtomicBoolean();
+        AtomicInteger loads = new AtomicInteger();
+        try (BoardRegistry registry = new BoardRegistry(root, 1 << 20, directory -> {
+            if (loads.incrementAndGet() == 1) {
+                return new SlowClosingManager(closing, proceed, closed);
+            }
+            reloadedAfterClose.set(closed.get());
+            return new InMemoryTaskManager();
+        })) {
+            registry.withBoard("board", TaskManager::getTasks);
+            Thread evictor = new Thread(() -> registry.evictIdle(Duration.ZERO));
+            evictor.start();
+            assertTrue(closing.await(5, TimeUnit.SECONDS), "Выгрузка должна начать закрытие доски");
+
+            assertEquals(Set.of(), registry.getLoadedBoards(), "Закрытие не должно держать блокировку реестра");
+            Thread reader = new Thread(() -> registry.withBoard("board", TaskManager::getTasks));
+            reader.start();
+            reader.join(100);
+            assertTrue(reader.isAlive(), "Повторная загрузка должна ждать закрытия");
+            proceed.countDown();
+            reader.join(5_000);
+            evictor.join(5_000);
+            assertFalse(reader.isAlive(), "После закрытия доска должна загрузиться");
+            assertEquals(2, loads.get(), "Доска должна загрузиться заново");
+            assertTrue(reloadedAfterClose.get(), "Доска должна загружаться только после закрытия прежней копии");
+        }
+    }
+
+    @Test
+    void shouldCloseBoardsThatFinishLoadingAfterClose() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch proceed = new CountDownLatch(1);
+        CountDownLatch closing = new CountDownLatch(1);
+        AtomicBoolean closed = new AtomicBoolean();
+        BoardRegistry registry = new BoardRegistry(root, 1 << 20, directory -> {
+            loading.countDown();
+            try {
+                proceed.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return new SlowClosingManager(closing, new CountDownLatch(0), closed);
+        });
+        AtomicReference<RuntimeException> failure = new AtomicReference<>();
+        Thread reader = new Thread(() -> {
+            try {
+                registry.withBoard("board", TaskManager::getTasks);
+            } catch (RuntimeException e) {
+                failure.set(e);
+            }
+        });
+        reader.start();
+        assertTrue(loading.await(5, TimeUnit.SECONDS), "Доска должна начать загрузку");
+
+        Thread closer = new Thread(registry::close);
+        closer.start();
+        closer.join(100);
+        assertTrue(closer.isAlive(), "Закрытие реестра должно ждать незавершенную загрузку");
+        proceed.countDown();
+        closer.join(5_000);
+        reader.join(5_000);
+
+        assertFalse(closer.isAlive(), "Реестр должен закрыться после загрузки");
+        assertTrue(closed.get(), "Доска, загруженная после закрытия, должна закрыться");
+        assertInstanceOf(IllegalStateException.class, failure.get(), "Загрузка после закрытия должна отклоняться");
+        assertEquals(Set.of(), registry.getLoadedBoards(), "В закрытом реестре не должно остаться досок");
+    }
+
+    private static final class SlowClosingManager extends InMemoryTaskManager implements AutoCloseable {
+        private final CountDownLatch closing;
+        private final CountDownLatch proceed;
+        private final AtomicBoolean closed;
+
+        SlowClosingManager(CountDownLatch closing, CountDownLatch proceed, AtomicBoolean closed) {
+            this.closing = closing;
+            this.proceed = proceed;
+            this.closed = closed;
+        }
+
+        @Override
+        public void close() throws InterruptedException {
+            closing.countDown();
+            proceed.await();
+            closed.set(true);
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package manager;
+
+import metrics.InstrumentedTaskManager;
+import metrics.TaskManagerMetrics;
+import metrics.TaskManagerMetrics.Operation;
+import model.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.function.Executable;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.List;
+
+class CachingTaskManagerTest {
+    private TaskManagerMetrics backingMetrics;
+    private CachingTaskManager manager;
+
+    @BeforeEach
+    void setUp() {
+        backingMetrics = new TaskManagerMetrics(1);
+        manager = new CachingTaskManager(new InstrumentedTaskManager(Managers.getVersioned(), backingMetrics));
+    }
+
+    @Test
+    void shouldServeRepeatedReadsFromCache() {
+        int taskId = manager.createTask(new Task("Task", "Description"));
+        for (int i = 0; i < 10; i++) {
+            assertEquals("Task", manager.getTaskById(taskId).getName(), "Задача должна читаться");
+        }
+
+        assertEquals(1, backingMetrics.getCallCount(Operation.GET_TASK), "Хранилище должно читаться один раз");
+        CachingTaskManager.Stats stats = manager.getStats();
+        assertEquals(9, stats.hits(), "Повторные чтения должны попадать в кеш");
+        assertEquals(1, stats.misses(), "Первое чтение должно быть промахом");
+        assertNull(manager.getEpicById(taskId), "Задача не должна возвращаться как эпик");
+    }
+
+    @Test
+    void shouldWriteThroughAndInvalidateUpdatedEntries() {
+        Task task = new Task("Task", "Description");
+        int taskId = manager.createTask(task);
+        manager.getTaskById(taskId);
+        task.setName("Renamed");
+        manager.updateTask(task);
+
+        assertEquals("Renamed", manager.getTaskById(taskId).getName(), "Кеш не должен возвращать старую версию");
+        manager.deleteTaskById(taskId);
+        assertNull(manager.getTaskById(taskId), "Удаленная задача не должна читаться из кеша");
+        assertEquals(2, manager.getStats().invalidations(), "Изменения должны сбрасывать записи кеша");
+    }
+
+    @Test
+    void shouldRejectNullWritesLikeTheDelegate() {
+        assertNullRejected(() -> manager.updateTask(null), "Task");
+        assertNullRejected(() -> manager.compareAndUpdateTask(null, 1), "Task");
+        assertNullRejected(() -> manager.updateEpic(null), "Epic");
+        assertNullRejected(() -> manager.compareAndUpdateEpic(null, 1), "Epic");
+        assertNullRejected(() -> manager.createSubtask(null), "Subtask");
+        assertNullRejected(() -> manager.updateSubtask(null), "Subtask");
+        assertNullRejected(() -> manager.compareAndUpdateSubtask(null, 1), "Subtask");
+    }
+
+    @Test
+    void shouldNeverReturnStaleEpicStatus() {
+        int epicId = manager.createEpic(new Epic("Epic", "Description"));
+        int otherEpicId = manager.createEpic(new Epic("Other", "Description"));
+        int subtaskId = manager.createSubtask(new Subtask("Subtask", "Description", epicId));
+        assertEquals(TaskStatus.NEW, manager.getEpicById(epicId).getStatus(), "Новый эпик должен быть NEW");
+
+        manager.updateSubtask(new Subtask(subtaskId, "Subtask", "Description", TaskStatus.DONE, epicId));
+        assertEquals(TaskStatus.DONE, manager.getEpicById(epicId).getStatus(), "Статус эпика должен обновиться");
+
+        manager.getSubtaskById(subtaskId);
+        manager.deleteSubtaskById(subtaskId);
+        assertNull(manager.getSubtaskById(subtaskId), "Удаленная подзадача не должна читаться из кеша");
+        assertEquals(TaskStatus.NEW, manager.getEpicById(epicId).getStatus(), "Пустой эпик должен стать NEW");
+
+        int otherSubtaskId = manager.createSubtask(new Subtask("Other", "Description", otherEpicId));
+        manager.getSubtaskById(otherSubtaskId);
+        manager.deleteEpicById(otherEpicId);
+        assertNull(manager.getSubtaskById(otherSubtaskId), "Подзадачи удаленного эпика не должны читаться из кеша");
+
+        int batchSubtaskId = manager.createSubtask(new Subtask("Second", "Description", epicId));
+        manager.getEpicById(epicId);
+        manager.applyBatch(Batch.builder().deleteSubtask(batchSubtaskId).build());
+        assertTrue(manager.getEpicById(epicId).getSubtaskIds().isEmpty(), "Пакет должен сбрасывать кеш");
+    }
+
+    @Test
+    void shouldEvictLeastRecentlyUsedEntriesBySize() {
+        long entryWeight = TaskCache.weigh(new Task("Task 0", "Description"));
+        CachingTaskManager small = new CachingTaskManager(Managers.getVersioned(), entryWeight * 3);
+        int first = small.createTask(new Task("Task 0", "Description"));
+        int second = small.createTask(new Task("Task 1", "Description"));
+        int third = small.createTask(new Task("Task 2", "Description"));
+        int fourth = small.createTask(new Task("Task 3", "Description"));
+        small.getTaskById(first);
+        small.getTaskById(second);
+        small.getTaskById(third);
+        small.getTaskById(first);
+        small.getTaskById(fourth);
+
+        CachingTaskManager.Stats stats = small.getStats();
+        assertEquals(1, stats.evictions(), "Должна вытесняться одна запись");
+        assertEquals(3, stats.size(), "Кеш не должен превышать лимит");
+        assertTrue(stats.weight() <= entryWeight * 3, "Вес кеша не должен превышать лимит");
+        small.getTaskById(second);
+        assertEquals(5, small.getStats().misses(), "Дольше всего не использованная запись должна быть вытеснена");
+    }
+
+    @Test
+    void shouldServeViewsFromCacheAndRecordHistory() {
+        int taskId = manager.createTask(new Task("Task", "Description"));
+        int epicId = manager.createEpic(new Epic("Epic", "Description"));
+        int subtaskId = manager.createSubtask(new Subtask("Subtask", "Description", epicId));
+        for (int i = 0; i < 5; i++) {
+            manager.getTask(taskId);
+            manager.getSubtask(subtaskId);
+            manager.getEpic(epicId);
+        }
+
+        assertEquals(1, backingMetrics.getCallCount(Operation.GET_TASK), "Просмотр должен читаться из кеша");
+        assertEquals(1, backingMetrics.getCallCount(Operation.GET_EPIC), "Эпик тоже должен читаться из кеша");
+        assertEquals(List.of(taskId, subtaskId, epicId), manager.getHistory().stream().map(Task::getId).toList(),
+            "Просмотры должны попадать в историю");
+
+        manager.deleteEpicById(epicId);
+        assertEquals(List.of(taskId), manager.getHistory().stream().map(Task::getId).toList(),
+            "Удаленный эпик и его подзадачи должны уходить из истории");
+        manager.applyBatch(Batch.builder().deleteTask(taskId).build());
+        assertTrue(manager.getHistory().isEmpty(), "Пакет должен чистить историю от удаленных задач");
+    }
+
+    private static void assertNullRejected(Executable write, String type) {
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, write,
+            "Пустой аргумент должен отклоняться как у хранилища");
+        assertEquals(type + " cannot be null", e.getMessage(), "Сообщение должно совпадать с хранилищем");
+    }
+}
@@ -0,0 +1,275 @@
+package manager;
+
+import model.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class ConcurrentTaskManagerTest {
+
+    private TaskManager taskManager;
+
+    @BeforeEach
+    void setUp() {
+        taskManager = Managers.getConcurrent();
+    }
+
+    @Test
+    void shouldBehaveLikeInMemoryManagerInSingleThread() {
+        int epicId = taskManager.createEpic(new Epic("Epic", "Description"));
+        Subtask subtask = new Subtask("Subtask", "Description", epicId);
+        int subtaskId = taskManager.createSubtask(subtask);
+
+        subtask.setStatus(TaskStatus.DONE);
+        taskManager.updateSubtask(subtask);
+
+        assertEquals(TaskStatus.DONE, taskManager.getEpic(epicId).getStatus(), "Статус эпика должен пересчитаться");
+        assertEquals(List.of(subtask), taskManager.getEpicSubtasks(epicId), "Эпик должен содержать подзадачу");
+
+        taskManager.deleteSubtaskById(subtaskId);
+        assertEquals(TaskStatus.NEW, taskManager.getEpic(epicId).getStatus(), "Эпик без подзадач должен быть NEW");
+    }
+
+    @Test
+    void shouldGenerateUniqueIdsFromManyThreads() throws Exception {
+        int threads = 8;
+        int perThread = 5_000;
+        Set<Integer> ids = ConcurrentHashMap.newKeySet();
+
+        runConcurrently(threads, thread -> {
+            for (int i = 0; i < perThread; i++) {
+                ids.add(taskManager.createTask(new Task("Task", "Description")));
+            }
+        });
+
+        assertEquals(threads * perThread, ids.size(), "Все id должны быть уникальными");
+        assertEquals(threads * perThread, taskManager.getTasks().size(), "Все задачи должны быть сохранены");
+    }
+
+    @Test
+    void shouldKeepEpicsConsistentUnderConcurrentSubtaskMutations() throws Exception {
+        int threads = 8;
+        int perThread = 2_000;
+        int[] epicIds = new int[threads];
+        for (int i = 0; i < threads; i++) {
+            epicIds[i] = taskManager.createEpic(new Epic("Epic " + i, "Description"));
+        }
+
+        runConcurrently(threads, thread -> {
+            int epicId = epicIds[thread % 2 == 0 ? thread : 0];
+            for (int i = 0; i < perThread; i++) {
+                Subtask subtask = new Subtask("Subtask", "Description", epicId);
+                int id = taskManager.createSubtask(subtask);
+                subtask.setStatus(TaskStatus.DONE);
+                taskManager.updateSubtask(subtask);
+                taskManager.getEpicSubtasks(epicId);
+                if (i % 2 == 1) {
+                    taskManager.deleteSubtaskById(id);
+                }
+            }
+        });
+
+        int total = 0;
+        for (int epicId : epicIds) {
+            Epic epic = taskManager.getEpicById(epicId);
+            List<Subtask> epicSubtasks = taskManager.getEpicSubtasks(epicId);
+            assertEquals(epic.getSubtaskIds().size(), epicSubtasks.size(), "Все подзадачи эпика должны существовать");
+            assertEquals(epicSubtasks.isEmpty() ? TaskStatus.NEW : TaskStatus.DONE, epic.getStatus(),
+                "Статус эпика должен соответствовать подзадачам");
+            total += epicSubtasks.size();
+        }
+        assertEquals(threads * perThread / 2, total, "Должна остаться половина подзадач");
+        assertEquals(total, taskManager.getSubtasks().size(), "Не должно быть потерянных подзадач");
+    }
+
+    @Test
+    void shouldAcceptExactlyOneWriterPerVersion() throws Exception {
+        int threads = 8;
+        int perThread = 2_000;
+        int taskId = taskManager.createTask(new Task("Task", "0"));
+        AtomicInteger accepted = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+
+        runConcurrently(threads, thread -> {
+            for (int i = 0; i < perThread; i++) {
+                Task current = taskManager.getTaskById(taskId);
+                Task update = new Task(taskId, "Task", String.valueOf(Integer.parseInt(current.getDescription()) + 1),
+                    TaskStatus.IN_PROGRESS);
+                if (taskManager.compareAndUpdateTask(update, current.getVersion())) {
+                    accepted.incrementAndGet();
+                } else {
+                    rejected.incrementAndGet();
+                }
+            }
+        });
+
+        Task task = taskManager.getTaskById(taskId);
+        assertEquals(threads * perThread, accepted.get() + rejected.get(), "Каждая попытка должна завершиться");
+        assertEquals(accepted.get(), Integer.parseInt(task.getDescription()), "Принятые записи не должны теряться");
+        assertEquals(accepted.get() + 1, task.getVersion(), "Каждая принятая запись должна давать новую версию");
+    }
+
+    @Test
+    void shouldNotBlockAcceptedWritesOnTheSameStripe() throws Exception {
+        TaskManager manager = new ConcurrentTaskManager(1);
+        int firstId = manager.createTask(new Task("First", "Description"));
+        int secondId = manager.createTask(new Task("Second", "Description"));
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Task slowUpdate = new Task(firstId, "First", "Updated", TaskStatus.IN_PROGRESS) {
+            @Override
+            public LocalDateTime getStartTime() {
+                entered.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return super.getStartTime();
+            }
+        };
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<Boolean> slow = executor.submit(() -> manager.compareAndUpdateTask(slowUpdate, 1));
+            assertTrue(entered.await(5, TimeUnit.SECONDS), "Первая запись должна начаться");
+
+            Task fastUpdate = new Task(secondId, "Second", "Updated", TaskStatus.DONE);
+            Future<Boolean> fast = executor.submit(() -> manager.compareAndUpdateTask(fastUpdate, 1));
+            assertTrue(fast.get(5, TimeUnit.SECONDS), "Запись другой задачи не должна ждать первую");
+
+            release.countDown();
+            assertTrue(slow.get(5, TimeUnit.SECONDS), "Первая запись должна быть принята");
+            assertFalse(manager.compareAndUpdateTask(new Task(firstId, "First", "Other", TaskStatus.DONE), 1),
+                    "Запись устаревшей версии должна быть отклонена");
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+        assertEquals("Updated", manager.getTaskById(firstId).getDescription(), "Первая запись должна сохраниться");
+        assertEquals(2, manager.getTaskById(firstId).getVersion(), "Принятая запись должна дать одну версию");
+        assertEquals(TaskStatus.DONE, manager.getTaskById(secondId).getStatus(), "Вторая запись должна сохраниться");
+    }
+
+    @Test
+    void shouldRejectOnlyWritesWhoseVersionChanged() throws Exception {
+        TaskManager manager = new ConcurrentTaskManager(1);
+        LocalDateTime start = LocalDateTime.of(2024, 1, 1, 10, 0);
+        manager.createTask(new Task("Busy", "Description", start, Duration.ofHours(1)));
+        int taskId = manager.createTask(new Task("Task", "Description"));
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Task overlapping = new Task(taskId, "Task", "Overlapping", TaskStatus.IN_PROGRESS) {
+            @Override
+            public LocalDateTime getStartTime() {
+                entered.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return start;
+            }
+
+            @Override
+            public Duration getDuration() {
+                return Duration.ofMinutes(30);
+            }
+        };
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<Boolean> failing = executor.submit(() -> manager.compareAndUpdateTask(overlapping, 1));
+            assertTrue(entered.await(5, TimeUnit.SECONDS), "Первая запись должна занять задачу");
+            Future<Boolean> waiting = executor.submit(
+                () -> manager.compareAndUpdateTask(new Task(taskId, "Task", "Updated", TaskStatus.DONE), 1));
+            Thread.sleep(100);
+            assertFalse(waiting.isDone(), "Запись той же версии должна ждать, а не отклоняться");
+
+            release.countDown();
+            ExecutionException failure = assertThrows(ExecutionException.class,
+                () -> failing.get(5, TimeUnit.SECONDS), "Пересекающаяся запись должна завершиться ошибкой");
+            assertInstanceOf(TaskOverlapException.class, failure.getCause(), "Ошибка должна быть о пересечении");
+            assertTrue(waiting.get(5, TimeUnit.SECONDS),
+                "Запись актуальной версии не должна отклоняться из-за чужой неудачной записи");
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+        assertFalse(manager.compareAndUpdateTask(new Task(taskId, "Task", "Late", TaskStatus.NEW), 1),
+            "Запись устаревшей версии должна отклоняться");
+        assertEquals("Updated", manager.getTaskById(taskId).getDescription(), "Должна сохраниться принятая запись");
+        assertEquals(2, manager.getTaskById(taskId).getVersion(), "Принятая запись должна дать одну версию");
+    }
+
+    @Test
+    void shouldScaleThroughputWithThreadCount() throws Exception {
+        int operationsPerThread = 20_000;
+        List<String> report = new ArrayList<>();
+
+        for (int threads = 1; threads <= 8; threads *= 2) {
+            TaskManager manager = Managers.getConcurrent();
+            int[] epicIds = new int[threads];
+            for (int i = 0; i < threads; i++) {
+                epicIds[i] = manager.createEpic(new Epic("Epic " + i, "Description"));
+            }
+
+            long start = System.nanoTime();
+            runConcurrently(threads, thread -> {
+                int epicId = epicIds[thread];
+                for (int i = 0; i < operationsPerThread; i++) {
+                    int id = manager.createSubtask(new Subtask("Subtask", "Description", epicId));
+                    manager.getSubtaskById(id);
+                    manager.getEpicById(epicId);
+                    manager.deleteSubtaskById(id);
+                }
+            });
+            long elapsed = System.nanoTime() - start;
+
+            long operations = 4L * threads * operationsPerThread;
+            report.add(threads + " threads: " + operations * 1_000_000_000L / Math.max(elapsed, 1) + " ops/s");
+            assertTrue(manager.getSubtasks().isEmpty(), "Все подзадачи должны быть удалены");
+        }
+
+        System.out.println("ConcurrentTaskManager throughput: " + report);
+    }
+
+    private static void runConcurrently(int threads, ThreadBody body) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                int thread = t;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    body.run(thread);
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private interface ThreadBody {
+        void run(int thread) throws Exception;
+    }
+}
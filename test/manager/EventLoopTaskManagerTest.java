@@ -0,0 +1,146 @@
+package manager;
+
+import model.*;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+class EventLoopTaskManagerTest {
+
+    @Test
+    void shouldBehaveLikeTaskManager() {
+        try (EventLoopTaskManager manager = Managers.getAsync()) {
+            LocalDateTime start = LocalDateTime.of(2024, 1, 1, 10, 0);
+            int taskId = manager.createTask(new Task("Task", "Description", start, Duration.ofHours(1))).join();
+            int epicId = manager.createEpic(new Epic("Epic", "Description")).join();
+            int subtaskId = manager.createSubtask(new Subtask("Subtask", "Description", epicId)).join();
+            manager.updateSubtask(new Subtask(subtaskId, "Subtask", "Done", TaskStatus.DONE, epicId)).join();
+
+            assertEquals("Task", manager.getTask(taskId).join().getName(), "Задача должна читаться после записи");
+            assertEquals(TaskStatus.DONE, manager.getEpicById(epicId).join().getStatus(),
+                "Статус эпика должен пересчитаться");
+            assertEquals(1, manager.getEpicSubtasks(epicId).join().size(), "Подзадачи эпика должны читаться");
+            assertEquals(List.of(taskId), manager.getPrioritizedTasks().join().stream().map(Task::getId).toList(),
+                "Расписание должно учитывать задачи со временем");
+            assertEquals(List.of(taskId), manager.search("task").join().stream().map(Task::getId).toList(),
+                "Поиск должен работать");
+            assertEquals(1, manager.getHistory().join().size(), "Просмотры должны попадать в историю");
+
+            manager.deleteEpicById(epicId).join();
+            assertNull(manager.getSubtaskById(subtaskId).join(), "Подзадачи удаленного эпика должны исчезнуть");
+        }
+    }
+
+    @Test
+    void shouldCompareAndUpdateOnTheEventLoop() {
+        try (EventLoopTaskManager manager = Managers.getAsync()) {
+            int taskId = manager.createTask(new Task("Task", "Description")).join();
+            int epicId = manager.createEpic(new Epic("Epic", "Description")).join();
+            int subtaskId = manager.createSubtask(new Subtask("Subtask", "Description", epicId)).join();
+            long epicVersion = manager.getEpicById(epicId).join().getVersion();
+
+            assertTrue(manager.compareAndUpdateTask(new Task(taskId, "Task", "Updated", TaskStatus.DONE), 1).join(),
+                "Запись актуальной версии задачи должна приниматься");
+            assertFalse(manager.compareAndUpdateTask(new Task(taskId, "Task", "Stale", TaskStatus.NEW), 1).join(),
+                "Запись устаревшей версии задачи должна отклоняться");
+            assertTrue(manager.compareAndUpdateEpic(new Epic(epicId, "Renamed", "Description", null), epicVersion)
+                .join(), "Запись актуальной версии эпика должна приниматься");
+            assertFalse(manager.compareAndUpdateEpic(new Epic(epicId, "Stale", "Description", null), epicVersion)
+                .join(), "Запись устаревшей версии эпика должна отклоняться");
+            assertTrue(manager.compareAndUpdateSubtask(
+                new Subtask(subtaskId, "Subtask", "Done", TaskStatus.DONE, epicId), 1).join(),
+                "Запись актуальной версии подзадачи должна приниматься");
+            assertFalse(manager.compareAndUpdateSubtask(
+                new Subtask(subtaskId, "Subtask", "Stale", TaskStatus.NEW, epicId), 1).join(),
+                "Запись устаревшей версии подзадачи должна отклоняться");
+
+            assertEquals("Updated", manager.getTaskById(taskId).join().getDescription(), "Задача должна обновиться");
+            assertEquals("Renamed", manager.getEpicById(epicId).join().getName(), "Эпик должен обновиться");
+            assertEquals(TaskStatus.DONE, manager.getEpicById(epicId).join().getStatus(),
+                "Статус эпика должен пересчитаться");
+        }
+    }
+
+    @Test
+    void shouldCompleteOutstandingWritesInSubmissionOrderAndBatchThem() throws Exception {
+        try (EventLoopTaskManager manager = new EventLoopTaskManager(64)) {
+            int epicId = manager.createEpic(new Epic("Epic", "Description")).join();
+            List<CompletableFuture<Integer>> futures = new ArrayList<>();
+            for (int i = 0; i < 5_000; i++) {
+                futures.add(manager.createSubtask(new Subtask("Subtask " + i, "Description", epicId)));
+            }
+            CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).get(10, TimeUnit.SECONDS);
+
+            Set<Integer> ids = new HashSet<>();
+            int previous = 0;
+            for (CompletableFuture<Integer> future : futures) {
+                int id = future.join();
+                assertTrue(id > previous, "Изменения должны применяться в порядке отправки");
+                previous = id;
+                ids.add(id);
+            }
+            assertEquals(5_000, ids.size(), "Каждая подзадача должна получить свой идентификатор");
+            assertEquals(5_000, manager.getEpicSubtasks(epicId).join().size(), "Все подзадачи должны быть в эпике");
+            assertTrue(manager.getBatchCount() >= 5_001 / 64, "Размер пакета должен ограничиваться");
+            assertTrue(manager.getBatchCount() < 5_001, "Очередь изменений должна применяться пакетами");
+        }
+    }
+
+    @Test
+    void shouldFailOnlyInvalidWritesOfBatch() {
+        try (EventLoopTaskManager manager = Managers.getAsync()) {
+            CompletableFuture<Integer> valid = manager.createTask(new Task("Valid", "Description"));
+            CompletableFuture<Integer> invalid = manager.createSubtask(new Subtask("Bad", "Description", 999));
+            CompletableFuture<Integer> next = manager.createTask(new Task("Next", "Description"));
+
+            CompletionException error = assertThrows(CompletionException.class, invalid::join,
+                "Ошибка должна возвращаться через future");
+            assertInstanceOf(IllegalArgumentException.class, error.getCause(), "Тип ошибки должен сохраняться");
+            assertNotNull(manager.getTaskById(valid.join()).join(), "Соседние изменения должны примениться");
+            assertNotNull(manager.getTaskById(next.join()).join(), "Следующие изменения должны примениться");
+        }
+    }
+
+    @Test
+    void shouldCompleteFuturesOffTheWriterThread() throws Exception {
+        try (EventLoopTaskManager manager = Managers.getAsync()) {
+            CompletableFuture<String> thread = manager.createTask(new Task("Task", "Description"))
+                .thenApply(id -> Thread.currentThread().getName());
+            CompletableFuture<Task> chained = manager.createTask(new Task("First", "Description"))
+                .thenApply(id -> manager.createTask(new Task("Second", "Description " + id)).join())
+                .thenCompose(manager::getTaskById);
+
+            assertNotEquals("task-manager-loop", thread.get(5, TimeUnit.SECONDS),
+                "Продолжения не должны выполняться в потоке записи");
+            assertEquals("Second", chained.get(5, TimeUnit.SECONDS).getName(),
+                "Продолжение может ждать другое изменение без взаимной блокировки");
+            assertEquals(3, manager.getTasksByStatus(TaskStatus.NEW).join().size(),
+                "Выборка по статусу должна читать опубликованную версию");
+            assertEquals(List.of("Second"), manager.search("sec*").join().stream().map(Task::getName).toList(),
+                "Поиск по префиксу должен читать опубликованную версию");
+        }
+    }
+
+    @Test
+    void shouldRejectWritesAfterClose() {
+        EventLoopTaskManager manager = Managers.getAsync();
+        CompletableFuture<Integer> beforeClose = manager.createTask(new Task("Task", "Description"));
+        manager.close();
+
+        assertTrue(manager.isClosed(), "Менеджер должен быть закрыт");
+        assertTrue(beforeClose.isDone(), "Принятые изменения должны завершиться при закрытии");
+        ExecutionException error = assertThrows(ExecutionException.class,
+            () -> manager.createTask(new Task("Late", "Description")).get(),
+            "Запись после закрытия должна отклоняться");
+        assertInstanceOf(IllegalStateException.class, error.getCause(), "Ошибка должна сообщать о закрытии");
+    }
+}
@@ -0,0 +1,345 @@
+package manager;
+
+import model.*;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+class FileBackedTaskManagerTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void shouldStartEmptyInNewDirectory() {
+        try (FileBackedTaskManager manager = Managers.getFileBacked(directory)) {
+            assertTrue(manager.getTasks().isEmpty(), "Список задач должен быть пустым");
+            assertTrue(manager.getEpics().isEmpty(), "Список эпиков должен быть пустым");
+            assertTrue(manager.getSubtasks().isEmpty(), "Список подзадач должен быть пустым");
+        }
+    }
+
+    @Test
+    void shouldRestoreStateAfterRestart() {
+        int taskId;
+        int epicId;
+        int subtaskId;
+        try (FileBackedTaskManager manager = Managers.getFileBacked(directory)) {
+            taskId = manager.createTask(new Task("Task", "Description"));
+            epicId = manager.createEpic(new Epic("Epic", "Description"));
+            subtaskId = manager.createSubtask(new Subtask("Subtask", "Description", epicId));
+            manager.createSubtask(new Subtask("Second", "Description", epicId));
+
+            Subtask subtask = new Subtask(subtaskId, "Subtask", "Updated", TaskStatus.DONE, epicId);
+            manager.updateSubtask(subtask);
+            manager.updateEpic(new Epic(epicId, "Renamed epic", "Description", null));
+        }
+
+        try (FileBackedTaskManager restored = Managers.getFileBacked(directory)) {
+            assertEquals("Task", restored.getTaskById(taskId).getName(), "Задача должна восстановиться");
+            assertEquals("Renamed epic", restored.getEpicById(epicId).getName(), "Эпик должен восстановиться");
+            assertEquals("Updated", restored.getSubtaskById(subtaskId).getDescription(),
+                "Подзадача должна восстановиться с последними изменениями");
+            assertEquals(2, restored.getEpicSubtasks(epicId).size(), "Связь эпика с подзадачами должна восстановиться");
+            assertEquals(TaskStatus.IN_PROGRESS, restored.getEpicById(epicId).getStatus(),
+                "Статус эпика должен пересчитаться при восстановлении");
+
+            int newId = restored.createTask(new Task("New", "Description"));
+            assertTrue(newId > subtaskId + 1, "Новые id не должны совпадать с восстановленными");
+        }
+    }
+
+    @Test
+    void shouldReplayDeletes() {
+        int epicId;
+        int taskId;
+        try (FileBackedTaskManager manager = Managers.getFileBacked(directory)) {
+            taskId = manager.createTask(new Task("Task", "Description"));
+            int deletedTaskId = manager.createTask(new Task("Deleted", "Description"));
+            epicId = manager.createEpic(new Epic("Epic", "Description"));
+            int deletedEpicId = manager.createEpic(new Epic("Deleted epic", "Description"));
+            manager.createSubtask(new Subtask("Subtask", "Description", deletedEpicId));
+            manager.createSubtask(new Subtask("Subtask", "Description", epicId));
+
+            manager.deleteTaskById(deletedTaskId);
+            manager.deleteEpicById(deletedEpicId);
+            manager.deleteAllSubtasks();
+        }
+
+        try (FileBackedTaskManager restored = Managers.getFileBacked(directory)) {
+            assertEquals(1, restored.getTasks().size(), "Удаленная задача не должна восстановиться");
+            assertNotNull(restored.getTaskById(taskId), "Оставшаяся задача должна восстановиться");
+            assertEquals(1, restored.getEpics().size(), "Удаленный эпик не должен восстановиться");
+            assertTrue(restored.getSubtasks().isEmpty(), "Удаленные подзадачи не должны восстановиться");
+            assertTrue(restored.getEpicById(epicId).getSubtaskIds().isEmpty(), "У эпика не должно быть подзадач");
+        }
+    }
+
+    @Test
+    void shouldCompactLogIntoSnapshot() throws IOException {
+        try (FileBackedTaskManager manager = new FileBackedTaskManager(directory, 10, 1)) {
+            int epicId = manager.createEpic(new Epic("Epic", "Description"));
+            for (int i = 0; i < 25; i++) {
+                int id = manager.createSubtask(new Subtask("Subtask " + i, "Description", epicId));
+                if (i % 5 == 0) {
+                    manager.deleteSubtaskById(id);
+                }
+            }
+            manager.awaitCompaction();
+            assertTrue(Files.exists(directory.resolve("snapshot.bin")), "Снимок должен быть создан");
+            assertFalse(Files.exists(directory.resolve("wal-0.bin")), "Сжатый журнал должен быть удален");
+        }
+
+        try (FileBackedTaskManager restored = Managers.getFileBacked(directory)) {
+            assertEquals(20, restored.getSubtasks().size(), "После компактации должно восстановиться 20 подзадач");
+            assertEquals(20, restored.getEpics().getFirst().getSubtaskIds().size(),
+                "Эпик должен содержать все восстановленные подзадачи");
+        }
+    }
+
+    @Test
+    void shouldServeSnapshotRecordsLazilyAfterRestart() {
+        LocalDateTime start = LocalDateTime.of(2024, 1, 1, 10, 0);
+        int taskId;
+        int removedId;
+        int epicId;
+        int subtaskId;
+        try (FileBackedTaskManager manager = Managers.getFileBacked(directory)) {
+            taskId = manager.createTask(new Task("Alpha", "Description", start, Duration.ofHours(1)));
+            removedId = manager.createTask(new Task("Beta", "Description"));
+            epicId = manager.createEpic(new Epic("Epic", "Description"));
+            subtaskId = manager.createSubtask(new Subtask("Gamma", "Description", epicId, start.plusHours(2),
+                Duration.ofHours(1)));
+            Subtask done = new Subtask(subtaskId, "Gamma", "Description", TaskStatus.DONE, epicId);
+            done.setStartTime(start.plusHours(2));
+            done.setDuration(Duration.ofHours(1));
+            manager.updateSubtask(done);
+            manager.compact();
+        }
+
+        try (FileBackedTaskManager restored = Managers.getFileBacked(directory)) {
+            Task task = restored.getTaskById(taskId);
+            assertEquals("Alpha", task.getName(), "Задача должна читаться из снимка");
+            assertNotSame(task, restored.getTaskById(taskId), "Задача из снимка должна собираться при чтении");
+            assertEquals(TaskStatus.DONE, restored.getEpicById(epicId).getStatus(), "Статус эпика должен восстановиться");
+            assertEquals(List.of(taskId), restored.getTasksByStatus(TaskStatus.NEW).stream().map(Task::getId)
+                .filter(id -> id == taskId).toList(), "Индекс статусов должен строиться из снимка");
+            assertEquals(List.of(taskId, subtaskId), restored.getPrioritizedTasks().stream().map(Task::getId).toList(),
+                "Расписание должно строиться из снимка");
+            assertEquals(List.of(subtaskId), restored.search("gamma").stream().map(Task::getId).toList(),
+                "Поиск должен находить записи снимка");
+            assertThrows(TaskOverlapException.class,
+                () -> restored.createTask(new Task("Overlap", "Description", start, Duration.ofMinutes(5))),
+                "Расписание из снимка должно проверять пересечения");
+
+            restored.updateTask(new Task(taskId, "Delta", "Description", TaskStatus.IN_PROGRESS));
+            restored.deleteTaskById(removedId);
+            assertEquals(1, restored.getTasks().size(), "Удаленная запись снимка не должна возвращаться");
+            assertEquals(List.of(taskId), restored.search("delta").stream().map(Task::getId).toList(),
+                "Поиск должен видеть изменения поверх снимка");
+        }
+
+        try (FileBackedTaskManager restored = Managers.getFileBacked(directory)) {
+            assertEquals("Delta", restored.getTaskById(taskId).getName(), "Журнал должен применяться поверх снимка");
+            assertNull(restored.getTaskById(removedId), "Удаление должно применяться поверх снимка");
+            assertEquals(List.of(subtaskId), restored.getEpicById(epicId).getSubtaskIds(),
+                "Эпик должен знать подзадачи из снимка");
+        }
+    }
+
+    @Test
+    void shouldFinishCompactionOfSealedLogAfterRestart() throws IOException {
+        try (FileBackedTaskManager manager = Managers.getFileBacked(directory)) {
+            manager.createTask(new Task("Task", "Description"));
+        }
+        Files.move(directory.resolve("wal.bin"), directory.resolve("wal-0.bin"));
+
+        try (FileBackedTaskManager restored = Managers.getFileBacked(directory)) {
+            assertEquals(1, restored.getTasks().size(), "Запечатанный журнал должен воспроизводиться");
+            restored.createTask(new Task("Second", "Description"));
+            restored.awaitCompaction();
+            assertTrue(Files.exists(directory.resolve("snapshot.bin")), "Запечатанный журнал должен сжиматься в фоне");
+            assertFalse(Files.exists(directory.resolve("wal-0.bin")), "Сжатый журнал должен быть удален");
+        }
+
+        try (FileBackedTaskManager restored = Managers.getFileBacked(directory)) {
+            assertEquals(2, restored.getTasks().size(), "Снимок и новый журнал должны восстановиться вместе");
+        }
+    }
+
+    @Test
+    void shouldIgnoreTornRecordAtTheEndOfLog() throws IOException {
+        try (FileBackedTaskManager manager = Managers.getFileBacked(directory)) {
+            manager.createTask(new Task("Task", "Description"));
+        }
+        Files.write(directory.resolve("wal.bin"), new byte[]{0, 0, 0, 42, 1, 2, 3}, StandardOpenOption.APPEND);
+
+        try (FileBackedTaskManager restored = Managers.getFileBacked(directory)) {
+            assertEquals(1, restored.getTasks().size(), "Целые записи журнала должны восстановиться");
+            restored.createTask(new Task("Second", "Description"));
+        }
+
+        try (FileBackedTaskManager restored = Managers.getFileBacked(directory)) {
+            assertEquals(2, restored.getTasks().size(), "Запись после поврежденного хвоста должна сохраниться");
+        }
+    }
+
+    @Test
+    void shouldPersistRecordsOnSync() throws IOException {
+        try (FileBackedTaskManager manager = new FileBackedTaskManager(directory, 1_000, 60_000)) {
+            long before = Files.size(directory.resolve("wal.bin"));
+            manager.createTask(new Task("Task", "Description"));
+            manager.sync();
+
+            assertTrue(Files.size(directory.resolve("wal.bin")) > before, "После sync() запись должна быть в файле");
+        }
+    }
+
+    @Test
+    void shouldRestoreScheduleAfterRestart() {
+        LocalDateTime start = LocalDateTime.of(2024, 1, 1, 10, 0);
+        int taskId;
+        int epicId;
+        try (FileBackedTaskManager manager = new FileBackedTaskManager(directory, 3, 1)) {
+            taskId = manager.createTask(new Task("Task", "Description", start, Duration.ofHours(1)));
+            epicId = manager.createEpic(new Epic("Epic", "Description"));
+            manager.createSubtask(new Subtask("Subtask", "Description", epicId, start.plusHours(2), Duration.ofHours(1)));
+            manager.createSubtask(new Subtask("Second", "Description", epicId, start.plusHours(4), Duration.ofHours(1)));
+        }
+
+        try (FileBackedTaskManager restored = Managers.getFileBacked(directory)) {
+            assertEquals(3, restored.getPrioritizedTasks().size(), "Расписание должно восстановиться");
+            assertEquals(taskId, restored.getPrioritizedTasks().getFirst().getId(), "Порядок расписания должен сохраниться");
+            assertEquals(start.plusHours(5), restored.getEpicById(epicId).getEndTime(),
+                "Время эпика должно пересчитаться при восстановлении");
+            assertThrows(TaskOverlapException.class,
+                () -> restored.createTask(new Task("Overlap", "Description", start, Duration.ofMinutes(5))),
+                "Восстановленное расписание должно проверять пересечения");
+        }
+    }
+
+    @Test
+    void shouldKeepSubtaskInItsEpicLiveAndAfterRestart() {
+        int firstEpicId;
+        int secondEpicId;
+        int subtaskId;
+        try (FileBackedTaskManager manager = Managers.getFileBacked(directory)) {
+            firstEpicId = manager.createEpic(new Epic("First", "Description"));
+            secondEpicId = manager.createEpic(new Epic("Second", "Description"));
+            subtaskId = manager.createSubtask(new Subtask("Subtask", "Description", firstEpicId));
+            Subtask moved = new Subtask(subtaskId, "Subtask", "Description", TaskStatus.DONE, secondEpicId);
+
+            assertThrows(IllegalArgumentException.class, () -> manager.updateSubtask(moved),
+                "Подзадачу нельзя перенести в другой эпик");
+            assertThrows(IllegalArgumentException.class,
+                () -> manager.applyBatch(Batch.builder().updateSubtask(moved).build()),
+                "Пакет не должен переносить подзадачу в другой эпик");
+            assertEquals(firstEpicId, manager.getSubtaskById(subtaskId).getEpicId(), "Подзадача должна остаться в эпике");
+        }
+
+        try (FileBackedTaskManager restored = Managers.getFileBacked(directory)) {
+            assertEquals(firstEpicId, restored.getSubtaskById(subtaskId).getEpicId(),
+                "После восстановления подзадача должна остаться в своем эпике");
+            assertEquals(1, restored.getEpicSubtasks(firstEpicId).size(), "Первый эпик должен сохранить подзадачу");
+            assertTrue(restored.getEpicSubtasks(secondEpicId).isEmpty(), "Второй эпик не должен получить подзадачу");
+            assertEquals(TaskStatus.NEW, restored.getEpicById(firstEpicId).getStatus(),
+                "Отклоненное изменение не должно восстановиться");
+        }
+    }
+
+    @Test
+    void shouldRestoreBatchAfterRestart() {
+        int epicId;
+        BatchResult result;
+        try (FileBackedTaskManager manager = Managers.getFileBacked(directory)) {
+            epicId = manager.createEpic(new Epic("Epic", "Description"));
+            int removedId = manager.createTask(new Task("Removed", "Description"));
+            result = manager.applyBatch(Batch.builder()
+                .deleteTask(removedId)
+                .updateEpic(new Epic(epicId, "Renamed", "Description", null))
+                .createSubtask(new Subtask("First", "Description", epicId))
+                .createSubtask(new Subtask("Second", "Description", epicId))
+                .build());
+        }
+
+        try (FileBackedTaskManager restored = Managers.getFileBacked(directory)) {
+            assertTrue(restored.getTasks().isEmpty(), "Удаление из пакета должно восстановиться");
+            assertEquals("Renamed", restored.getEpicById(epicId).getName(), "Обновление эпика должно восстановиться");
+            assertEquals(result.getCreatedIds().size(), restored.getEpicSubtasks(epicId).size(),
+                "Подзадачи из пакета должны восстановиться");
+            int newId = restored.createTask(new Task("New", "Description"));
+            assertTrue(newId > result.getCreatedIds().getLast(), "Новые id не должны совпадать с id из пакета");
+        }
+    }
+
+    @Test
+    void shouldNotRestoreEpicUpdatedAndDeletedInOneBatch() {
+        int epicId;
+        int keptId;
+        try (FileBackedTaskManager manager = Managers.getFileBacked(directory)) {
+            epicId = manager.createEpic(new Epic("Epic", "Description"));
+            keptId = manager.createEpic(new Epic("Kept", "Description"));
+            manager.applyBatch(Batch.builder()
+                .updateEpic(new Epic(epicId, "Renamed", "Description", null))
+                .deleteEpic(epicId)
+                .updateEpic(new Epic(keptId, "Kept renamed", "Description", null))
+                .build());
+        }
+
+        try (FileBackedTaskManager restored = Managers.getFileBacked(directory)) {
+            assertNull(restored.getEpicById(epicId), "Удалённый в пакете эпик не должен восстановиться");
+            assertEquals(List.of(keptId), restored.getEpics().stream().map(Epic::getId).toList(),
+                "Должен восстановиться только оставшийся эпик");
+            assertEquals("Kept renamed", restored.getEpicById(keptId).getName(),
+                "Обновление эпика должно восстановиться");
+            assertEquals(2, restored.getEpicById(keptId).getVersion(), "Версия эпика должна восстановиться");
+        }
+    }
+
+    @Test
+    void shouldRestoreVersionsFromLogAndSnapshot() {
+        int taskId;
+        int epicId;
+        int subtaskId;
+        long[] versions;
+        try (FileBackedTaskManager manager = Managers.getFileBacked(directory)) {
+            taskId = manager.createTask(new Task("Task", "Description"));
+            epicId = manager.createEpic(new Epic("Epic", "Description"));
+            subtaskId = manager.createSubtask(new Subtask("Subtask", "Description", epicId));
+            manager.updateTask(new Task(taskId, "Task", "Updated", TaskStatus.IN_PROGRESS));
+            manager.updateTask(new Task(taskId, "Task", "Updated again", TaskStatus.DONE));
+            manager.updateSubtask(new Subtask(subtaskId, "Subtask", "Updated", TaskStatus.DONE, epicId));
+            manager.applyBatch(Batch.builder()
+                .createSubtask(new Subtask("First", "Description", epicId))
+                .createSubtask(new Subtask("Second", "Description", epicId))
+                .build());
+            versions = versions(manager, taskId, epicId, subtaskId);
+        }
+
+        try (FileBackedTaskManager restored = Managers.getFileBacked(directory)) {
+            assertArrayEquals(versions, versions(restored, taskId, epicId, subtaskId),
+                "Версии должны восстанавливаться из журнала");
+            restored.compact();
+            restored.compact();
+        }
+
+        try (FileBackedTaskManager restored = Managers.getFileBacked(directory)) {
+            assertArrayEquals(versions, versions(restored, taskId, epicId, subtaskId),
+                "Версии должны восстанавливаться из снимка");
+            assertTrue(restored.compareAndUpdateTask(new Task(taskId, "Task", "After restart", TaskStatus.DONE),
+                versions[0]), "Версия, прочитанная до перезапуска, должна оставаться актуальной");
+        }
+    }
+
+    private static long[] versions(TaskManager manager, int taskId, int epicId, int subtaskId) {
+        return new long[]{manager.getTaskById(taskId).getVersion(), manager.getEpicById(epicId).getVersion(),
+            manager.getSubtaskById(subtaskId).getVersion()};
+    }
+}
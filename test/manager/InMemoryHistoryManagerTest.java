@@ -67,8 +67,8 @@ class InMemoryHistoryManagerTest {
     }
     
     @Test
-    void shouldLimitHistoryToTenItems() {
-        for (int i = 1; i <= 12; i++) {
+    void shouldNotLimitHistorySize() {
+        for (int i = 1; i <= 100_000; i++) {
             Task task = new Task("Task " + i, "Description " + i);
             task.setId(i);
             historyManager.add(task);
@@ -76,17 +76,13 @@ class InMemoryHistoryManagerTest {
         
         List<Task> history = historyManager.getHistory();
         
-        assertEquals(10, history.size(), "История должна содержать максимум 10 задач");
-        
-        Task firstTask = history.get(0);
-        assertEquals(3, firstTask.getId(), "Первая задача в истории должна иметь id=3");
-        
-        Task lastTask = history.get(9);
-        assertEquals(12, lastTask.getId(), "Последняя задача в истории должна иметь id=12");
+        assertEquals(100_000, history.size(), "История не должна ограничиваться по размеру");
+        assertEquals(1, history.get(0).getId(), "Первая задача в истории должна иметь id=1");
+        assertEquals(100_000, history.get(99_999).getId(), "Последняя задача в истории должна иметь id=100000");
     }
     
     @Test
-    void shouldAllowDuplicates() {
+    void shouldNotKeepDuplicates() {
         Task task = new Task("Task", "Description");
         task.setId(1);
         
@@ -96,10 +92,47 @@ class InMemoryHistoryManagerTest {
         
         List<Task> history = historyManager.getHistory();
         
-        assertEquals(3, history.size(), "История должна содержать 3 записи");
-        assertEquals(task, history.get(0), "Все записи должны быть одинаковыми");
-        assertEquals(task, history.get(1), "Все записи должны быть одинаковыми");
-        assertEquals(task, history.get(2), "Все записи должны быть одинаковыми");
+        assertEquals(1, history.size(), "Повторный просмотр не должен дублировать задачу в истории");
+        assertEquals(task, history.get(0), "В истории должна остаться просмотренная задача");
+    }
+    
+    @Test
+    void shouldMoveViewedAgainTaskToTheEnd() {
+        for (int i = 1; i <= 3; i++) {
+            Task task = new Task("Task " + i, "Description " + i);
+            task.setId(i);
+            historyManager.add(task);
+        }
+        Task again = new Task("Task 1", "Description 1");
+        again.setId(1);
+        historyManager.add(again);
+        
+        List<Task> history = historyManager.getHistory();
+        
+        assertEquals(3, history.size(), "История должна содержать 3 задачи");
+        assertEquals(2, history.get(0).getId(), "Первой должна стать задача с id=2");
+        assertEquals(3, history.get(1).getId(), "Второй должна быть задача с id=3");
+        assertEquals(1, history.get(2).getId(), "Повторно просмотренная задача должна оказаться в конце");
+    }
+    
+    @Test
+    void shouldRemoveTaskFromBeginningMiddleAndEnd() {
+        for (int i = 1; i <= 5; i++) {
+            Task task = new Task("Task " + i, "Description " + i);
+            task.setId(i);
+            historyManager.add(task);
+        }
+        
+        historyManager.remove(1);
+        historyManager.remove(3);
+        historyManager.remove(5);
+        historyManager.remove(42);
+        
+        List<Task> history = historyManager.getHistory();
+        
+        assertEquals(2, history.size(), "В истории должно остаться 2 задачи");
+        assertEquals(2, history.get(0).getId(), "Первой должна быть задача с id=2");
+        assertEquals(4, history.get(1).getId(), "Второй должна быть задача с id=4");
     }
     
     @Test
@@ -126,41 +159,36 @@ class InMemoryHistoryManagerTest {
     }
     
     @Test
-    void shouldReturnDefensiveCopyOfHistory() {
+    void shouldReturnUnmodifiableHistory() {
         Task task = new Task("Task", "Description");
         task.setId(1);
         historyManager.add(task);
         
-        List<Task> history1 = historyManager.getHistory();
-        List<Task> history2 = historyManager.getHistory();
-        
-        assertNotSame(history1, history2, 
-            "Метод getHistory() должен возвращать копию списка, а не ссылку на внутренний список");
-        
-        history1.clear();
-        List<Task> history3 = historyManager.getHistory();
+        List<Task> history = historyManager.getHistory();
         
-        assertEquals(1, history3.size(), 
-            "Изменение возвращенного списка не должно влиять на внутреннее состояние");
+        assertThrows(UnsupportedOperationException.class, history::clear,
+            "Список истории не должен позволять изменять внутреннее состояние");
+        assertEquals(1, historyManager.getHistory().size(), 
+            "Попытка изменения возвращенного списка не должна влиять на внутреннее состояние");
     }
     
     @Test
-    void shouldHandleMaxCapacityProperly() {
-        for (int i = 1; i <= 10; i++) {
-            Task task = new Task("Task " + i, "Description " + i);
-            task.setId(i);
-            historyManager.add(task);
-        }
+    void shouldReuseHistoryUntilItChanges() {
+        Task task1 = new Task("Task 1", "Description 1");
+        task1.setId(1);
+        Task task2 = new Task("Task 2", "Description 2");
+        task2.setId(2);
+        historyManager.add(task1);
         
-        assertEquals(10, historyManager.getHistory().size(), "История должна содержать 10 задач");
+        List<Task> history1 = historyManager.getHistory();
+        List<Task> history2 = historyManager.getHistory();
         
-        Task newTask = new Task("New Task", "New Description");
-        newTask.setId(11);
-        historyManager.add(newTask);
+        assertSame(history1, history2, "Без изменений getHistory() не должен копировать историю заново");
         
-        List<Task> history = historyManager.getHistory();
-        assertEquals(10, history.size(), "История все еще должна содержать 10 задач");
-        assertEquals(11, history.get(9).getId(), "Последняя задача должна быть новой");
-        assertEquals(2, history.get(0).getId(), "Первая задача должна быть Task 2");
+        historyManager.add(task2);
+        List<Task> history3 = historyManager.getHistory();
+        
+        assertEquals(1, history1.size(), "Ранее полученный список не должен меняться");
+        assertEquals(2, history3.size(), "После добавления история должна содержать 2 задачи");
     }
-}
\ No newline at end of file
+}
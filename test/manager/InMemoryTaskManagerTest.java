@@ -1,10 +1,17 @@
 package manager;
 
+import event.Subscription;
+import event.TaskEvent;
 import model.*;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import static org.junit.jupiter.api.Assertions.*;
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
 
 class InMemoryTaskManagerTest {
     
@@ -185,6 +192,25 @@ class InMemoryTaskManagerTest {
         assertEquals(TaskStatus.DONE, taskManager.getEpic(epicId).getStatus());
     }
     
+    @Test
+    void shouldRecalculateEpicStatusWhenSubtasksDeleted() {
+        int epicId = taskManager.createEpic(new Epic("Epic", "Description"));
+        Subtask done = new Subtask(0, "Done", "Description", TaskStatus.DONE, epicId);
+        Subtask inProgress = new Subtask(0, "In progress", "Description", TaskStatus.IN_PROGRESS, epicId);
+        taskManager.createSubtask(done);
+        int inProgressId = taskManager.createSubtask(inProgress);
+        assertEquals(TaskStatus.IN_PROGRESS, taskManager.getEpicById(epicId).getStatus());
+        
+        taskManager.deleteSubtaskById(inProgressId);
+        assertEquals(TaskStatus.DONE, taskManager.getEpicById(epicId).getStatus(), 
+            "После удаления незавершенной подзадачи эпик должен стать DONE");
+        
+        taskManager.deleteAllSubtasks();
+        assertEquals(TaskStatus.NEW, taskManager.getEpicById(epicId).getStatus(), 
+            "После удаления всех подзадач эпик должен стать NEW");
+        assertTrue(taskManager.getEpicById(epicId).getSubtaskIds().isEmpty(), "У эпика не должно остаться подзадач");
+    }
+    
     @Test
     void shouldRemoveSubtasksWhenEpicDeleted() {
         Epic epic = new Epic("Epic", "Description");
@@ -243,20 +269,83 @@ class InMemoryTaskManagerTest {
     }
     
     @Test
-    void shouldLimitHistoryToTenTasks() {
+    void shouldKeepEachViewedTaskOnceInHistory() {
         for (int i = 1; i <= 12; i++) {
             Task task = new Task("Task " + i, "Description " + i);
             int id = taskManager.createTask(task);
             taskManager.getTask(id);
+            taskManager.getTask(id);
         }
         
         List<Task> history = taskManager.getHistory();
         
-        assertEquals(10, history.size(), "История должна содержать максимум 10 задач");
-        assertEquals("Task 3", history.get(0).getName(), 
-            "Первой в истории должна быть Task 3 (самая старая из оставшихся)");
-        assertEquals("Task 12", history.get(9).getName(), 
-            "Последней в истории должна быть Task 12 (самая новая)");
+        assertEquals(12, history.size(), "История должна содержать каждую просмотренную задачу один раз");
+        assertEquals("Task 1", history.get(0).getName(), "Первой в истории должна быть Task 1");
+        assertEquals("Task 12", history.get(11).getName(), "Последней в истории должна быть Task 12");
+    }
+    
+    @Test
+    void shouldRemoveDeletedTasksFromHistory() {
+        Task task = new Task("Task", "Description");
+        Epic epic = new Epic("Epic", "Description");
+        int taskId = taskManager.createTask(task);
+        int epicId = taskManager.createEpic(epic);
+        int subtaskId = taskManager.createSubtask(new Subtask("Subtask", "Description", epicId));
+        
+        taskManager.getTask(taskId);
+        taskManager.getEpic(epicId);
+        taskManager.getSubtask(subtaskId);
+        
+        taskManager.deleteTaskById(taskId);
+        assertEquals(2, taskManager.getHistory().size(), "Удаленная задача должна исчезнуть из истории");
+        
+        taskManager.deleteEpicById(epicId);
+        assertTrue(taskManager.getHistory().isEmpty(), 
+            "Удаление эпика должно убирать из истории и эпик, и его подзадачи");
+    }
+    
+    @Test
+    void shouldFindTasksByStatus() {
+        Task task = new Task("Task", "Description");
+        int taskId = taskManager.createTask(task);
+        taskManager.createTask(new Task("Other", "Description"));
+        
+        task.setStatus(TaskStatus.IN_PROGRESS);
+        taskManager.updateTask(task);
+        
+        assertEquals(List.of(task), taskManager.getTasksByStatus(TaskStatus.IN_PROGRESS), 
+            "Должна находиться задача в работе");
+        assertEquals(1, taskManager.getTasksByStatus(TaskStatus.NEW).size(), "Должна остаться одна новая задача");
+        
+        taskManager.deleteTaskById(taskId);
+        assertTrue(taskManager.getTasksByStatus(TaskStatus.IN_PROGRESS).isEmpty(), 
+            "Удаленная задача не должна находиться по статусу");
+        assertThrows(IllegalArgumentException.class, () -> taskManager.getTasksByStatus(null),
+            "Статус для поиска не может быть null");
+    }
+    
+    @Test
+    void shouldIndexDerivedEpicStatus() {
+        int epicId = taskManager.createEpic(new Epic("Epic", "Description"));
+        Subtask subtask = new Subtask("Subtask", "Description", epicId);
+        int subtaskId = taskManager.createSubtask(subtask);
+        assertEquals(1, taskManager.getEpicsByStatus(TaskStatus.NEW).size(), "Новый эпик должен быть NEW");
+        
+        subtask.setStatus(TaskStatus.DONE);
+        taskManager.updateSubtask(subtask);
+        
+        assertEquals(epicId, taskManager.getEpicsByStatus(TaskStatus.DONE).getFirst().getId(), 
+            "Эпик должен переместиться в индекс DONE");
+        assertTrue(taskManager.getEpicsByStatus(TaskStatus.NEW).isEmpty(), "Эпик не должен остаться в индексе NEW");
+        assertEquals(subtaskId, taskManager.getSubtasksByStatus(TaskStatus.DONE).getFirst().getId(), 
+            "Подзадача должна находиться по статусу DONE");
+        
+        taskManager.deleteAllSubtasks();
+        assertTrue(taskManager.getSubtasksByStatus(TaskStatus.DONE).isEmpty(), "Подзадач не должно остаться");
+        assertEquals(1, taskManager.getEpicsByStatus(TaskStatus.NEW).size(), "Эпик без подзадач должен вернуться в NEW");
+        
+        taskManager.deleteEpicById(epicId);
+        assertTrue(taskManager.getEpicsByStatus(TaskStatus.NEW).isEmpty(), "Удаленный эпик не должен находиться");
     }
     
     @Test
@@ -279,4 +368,381 @@ class InMemoryTaskManagerTest {
         assertNotNull(taskManager.getTask(id2), "Задача с заданным id должна быть найдена");
         assertNotNull(taskManager.getTask(generatedId2), "Вторая задача с сгенерированным id должна быть найдена");
     }
-}
\ No newline at end of file
+    
+    @Test
+    void shouldReturnTasksSortedByStartTime() {
+        LocalDateTime start = LocalDateTime.of(2024, 1, 1, 10, 0);
+        int epicId = taskManager.createEpic(new Epic("Epic", "Description"));
+        int late = taskManager.createTask(new Task("Late", "Description", start.plusHours(3), Duration.ofMinutes(30)));
+        int early = taskManager.createSubtask(new Subtask("Early", "Description", epicId, start, Duration.ofMinutes(30)));
+        taskManager.createTask(new Task("Unscheduled", "Description"));
+        int middle = taskManager.createTask(new Task("Middle", "Description", start.plusHours(1), Duration.ofMinutes(30)));
+        
+        List<Integer> ids = taskManager.getPrioritizedTasks().stream().map(Task::getId).toList();
+        
+        assertEquals(List.of(early, middle, late), ids, "Задачи должны быть упорядочены по времени начала без задач без времени");
+    }
+    
+    @Test
+    void shouldRejectOverlappingTasks() {
+        LocalDateTime start = LocalDateTime.of(2024, 1, 1, 10, 0);
+        int existing = taskManager.createTask(new Task("Existing", "Description", start, Duration.ofHours(1)));
+        int epicId = taskManager.createEpic(new Epic("Epic", "Description"));
+        
+        TaskOverlapException exception = assertThrows(TaskOverlapException.class,
+            () -> taskManager.createTask(new Task("Inside", "Description", start.plusMinutes(30), Duration.ofMinutes(10))),
+            "Пересекающаяся задача должна отклоняться");
+        assertEquals(existing, exception.getConflictingTaskId(), "Исключение должно указывать на конфликтующую задачу");
+        Subtask around = new Subtask("Around", "Description", epicId, start.minusMinutes(30), Duration.ofHours(2));
+        assertThrows(TaskOverlapException.class, () -> taskManager.createSubtask(around),
+            "Подзадача, охватывающая задачу, должна отклоняться");
+        assertEquals(0, around.getId(), "Отклоненная подзадача не должна сохранить выданный id");
+        
+        taskManager.createTask(new Task("Adjacent", "Description", start.plusHours(1), Duration.ofHours(1)));
+        assertEquals(2, taskManager.getPrioritizedTasks().size(), "Смежные интервалы не должны считаться пересечением");
+        assertTrue(taskManager.getSubtasks().isEmpty(), "Отклоненная подзадача не должна сохраниться");
+    }
+    
+    @Test
+    void shouldNotConflictWithItselfOnUpdate() {
+        LocalDateTime start = LocalDateTime.of(2024, 1, 1, 10, 0);
+        Task task = new Task("Task", "Description", start, Duration.ofHours(1));
+        int id = taskManager.createTask(task);
+        
+        Task moved = new Task(id, "Task", "Description", TaskStatus.NEW);
+        moved.setStartTime(start.plusMinutes(30));
+        moved.setDuration(Duration.ofHours(1));
+        taskManager.updateTask(moved);
+        
+        assertEquals(start.plusMinutes(30), taskManager.getPrioritizedTasks().getFirst().getStartTime(),
+            "Задача должна переместиться без конфликта с собой");
+        taskManager.createTask(new Task("Freed", "Description", start, Duration.ofMinutes(30)));
+        assertEquals(2, taskManager.getPrioritizedTasks().size(), "Освобожденный интервал должен быть доступен");
+    }
+    
+    @Test
+    void shouldDeriveEpicTimeFromSubtasks() {
+        LocalDateTime start = LocalDateTime.of(2024, 1, 1, 10, 0);
+        int epicId = taskManager.createEpic(new Epic("Epic", "Description"));
+        int first = taskManager.createSubtask(new Subtask("First", "Description", epicId, start, Duration.ofHours(1)));
+        Subtask last = new Subtask("Last", "Description", epicId, start.plusHours(3), Duration.ofHours(2));
+        taskManager.createSubtask(last);
+        
+        Epic epic = taskManager.getEpicById(epicId);
+        assertEquals(start, epic.getStartTime(), "Начало эпика - самое раннее начало подзадач");
+        assertEquals(start.plusHours(5), epic.getEndTime(), "Окончание эпика - самое позднее окончание подзадач");
+        assertEquals(Duration.ofHours(3), epic.getDuration(), "Продолжительность эпика - сумма продолжительностей");
+        
+        last.setStartTime(start.plusHours(1));
+        taskManager.updateSubtask(last);
+        assertEquals(start.plusHours(3), epic.getEndTime(), "Окончание эпика должно пересчитаться после обновления");
+        
+        taskManager.deleteSubtaskById(first);
+        assertEquals(start.plusHours(1), epic.getStartTime(), "Начало эпика должно пересчитаться после удаления");
+        
+        taskManager.deleteAllSubtasks();
+        assertNull(epic.getStartTime(), "У эпика без подзадач нет времени начала");
+        assertNull(epic.getEndTime(), "У эпика без подзадач нет времени окончания");
+        assertTrue(taskManager.getPrioritizedTasks().isEmpty(), "Удаленные подзадачи не должны оставаться в расписании");
+    }
+    
+    @Test
+    void shouldReturnSameViewWhileDataIsUnchanged() {
+        Task task = new Task("Task", "Description");
+        taskManager.createTask(task);
+        int epicId = taskManager.createEpic(new Epic("Epic", "Description"));
+        
+        List<Task> tasks = taskManager.getTasksView();
+        List<Epic> epics = taskManager.getEpicsView();
+        assertSame(tasks, taskManager.getTasksView(), "Повторное чтение без изменений не должно копировать список");
+        assertThrows(UnsupportedOperationException.class, () -> tasks.add(new Task("Other", "Description")),
+            "Представление должно быть неизменяемым");
+        
+        taskManager.updateEpic(new Epic(epicId, "Renamed", "Description", null));
+        assertSame(epics, taskManager.getEpicsView(), "Обновление эпика на месте не должно сбрасывать представление");
+        
+        taskManager.createTask(new Task("Second", "Description"));
+        List<Task> updated = taskManager.getTasksView();
+        assertNotSame(tasks, updated, "После изменения должно строиться новое представление");
+        assertEquals(2, updated.size(), "Новое представление должно содержать новую задачу");
+        assertEquals(1, tasks.size(), "Старое представление не должно меняться");
+        
+        int subtaskId = taskManager.createSubtask(new Subtask("Subtask", "Description", epicId));
+        assertEquals(1, taskManager.getSubtasksView().size(), "Представление подзадач должно обновиться");
+        taskManager.deleteEpicById(epicId);
+        assertTrue(taskManager.getSubtasksView().isEmpty(), "Подзадачи удаленного эпика не должны оставаться");
+        assertTrue(taskManager.getEpicsView().isEmpty(), "Удаленный эпик не должен оставаться");
+        assertNull(taskManager.getSubtaskById(subtaskId), "Подзадача должна быть удалена");
+    }
+    
+    @Test
+    void shouldApplyBatchAndRecomputeEpicOnce() {
+        int epicId = taskManager.createEpic(new Epic("Epic", "Description"));
+        int oldTaskId = taskManager.createTask(new Task("Old", "Description"));
+        LocalDateTime start = LocalDateTime.of(2024, 1, 1, 10, 0);
+        Batch.Builder builder = Batch.builder()
+            .createTask(new Task("Task", "Description"))
+            .deleteTask(oldTaskId);
+        for (int i = 0; i < 10; i++) {
+            builder.createSubtask(new Subtask("Subtask " + i, "Description", epicId,
+                start.plusHours(i), Duration.ofMinutes(30)));
+        }
+        
+        BatchResult result = taskManager.applyBatch(builder.build());
+        
+        assertEquals(12, result.getOperationCount(), "Должны быть учтены все операции пакета");
+        assertEquals(11, result.getCreatedIds().size(), "Должны вернуться id всех созданных задач");
+        assertEquals(1, result.getAffectedEpicCount(), "Эпик должен пересчитываться один раз за пакет");
+        assertTrue(result.getElapsedNanos() > 0, "Должно возвращаться время выполнения пакета");
+        assertNull(taskManager.getTaskById(oldTaskId), "Удаление из пакета должно примениться");
+        assertEquals(10, taskManager.getEpicSubtasks(epicId).size(), "Подзадачи должны быть привязаны к эпику");
+        Epic epic = taskManager.getEpicById(epicId);
+        assertEquals(start, epic.getStartTime(), "Время эпика должно пересчитаться после пакета");
+        assertEquals(start.plusHours(9).plusMinutes(30), epic.getEndTime(), "Окончание эпика должно пересчитаться");
+        assertEquals(Duration.ofMinutes(300), epic.getDuration(), "Длительность эпика должна пересчитаться");
+        
+        Batch.Builder done = Batch.builder();
+        for (Integer id : result.getCreatedIds().subList(1, 11)) {
+            Subtask subtask = taskManager.getSubtaskById(id);
+            done.updateSubtask(new Subtask(id, subtask.getName(), subtask.getDescription(), TaskStatus.DONE, epicId));
+        }
+        taskManager.applyBatch(done.build());
+        assertEquals(TaskStatus.DONE, epic.getStatus(), "Статус эпика должен пересчитаться после пакета");
+        assertEquals(List.of(epic), taskManager.getEpicsByStatus(TaskStatus.DONE), "Индекс статусов должен обновиться");
+        assertNull(epic.getStartTime(), "Подзадачи без времени не должны оставаться в расписании эпика");
+    }
+    
+    @Test
+    void shouldRejectInvalidBatchWithoutChanges() {
+        int epicId = taskManager.createEpic(new Epic("Epic", "Description"));
+        Task task = new Task("Task", "Description");
+        Batch batch = Batch.builder()
+            .createTask(task)
+            .deleteEpic(epicId)
+            .createSubtask(new Subtask("Subtask", "Description", epicId))
+            .build();
+        
+        assertThrows(IllegalArgumentException.class, () -> taskManager.applyBatch(batch),
+            "Подзадача не может ссылаться на эпик, удаленный ранее в пакете");
+        assertTrue(taskManager.getTasks().isEmpty(), "Некорректный пакет не должен применяться частично");
+        assertNotNull(taskManager.getEpicById(epicId), "Некорректный пакет не должен удалять эпик");
+        assertEquals(0, task.getId(), "Задаче из отклоненного пакета не должен назначаться id");
+        
+        Batch duplicate = Batch.builder().createTask(task).createTask(task).build();
+        assertThrows(IllegalArgumentException.class, () -> taskManager.applyBatch(duplicate),
+            "Одна и та же задача не может создаваться дважды");
+        assertThrows(IllegalArgumentException.class, () -> Batch.builder().createTask(null),
+            "Операция пакета не может содержать null");
+    }
+    
+    @Test
+    void shouldRollBackScheduleWhenBatchOverlaps() {
+        LocalDateTime start = LocalDateTime.of(2024, 1, 1, 10, 0);
+        int existingId = taskManager.createTask(new Task("Existing", "Description", start, Duration.ofHours(1)));
+        Batch batch = Batch.builder()
+            .deleteTask(existingId)
+            .createTask(new Task("Moved", "Description", start.plusHours(2), Duration.ofHours(1)))
+            .createTask(new Task("Overlap", "Description", start.plusHours(2), Duration.ofMinutes(30)))
+            .build();
+        
+        assertThrows(TaskOverlapException.class, () -> taskManager.applyBatch(batch),
+            "Пересечения внутри пакета должны обнаруживаться");
+        assertEquals(List.of(taskManager.getTaskById(existingId)), taskManager.getPrioritizedTasks(),
+            "Расписание должно откатиться после ошибки");
+        assertThrows(TaskOverlapException.class,
+            () -> taskManager.createTask(new Task("Again", "Description", start, Duration.ofMinutes(5))),
+            "Слот удаленной в пакете задачи должен восстановиться");
+        
+        Batch valid = Batch.builder()
+            .deleteTask(existingId)
+            .createTask(new Task("Replacement", "Description", start, Duration.ofHours(1)))
+            .build();
+        taskManager.applyBatch(valid);
+        assertEquals("Replacement", taskManager.getPrioritizedTasks().getFirst().getName(),
+            "Освобожденный в пакете слот должен быть доступен следующим операциям");
+    }
+    
+    @Test
+    void shouldApplyRepeatedSubtaskUpdatesInBatchToEpicTime() {
+        LocalDateTime start = LocalDateTime.of(2024, 1, 1, 10, 0);
+        int epicId = taskManager.createEpic(new Epic("Epic", "Description"));
+        int subtaskId = taskManager.createSubtask(
+            new Subtask("Subtask", "Description", epicId, start, Duration.ofHours(1)));
+        Subtask first = new Subtask(subtaskId, "First", "Description", TaskStatus.IN_PROGRESS, epicId);
+        first.setStartTime(start.plusHours(2));
+        first.setDuration(Duration.ofHours(2));
+        Subtask second = new Subtask(subtaskId, "Second", "Description", TaskStatus.DONE, epicId);
+        second.setStartTime(start.plusHours(5));
+        second.setDuration(Duration.ofMinutes(30));
+
+        taskManager.applyBatch(Batch.builder().updateSubtask(first).updateSubtask(second).build());
+
+        Epic epic = taskManager.getEpicById(epicId);
+        assertEquals(start.plusHours(5), epic.getStartTime(), "Начало эпика берется из последнего обновления");
+        assertEquals(Duration.ofMinutes(30), epic.getDuration(), "Длительность не должна учитывать слот дважды");
+        assertEquals(start.plusHours(5).plusMinutes(30), epic.getEndTime(), "Конец эпика берется из последнего обновления");
+
+        taskManager.deleteSubtaskById(subtaskId);
+        epic = taskManager.getEpicById(epicId);
+        assertNull(epic.getStartTime(), "После удаления подзадачи у эпика не остается времени");
+        assertNull(epic.getDuration(), "После удаления подзадачи длительность эпика сбрасывается");
+    }
+    
+    @Test
+    void shouldSearchByTermsAndPrefixes() {
+        int taskId = taskManager.createTask(new Task("Починить CI", "Сборка падает на тестах"));
+        int epicId = taskManager.createEpic(new Epic("Release 2.0", "Сборка релиза"));
+        int subtaskId = taskManager.createSubtask(new Subtask("Собрать changelog", "Release notes", epicId));
+        taskManager.createTask(new Task("Обновить README", "Документация"));
+
+        assertEquals(List.of(taskId, epicId), ids(taskManager.search("сборка")), "Поиск по слову без учета регистра");
+        assertEquals(List.of(epicId, subtaskId), ids(taskManager.search("RELEASE")), "Поиск идет по всем типам задач");
+        assertEquals(List.of(taskId, epicId, subtaskId), ids(taskManager.search("с*")), "Поиск по префиксу");
+        assertEquals(List.of(epicId), ids(taskManager.search("release сбор*")), "Все слова запроса должны совпасть");
+        assertTrue(taskManager.search("release readme").isEmpty(), "Пересечение без общих задач пусто");
+        assertTrue(taskManager.search("   ").isEmpty(), "Пустой запрос ничего не находит");
+        assertThrows(IllegalArgumentException.class, () -> taskManager.search(null), "Запрос не может быть null");
+    }
+
+    @Test
+    void shouldKeepSearchIndexInSyncWithChanges() {
+        Task task = new Task("Alpha", "Description");
+        int taskId = taskManager.createTask(task);
+        int epicId = taskManager.createEpic(new Epic("Epic", "Beta"));
+        int subtaskId = taskManager.createSubtask(new Subtask("Gamma", "Description", epicId));
+
+        task.setName("Delta");
+        taskManager.updateTask(task);
+        taskManager.updateEpic(new Epic(epicId, "Epic", "Omega", TaskStatus.NEW));
+        taskManager.updateSubtask(new Subtask(subtaskId, "Gamma", "Omega", TaskStatus.DONE, epicId));
+
+        assertTrue(taskManager.search("alpha").isEmpty(), "Старое название не должно находиться");
+        assertEquals(List.of(taskId), ids(taskManager.search("delta")), "Новое название должно находиться");
+        assertTrue(taskManager.search("beta").isEmpty(), "Старое описание эпика не должно находиться");
+        assertEquals(List.of(epicId, subtaskId), ids(taskManager.search("omega")), "Новые описания должны находиться");
+        assertEquals(List.of(taskId), ids(taskManager.search("description")), "Неизмененные слова остаются в индексе");
+        assertEquals(List.of(subtaskId), ids(taskManager.search("gamma")), "Название подзадачи остается в индексе");
+
+        taskManager.deleteTaskById(taskId);
+        assertTrue(taskManager.search("delta").isEmpty(), "Удаленная задача не должна находиться");
+        taskManager.deleteEpicById(epicId);
+        assertTrue(taskManager.search("omega").isEmpty(), "Подзадачи удаленного эпика не должны находиться");
+        taskManager.createTask(new Task("Omega", "Description"));
+        taskManager.deleteAllTasks();
+        assertTrue(taskManager.search("description").isEmpty(), "После очистки индекс должен быть пуст");
+    }
+
+    @Test
+    void shouldIncrementVersionsAndRejectStaleUpdates() {
+        int taskId = taskManager.createTask(new Task("Task", "Description"));
+        int epicId = taskManager.createEpic(new Epic("Epic", "Description"));
+        int subtaskId = taskManager.createSubtask(new Subtask("Subtask", "Description", epicId));
+        assertEquals(1, taskManager.getTaskById(taskId).getVersion(), "Новая задача должна получить версию 1");
+        assertEquals(2, taskManager.getEpicById(epicId).getVersion(), "Подзадача должна менять версию эпика");
+
+        Task update = new Task(taskId, "Renamed", "Description", TaskStatus.IN_PROGRESS);
+        assertTrue(taskManager.compareAndUpdateTask(update, 1), "Актуальная версия должна приниматься");
+        assertEquals(2, taskManager.getTaskById(taskId).getVersion(), "Изменение должно увеличивать версию");
+
+        Task stale = new Task(taskId, "Stale", "Description", TaskStatus.DONE);
+        assertFalse(taskManager.compareAndUpdateTask(stale, 1), "Устаревшая версия должна отклоняться");
+        assertEquals("Renamed", taskManager.getTaskById(taskId).getName(), "Отклоненная запись не должна применяться");
+
+        Subtask subtask = new Subtask(subtaskId, "Subtask", "Description", TaskStatus.DONE, epicId);
+        assertTrue(taskManager.compareAndUpdateSubtask(subtask, 1), "Подзадача с актуальной версией обновляется");
+        assertEquals(TaskStatus.DONE, taskManager.getEpicById(epicId).getStatus(), "Статус эпика должен пересчитаться");
+        assertFalse(taskManager.compareAndUpdateSubtask(new Subtask(subtaskId, "Subtask", "Description",
+            TaskStatus.NEW, epicId), 1), "Подзадача с устаревшей версией должна отклоняться");
+
+        Epic epic = new Epic(epicId, "Epic", "Description", TaskStatus.NEW);
+        assertFalse(taskManager.compareAndUpdateEpic(epic, 2), "Эпик, измененный подзадачей, считается устаревшим");
+        assertTrue(taskManager.compareAndUpdateEpic(epic, taskManager.getEpicById(epicId).getVersion()), "Эпик с актуальной версией обновляется");
+
+        taskManager.deleteTaskById(taskId);
+        assertFalse(taskManager.compareAndUpdateTask(update, 2), "Удаленная задача не должна обновляться");
+        assertThrows(IllegalArgumentException.class, () -> taskManager.compareAndUpdateTask(null, 1),
+            "Пустая задача должна отклоняться");
+    }
+
+    @Test
+    void shouldRejectStaleUpdateOfSharedInstance() {
+        int taskId = taskManager.createTask(new Task("Task", "Description"));
+        Task first = taskManager.getTaskById(taskId);
+        long firstVersion = first.getVersion();
+        Task second = taskManager.getTaskById(taskId);
+        second.setName("Second");
+        assertTrue(taskManager.compareAndUpdateTask(second, second.getVersion()), "Первая запись должна приниматься");
+
+        first.setName("First");
+        assertFalse(taskManager.compareAndUpdateTask(first, firstVersion),
+            "Запись по прочитанной ранее версии должна отклоняться даже для общего экземпляра");
+        assertEquals(2, taskManager.getTaskById(taskId).getVersion(), "Отклоненная запись не должна менять версию");
+    }
+
+    private static List<Integer> ids(List<? extends Task> tasks) {
+        return tasks.stream().map(Task::getId).toList();
+    }
+
+    @Test
+    void shouldPublishChangeEvents() throws InterruptedException {
+        BlockingQueue<TaskEvent> received = new LinkedBlockingQueue<>();
+        try (Subscription subscription = taskManager.getEventBus().subscribe(received::addAll)) {
+            int taskId = taskManager.createTask(new Task("Task", "Description"));
+            int epicId = taskManager.createEpic(new Epic("Epic", "Description"));
+            int subtaskId = taskManager.createSubtask(new Subtask("Subtask", "Description", epicId));
+            taskManager.updateSubtask(new Subtask(subtaskId, "Subtask", "Description", TaskStatus.DONE, epicId));
+            taskManager.deleteTaskById(taskId);
+            taskManager.deleteEpicById(epicId);
+            
+            List<TaskEvent.Type> expected = List.of(
+                TaskEvent.Type.TASK_CREATED,
+                TaskEvent.Type.EPIC_CREATED,
+                TaskEvent.Type.SUBTASK_CREATED,
+                TaskEvent.Type.SUBTASK_UPDATED,
+                TaskEvent.Type.EPIC_STATUS_CHANGED,
+                TaskEvent.Type.TASK_DELETED,
+                TaskEvent.Type.SUBTASK_DELETED,
+                TaskEvent.Type.EPIC_DELETED);
+            long previous = 0;
+            for (TaskEvent.Type type : expected) {
+                TaskEvent event = received.poll(5, TimeUnit.SECONDS);
+                assertNotNull(event, "Событие " + type + " должно быть опубликовано");
+                assertEquals(type, event.type(), "События должны соответствовать изменениям");
+                assertTrue(event.sequence() > previous, "Номера событий должны возрастать");
+                previous = event.sequence();
+            }
+            assertNull(received.poll(50, TimeUnit.MILLISECONDS), "Лишних событий быть не должно");
+            assertEquals(previous + 1, subscription.getNextSequence(), "Подписка должна знать номер для продолжения");
+        }
+    }
+
+    @Test
+    void shouldPublishCopiesOfChangedTasks() throws InterruptedException {
+        BlockingQueue<TaskEvent> received = new LinkedBlockingQueue<>();
+        try (Subscription subscription = taskManager.getEventBus().subscribe(received::addAll)) {
+            Task task = new Task("Task", "Description");
+            int taskId = taskManager.createTask(task);
+            int epicId = taskManager.createEpic(new Epic("Epic", "Description"));
+            int subtaskId = taskManager.createSubtask(new Subtask("Subtask", "Description", epicId));
+
+            Task created = received.poll(5, TimeUnit.SECONDS).task();
+            assertNotSame(task, created, "Событие должно содержать копию задачи");
+            task.setName("Changed");
+            task.setStatus(TaskStatus.DONE);
+            assertEquals("Task", created.getName(), "Изменение задачи не должно менять опубликованное событие");
+            assertEquals(TaskStatus.NEW, created.getStatus(), "Статус в событии должен остаться прежним");
+
+            Epic epic = (Epic) received.poll(5, TimeUnit.SECONDS).task();
+            Subtask subtask = (Subtask) received.poll(5, TimeUnit.SECONDS).task();
+            subtask.setStatus(TaskStatus.DONE);
+            epic.clearSubtaskIds();
+            assertEquals(TaskStatus.NEW, taskManager.getSubtaskById(subtaskId).getStatus(),
+                "Изменение задачи из события не должно менять менеджер");
+            assertEquals(List.of(subtaskId), taskManager.getEpicById(epicId).getSubtaskIds(),
+                "Изменение эпика из события не должно менять менеджер");
+            assertEquals(taskId, created.getId(), "Копия должна сохранять идентификатор");
+            assertNull(received.poll(50, TimeUnit.MILLISECONDS), "Лишних событий быть не должно");
+            assertEquals(4, subscription.getNextSequence(), "Подписка должна получить три события");
+        }
+    }
+}
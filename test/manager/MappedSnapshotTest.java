@@ -0,0 +1,108 @@
+package manager;
+
+import model.*;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+class MappedSnapshotTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void shouldServeTasksByIdFromMappedFile() throws IOException {
+        Path file = directory.resolve("snapshot.bin");
+        Epic epic = new Epic(1, "Эпик", "Описание эпика", null);
+        Subtask done = new Subtask(2, "Готово", "", TaskStatus.DONE, 1);
+        Subtask inProgress = new Subtask(3, "В работе", "Описание", TaskStatus.IN_PROGRESS, 1);
+        Task task = new Task(4, "Task", "Description", TaskStatus.NEW);
+
+        MappedSnapshot.write(file, 7, 10, List.of(epic), List.of(done, inProgress), List.of(task));
+
+        try (MappedSnapshot snapshot = MappedSnapshot.open(file)) {
+            assertEquals(7, snapshot.getGeneration(), "Поколение снимка должно сохраниться");
+            assertEquals(10, snapshot.getMaxIssuedId(), "Максимальный выданный id должен сохраниться");
+            assertEquals(4, snapshot.size(), "Снимок должен содержать 4 записи");
+
+            Task loadedTask = snapshot.getTask(4);
+            assertEquals("Task", loadedTask.getName(), "Имя задачи должно совпадать");
+            assertEquals(TaskStatus.NEW, loadedTask.getStatus(), "Статус задачи должен совпадать");
+
+            Subtask loadedSubtask = assertInstanceOf(Subtask.class, snapshot.getTask(3));
+            assertEquals("В работе", loadedSubtask.getName(), "Строки в UTF-8 должны читаться без искажений");
+            assertEquals(1, loadedSubtask.getEpicId(), "Связь с эпиком должна сохраниться");
+            assertEquals("", snapshot.getTask(2).getDescription(), "Пустое описание должно сохраниться");
+
+            Epic loadedEpic = assertInstanceOf(Epic.class, snapshot.getTask(1));
+            assertEquals(List.of(2, 3), loadedEpic.getSubtaskIds(), "Эпик должен знать свои подзадачи");
+            assertEquals(TaskStatus.IN_PROGRESS, loadedEpic.getStatus(), "Статус эпика должен вычисляться по подзадачам");
+
+            assertNull(snapshot.getTask(42), "Несуществующий id должен возвращать null");
+            assertFalse(snapshot.contains(42), "Несуществующий id не должен содержаться в снимке");
+        }
+    }
+
+    @Test
+    void shouldIterateRecordsInStoredOrder() throws IOException {
+        Path file = directory.resolve("snapshot.bin");
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 1; i <= 5_000; i++) {
+            tasks.add(new Task(i, "Task " + i, "Description " + i, TaskStatus.NEW));
+        }
+        MappedSnapshot.write(file, 1, 5_000, List.of(), List.of(), tasks);
+
+        List<Integer> ids = new ArrayList<>();
+        try (MappedSnapshot snapshot = MappedSnapshot.open(file)) {
+            snapshot.forEach(task -> ids.add(task.getId()));
+            assertEquals("Description 4321", snapshot.getTask(4321).getDescription(),
+                "Строки из разных блоков кучи должны читаться корректно");
+        }
+
+        assertEquals(5_000, ids.size(), "Должны быть прочитаны все записи");
+        assertEquals(1, ids.getFirst(), "Первой должна быть первая записанная задача");
+        assertEquals(5_000, ids.getLast(), "Последней должна быть последняя записанная задача");
+    }
+
+    @Test
+    void shouldRejectUnknownFormat() throws IOException {
+        Path file = directory.resolve("snapshot.bin");
+        Files.write(file, new byte[64]);
+
+        assertThrows(IOException.class, () -> MappedSnapshot.open(file), "Неизвестный формат должен отклоняться");
+    }
+
+    @Test
+    void shouldPersistStartTimeAndDuration() throws IOException {
+        Path file = directory.resolve("snapshot.bin");
+        LocalDateTime start = LocalDateTime.of(2024, 1, 1, 10, 0, 0, 500);
+        Epic epic = new Epic(1, "Epic", "Description", null);
+        Subtask first = new Subtask(2, "First", "", TaskStatus.NEW, 1);
+        first.setStartTime(start);
+        first.setDuration(Duration.ofMinutes(45));
+        Subtask second = new Subtask(3, "Second", "", TaskStatus.NEW, 1);
+        second.setStartTime(start.plusHours(2));
+        Task task = new Task(4, "Task", "Description", TaskStatus.NEW);
+
+        MappedSnapshot.write(file, 1, 4, List.of(epic), List.of(first, second), List.of(task));
+
+        try (MappedSnapshot snapshot = MappedSnapshot.open(file)) {
+            assertEquals(start, snapshot.getTask(2).getStartTime(), "Время начала должно сохраниться с наносекундами");
+            assertEquals(Duration.ofMinutes(45), snapshot.getTask(2).getDuration(), "Продолжительность должна сохраниться");
+            assertNull(snapshot.getTask(3).getDuration(), "Отсутствующая продолжительность должна остаться null");
+            assertNull(snapshot.getTask(4).getStartTime(), "Отсутствующее время начала должно остаться null");
+
+            Epic loadedEpic = assertInstanceOf(Epic.class, snapshot.getTask(1));
+            assertEquals(start, loadedEpic.getStartTime(), "Начало эпика должно вычисляться по подзадачам");
+            assertEquals(start.plusHours(2), loadedEpic.getEndTime(), "Окончание эпика должно вычисляться по подзадачам");
+            assertEquals(Duration.ofMinutes(45), loadedEpic.getDuration(), "Продолжительность эпика - сумма подзадач");
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package manager;
+
+import model.*;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+class OffHeapTaskManagerTest {
+
+    @Test
+    void shouldMaterializeStoredFields() {
+        OffHeapTaskManager manager = Managers.getOffHeap();
+        LocalDateTime start = LocalDateTime.of(2024, 1, 1, 10, 0, 5, 123_456_789);
+        int taskId = manager.createTask(new Task("Задача", "Описание", start, Duration.ofMillis(90_500)));
+        int epicId = manager.createEpic(new Epic("Epic", "Description"));
+        int subtaskId = manager.createSubtask(new Subtask("Subtask", "Description", epicId));
+        manager.updateSubtask(new Subtask(subtaskId, "Subtask", "Done", TaskStatus.DONE, epicId));
+
+        Task task = manager.getTaskById(taskId);
+        assertEquals("Задача", task.getName(), "Имя должно храниться вне кучи без потерь");
+        assertEquals("Описание", task.getDescription(), "Описание должно храниться без потерь");
+        assertEquals(start, task.getStartTime(), "Время начала должно сохранять наносекунды");
+        assertEquals(Duration.ofMillis(90_500), task.getDuration(), "Длительность должна сохраняться");
+        assertNotSame(task, manager.getTaskById(taskId), "Задача должна собираться при каждом чтении");
+
+        Subtask subtask = manager.getSubtaskById(subtaskId);
+        assertEquals(epicId, subtask.getEpicId(), "Подзадача должна помнить эпик");
+        assertEquals(TaskStatus.DONE, subtask.getStatus(), "Статус подзадачи должен обновиться");
+        assertNull(subtask.getStartTime(), "Пустое время должно оставаться пустым");
+        assertEquals(2, subtask.getVersion(), "Версия должна храниться вне кучи");
+        assertEquals(TaskStatus.DONE, manager.getEpicById(epicId).getStatus(), "Статус эпика должен пересчитаться");
+        assertEquals(List.of(taskId), manager.search("задача").stream().map(Task::getId).toList(),
+            "Поиск должен работать поверх внешнего хранилища");
+    }
+
+    @Test
+    void shouldBehaveLikeHashMap() {
+        Random random = new Random(7);
+        Map<Integer, Task> expected = new HashMap<>();
+        OffHeapTaskStore<Task> store = OffHeapTaskStore.tasks(new StringArena());
+        for (int i = 0; i < 20_000; i++) {
+            int id = random.nextInt(3_000);
+            if (random.nextInt(3) == 0) {
+                Task removed = store.remove(id);
+                assertEquals(expected.remove(id) != null, removed != null, "Удаление должно совпадать с HashMap");
+            } else {
+                Task task = new Task(id, "Task " + random.nextInt(500), "Description", TaskStatus.IN_PROGRESS);
+                expected.put(id, task);
+                store.put(id, task);
+            }
+            assertEquals(expected.size(), store.size(), "Размер должен совпадать с HashMap");
+        }
+        for (Map.Entry<Integer, Task> entry : expected.entrySet()) {
+            assertEquals(entry.getValue().getName(), store.get(entry.getKey()).getName(),
+                "Значения должны совпадать с HashMap");
+        }
+        assertEquals(expected.keySet(), new HashSet<>(store.keySet()), "Ключи должны совпадать с HashMap");
+        assertEquals(expected.size(), store.values().size(), "Обход должен вернуть все значения");
+        assertNull(store.get(5_000), "Отсутствующий ключ не должен находиться");
+    }
+
+    @Test
+    void shouldDeduplicateStringsAndReleaseThemWhenEmpty() {
+        OffHeapTaskManager manager = Managers.getOffHeap();
+        int epicId = manager.createEpic(new Epic("Epic", "Description"));
+        for (int i = 0; i < 1_000; i++) {
+            manager.createTask(new Task("Task " + i % 10, "Description"));
+            manager.createSubtask(new Subtask("Task " + i % 10, "Description", epicId));
+        }
+
+        assertEquals(11, manager.getDistinctStringCount(), "Одинаковые строки должны храниться один раз");
+        manager.deleteAllTasks();
+        assertEquals(11, manager.getDistinctStringCount(), "Строки подзадач должны сохраниться");
+        manager.deleteAllEpics();
+        assertEquals(0, manager.getDistinctStringCount(), "После удаления всего строки должны освобождаться");
+    }
+
+    @Test
+    void shouldReclaimReplacedStrings() {
+        OffHeapTaskManager manager = Managers.getOffHeap();
+        int taskId = manager.createTask(new Task("Task", "Description"));
+        int epicId = manager.createEpic(new Epic("Epic", "Description"));
+        int subtaskId = manager.createSubtask(new Subtask("Subtask", "Description", epicId));
+        String padding = "x".repeat(1_000);
+        for (int i = 0; i < 20_000; i++) {
+            manager.updateTask(new Task(taskId, "Task", padding + i, TaskStatus.IN_PROGRESS));
+        }
+        long allocated = manager.getOffHeapBytes();
+        for (int i = 0; i < 20_000; i++) {
+            manager.updateTask(new Task(taskId, "Task", padding + i, TaskStatus.IN_PROGRESS));
+        }
+
+        assertEquals(allocated, manager.getOffHeapBytes(), "Заменённые строки должны освобождаться");
+        assertEquals(4, manager.getDistinctStringCount(), "В арене должны остаться только живые строки");
+        assertEquals(padding + 19_999, manager.getTaskById(taskId).getDescription(),
+            "Описание должно пережить уплотнение арены");
+        assertEquals("Subtask", manager.getSubtaskById(subtaskId).getName(),
+            "Строки подзадач должны пережить уплотнение арены");
+    }
+}
@@ -0,0 +1,55 @@
+package manager;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+class PersistentIntMapTest {
+
+    @Test
+    void shouldBehaveLikeHashMap() {
+        Random random = new Random(42);
+        Map<Integer, String> expected = new HashMap<>();
+        PersistentIntMap<String> map = PersistentIntMap.empty();
+        for (int i = 0; i < 20_000; i++) {
+            int key = random.nextInt(4) == 0 ? random.nextInt() : random.nextInt(2_000);
+            if (random.nextInt(3) == 0) {
+                expected.remove(key);
+                map = map.remove(key);
+            } else {
+                String value = "v" + i;
+                expected.put(key, value);
+                map = map.put(key, value);
+            }
+            assertEquals(expected.size(), map.size(), "Размер должен совпадать с HashMap");
+        }
+        for (Map.Entry<Integer, String> entry : expected.entrySet()) {
+            assertEquals(entry.getValue(), map.get(entry.getKey()), "Значения должны совпадать с HashMap");
+        }
+        List<String> values = new ArrayList<>();
+        map.forEach(values::add);
+        assertEquals(expected.size(), values.size(), "Обход должен вернуть все значения");
+        assertTrue(values.containsAll(expected.values()), "Обход должен вернуть те же значения");
+    }
+
+    @Test
+    void shouldKeepPreviousVersionsUnchanged() {
+        PersistentIntMap<String> empty = PersistentIntMap.empty();
+        PersistentIntMap<String> first = empty.put(1, "one").put(33, "thirty three").put(-1, "minus one");
+        PersistentIntMap<String> second = first.put(1, "uno").remove(33);
+
+        assertNull(empty.get(1), "Пустая версия не должна меняться");
+        assertEquals("one", first.get(1), "Старая версия должна сохранить значение");
+        assertEquals("thirty three", first.get(33), "Старая версия должна сохранить удаленный ключ");
+        assertEquals(3, first.size(), "Старая версия должна сохранить размер");
+        assertEquals("uno", second.get(1), "Новая версия должна видеть изменение");
+        assertNull(second.get(33), "Новая версия не должна видеть удаленный ключ");
+        assertEquals("minus one", second.get(-1), "Отрицательные ключи должны поддерживаться");
+        assertSame(second, second.remove(100), "Удаление отсутствующего ключа не должно создавать версию");
+        assertTrue(second.remove(1).remove(-1).isEmpty(), "После удаления всех ключей карта должна быть пустой");
+    }
+}
@@ -0,0 +1,136 @@
+package manager;
+
+import model.*;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+class ReplicationTest {
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+    @Test
+    void shouldStreamLeaderMutationsToFollower() throws Exception {
+        try (ReplicationLeader leader = new ReplicationLeader(0);
+             ReplicaTaskManager replica = new ReplicaTaskManager(address(leader))) {
+            LocalDateTime start = LocalDateTime.of(2024, 1, 1, 10, 0);
+            Task task = new Task("Task", "Description", start, Duration.ofHours(1));
+            int taskId = leader.createTask(task);
+            int epicId = leader.createEpic(new Epic("Epic", "Description"));
+            int subtaskId = leader.createSubtask(new Subtask("Subtask", "Description", epicId));
+            leader.updateSubtask(new Subtask(subtaskId, "Subtask", "Done", TaskStatus.DONE, epicId));
+            leader.applyBatch(Batch.builder()
+                .createTask(new Task("First", "Batch"))
+                .createTask(new Task("Second", "Batch"))
+                .build());
+            task.setName("Renamed");
+            leader.updateTask(task);
+
+            assertTrue(replica.awaitSequence(leader.getLastSequence(), TIMEOUT), "Реплика должна догнать лидера");
+            assertEquals("Renamed", replica.getTaskById(taskId).getName(), "Обновление задачи должно доехать");
+            assertEquals(TaskStatus.DONE, replica.getEpicById(epicId).getStatus(), "Статус эпика должен пересчитаться");
+            assertEquals(List.of(subtaskId), replica.getEpicById(epicId).getSubtaskIds(), "Эпик должен знать подзадачи");
+            assertEquals(3, replica.getTasks().size(), "Задачи пакета должны доехать");
+            assertEquals(List.of(taskId), replica.getPrioritizedTasks().stream().map(Task::getId).toList(),
+                "Расписание реплики должно совпадать с лидером");
+            assertEquals(List.of(taskId), replica.search("renamed").stream().map(Task::getId).toList(),
+                "Поиск на реплике должен работать");
+            assertEquals(0, replica.getSnapshotCount(), "Новой реплике не нужен снимок");
+
+            leader.deleteEpicById(epicId);
+            leader.deleteTaskById(taskId);
+            assertTrue(replica.awaitSequence(leader.getLastSequence(), TIMEOUT), "Удаления должны доехать");
+            assertTrue(replica.getEpics().isEmpty(), "Эпик должен быть удален на реплике");
+            assertTrue(replica.getSubtasks().isEmpty(), "Подзадачи эпика должны быть удалены на реплике");
+            assertEquals(2, replica.getTasks().size(), "Задача должна быть удалена на реплике");
+        }
+    }
+
+    @Test
+    void shouldRejectWritesOnReplica() throws Exception {
+        try (ReplicationLeader leader = new ReplicationLeader(0);
+             ReplicaTaskManager replica = new ReplicaTaskManager(address(leader))) {
+            assertThrows(UnsupportedOperationException.class, () -> replica.createTask(new Task("Task", "Description")),
+                "Реплика должна быть только для чтения");
+            assertThrows(UnsupportedOperationException.class, replica::deleteAllEpics,
+                "Реплика должна запрещать удаление");
+            assertThrows(UnsupportedOperationException.class,
+                () -> replica.applyBatch(Batch.builder().createTask(new Task("Task", "Description")).build()),
+                "Реплика должна запрещать пакеты");
+        }
+    }
+
+    @Test
+    void shouldCatchUpFromSnapshotWhenLogIsOverwritten() throws Exception {
+        InetSocketAddress address = new InetSocketAddress(InetAddress.getLoopbackAddress(), 0);
+        try (ReplicationLeader leader = new ReplicationLeader(address, 8)) {
+            int epicId = leader.createEpic(new Epic("Epic", "Description"));
+            for (int i = 0; i < 100; i++) {
+                leader.createSubtask(new Subtask("Subtask " + i, "Description", epicId));
+            }
+            try (ReplicaTaskManager replica = new ReplicaTaskManager(address(leader))) {
+                assertTrue(replica.awaitSequence(leader.getLastSequence(), TIMEOUT), "Реплика должна загрузить снимок");
+                assertEquals(1, replica.getSnapshotCount(), "Отставшая реплика должна получить снимок");
+                assertEquals(100, replica.getEpicSubtasks(epicId).size(), "Снимок должен содержать все подзадачи");
+
+                int taskId = leader.createTask(new Task("After snapshot", "Description"));
+                assertTrue(replica.awaitSequence(leader.getLastSequence(), TIMEOUT), "После снимка поток должен продолжиться");
+                assertNotNull(replica.getTaskById(taskId), "Новая задача должна доехать после снимка");
+                assertEquals(1, replica.getSnapshotCount(), "Повторный снимок не нужен");
+                assertEquals(leader.getEpicById(epicId).getStatus(), replica.getEpicById(epicId).getStatus(),
+                    "Статус эпика должен совпадать с лидером");
+                assertEquals(leader.getEpicById(epicId).getVersion(), replica.getEpicById(epicId).getVersion(),
+                    "Версия эпика из снимка должна совпадать с лидером");
+            }
+        }
+    }
+
+    @Test
+    void shouldKeepServingOldBoardUntilSnapshotEnds() throws Exception {
+        try (ServerSocketChannel server = ServerSocketChannel.open()) {
+            server.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+            try (ReplicaTaskManager replica = new ReplicaTaskManager((InetSocketAddress) server.getLocalAddress());
+                 SocketChannel follower = server.accept()) {
+                follower.read(ByteBuffer.allocate(ReplicationFrames.HANDSHAKE_SIZE));
+                follower.write(ReplicationFrames.snapshotBegin(1));
+                follower.write(ReplicationFrames.snapshotRecords(List.of(upsert(new Task(1, "Old", "Description", TaskStatus.NEW)))));
+                follower.write(ReplicationFrames.snapshotEnd(1));
+                assertTrue(replica.awaitSequence(1, TIMEOUT), "Реплика должна загрузить первый снимок");
+
+                follower.write(ReplicationFrames.snapshotBegin(2));
+                follower.write(ReplicationFrames.snapshotRecords(List.of(
+                    upsert(new Task(2, "New", "Description", TaskStatus.NEW)),
+                    upsert(new Task(3, "New", "Description", TaskStatus.DONE)))));
+                assertFalse(replica.awaitSequence(5, Duration.ofMillis(200)), "Снимок еще не завершен");
+                assertEquals(List.of("Old"), replica.getTasks().stream().map(Task::getName).toList(),
+                    "До конца снимка читатели должны видеть прежнюю доску");
+
+                follower.write(ReplicationFrames.snapshotEnd(5));
+                assertTrue(replica.awaitSequence(5, TIMEOUT), "Реплика должна загрузить второй снимок");
+                assertEquals(List.of(2, 3), replica.getTasks().stream().map(Task::getId).sorted().toList(),
+                    "После конца снимка доска должна замениться целиком");
+                assertNull(replica.getTaskById(1), "Задач прежнего лидера быть не должно");
+                assertEquals(2, replica.getSnapshotCount(), "Должны учитываться оба снимка");
+            }
+        }
+    }
+
+    private static byte[] upsert(Task task) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        TaskRecords.writeUpsert(new DataOutputStream(bytes), task);
+        return bytes.toByteArray();
+    }
+
+    private static InetSocketAddress address(ReplicationLeader leader) {
+        return new InetSocketAddress(InetAddress.getLoopbackAddress(), leader.getPort());
+    }
+}
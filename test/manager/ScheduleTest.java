@@ -0,0 +1,98 @@
+package manager;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+class ScheduleTest {
+    private static final LocalDateTime START = LocalDateTime.of(2024, 1, 1, 10, 0);
+
+    @Test
+    void shouldWriteUntimedItemsWithoutTheScheduleLock() throws Exception {
+        Schedule schedule = new Schedule();
+        schedule.put(1, START, Duration.ofHours(1));
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            executor.submit(() -> {
+                synchronized (schedule) {
+                    locked.countDown();
+                    release.await();
+                }
+                return null;
+            });
+            assertTrue(locked.await(5, TimeUnit.SECONDS), "Расписание должно быть занято");
+
+            Future<Schedule.Slot> untimed = executor.submit(() -> {
+                schedule.put(2, null, null);
+                schedule.check(2, null, null);
+                return schedule.remove(2);
+            });
+            assertNull(untimed.get(5, TimeUnit.SECONDS), "Задача без времени не должна ждать блокировку расписания");
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+
+        assertEquals(List.of(1), schedule.orderedIds(), "Слоты других задач не должны меняться");
+        assertEquals(Duration.ofHours(1), schedule.remove(1).duration(), "Слот должен удаляться по id");
+        assertNull(schedule.put(1, null, null), "После удаления слот не должен находиться");
+    }
+
+    @Test
+    void shouldFindConflictsNextToRunsOfZeroLengthSlots() {
+        Schedule schedule = new Schedule();
+        schedule.put(1, START, Duration.ofHours(1));
+        for (int id = 2; id <= 1_000; id++) {
+            schedule.put(id, START.plusHours(1), Duration.ZERO);
+        }
+
+        schedule.put(1_001, START.plusHours(1), Duration.ofHours(1));
+        assertEquals(1, overlapWith(schedule, START.plusMinutes(30), Duration.ZERO),
+            "Точка внутри слота должна пересекаться с ним");
+        assertEquals(1_001, overlapWith(schedule, START.plusMinutes(90), Duration.ofMinutes(10)),
+            "Слот после нулевых должен находиться");
+        assertEquals(1_001, overlapWith(schedule, START.plusHours(1), Duration.ofMinutes(1)),
+            "Слот с тем же началом должен пересекаться");
+        schedule.put(1_002, START.plusMinutes(150), Duration.ZERO);
+        assertEquals(1_002, overlapWith(schedule, START.plusMinutes(135), Duration.ofMinutes(20)),
+            "Нулевой слот внутри кандидата должен пересекаться");
+        assertNull(schedule.put(1_003, START.plusHours(1), Duration.ZERO), "Нулевой слот на границе допустим");
+    }
+
+    @Test
+    void shouldMatchPairwiseOverlapCheck() {
+        Schedule schedule = new Schedule();
+        List<Schedule.Slot> stored = new ArrayList<>();
+        Random random = new Random(42);
+        for (int id = 1; id <= 2_000; id++) {
+            LocalDateTime start = START.plusMinutes(random.nextInt(5_000));
+            Duration duration = Duration.ofMinutes(random.nextInt(4) == 0 ? 0 : random.nextInt(30));
+            Schedule.Slot candidate = new Schedule.Slot(id, start, start.plus(duration));
+            boolean expected = stored.stream().anyMatch(slot -> slot.overlaps(candidate));
+            try {
+                schedule.put(id, start, duration);
+                assertFalse(expected, "Пересечение не должно пропускаться");
+                stored.add(candidate);
+            } catch (TaskOverlapException e) {
+                assertTrue(expected, "Непересекающийся слот не должен отклоняться");
+            }
+        }
+        assertEquals(stored.size(), schedule.orderedIds().size(), "Все принятые слоты должны храниться");
+    }
+
+    private static int overlapWith(Schedule schedule, LocalDateTime start, Duration duration) {
+        return assertThrows(TaskOverlapException.class, () -> schedule.check(0, start, duration),
+            "Пересечение должно находиться").getConflictingTaskId();
+    }
+}
@@ -0,0 +1,64 @@
+package manager;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+class SearchIndexTest {
+
+    private static final String[] WORDS = {"alpha", "alps", "beta", "bet", "gamma", "delta", "deploy", "docs"};
+
+    @Test
+    void shouldMatchLinearScan() {
+        Random random = new Random(7);
+        SearchIndex index = new SearchIndex();
+        Map<Integer, String> texts = new HashMap<>();
+        for (int i = 0; i < 5_000; i++) {
+            int id = random.nextInt(500);
+            if (random.nextInt(4) == 0) {
+                index.remove(id);
+                texts.remove(id);
+            } else {
+                String text = WORDS[random.nextInt(WORDS.length)] + " " + WORDS[random.nextInt(WORDS.length)];
+                index.put(id, text, null);
+                texts.put(id, text);
+            }
+        }
+        for (String query : List.of("alpha", "al*", "be* delta", "bet", "alps gamma docs", "d*", "missing", "de* d*")) {
+            List<String> terms = SearchIndex.parseQuery(query);
+            List<Integer> expected = new ArrayList<>();
+            for (int id = 0; id < 500; id++) {
+                String text = texts.get(id);
+                if (text != null && terms.stream().allMatch(term -> matches(text, term))) {
+                    expected.add(id);
+                }
+            }
+            List<Integer> actual = new ArrayList<>();
+            for (int id : index.search(terms)) {
+                actual.add(id);
+            }
+            assertEquals(expected, actual, "Результат индекса должен совпадать с перебором для запроса " + query);
+        }
+    }
+
+    @Test
+    void shouldTokenizeQueries() {
+        assertEquals(List.of("ci", "build*"), SearchIndex.parseQuery("  CI, build* "), "Запрос разбивается на слова");
+        assertEquals(List.of("foo", "bar*"), SearchIndex.parseQuery("foo-bar*"), "Префиксом считается последнее слово");
+        assertTrue(SearchIndex.parseQuery("*").isEmpty(), "Запрос без слов пуст");
+        assertEquals(0, new SearchIndex().search(List.of()).length, "Пустой запрос ничего не находит");
+    }
+
+    private static boolean matches(String text, String term) {
+        for (String word : text.split(" ")) {
+            if (term.endsWith("*") ? word.startsWith(term.substring(0, term.length() - 1)) : word.equals(term)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,189 @@
+package manager;
+
+import event.Subscription;
+import event.TaskEvent;
+import model.*;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+class ShardedTaskManagerTest {
+
+    @Test
+    void shouldPlaceSubtasksWithTheirEpicAndSpreadTheRest() {
+        ShardedTaskManager manager = new ShardedTaskManager(4);
+        Set<Integer> usedShards = new HashSet<>();
+        for (int i = 0; i < 8; i++) {
+            int epicId = manager.createEpic(new Epic("Epic " + i, "Description"));
+            int subtaskId = manager.createSubtask(new Subtask("Subtask " + i, "Description", epicId));
+            usedShards.add(manager.shardOf(epicId));
+            assertEquals(manager.shardOf(epicId), manager.shardOf(subtaskId), "Подзадача должна жить в шарде эпика");
+        }
+        int taskId = manager.createTask(new Task("Task", "Description"));
+
+        assertEquals(4, usedShards.size(), "Эпики должны распределяться по всем шардам");
+        assertEquals(17, manager.getTasks().size() + manager.getEpics().size() + manager.getSubtasks().size(),
+            "Списки должны собираться со всех шардов");
+        assertEquals("Task", manager.getTask(taskId).getName(), "Задача должна находиться по id в своем шарде");
+        assertEquals(List.of(taskId), manager.getHistory().stream().map(Task::getId).toList(),
+            "История должна быть общей для всех шардов");
+        assertNull(manager.getTaskById(0), "Несуществующий id не должен находиться");
+    }
+
+    @Test
+    void shouldBehaveLikeTaskManagerAcrossShards() {
+        ShardedTaskManager manager = new ShardedTaskManager(3);
+        LocalDateTime start = LocalDateTime.of(2024, 1, 1, 10, 0);
+        int firstEpic = manager.createEpic(new Epic("First", "Description"));
+        int secondEpic = manager.createEpic(new Epic("Second", "Description"));
+        int late = manager.createSubtask(new Subtask("Late", "Description", firstEpic, start.plusHours(2), Duration.ofHours(1)));
+        int early = manager.createSubtask(new Subtask("Early", "Description", secondEpic, start, Duration.ofHours(1)));
+        Subtask done = manager.getSubtaskById(early);
+        done.setStatus(TaskStatus.DONE);
+        manager.updateSubtask(done);
+
+        assertNotEquals(manager.shardOf(firstEpic), manager.shardOf(secondEpic), "Эпики должны попасть в разные шарды");
+        assertEquals(List.of(early, late), manager.getPrioritizedTasks().stream().map(Task::getId).toList(),
+            "Приоритет должен учитывать задачи всех шардов");
+        assertThrows(TaskOverlapException.class,
+            () -> manager.createTask(new Task("Overlap", "Description", start, Duration.ofMinutes(30))),
+            "Пересечения должны проверяться между шардами");
+        assertEquals(TaskStatus.DONE, manager.getEpicById(secondEpic).getStatus(), "Статус эпика должен пересчитаться");
+        assertEquals(1, manager.getSubtasksByStatus(TaskStatus.DONE).size(), "Поиск по статусу охватывает все шарды");
+        assertEquals(List.of(firstEpic, secondEpic), manager.search("description").stream()
+            .filter(task -> task instanceof Epic).map(Task::getId).toList(), "Поиск должен сортировать результаты по id");
+        assertThrows(IllegalArgumentException.class,
+            () -> manager.updateSubtask(new Subtask(late, "Late", "Description", TaskStatus.NEW, secondEpic)),
+            "Подзадача не может перейти в эпик другого шарда");
+
+        manager.deleteAllSubtasks();
+        assertTrue(manager.getSubtasks().isEmpty(), "Подзадачи должны удаляться во всех шардах");
+        assertTrue(manager.getPrioritizedTasks().isEmpty(), "Расписание должно очищаться");
+        assertEquals(TaskStatus.NEW, manager.getEpicById(secondEpic).getStatus(), "Эпики без подзадач должны быть NEW");
+        manager.deleteAllEpics();
+        assertTrue(manager.getEpics().isEmpty(), "Эпики должны удаляться во всех шардах");
+    }
+
+    @Test
+    void shouldApplyBatchesAcrossShards() {
+        ShardedTaskManager manager = new ShardedTaskManager(2);
+        int firstEpic = manager.createEpic(new Epic("First", "Description"));
+        int secondEpic = manager.createEpic(new Epic("Second", "Description"));
+
+        BatchResult result = manager.applyBatch(Batch.builder()
+            .createSubtask(new Subtask("A", "Description", firstEpic))
+            .createTask(new Task("Task", "Description"))
+            .createSubtask(new Subtask("B", "Description", secondEpic))
+            .build());
+
+        List<Integer> created = result.getCreatedIds();
+        assertEquals(3, created.size(), "Должны вернуться id всех созданных задач");
+        assertEquals("A", manager.getSubtaskById(created.get(0)).getName(), "Id должны идти в порядке операций");
+        assertEquals("Task", manager.getTaskById(created.get(1)).getName(), "Id должны идти в порядке операций");
+        assertEquals("B", manager.getSubtaskById(created.get(2)).getName(), "Id должны идти в порядке операций");
+        assertEquals(2, result.getAffectedEpicCount(), "Должны учитываться эпики всех шардов");
+    }
+
+    @Test
+    void shouldSpreadBatchCreatesAcrossShards() {
+        ShardedTaskManager manager = new ShardedTaskManager(4);
+        Batch.Builder builder = Batch.builder();
+        for (int i = 0; i < 200; i++) {
+            builder.createTask(new Task("Task " + i, "Description"));
+            builder.createEpic(new Epic("Epic " + i, "Description"));
+        }
+
+        BatchResult result = manager.applyBatch(builder.build());
+
+        int[] perShard = new int[manager.getShardCount()];
+        for (int id : result.getCreatedIds()) {
+            perShard[manager.shardOf(id)]++;
+        }
+        assertArrayEquals(new int[]{100, 100, 100, 100}, perShard, "Пакетные создания должны распределяться по шардам");
+        assertEquals(200, manager.getTaskCount(), "Все задачи пакета должны сохраниться");
+        assertEquals(200, manager.getEpicCount(), "Все эпики пакета должны сохраниться");
+    }
+
+    @Test
+    void shouldValidateAllShardsBeforeApplyingBatch() {
+        ShardedTaskManager manager = new ShardedTaskManager(2);
+        int firstEpic = manager.createEpic(new Epic("First", "Description"));
+        int secondEpic = manager.createEpic(new Epic("Second", "Description"));
+        assertNotEquals(manager.shardOf(firstEpic), manager.shardOf(secondEpic), "Эпики должны быть в разных шардах");
+
+        Batch batch = Batch.builder()
+            .createSubtask(new Subtask("A", "Description", firstEpic))
+            .updateTask(new Task(secondEpic + 1, "Missing", "Description", TaskStatus.DONE))
+            .build();
+
+        assertThrows(IllegalArgumentException.class, () -> manager.applyBatch(batch),
+            "Ошибка в части другого шарда должна отклонять весь пакет");
+        assertTrue(manager.getSubtasks().isEmpty(), "Части пакета не должны применяться до проверки всех шардов");
+        assertTrue(manager.getEpicById(firstEpic).getSubtaskIds().isEmpty(), "Эпик не должен получить подзадачу");
+    }
+
+    @Test
+    void shouldPublishBulkDeletionOnce() throws InterruptedException {
+        ShardedTaskManager manager = new ShardedTaskManager(4);
+        BlockingQueue<TaskEvent> received = new LinkedBlockingQueue<>();
+        Subscription subscription = manager.getEventBus().subscribe(received::addAll);
+        try {
+            manager.createTask(new Task("First", "Description"));
+            manager.createTask(new Task("Second", "Description"));
+            manager.deleteAllTasks();
+
+            List<TaskEvent.Type> types = new ArrayList<>();
+            for (int i = 0; i < 3; i++) {
+                TaskEvent event = received.poll(5, TimeUnit.SECONDS);
+                assertNotNull(event, "Событие должно быть доставлено");
+                types.add(event.type());
+            }
+            assertEquals(List.of(TaskEvent.Type.TASK_CREATED, TaskEvent.Type.TASK_CREATED, TaskEvent.Type.ALL_TASKS_DELETED),
+                types, "Шарды должны публиковать в общую шину, а массовое удаление — один раз");
+            assertNull(received.poll(100, TimeUnit.MILLISECONDS), "Лишних событий быть не должно");
+        } finally {
+            subscription.close();
+        }
+    }
+
+    @Test
+    void shouldAllocateUniqueIdsConcurrently() throws Exception {
+        ShardedTaskManager manager = new ShardedTaskManager(4);
+        int threads = 4;
+        int perThread = 3_000;
+        try (ExecutorService executor = Executors.newFixedThreadPool(threads)) {
+            List<Future<List<Integer>>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(executor.submit(() -> {
+                    List<Integer> ids = new ArrayList<>();
+                    for (int i = 0; i < perThread; i++) {
+                        int epicId = manager.createEpic(new Epic("Epic", "Description"));
+                        ids.add(epicId);
+                        ids.add(manager.createSubtask(new Subtask("Subtask", "Description", epicId)));
+                    }
+                    return ids;
+                }));
+            }
+            Set<Integer> ids = new HashSet<>();
+            for (Future<List<Integer>> future : futures) {
+                ids.addAll(future.get());
+            }
+            assertEquals(threads * perThread * 2, ids.size(), "Все id должны быть уникальными");
+        }
+        assertEquals(threads * perThread, manager.getSubtasks().size(), "Все подзадачи должны сохраниться");
+        for (Epic epic : manager.getEpics()) {
+            assertEquals(1, epic.getSubtaskCount(), "Каждый эпик должен содержать свою подзадачу");
+        }
+    }
+}
@@ -0,0 +1,192 @@
+package manager;
+
+import model.*;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.lang.ref.WeakReference;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+class VersionedTaskManagerTest {
+
+    @Test
+    void shouldBehaveLikeTaskManager() {
+        VersionedTaskManager manager = Managers.getVersioned();
+        LocalDateTime start = LocalDateTime.of(2024, 1, 1, 10, 0);
+        int taskId = manager.createTask(new Task("Task", "Description", start.plusHours(2), Duration.ofHours(1)));
+        int epicId = manager.createEpic(new Epic("Epic", "Description"));
+        int subtaskId = manager.createSubtask(new Subtask("Subtask", "Description", epicId, start, Duration.ofHours(1)));
+        manager.updateSubtask(new Subtask(subtaskId, "Subtask", "Done", TaskStatus.DONE, epicId));
+
+        assertEquals("Task", manager.getTask(taskId).getName(), "Задача должна читаться из текущей версии");
+        assertEquals(TaskStatus.DONE, manager.getEpicById(epicId).getStatus(), "Статус эпика должен пересчитаться");
+        assertEquals(List.of(subtaskId), manager.getEpicById(epicId).getSubtaskIds(), "Эпик должен знать подзадачи");
+        assertEquals(1, manager.getEpicSubtasks(epicId).size(), "Подзадачи эпика должны читаться");
+        assertEquals(1, manager.getEpicsByStatus(TaskStatus.DONE).size(), "Поиск по статусу должен работать");
+        assertEquals(List.of(taskId), manager.getPrioritizedTasks().stream().map(Task::getId).toList(),
+            "Расписание должно учитывать только задачи со временем");
+        assertEquals(1, manager.getHistory().size(), "Просмотры должны попадать в историю");
+        assertEquals(List.of(taskId), manager.search("task").stream().map(Task::getId).toList(),
+            "Поиск должен читать текущую версию");
+
+        manager.deleteEpicById(epicId);
+        assertNull(manager.getSubtaskById(subtaskId), "Подзадачи удаленного эпика должны исчезнуть");
+        assertTrue(manager.getEpics().isEmpty(), "Эпик должен быть удален");
+    }
+
+    @Test
+    void shouldKeepSnapshotUnchangedByLaterWrites() {
+        VersionedTaskManager manager = Managers.getVersioned();
+        Task task = new Task("Task", "Description");
+        int taskId = manager.createTask(task);
+        int epicId = manager.createEpic(new Epic("Epic", "Description"));
+        int subtaskId = manager.createSubtask(new Subtask("Subtask", "Description", epicId));
+
+        try (TaskManagerSnapshot snapshot = manager.snapshot()) {
+            task.setName("Renamed");
+            manager.updateTask(task);
+            manager.updateSubtask(new Subtask(subtaskId, "Subtask", "Description", TaskStatus.DONE, epicId));
+            manager.createSubtask(new Subtask("Second", "Description", epicId));
+            manager.deleteAllTasks();
+
+            assertEquals(3, snapshot.getVersion(), "Снимок должен помнить свою версию");
+            assertEquals(7, manager.getVersion(), "Каждое изменение должно создавать новую версию");
+            assertEquals("Task", snapshot.getTaskById(taskId).getName(), "Снимок не должен видеть новые версии");
+            assertEquals(TaskStatus.NEW, snapshot.getEpicById(epicId).getStatus(), "Статус эпика в снимке не меняется");
+            assertEquals(1, snapshot.getEpicSubtasks(epicId).size(), "Состав эпика в снимке не меняется");
+            assertEquals(TaskStatus.IN_PROGRESS, manager.getEpicById(epicId).getStatus(),
+                "Менеджер должен видеть изменения");
+            assertTrue(manager.getTasks().isEmpty(), "Менеджер должен видеть удаление");
+        }
+    }
+
+    @Test
+    void shouldKeepSnapshotUnchangedByMutatedReadResults() {
+        VersionedTaskManager manager = Managers.getVersioned();
+        int taskId = manager.createTask(new Task("Task", "Description"));
+        int epicId = manager.createEpic(new Epic("Epic", "Description"));
+        int subtaskId = manager.createSubtask(new Subtask("Subtask", "Description", epicId));
+
+        try (TaskManagerSnapshot snapshot = manager.snapshot()) {
+            Task task = manager.getTaskById(taskId);
+            task.setName("Renamed");
+            task.setStatus(TaskStatus.DONE);
+            snapshot.getSubtaskById(subtaskId).setStatus(TaskStatus.DONE);
+            snapshot.getTasks().getFirst().setDescription("Changed");
+            snapshot.getEpicSubtasks(epicId).getFirst().setName("Changed");
+
+            assertEquals("Task", snapshot.getTaskById(taskId).getName(), "Изменение прочитанной задачи не должно менять снимок");
+            assertEquals("Description", snapshot.getTaskById(taskId).getDescription(),
+                "Изменение списка задач не должно менять снимок");
+            assertTrue(snapshot.getTasksByStatus(TaskStatus.DONE).isEmpty(), "Статус задачи в снимке не меняется");
+            assertEquals(TaskStatus.NEW, snapshot.getSubtaskById(subtaskId).getStatus(),
+                "Статус подзадачи в снимке не меняется");
+            assertEquals("Subtask", snapshot.getSubtasks().getFirst().getName(), "Имя подзадачи в снимке не меняется");
+            assertEquals("Task", manager.getTaskById(taskId).getName(), "Менеджер не должен видеть изменений без обновления");
+            assertTrue(manager.getTasksByStatus(TaskStatus.DONE).isEmpty(), "Индекс статусов не должен меняться");
+        }
+    }
+
+    @Test
+    void shouldCommitOneVersionPerBatchAndNoneForRejectedWrites() {
+        VersionedTaskManager manager = Managers.getVersioned();
+        int epicId = manager.createEpic(new Epic("Epic", "Description"));
+        long before = manager.getVersion();
+
+        manager.applyBatch(Batch.builder()
+            .createSubtask(new Subtask("First", "Description", epicId))
+            .createSubtask(new Subtask("Second", "Description", epicId))
+            .createTask(new Task("Task", "Description"))
+            .build());
+        assertEquals(before + 1, manager.getVersion(), "Пакет должен создавать одну версию");
+
+        assertThrows(IllegalArgumentException.class, () -> manager.createSubtask(new Subtask("Bad", "Description", 999)),
+            "Подзадача без эпика должна отклоняться");
+        manager.deleteTaskById(999);
+        assertEquals(before + 1, manager.getVersion(), "Изменения без эффекта не должны создавать версии");
+    }
+
+    @Test
+    void shouldReadConsistentStateWhileWriterRuns() throws Exception {
+        VersionedTaskManager manager = Managers.getVersioned();
+        int epicId = manager.createEpic(new Epic("Epic", "Description"));
+        AtomicBoolean running = new AtomicBoolean(true);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        Thread writer = new Thread(() -> {
+            try {
+                int round = 0;
+                while (running.get() && round < 20_000) {
+                    int id = manager.createSubtask(new Subtask("Subtask " + round, "Description", epicId));
+                    TaskStatus status = round % 2 == 0 ? TaskStatus.DONE : TaskStatus.IN_PROGRESS;
+                    manager.updateSubtask(new Subtask(id, "Subtask " + round, "Description", status, epicId));
+                    if (round % 3 == 0) {
+                        manager.deleteSubtaskById(id);
+                    }
+                    round++;
+                }
+            } catch (Throwable e) {
+                failure.set(e);
+            }
+        });
+        writer.start();
+        try {
+            for (int i = 0; i < 300; i++) {
+                try (TaskManagerSnapshot snapshot = manager.snapshot()) {
+                    Epic epic = snapshot.getEpicById(epicId);
+                    List<Subtask> subtasks = snapshot.getEpicSubtasks(epicId);
+                    Set<Integer> ids = new HashSet<>();
+                    boolean allDone = !subtasks.isEmpty();
+                    boolean allNew = true;
+                    for (Subtask subtask : subtasks) {
+                        ids.add(subtask.getId());
+                        allDone &= subtask.getStatus() == TaskStatus.DONE;
+                        allNew &= subtask.getStatus() == TaskStatus.NEW;
+                    }
+                    assertEquals(ids, new HashSet<>(epic.getSubtaskIds()), "Состав эпика должен совпадать с подзадачами");
+                    assertEquals(snapshot.getSubtasks().size(), subtasks.size(), "Все подзадачи должны быть в эпике");
+                    TaskStatus expected = allNew ? TaskStatus.NEW : allDone ? TaskStatus.DONE : TaskStatus.IN_PROGRESS;
+                    assertEquals(expected, epic.getStatus(), "Статус эпика должен соответствовать подзадачам снимка");
+                }
+            }
+        } finally {
+            running.set(false);
+            writer.join();
+        }
+        assertNull(failure.get(), "Писатель должен работать без ошибок");
+        assertEquals(0, manager.getOpenSnapshotCount(), "Все снимки должны быть закрыты");
+    }
+
+    @Test
+    void shouldReleaseOldVersionsWhenSnapshotsClose() throws InterruptedException {
+        VersionedTaskManager manager = Managers.getVersioned();
+        Task task = new Task("Task", "Description");
+        int taskId = manager.createTask(task);
+        TaskManagerSnapshot first = manager.snapshot();
+        TaskManagerSnapshot second = manager.snapshot();
+        manager.updateTask(task);
+        TaskManagerSnapshot third = manager.snapshot();
+
+        assertEquals(3, manager.getOpenSnapshotCount(), "Должны учитываться все открытые снимки");
+        assertEquals(1, manager.getOldestRetainedVersion(), "Самая старая версия удерживается снимком");
+        WeakReference<Task> oldCopy = new WeakReference<>(first.getTaskById(taskId));
+
+        first.close();
+        second.close();
+        second.close();
+        assertEquals(2, manager.getOldestRetainedVersion(), "После закрытия старых снимков версия освобождается");
+        assertThrows(IllegalStateException.class, () -> first.getTaskById(taskId), "Закрытый снимок нельзя читать");
+        third.close();
+        assertEquals(0, manager.getOpenSnapshotCount(), "Открытых снимков не должно остаться");
+
+        for (int i = 0; i < 50 && oldCopy.get() != null; i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+        assertNull(oldCopy.get(), "Старая версия должна освобождаться сборщиком мусора");
+    }
+}
@@ -0,0 +1,45 @@
+package metrics;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.ArrayList;
+import java.util.List;
+
+class HistogramTest {
+
+    @Test
+    void shouldMapValuesToOrderedBucketsWithBoundedError() {
+        for (long value = 0; value < 100_000; value += 7) {
+            int bucket = Histogram.bucketOf(value);
+            assertTrue(Histogram.upperBound(bucket) >= value, "Верхняя граница корзины не меньше значения");
+            assertTrue(Histogram.upperBound(bucket) <= value + value / 8, "Погрешность корзины не больше 1/8");
+            assertTrue(bucket == 0 || Histogram.upperBound(bucket - 1) < value, "Значение попадает в первую подходящую корзину");
+        }
+        assertEquals(Histogram.BUCKETS - 1, Histogram.bucketOf(Long.MAX_VALUE >>> 22), "Максимальное значение в последней корзине");
+    }
+
+    @Test
+    void shouldReportPercentilesAcrossThreads() throws InterruptedException {
+        Histogram histogram = new Histogram();
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            threads.add(Thread.ofPlatform().start(() -> {
+                for (int value = 1; value <= 1_000; value++) {
+                    histogram.record(value);
+                }
+            }));
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        histogram.record(-5);
+
+        Histogram.Stats stats = histogram.snapshot();
+        assertEquals(4_001, stats.count(), "Должны учитываться записи всех потоков");
+        assertEquals(500, stats.mean(), 1, "Среднее должно считаться по точным значениям");
+        assertTrue(stats.p50() >= 500 && stats.p50() <= 500 * 9 / 8, "Медиана в пределах точности корзины");
+        assertTrue(stats.p99() >= 990 && stats.p99() <= 990 * 9 / 8, "99-й перцентиль в пределах точности корзины");
+        assertTrue(stats.max() >= 1_000 && stats.max() <= 1_000 * 9 / 8, "Максимум в пределах точности корзины");
+        assertEquals(0, new Histogram().snapshot().count(), "Пустая гистограмма не содержит записей");
+    }
+}
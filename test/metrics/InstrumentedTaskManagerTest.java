@@ -0,0 +1,111 @@
+package metrics;
+
+import manager.Managers;
+import manager.TaskOverlapException;
+import metrics.TaskManagerMetrics.Operation;
+import model.*;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.openmbean.CompositeData;
+
+class InstrumentedTaskManagerTest {
+
+    @Test
+    void shouldCountOperationsAndErrors() {
+        TaskManagerMetrics metrics = new TaskManagerMetrics(1);
+        InstrumentedTaskManager manager = new InstrumentedTaskManager(Managers.getConcurrent(), metrics);
+        LocalDateTime start = LocalDateTime.of(2024, 1, 1, 10, 0);
+        int taskId = manager.createTask(new Task("Task", "Description", start, Duration.ofHours(1)));
+        manager.getTask(taskId);
+        manager.getTaskById(taskId);
+        manager.getEpicSubtasks(42);
+        manager.getHistory();
+
+        assertThrows(TaskOverlapException.class,
+            () -> manager.createTask(new Task("Overlap", "Description", start, Duration.ofHours(1))),
+            "Пересечение по времени должно отклоняться");
+
+        assertEquals(2, metrics.getCallCount(Operation.CREATE_TASK), "Должны учитываться все вызовы создания");
+        assertEquals(2, metrics.getLatency(Operation.CREATE_TASK).count(), "Без выборки измеряется каждый вызов");
+        assertEquals(1, metrics.getErrorCount(Operation.CREATE_TASK), "Ошибка должна учитываться отдельно");
+        assertEquals(0, metrics.getErrorCount(Operation.GET_TASK), "Успешные вызовы не считаются ошибками");
+        assertEquals(2, metrics.getLatency(Operation.GET_TASK).count(), "Оба способа чтения задачи учитываются");
+        assertEquals(1, metrics.getLatency(Operation.GET_EPIC_SUBTASKS).count(), "Чтение подзадач эпика учитывается");
+        assertEquals(1, metrics.getLatency(Operation.GET_HISTORY).count(), "Чтение истории учитывается");
+        assertTrue(metrics.getLatency(Operation.GET_TASK).max() > 0, "Задержка должна измеряться");
+        assertEquals(1, manager.getTasks().size(), "Декоратор должен делегировать вызовы");
+    }
+
+    @Test
+    void shouldCountEveryCallButSampleLatencies() {
+        InstrumentedTaskManager manager = Managers.getInstrumented();
+        TaskManagerMetrics metrics = manager.getMetrics();
+        int taskId = manager.createTask(new Task("Task", "Description"));
+        for (int i = 0; i < 16_000; i++) {
+            manager.getTaskById(taskId);
+        }
+
+        long sampled = metrics.getLatency(Operation.GET_TASK).count();
+        assertEquals(16_000, metrics.getCallCount(Operation.GET_TASK), "Счетчик вызовов должен быть точным");
+        assertTrue(sampled > 500 && sampled < 1_500, "Задержка должна измеряться примерно для 1/16 вызовов");
+        assertThrows(IllegalArgumentException.class, () -> new TaskManagerMetrics(0), "Частота выборки должна быть положительной");
+    }
+
+    @Test
+    void shouldReportStoreSizesFanOutAndHistoryEvictions() {
+        InstrumentedTaskManager manager = Managers.getInstrumented();
+        TaskManagerMetrics metrics = manager.getMetrics();
+        int taskId = manager.createTask(new Task("Task", "Description"));
+        int emptyEpic = manager.createEpic(new Epic("Empty", "Description"));
+        int epicId = manager.createEpic(new Epic("Epic", "Description"));
+        for (int i = 0; i < 4; i++) {
+            manager.createSubtask(new Subtask("Subtask " + i, "Description", epicId));
+        }
+        manager.getTask(taskId);
+        manager.getEpic(emptyEpic);
+        manager.getTask(taskId);
+        manager.getTask(taskId);
+        manager.deleteEpicById(emptyEpic);
+
+        assertEquals(1, metrics.getTaskCount(), "Размер хранилища задач");
+        assertEquals(1, metrics.getEpicCount(), "Размер хранилища эпиков");
+        assertEquals(4, metrics.getSubtaskCount(), "Размер хранилища подзадач");
+        assertEquals(1, metrics.getHistorySize(), "Размер истории");
+        assertEquals(4, metrics.getHistoryAdds(), "Все просмотры должны учитываться");
+        assertEquals(2, metrics.getHistoryDisplacements(), "Повторные просмотры вытесняют прежнюю запись");
+        assertEquals(1, metrics.getHistoryRemovals(), "Удаление эпика удаляет его из истории");
+        Histogram.Stats fanOut = metrics.getEpicFanOut();
+        assertEquals(1, fanOut.count(), "Распределение строится по всем эпикам");
+        assertEquals(4, fanOut.max(), "Максимальное число подзадач эпика");
+
+        String dump = metrics.dump();
+        assertTrue(dump.contains("kanban_store_size{type=\"subtask\"} 4\n"), "Дамп должен содержать размеры");
+        assertTrue(dump.contains("kanban_history_displacements_total 2\n"), "Дамп должен содержать вытеснения");
+        assertTrue(dump.contains("kanban_operation_latency_nanos{op=\"create_subtask\",quantile=\"0.99\"}"),
+            "Дамп должен содержать перцентили операций");
+    }
+
+    @Test
+    void shouldExposeMetricsOverJmx() throws Exception {
+        InstrumentedTaskManager manager = Managers.getInstrumented();
+        manager.createTask(new Task("Task", "Description"));
+        TaskManagerMetrics metrics = manager.getMetrics();
+        ObjectName name = metrics.registerMBean("test-" + System.identityHashCode(manager));
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            assertEquals(1, server.getAttribute(name, "TaskCount"), "Размер хранилища доступен через JMX");
+            CompositeData fanOut = (CompositeData) server.getAttribute(name, "EpicFanOut");
+            assertEquals(0L, fanOut.get("count"), "Распределение эпиков доступно через JMX");
+            assertTrue(((String) server.invoke(name, "dump", null, null)).contains("kanban_store_size"),
+                "Текстовый дамп доступен через JMX");
+        } finally {
+            metrics.unregisterMBean();
+        }
+        assertFalse(ManagementFactory.getPlatformMBeanServer().isRegistered(name), "MBean должен сниматься с регистрации");
+    }
+}
@@ -108,4 +108,78 @@ class EpicTest {
         assertNotSame(subtasks1, subtasks2, 
             "Метод должен возвращать новый список, а не ссылку на внутренний");
     }
-}
\ No newline at end of file
+    
+    @Test
+    void shouldCalculateStatusFromSubtaskCounters() {
+        Epic epic = new Epic("Epic", "Description");
+        assertEquals(TaskStatus.NEW, epic.calculateStatus(), "Эпик без подзадач должен быть NEW");
+        
+        epic.addSubtaskId(2, TaskStatus.NEW);
+        epic.addSubtaskId(3, TaskStatus.DONE);
+        assertEquals(TaskStatus.IN_PROGRESS, epic.calculateStatus(), "Смешанные статусы дают IN_PROGRESS");
+        
+        epic.updateSubtaskStatus(2, TaskStatus.DONE);
+        assertEquals(2, epic.getSubtaskCount(TaskStatus.DONE), "Должно быть 2 выполненные подзадачи");
+        assertEquals(0, epic.getSubtaskCount(TaskStatus.NEW), "Не должно остаться новых подзадач");
+        assertEquals(TaskStatus.DONE, epic.calculateStatus(), "Все подзадачи выполнены - эпик DONE");
+        
+        epic.removeSubtaskId(3);
+        epic.addSubtaskId(4, TaskStatus.NEW);
+        assertEquals(TaskStatus.IN_PROGRESS, epic.calculateStatus(), "DONE и NEW вместе дают IN_PROGRESS");
+        
+        epic.clearSubtaskIds();
+        assertEquals(0, epic.getSubtaskCount(TaskStatus.DONE), "Счетчики должны обнулиться");
+        assertEquals(TaskStatus.NEW, epic.calculateStatus(), "После очистки эпик должен быть NEW");
+    }
+    
+    @Test
+    void shouldIgnoreStatusUpdateOfUnknownSubtask() {
+        Epic epic = new Epic("Epic", "Description");
+        epic.addSubtaskId(2, TaskStatus.NEW);
+        
+        epic.updateSubtaskStatus(5, TaskStatus.DONE);
+        epic.removeSubtaskId(6);
+        
+        assertEquals(1, epic.getSubtaskCount(TaskStatus.NEW), "Счетчик NEW не должен измениться");
+        assertEquals(0, epic.getSubtaskCount(TaskStatus.DONE), "Неизвестная подзадача не должна учитываться");
+    }
+    
+    @Test
+    void shouldIterateSubtaskIdsWithoutCopying() {
+        Epic epic = new Epic("Epic", "Description");
+        for (int id = 2; id <= 50_001; id++) {
+            epic.addSubtaskId(id, TaskStatus.NEW);
+        }
+        for (int id = 2; id <= 50_001; id += 2) {
+            epic.removeSubtaskId(id);
+        }
+        
+        List<Integer> visited = new ArrayList<>();
+        epic.forEachSubtaskId(visited::add);
+        
+        assertEquals(25_000, epic.getSubtaskCount(), "Должно остаться 25000 подзадач");
+        assertEquals(25_000, visited.size(), "forEachSubtaskId должен обойти все оставшиеся подзадачи");
+        assertEquals(3, visited.getFirst(), "Порядок подзадач должен сохраняться");
+        assertTrue(epic.containsSubtaskId(50_001), "Оставшаяся подзадача должна находиться");
+        assertFalse(epic.containsSubtaskId(50_000), "Удаленная подзадача не должна находиться");
+        assertEquals(25_000, epic.getSubtaskCount(TaskStatus.NEW), "Счетчик статусов должен учитывать удаления");
+    }
+    
+    @Test
+    void shouldReuseSubtaskIdsViewUntilMembershipChanges() {
+        Epic epic = new Epic(1, "Epic", "Description", null);
+        epic.addSubtaskId(2, TaskStatus.NEW);
+        epic.addSubtaskId(3, TaskStatus.NEW);
+        
+        List<Integer> view = epic.getSubtaskIdsView();
+        assertEquals(List.of(2, 3), view, "Представление должно содержать id подзадач");
+        assertThrows(UnsupportedOperationException.class, () -> view.add(4), "Представление должно быть неизменяемым");
+        
+        epic.updateSubtaskStatus(2, TaskStatus.DONE);
+        assertSame(view, epic.getSubtaskIdsView(), "Смена статуса не должна пересоздавать представление");
+        
+        epic.removeSubtaskId(2);
+        assertEquals(List.of(3), epic.getSubtaskIdsView(), "После удаления представление должно обновиться");
+        assertEquals(List.of(2, 3), view, "Ранее выданное представление не должно меняться");
+    }
+}
@@ -0,0 +1,62 @@
+package model;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+class SubtaskIdSetTest {
+
+    @Test
+    void shouldKeepInsertionOrderAfterRemovals() {
+        SubtaskIdSet set = new SubtaskIdSet();
+        for (int id = 1; id <= 10; id++) {
+            set.add(id, TaskStatus.NEW);
+        }
+        set.removeAt(set.find(3));
+        set.removeAt(set.find(7));
+        set.add(11, TaskStatus.DONE);
+
+        assertArrayEquals(new int[]{1, 2, 4, 5, 6, 8, 9, 10, 11}, set.toArray(), "Порядок id должен сохраняться");
+        assertEquals(9, set.size(), "Размер должен учитывать удаления");
+        assertEquals(-1, set.find(3), "Удаленный id не должен находиться");
+        assertEquals(TaskStatus.DONE, set.statusAt(set.find(11)), "Статус должен сохраняться");
+    }
+
+    @Test
+    void shouldMatchReferenceMapUnderRandomOperations() {
+        SubtaskIdSet set = new SubtaskIdSet();
+        Map<Integer, TaskStatus> reference = new LinkedHashMap<>();
+        Random random = new Random(42);
+        TaskStatus[] statuses = TaskStatus.values();
+
+        for (int step = 0; step < 200_000; step++) {
+            int id = random.nextInt(2_000) - 100;
+            int position = set.find(id);
+            assertEquals(reference.containsKey(id), position >= 0, "Наличие id должно совпадать с эталоном");
+            if (position >= 0) {
+                assertEquals(reference.get(id), set.statusAt(position), "Статус должен совпадать с эталоном");
+                if (random.nextBoolean()) {
+                    set.removeAt(position);
+                    reference.remove(id);
+                } else {
+                    TaskStatus status = statuses[random.nextInt(statuses.length)];
+                    set.setStatus(position, status);
+                    reference.put(id, status);
+                }
+            } else {
+                TaskStatus status = random.nextInt(10) == 0 ? null : statuses[random.nextInt(statuses.length)];
+                set.add(id, status);
+                reference.put(id, status);
+            }
+        }
+
+        List<Integer> ids = new ArrayList<>();
+        set.forEach(ids::add);
+        assertEquals(new ArrayList<>(reference.keySet()), ids, "Итерация должна совпадать с эталоном");
+        assertEquals(reference.size(), set.size(), "Размер должен совпадать с эталоном");
+    }
+}
@@ -1,6 +1,8 @@
 package model;
 
 import org.junit.jupiter.api.Test;
+import java.time.Duration;
+import java.time.LocalDateTime;
 import static org.junit.jupiter.api.Assertions.*;
 
 class TaskTest {
@@ -91,4 +93,17 @@ class TaskTest {
         assertEquals("Updated", task.getDescription(), 
             "Описание задачи должно обновляться");
     }
+    
+    @Test
+    void shouldCalculateEndTimeFromStartAndDuration() {
+        LocalDateTime start = LocalDateTime.of(2024, 1, 1, 10, 0);
+        Task task = new Task("Task", "Description", start, Duration.ofMinutes(90));
+        
+        assertEquals(LocalDateTime.of(2024, 1, 1, 11, 30), task.getEndTime(),
+            "Время окончания должно быть суммой начала и продолжительности");
+        assertNull(new Task("Task", "Description").getEndTime(),
+            "Без времени начала время окончания не определено");
+        assertThrows(IllegalArgumentException.class, () -> task.setDuration(Duration.ofMinutes(-1)),
+            "Отрицательная продолжительность должна отклоняться");
+    }
 }
\ No newline at end of file